@@ -19,12 +19,6 @@ public class GatewayConfig {
                 .route("websocket_route", r -> r
                         .path("/ws/**")
                         .uri("ws://localhost:5000"))
-                .route("audio_server_files", r -> r
-                        .path("/api/files")
-                        .uri("lb://audio-server"))
-                .route("audio_server_download", r -> r
-                        .path("/api/download/**")
-                        .uri("lb://audio-server"))
                 .build();
     }
 
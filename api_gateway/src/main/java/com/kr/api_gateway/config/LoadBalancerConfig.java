@@ -0,0 +1,14 @@
+package com.kr.api_gateway.config;
+
+import com.kr.api_gateway.loadbalancer.AudioServerLoadBalancerConfiguration;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 서비스별 로드밸런서 설정
+ * audio-server 는 녹음 키 기반 일관된 해시로 인스턴스를 고릅니다. (audioServerWebClient 와 lb://audio-server 라우트 공통)
+ */
+@Configuration
+@LoadBalancerClient(name = "audio-server", configuration = AudioServerLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
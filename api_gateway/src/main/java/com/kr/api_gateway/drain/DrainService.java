@@ -0,0 +1,172 @@
+package com.kr.api_gateway.drain;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 게이트웨이 드레인
+ * 노드를 내리기 전에 WebSocket 세션을 나누어 정리합니다. (/actuator/drain 으로 시작)
+ *
+ * 1. Eureka 상태를 OUT_OF_SERVICE 로 바꾸고 새 WebSocket 연결은 1012(Service Restart)로 바로 닫습니다.
+ * 2. 진행 중인 세션이 끝나기를 audio.drain.timeout 까지 기다립니다.
+ * 3. 남은 세션은 batch-size 개씩 batch-interval 간격으로 1012 로 닫아,
+ *    세션 종료에 따른 녹음 종료 요청이 audio-server 로 한꺼번에 몰리지 않게 합니다.
+ *
+ * 드레인 없이 종료되는 경우에도 웹 서버가 멈추기 전에 3 단계를 수행합니다. (shutdown-timeout 까지)
+ */
+@Slf4j
+@Component
+public class DrainService implements SmartLifecycle {
+
+    public enum State {
+        ACTIVE, DRAINING, DRAINED
+    }
+
+    /**
+     * 드레인 상태
+     *
+     * @param state 상태
+     * @param activeSessions 연결된 WebSocket 세션 수
+     * @param deadline 진행 중인 세션을 기다리는 기한 (드레인 전이면 null)
+     */
+    public record Status(State state, int activeSessions, Instant deadline) {
+    }
+
+    private final ApplicationInfoManager applicationInfoManager;
+    private final Duration timeout;
+    private final int batchSize;
+    private final Duration batchInterval;
+    private final Duration shutdownTimeout;
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private volatile State state = State.ACTIVE;
+    private volatile Instant deadline;
+    private volatile boolean running;
+
+    @Autowired
+    public DrainService(ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+                        @Value("${audio.drain.timeout:5m}") Duration timeout,
+                        @Value("${audio.drain.batch-size:50}") int batchSize,
+                        @Value("${audio.drain.batch-interval:200ms}") Duration batchInterval,
+                        @Value("${audio.drain.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        this(applicationInfoManager.getIfAvailable(), timeout, batchSize, batchInterval, shutdownTimeout);
+    }
+
+    DrainService(ApplicationInfoManager applicationInfoManager, Duration timeout, int batchSize,
+                 Duration batchInterval, Duration shutdownTimeout) {
+        this.applicationInfoManager = applicationInfoManager;
+        this.timeout = timeout;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchInterval = batchInterval;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    /**
+     * 새 WebSocket 세션을 등록합니다.
+     *
+     * @param session WebSocket 세션
+     * @return 드레인 중이면 false (세션을 받지 않음)
+     */
+    public boolean register(WebSocketSession session) {
+        if (state != State.ACTIVE) {
+            return false;
+        }
+        sessions.put(session.getId(), session);
+        return true;
+    }
+
+    public void unregister(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    /**
+     * 드레인을 시작합니다. 이미 시작했으면 현재 상태만 돌려줍니다.
+     *
+     * @param timeout 진행 중인 세션을 기다릴 시간 (null 이면 audio.drain.timeout)
+     * @return 드레인 상태
+     */
+    public synchronized Status start(Duration timeout) {
+        if (state == State.ACTIVE) {
+            state = State.DRAINING;
+            deadline = Instant.now().plus(timeout != null ? timeout : this.timeout);
+            if (applicationInfoManager != null) {
+                applicationInfoManager.setInstanceStatus(InstanceInfo.InstanceStatus.OUT_OF_SERVICE);
+            }
+            log.info("[DRAIN] Draining {} WebSocket sessions until {}", sessions.size(), deadline);
+
+            Flux.interval(Duration.ofSeconds(1))
+                    .takeUntil(tick -> sessions.isEmpty() || !Instant.now().isBefore(deadline))
+                    .then(Mono.defer(this::closeRemaining))
+                    .doFinally(signal -> {
+                        state = State.DRAINED;
+                        log.info("[DRAIN] Drained ({} sessions left)", sessions.size());
+                    })
+                    .subscribe();
+        }
+        return status();
+    }
+
+    public Status status() {
+        return new Status(state, sessions.size(), deadline);
+    }
+
+    /**
+     * 남은 세션을 batch-size 개씩 batch-interval 간격으로 닫습니다.
+     */
+    Mono<Void> closeRemaining() {
+        List<WebSocketSession> remaining = List.copyOf(sessions.values());
+        if (remaining.isEmpty()) {
+            return Mono.empty();
+        }
+        log.info("[DRAIN] Closing {} remaining WebSocket sessions", remaining.size());
+        return Flux.fromIterable(remaining)
+                .buffer(batchSize)
+                .concatMap(batch -> Flux.fromIterable(batch)
+                        .flatMap(session -> session.close(CloseStatus.SERVICE_RESTARTED)
+                                .onErrorResume(e -> {
+                                    log.warn("[DRAIN] Failed to close session {}: {}", session.getId(), e.getMessage());
+                                    return Mono.empty();
+                                }))
+                        .then(Mono.delay(batchInterval)))
+                .then();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * 종료 시 웹 서버보다 먼저 호출되어, 남은 세션을 나누어 닫습니다.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        state = State.DRAINED;
+        closeRemaining()
+                .timeout(shutdownTimeout, Mono.fromRunnable(() ->
+                        log.warn("[DRAIN] {} sessions still open after {}", sessions.size(), shutdownTimeout)))
+                .block();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,8 @@
+package com.kr.api_gateway.file;
+
+/**
+ * 녹음 파일 목록 항목 (audio-server 의 RecordingFile)
+ * 녹음 시각은 audio-server 가 보낸 ISO-8601 문자열 그대로 전달합니다.
+ */
+public record RecordingFile(String fileName, String metaId, String recordedAt, long size) {
+}
@@ -0,0 +1,52 @@
+package com.kr.api_gateway.file;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 녹음 파일 컨트롤러
+ * audio-server 인스턴스에 나뉘어 저장된 녹음 파일을 {@link RecordingFileService}로 찾아 전달합니다.
+ */
+@RestController
+public class RecordingFileController {
+
+    private final RecordingFileService recordingFileService;
+
+    public RecordingFileController(RecordingFileService recordingFileService) {
+        this.recordingFileService = recordingFileService;
+    }
+
+    /**
+     * 모든 audio-server 인스턴스의 녹음 파일 목록을 합쳐 커서 기반으로 한 페이지씩 반환합니다.
+     * 조건과 정렬은 audio-server 의 /api/files 와 같습니다.
+     */
+    @GetMapping("/api/files")
+    public Mono<RecordingPage> getFiles(@RequestParam(required = false) String metaId,
+                                        @RequestParam(required = false) String prefix,
+                                        @RequestParam(required = false) String from,
+                                        @RequestParam(required = false) String to,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "50") int size) {
+        return recordingFileService.list(metaId, prefix, from, to, cursor, size);
+    }
+
+    /**
+     * 녹음 파일을 내려받습니다. (Range / 조건부 요청 헤더는 audio-server 로 전달)
+     *
+     * @param fileName 파일 이름
+     * @param headers 요청 헤더
+     */
+    @GetMapping("/api/download/{fileName}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> download(@PathVariable String fileName,
+                                                           @RequestHeader HttpHeaders headers) {
+        return recordingFileService.download(fileName, headers);
+    }
+}
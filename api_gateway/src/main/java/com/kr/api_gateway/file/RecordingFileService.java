@@ -0,0 +1,258 @@
+package com.kr.api_gateway.file;
+
+import com.kr.api_gateway.loadbalancer.ServiceInstanceRing;
+import com.kr.core.web.constans.RecordingCursor;
+import com.kr.core.web.webclient.DownstreamProperties;
+import com.kr.core.web.webclient.WebClientFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 녹음 파일 조회 (audio-server 인스턴스 전체 대상)
+ *
+ * 녹음 파일은 녹음을 기록한 audio-server 인스턴스에만 있습니다.
+ * 다운로드는 파일 이름의 metaId 를 담당하는 인스턴스부터 해시 링 순서대로 요청하고, 404 이면 다음 인스턴스로 넘어갑니다.
+ * 따라서 녹음 이후 인스턴스가 추가/제거되었거나, 드레인 중인 인스턴스를 피해 다음 인스턴스에서 녹음한 경우에도 파일을 찾습니다.
+ * (담당 인스턴스에 있는 보통의 경우에는 요청 한 번)
+ *
+ * 목록은 모든 인스턴스에 같은 조건으로 요청한 뒤 정렬 순서대로 합칩니다. 커서는 마지막 항목의 정렬 키이므로
+ * ({@link RecordingCursor}) 다음 페이지도 모든 인스턴스에 같은 커서로 요청하면 빠지거나 겹치는 항목이 없습니다.
+ * 한 인스턴스라도 실패하면 일부만 보여 주지 않고 요청 전체를 실패로 돌려줍니다.
+ *
+ * 로드밸런서가 없으면 (service-id 미설정) services.audio-server.base-url 하나로 보냅니다.
+ */
+@Slf4j
+@Component
+public class RecordingFileService {
+
+    private static final String SERVICE = "audio-server";
+
+    // audio-server 로 전달하는 다운로드 요청 헤더 (Range / 조건부 요청)
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(
+            HttpHeaders.RANGE, HttpHeaders.IF_RANGE, HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+    // 클라이언트에 그대로 전달하지 않는 연결 단위 응답 헤더
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(), HttpHeaders.TRANSFER_ENCODING.toLowerCase(), "keep-alive");
+
+    private final WebClient webClient;
+    private final ReactiveDiscoveryClient discoveryClient;
+    private final String serviceId;
+    private final ServiceInstanceRing ring;
+    private final int maxPageSize;
+
+    @Autowired
+    public RecordingFileService(WebClientFactory webClientFactory,
+                                ObjectProvider<ReactiveDiscoveryClient> discoveryClient,
+                                @Value("${audio.routing.virtual-nodes:160}") int virtualNodes,
+                                @Value("${audio.files.max-page-size:500}") int maxPageSize) {
+        this(filesWebClient(webClientFactory), discoveryClient.getIfAvailable(),
+                webClientFactory.properties(SERVICE).getServiceId(), virtualNodes, maxPageSize);
+    }
+
+    RecordingFileService(WebClient webClient, ReactiveDiscoveryClient discoveryClient, String serviceId,
+                         int virtualNodes, int maxPageSize) {
+        this.webClient = webClient;
+        this.discoveryClient = StringUtils.hasText(serviceId) ? discoveryClient : null;
+        this.serviceId = serviceId;
+        this.ring = new ServiceInstanceRing(serviceId, virtualNodes);
+        this.maxPageSize = maxPageSize;
+    }
+
+    // 요청마다 대상 인스턴스를 직접 고르므로 로드밸런서 필터 없이 만듭니다.
+    private static WebClient filesWebClient(WebClientFactory webClientFactory) {
+        DownstreamProperties properties = webClientFactory.properties(SERVICE);
+        properties.setServiceId(null);
+        return webClientFactory.create("audio-server-files", properties);
+    }
+
+    /**
+     * 모든 인스턴스의 녹음 파일 목록을 합쳐 한 페이지를 조회합니다.
+     * 조건은 audio-server 의 /api/files 와 같고, 날짜 조건은 그대로 전달합니다.
+     *
+     * @param metaId 메타 ID (정확히 일치)
+     * @param prefix 파일 이름 접두어
+     * @param from 녹음 시각 하한 (ISO-8601)
+     * @param to 녹음 시각 상한 (ISO-8601)
+     * @param cursor 이전 응답의 nextCursor
+     * @param size 페이지 크기 (audio.files.max-page-size 이하)
+     * @return 파일 목록 페이지
+     */
+    public Mono<RecordingPage> list(String metaId, String prefix, String from, String to, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        boolean byName = StringUtils.hasText(metaId) || StringUtils.hasText(prefix);
+
+        Map<String, Object> params = new LinkedHashMap<>();
+        putIfPresent(params, "metaId", metaId);
+        putIfPresent(params, "prefix", prefix);
+        putIfPresent(params, "from", from);
+        putIfPresent(params, "to", to);
+        putIfPresent(params, "cursor", cursor);
+        params.put("size", limit);
+
+        return candidates(null)
+                .flatMapMany(instances -> Flux.fromIterable(instances)
+                        .flatMap(instance -> webClient.get()
+                                .uri(baseUri(instance) + "/api/files", builder -> {
+                                    params.keySet().forEach(name -> builder.queryParam(name, "{" + name + "}"));
+                                    return builder.build(params);
+                                })
+                                .retrieve()
+                                .bodyToMono(RecordingPage.class)))
+                .collectList()
+                .map(pages -> merge(pages, byName, limit));
+    }
+
+    private static void putIfPresent(Map<String, Object> params, String name, String value) {
+        if (StringUtils.hasText(value)) {
+            params.put(name, value);
+        }
+    }
+
+    /**
+     * 인스턴스별 페이지를 정렬 순서대로 합쳐 limit 개를 고릅니다.
+     * 각 인스턴스는 커서 이후 limit 개까지 돌려주므로, 합친 앞쪽 limit 개 사이에 빠진 항목이 없습니다.
+     */
+    static RecordingPage merge(List<RecordingPage> pages, boolean byName, int limit) {
+        List<Keyed> items = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        boolean more = false;
+        for (RecordingPage page : pages) {
+            more |= page.nextCursor() != null;
+            if (page.items() == null) {
+                continue;
+            }
+            for (RecordingFile file : page.items()) {
+                if (seen.add(file.fileName())) {
+                    items.add(new Keyed(byName ? file.fileName() : timeKey(file), file));
+                }
+            }
+        }
+        Comparator<Keyed> order = Comparator.comparing(Keyed::key);
+        items.sort(byName ? order : order.reversed());
+
+        more |= items.size() > limit;
+        List<Keyed> selected = items.subList(0, Math.min(limit, items.size()));
+        String nextCursor = more && !selected.isEmpty()
+                ? RecordingCursor.encode(selected.get(selected.size() - 1).key())
+                : null;
+        return new RecordingPage(selected.stream().map(Keyed::file).toList(), nextCursor);
+    }
+
+    private static String timeKey(RecordingFile file) {
+        return RecordingCursor.timeKey(LocalDateTime.parse(file.recordedAt()), file.fileName());
+    }
+
+    private record Keyed(String key, RecordingFile file) {
+    }
+
+    /**
+     * 녹음 파일을 내려받습니다.
+     * audio-server 의 응답(200 / 206 / 304 / 416 등)과 헤더를 본문 복사 없이 그대로 전달합니다.
+     *
+     * @param fileName 파일 이름 ({metaId}_{yyyyMMdd_HHmmssSSS}.webm)
+     * @param requestHeaders 클라이언트 요청 헤더 (Range, 조건부 요청 헤더만 전달)
+     * @return audio-server 응답 (모든 인스턴스가 404 이면 WebClientResponseException.NotFound)
+     */
+    public Mono<ResponseEntity<Flux<DataBuffer>>> download(String fileName, HttpHeaders requestHeaders) {
+        String key = recordKey(fileName);
+        return candidates(key).flatMap(instances -> download(instances, 0, fileName, requestHeaders));
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> download(List<ServiceInstance> instances, int index, String fileName,
+                                                            HttpHeaders requestHeaders) {
+        ServiceInstance instance = instances.get(index);
+        return webClient.get()
+                .uri(baseUri(instance) + "/api/download/{fileName}", fileName)
+                .headers(headers -> FORWARDED_REQUEST_HEADERS.forEach(name -> {
+                    List<String> values = requestHeaders.get(name);
+                    if (values != null) {
+                        headers.put(name, values);
+                    }
+                }))
+                .retrieve()
+                // 404 외의 오류 상태(416 등)는 클라이언트에 그대로 전달합니다.
+                .onStatus(status -> status.isError() && status.value() != 404, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(RecordingFileService::withoutHopByHopHeaders)
+                .onErrorResume(e -> {
+                    if (index + 1 >= instances.size()) {
+                        return Mono.error(e);
+                    }
+                    if (e instanceof WebClientResponseException.NotFound) {
+                        log.debug("[FILES] {} not found on {}, trying next instance", fileName, describe(instance));
+                    } else {
+                        log.warn("[FILES] Download of {} from {} failed: {}, trying next instance",
+                                fileName, describe(instance), e.getMessage());
+                    }
+                    return download(instances, index + 1, fileName, requestHeaders);
+                });
+    }
+
+    /**
+     * 키를 담당하는 인스턴스부터 해시 링 순서대로 정렬한 인스턴스 목록
+     * 로드밸런서가 없으면 base-url 하나 (null 항목)
+     */
+    Mono<List<ServiceInstance>> candidates(String key) {
+        if (discoveryClient == null) {
+            return Mono.just(Collections.singletonList(null));
+        }
+        return discoveryClient.getInstances(serviceId)
+                .collectList()
+                .flatMap(instances -> instances.isEmpty()
+                        ? Mono.error(new IllegalStateException("No instances available for " + serviceId))
+                        : Mono.just(key != null ? ring.ringFor(instances).getAll(key) : instances));
+    }
+
+    private static String baseUri(ServiceInstance instance) {
+        return instance == null ? "" : instance.getUri().toString();
+    }
+
+    private static String describe(ServiceInstance instance) {
+        return instance == null ? "base-url" : ServiceInstanceRing.instanceKey(instance);
+    }
+
+    private static ResponseEntity<Flux<DataBuffer>> withoutHopByHopHeaders(ResponseEntity<Flux<DataBuffer>> entity) {
+        HttpHeaders headers = new HttpHeaders();
+        entity.getHeaders().forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, values);
+            }
+        });
+        return ResponseEntity.status(entity.getStatusCode()).headers(headers).body(entity.getBody());
+    }
+
+    /**
+     * 녹음 파일 이름({metaId}_{yyyyMMdd_HHmmssSSS}.webm)에서 녹음의 라우팅 키(metaId)를 꺼냅니다.
+     *
+     * @return metaId, 형식이 다르면 null (해시 링 대신 등록 순서대로 요청)
+     */
+    static String recordKey(String fileName) {
+        // 타임스탬프(yyyyMMdd_HHmmssSSS) 앞의 '_' 까지가 metaId
+        int time = fileName != null ? fileName.lastIndexOf('_') : -1;
+        int separator = time > 0 ? fileName.lastIndexOf('_', time - 1) : -1;
+        return separator > 0 ? fileName.substring(0, separator) : null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.kr.api_gateway.file;
+
+import java.util.List;
+
+/**
+ * 녹음 파일 목록 페이지 (audio-server 의 RecordingPage)
+ * nextCursor 가 null 이면 마지막 페이지입니다.
+ */
+public record RecordingPage(List<RecordingFile> items, String nextCursor) {
+}
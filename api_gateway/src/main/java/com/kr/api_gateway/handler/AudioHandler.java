@@ -1,38 +1,118 @@
 package com.kr.api_gateway.handler;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.kr.api_gateway.drain.DrainService;
+import com.kr.api_gateway.loadbalancer.RecordRoute;
+import com.kr.api_gateway.protocol.AudioFrame;
+import com.kr.api_gateway.protocol.ControlMessage;
+import com.kr.api_gateway.protocol.PreEncodedMessage;
+import com.kr.api_gateway.relay.AudioStreamRelay;
+import com.kr.api_gateway.relay.RecordCommandBatcher;
+import com.kr.api_gateway.session.SessionIdleTimer;
+import com.kr.api_gateway.session.SessionState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.reactive.socket.CloseStatus;
 import org.springframework.web.reactive.socket.WebSocketHandler;
 import org.springframework.web.reactive.socket.WebSocketMessage;
 import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import java.util.ArrayList;
-import java.util.List;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 오디오 WebSocket 핸들러
  * 클라이언트와의 WebSocket 연결을 처리하고 오디오 데이터를 관리합니다.
  * 세션 관리, 오디오 녹음 시작/중지, 하트비트 처리 등의 기능을 제공합니다.
+ *
+ * 제어 메시지(record-start, record-end, heartbeat)는 JSON 텍스트 프레임으로,
+ * 오디오 청크는 {@link AudioFrame} 형식의 바이너리 프레임으로 수신합니다.
+ * 기존 JSON(Base64) 형식의 record-idle 메시지도 호환을 위해 계속 처리합니다.
+ * 텍스트 메시지는 {@link ControlMessage}로 필요한 필드만 읽고, 오디오 서버에는 원본 본문에 세션 정보만 덧붙여 전달합니다.
+ *
+ * 세션의 메시지는 받은 순서대로 하나씩 처리합니다. 처리 대기 메시지는 audio.ws.max-in-flight 개까지만 받고,
+ * slow-down-threshold 에 도달하면 클라이언트에 {"type":"flow-control","action":"slow-down"} 을,
+ * resume-threshold 이하로 줄면 {"type":"flow-control","action":"resume"} 을 보냅니다.
+ *
+ * 세션별 상태(사용자 ID, 마지막 활동 시각)는 연결 시 만든 {@link SessionState}에 두고, 고정 응답은 미리 인코딩해 둔 메시지를 보냅니다.
+ *
+ * 오디오 청크 전달이 실패하면 (오디오 서버 재시작 등) 오디오 서버에 녹음 이어받기를 요청하고,
+ * 클라이언트에 "Resume from: N" 을 보내 N 번 청크부터 다시 보내게 합니다.
+ *
+ * 메트릭: audio.ws.sessions.active (연결 수), audio.ws.chunks (수신 청크 수), audio.ws.bytes (수신 오디오 바이트),
+ * audio.ws.handler (메시지 처리 시간, type 태그: binary / text), audio.ws.slow-down (감속 신호 수)
  */
 @Slf4j
 @Component
 public class AudioHandler implements WebSocketHandler {
 
+    // 드레인 중인 인스턴스를 피해 녹음 시작을 시도하는 최대 횟수
+    private static final int START_ATTEMPTS = 3;
+
+    private static final PreEncodedMessage HEARTBEAT_ACK = PreEncodedMessage.of("Heartbeat acknowledged");
+    private static final PreEncodedMessage SLOW_DOWN = PreEncodedMessage.of(InboundFlowControl.SLOW_DOWN);
+    private static final PreEncodedMessage RESUME = PreEncodedMessage.of(InboundFlowControl.RESUME);
+    private static final PreEncodedMessage USER_NOT_FOUND = PreEncodedMessage.of("Error: Session user data not found");
+    private static final PreEncodedMessage END_RECORD_RESPONSE = PreEncodedMessage.of("End record response: OK");
+
     private final ObjectMapper objectMapper;
     private final WebClient audioServerWebClient;
-    private final Map<String, String> sessionUserMap = new ConcurrentHashMap<>();
-    private final Map<String, Long> sessionLastActivityMap = new ConcurrentHashMap<>();
+    private final AudioStreamRelay audioStreamRelay;
+    private final RecordCommandBatcher commandBatcher;
+    private final SessionIdleTimer sessionIdleTimer;
+    private final DrainService drainService;
+
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final Counter chunkCounter;
+    private final Counter byteCounter;
+    private final Timer binaryTimer;
+    private final Timer textTimer;
+    private final Counter slowDownCounter;
 
-    public AudioHandler(ObjectMapper objectMapper, WebClient audioServerWebClient) {
+    private final int maxInFlight;
+    private final int slowDownThreshold;
+    private final int resumeThreshold;
+
+    public AudioHandler(ObjectMapper objectMapper, WebClient audioServerWebClient, AudioStreamRelay audioStreamRelay,
+                        RecordCommandBatcher commandBatcher, SessionIdleTimer sessionIdleTimer,
+                        DrainService drainService, MeterRegistry meterRegistry,
+                        @Value("${audio.ws.max-in-flight:32}") int maxInFlight,
+                        @Value("${audio.ws.slow-down-threshold:24}") int slowDownThreshold,
+                        @Value("${audio.ws.resume-threshold:8}") int resumeThreshold) {
         this.objectMapper = objectMapper;
         this.audioServerWebClient = audioServerWebClient;
+        this.audioStreamRelay = audioStreamRelay;
+        this.commandBatcher = commandBatcher;
+        this.sessionIdleTimer = sessionIdleTimer;
+        this.drainService = drainService;
+        sessionIdleTimer.onExpired(this::cleanupStaleSession);
+
+        meterRegistry.gauge("audio.ws.sessions.active", activeSessions);
+        this.chunkCounter = meterRegistry.counter("audio.ws.chunks");
+        this.byteCounter = Counter.builder("audio.ws.bytes").baseUnit("bytes").register(meterRegistry);
+        this.binaryTimer = Timer.builder("audio.ws.handler").tag("type", "binary").register(meterRegistry);
+        this.textTimer = Timer.builder("audio.ws.handler").tag("type", "text").register(meterRegistry);
+        this.slowDownCounter = meterRegistry.counter("audio.ws.slow-down");
+
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.slowDownThreshold = Math.max(2, Math.min(slowDownThreshold, this.maxInFlight));
+        this.resumeThreshold = resumeThreshold;
     }
 
     /**
@@ -45,134 +125,338 @@ public class AudioHandler implements WebSocketHandler {
      */
     @Override
     public Mono<Void> handle(WebSocketSession session) {
+        // 드레인 중이면 다른 노드로 다시 연결하도록 바로 닫습니다.
+        if (!drainService.register(session)) {
+            log.info("Draining, rejecting WebSocket session {}", session.getId());
+            return session.close(CloseStatus.SERVICE_RESTARTED);
+        }
+        activeSessions.incrementAndGet();
+        SessionState state = sessionIdleTimer.register(session.getId());
+        InboundFlowControl flowControl = new InboundFlowControl(slowDownThreshold, resumeThreshold);
         return session.receive()
-                .map(WebSocketMessage::getPayloadAsText)
-                .flatMap(payload -> processPayload(session, payload))
+                // 메시지는 큐에서 기다릴 수 있으므로, 프레임이 해제되지 않도록 본문을 retain 해 둡니다.
+                .map(Inbound::of)
+                .doOnNext(inbound -> {
+                    if (flowControl.received()) {
+                        signal(session, SLOW_DOWN);
+                    }
+                })
+                // 세션의 메시지를 받은 순서대로 하나씩 처리하고, 처리 대기 메시지가 max-in-flight 를 넘으면 소켓 읽기를 멈춥니다.
+                .concatMap(inbound -> process(session, state, inbound)
+                        .doFinally(signal -> {
+                            if (flowControl.completed()) {
+                                signal(session, RESUME);
+                            }
+                        }), maxInFlight)
+                .doOnDiscard(Inbound.class, Inbound::release)
                 .doFinally(signalType -> {
+                    activeSessions.decrementAndGet();
                     String sessionId = session.getId();
                     log.info("WebSocket 연결 종료: 세션 {}", sessionId);
 
                     // AudioHandler에서 세션 정리
-                    sessionUserMap.remove(sessionId);
-                    sessionLastActivityMap.remove(sessionId);
-
-                    // RecordService에 리소스 정리 요청
-                    audioServerWebClient.post()
-                        .uri("/record/end")
-                        .bodyValue(Map.of("sessionId", sessionId))
-                        .retrieve()
-                        .bodyToMono(String.class)
+                    state.setUserId(null);
+                    sessionIdleTimer.remove(state);
+                    drainService.unregister(sessionId);
+
+                    // 스트림에 남은 청크를 모두 기록한 뒤 RecordService에 리소스 정리 요청
+                    RecordRoute route = audioStreamRelay.route(sessionId);
+                    audioStreamRelay.close(sessionId)
+                        .then(commandBatcher.end(sessionId, route))
                         .subscribe(
-                            response -> log.info("녹음 종료 응답: {}", response),
-                            error -> log.error("녹음 종료 오류: {}", error.getMessage())
+                            null,
+                            error -> log.error("녹음 종료 오류: {}", error.getMessage()),
+                            () -> log.info("녹음 종료 완료: 세션 {}", sessionId)
                         );
                 })
                 .then();
     }
 
+    private Mono<Void> process(WebSocketSession session, SessionState state, Inbound inbound) {
+        return inbound.binary() != null
+                ? timed(binaryTimer, processBinary(session, state, inbound.binary()))
+                : timed(textTimer, processPayload(session, state, inbound.text()));
+    }
+
+    /**
+     * 흐름 제어 신호(slow-down / resume)를 클라이언트에 보냅니다.
+     */
+    private void signal(WebSocketSession session, PreEncodedMessage message) {
+        if (message == SLOW_DOWN) {
+            slowDownCounter.increment();
+            log.debug("Session {} is sending faster than it can be processed, slow-down sent", session.getId());
+        }
+        session.send(Mono.just(message.toMessage(session)))
+                .subscribe(null, e -> log.debug("Flow control signal not sent to session {}: {}", session.getId(), e.getMessage()));
+    }
+
+    /**
+     * 수신 메시지 (텍스트/바이너리 모두 retain 된 버퍼)
+     */
+    private record Inbound(DataBuffer text, DataBuffer binary) {
+
+        static Inbound of(WebSocketMessage message) {
+            DataBuffer payload = message.retain().getPayload();
+            return message.getType() == WebSocketMessage.Type.BINARY
+                    ? new Inbound(null, payload)
+                    : new Inbound(payload, null);
+        }
+
+        void release() {
+            DataBufferUtils.release(binary != null ? binary : text);
+        }
+    }
+
     /**
      * 클라이언트로부터 수신한 메시지를 처리하는 메서드
-     * JSON 형식의 메시지를 파싱하고 action 필드에 따라 적절한 핸들러로 라우팅합니다.
+     * JSON 메시지에서 action 등 필요한 필드만 읽고 action 필드에 따라 적절한 핸들러로 라우팅합니다.
+     * heartbeat, record-end 는 action 만 확인하고 나머지 본문은 읽지 않습니다.
      *
      * @param session WebSocket 세션
-     * @param payload 클라이언트로부터 수신한 메시지 내용
+     * @param state 세션 상태
+     * @param payload 클라이언트로부터 수신한 메시지 본문 (이 메서드가 해제 책임을 가짐)
      * @return 비동기 처리 결과
      */
-    private Mono<Void> processPayload(WebSocketSession session, String payload) {
+    private Mono<Void> processPayload(WebSocketSession session, SessionState state, DataBuffer payload) {
+        String sessionId = session.getId();
+        ControlMessage message;
         try {
-            JsonNode jsonNode = objectMapper.readTree(payload);
-            String action = jsonNode.has("action") ? jsonNode.get("action").asText() : null;
-
-            log.info("Session ID: {}", session.getId());
-            // session id 전달
-            ObjectNode enhancedJsonNode = (ObjectNode) jsonNode;
-            enhancedJsonNode.put("sessionId", session.getId());
-            enhancedJsonNode.put("connectionId", session.getId());
-
-            // 세션 활동 시간 업데이트
-            String sessionId = session.getId();
-            sessionLastActivityMap.put(sessionId, System.currentTimeMillis());
-
-            log.info("Received action: {}", action);
-            switch (action) {
-                case "record-start" -> {
-                    return handleRecordStart(session, jsonNode);
-                }
-                case "record-idle" -> {
-                    return handleRecordIdle(session, jsonNode);
-                }
-                case "record-end" -> {
-                    return handleRecordEnd(session, jsonNode);
-                }
-                case "heartbeat" -> {
-                    return handleHeartbeat(session, jsonNode);
-                }
-                default -> {
-                    log.info("Unknown action");
-                    return sendError(session, "Unknown action");
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
+            message = ControlMessage.parse(objectMapper.getFactory(), payload);
+        } catch (IOException e) {
+            DataBufferUtils.release(payload);
+            log.warn("Invalid control message from session {}: {}", sessionId, e.getMessage());
             return sendError(session, "Error processing message");
         }
+
+        // 세션 활동 시간 업데이트
+        state.touch();
+
+        String action = message.getAction();
+        log.debug("Received action: {} (session {})", action, sessionId);
+        switch (action == null ? "" : action) {
+            case ControlMessage.RECORD_START -> {
+                return handleRecordStart(session, state, message, payload);
+            }
+            case ControlMessage.RECORD_IDLE -> {
+                return handleRecordIdle(session, state, message, payload);
+            }
+            case ControlMessage.RECORD_END -> {
+                DataBufferUtils.release(payload);
+                return handleRecordEnd(session, state);
+            }
+            case ControlMessage.HEARTBEAT -> {
+                DataBufferUtils.release(payload);
+                return handleHeartbeat(session, state);
+            }
+            default -> {
+                DataBufferUtils.release(payload);
+                log.info("Unknown action");
+                return sendError(session, "Unknown action");
+            }
+        }
+    }
+
+    // 오디오 서버로 전달할 때 본문에 덧붙이는 필드
+    private static Map<String, String> forwardedFields(WebSocketSession session, String metaId) {
+        Map<String, String> fields = new LinkedHashMap<>(4);
+        fields.put("sessionId", session.getId());
+        fields.put("connectionId", session.getId());
+        fields.put("metaId", metaId);
+        return fields;
+    }
+
+    /**
+     * 원본 메시지 본문에 세션 정보와 metaId 를 덧붙여 오디오 서버로 전달합니다.
+     * 본문은 다시 직렬화하지 않고 그대로 보냅니다.
+     *
+     * @return 오디오 서버 응답 본문
+     */
+    private Mono<String> forward(String uri, RecordRoute route, WebSocketSession session,
+                                 ControlMessage message, DataBuffer payload, String metaId) {
+        Map<String, String> fields = forwardedFields(session, metaId);
+
+        // 본문을 쓰기 전에 요청이 실패하면(인스턴스 선택 실패 등) 버퍼를 여기서 해제합니다.
+        AtomicBoolean written = new AtomicBoolean();
+        Flux<DataBuffer> body = Flux.defer(() -> {
+            written.set(true);
+            return message.forward(payload, fields);
+        }).doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+
+        return audioServerWebClient.post()
+                .uri(uri)
+                .headers(route::applyTo)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromDataBuffers(body))
+                .retrieve()
+                .bodyToMono(String.class)
+                .doFinally(signal -> {
+                    if (written.compareAndSet(false, true)) {
+                        DataBufferUtils.release(payload);
+                    }
+                });
+    }
+
+    /**
+     * 클라이언트로부터 수신한 바이너리 오디오 프레임을 처리하는 메서드
+     * 프레임 헤더만 해석하고, 오디오 바이트는 복사 없이 DataBuffer 그대로 오디오 서버에 전달합니다.
+     *
+     * @param session WebSocket 세션
+     * @param state 세션 상태
+     * @param buffer 바이너리 메시지 본문 (호출 측에서 retain 된 버퍼)
+     * @return 비동기 처리 결과
+     */
+    private Mono<Void> processBinary(WebSocketSession session, SessionState state, DataBuffer buffer) {
+        String sessionId = session.getId();
+        AudioFrame frame;
+        try {
+            frame = AudioFrame.decode(buffer);
+        } catch (IllegalArgumentException e) {
+            DataBufferUtils.release(buffer);
+            log.warn("Invalid audio frame from session {}: {}", sessionId, e.getMessage());
+            return sendError(session, "Error: Invalid audio frame");
+        }
+
+        state.touch();
+
+        if (!state.isRecording()) {
+            DataBufferUtils.release(buffer);
+            return send(session, USER_NOT_FOUND);
+        }
+
+        String metaId = frame.getMetaId() != null ? frame.getMetaId() : sessionId;
+        long sequence = frame.getSequence();
+        chunkCounter.increment();
+        byteCounter.increment(frame.getPayloadSize());
+
+        return audioStreamRelay.send(sessionId, metaId, sequence, frame.getPayload())
+                .then(Mono.fromSupplier(() -> "Chunk processed: " + sequence))
+                .onErrorResume(e -> resumeRecord(sessionId, sequence, e))
+                .flatMap(reply -> session.send(Mono.just(session.textMessage(reply))));
+    }
+
+    /**
+     * 청크 전달이 실패한 녹음을 오디오 서버가 이어받도록 요청하는 메서드
+     * 오디오 서버가 재시작된 경우 저널로 복구한 녹음의 마지막 청크 순번을 받아, 클라이언트가 그다음 청크부터 다시 보내게 합니다.
+     * 이어받을 녹음이 없으면 원래 오류를 그대로 전달합니다.
+     *
+     * @param sessionId 세션 ID
+     * @param sequence 전달에 실패한 청크 순번
+     * @param error 전달 오류
+     * @return 클라이언트에 보낼 응답 ("Resume from: 다시 보낼 첫 순번")
+     */
+    private Mono<String> resumeRecord(String sessionId, long sequence, Throwable error) {
+        log.warn("Chunk {} for session {} not recorded ({}), resuming", sequence, sessionId, error.getMessage());
+        return audioStreamRelay.resume(sessionId)
+                .map(lastSequence -> "Resume from: " + (lastSequence + 1))
+                .onErrorResume(e -> {
+                    log.error("Record resume failed for session {}: {}", sessionId, e.getMessage());
+                    return Mono.error(error);
+                });
+    }
+
+    /**
+     * 메시지 처리 시간을 기록합니다. (수신부터 처리 Mono 완료까지)
+     */
+    private static Mono<Void> timed(Timer timer, Mono<Void> processing) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return processing.doFinally(signal -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
     }
 
     /**
      * 녹음 시작 요청을 처리하는 메서드
      * 사용자 ID를 세션 맵에 저장하고 오디오 서버에 녹음 시작 요청을 전달합니다.
+     * 녹음이 시작되면 세션의 청크 스트리밍 릴레이를 엽니다.
      *
      * @param session WebSocket 세션
-     * @param jsonNode 클라이언트로부터 수신한 JSON 데이터
+     * @param state 세션 상태
+     * @param message 클라이언트로부터 수신한 제어 메시지
+     * @param payload 메시지 본문 (이 메서드가 해제 책임을 가짐)
      * @return 비동기 처리 결과
      */
-    private Mono<Void> handleRecordStart(WebSocketSession session, JsonNode jsonNode) {
+    private Mono<Void> handleRecordStart(WebSocketSession session, SessionState state, ControlMessage message,
+                                         DataBuffer payload) {
         // 사용자 ID 추출 및 저장
-        String userId = jsonNode.get("metaData").get("userId").asText();
-        sessionUserMap.put(session.getId(), userId);
-
-        // metaId가 있으면 사용, 없으면 세션 ID 사용
-        String metaId = jsonNode.has("metaId") ? jsonNode.get("metaId").asText() : session.getId();
+        String userId = message.getUserId();
+        if (userId == null) {
+            DataBufferUtils.release(payload);
+            return sendError(session, "Error: metaData.userId is required");
+        }
+        state.setUserId(userId);
 
-        // metaId를 jsonNode에 추가 (이미 있으면 덮어씀)
-        ((com.fasterxml.jackson.databind.node.ObjectNode) jsonNode).put("metaId", metaId);
+        // metaId가 있으면 사용, 없으면 세션 ID 사용 (전달 본문에서 덮어씀)
+        String metaId = message.getMetaId() != null ? message.getMetaId() : session.getId();
 
         log.info("Record start with metaId: {}", metaId);
 
+        // 드레인 중인 인스턴스를 피해 다시 보낼 수 있도록 본문을 바이트로 복사해 둡니다. (작은 메시지)
+        byte[] body;
+        try {
+            body = message.toBytes(payload, forwardedFields(session, metaId));
+        } finally {
+            DataBufferUtils.release(payload);
+        }
+
+        return startRecord(metaId, body, RecordRoute.of(metaId))
+                .flatMap(started -> {
+                    audioStreamRelay.open(session.getId(), metaId, started.route());
+                    return session.send(Mono.just(session.textMessage("Start record response: " + started.response())));
+                });
+    }
+
+    /**
+     * 오디오 서버에 녹음 시작을 요청합니다.
+     * metaId 를 담당하는 인스턴스가 드레인 중이면(503) 라우팅 키는 그대로 두고 해시 링의 다음 인스턴스로 다시 요청하며,
+     * 성공한 라우팅 정보를 세션에 저장해 이후 요청이 같은 인스턴스로 가게 합니다.
+     * 다운로드는 같은 링 순서로 찾으므로 다음 인스턴스에 기록된 녹음도 찾습니다.
+     */
+    private Mono<RecordStart> startRecord(String metaId, byte[] body, RecordRoute route) {
         return audioServerWebClient.post()
                 .uri("/record/start")
-                .bodyValue(jsonNode)
+                .headers(route::applyTo)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
                 .retrieve()
                 .bodyToMono(String.class)
-                .flatMap(response -> session.send(Mono.just(session.textMessage("Start record response: " + response))));
+                .defaultIfEmpty("")
+                .map(response -> new RecordStart(route, response))
+                .onErrorResume(WebClientResponseException.ServiceUnavailable.class, e -> {
+                    if (route.replica() + 1 >= START_ATTEMPTS) {
+                        return Mono.error(e);
+                    }
+                    log.info("Record start for metaId {} rejected by ring node {}, retrying on the next one", metaId, route.replica());
+                    return startRecord(metaId, body, route.next());
+                });
+    }
+
+    private record RecordStart(RecordRoute route, String response) {
     }
 
     /**
      * 녹음 중 오디오 데이터 청크를 처리하는 메서드
      * 세션이 유효한지 확인하고 오디오 서버에 데이터를 전달합니다.
      *
+     * 오디오 청크(Base64)는 문자열로 읽지 않고 원본 바이트 그대로 전달합니다.
+     *
      * @param session WebSocket 세션
-     * @param jsonNode 클라이언트로부터 수신한 JSON 데이터 (오디오 청크 포함)
+     * @param state 세션 상태
+     * @param message 클라이언트로부터 수신한 제어 메시지
+     * @param payload 메시지 본문 (오디오 청크 포함, 이 메서드가 해제 책임을 가짐)
      * @return 비동기 처리 결과
      */
-    private Mono<Void> handleRecordIdle(WebSocketSession session, JsonNode jsonNode) {
-        if (!sessionUserMap.containsKey(session.getId())) {
-            return sendError(session, "Error: Session user data not found");
+    private Mono<Void> handleRecordIdle(WebSocketSession session, SessionState state, ControlMessage message,
+                                        DataBuffer payload) {
+        if (!state.isRecording()) {
+            DataBufferUtils.release(payload);
+            return send(session, USER_NOT_FOUND);
         }
 
         // metaId가 없으면 세션 ID 사용
-        if (!jsonNode.has("metaId") || jsonNode.get("metaId").isNull()) {
-            ((com.fasterxml.jackson.databind.node.ObjectNode) jsonNode).put("metaId", session.getId());
-            log.info("Using session ID as metaId for idle chunk: {}", session.getId());
-        } else {
-            log.info("Using provided metaId for idle chunk: {}", jsonNode.get("metaId").asText());
-        }
+        String metaId = message.getMetaId() != null ? message.getMetaId() : session.getId();
+        log.debug("Using metaId for idle chunk: {}", metaId);
 
-        return audioServerWebClient.post()
-                .uri("/record/idle")
-                .bodyValue(jsonNode)
-                .retrieve()
-                .bodyToMono(String.class)
+        return forward("/record/idle", audioStreamRelay.route(session.getId()), session, message, payload, metaId)
                 .flatMap(response -> session.send(Mono.just(session.textMessage("Idle chunk processed: " + response))));
     }
 
@@ -187,27 +471,33 @@ public class AudioHandler implements WebSocketHandler {
         return session.send(Mono.just(session.textMessage(message)));
     }
 
+    /**
+     * 미리 인코딩해 둔 고정 메시지를 클라이언트에게 전송하는 메서드
+     */
+    private Mono<Void> send(WebSocketSession session, PreEncodedMessage message) {
+        return session.send(Mono.just(message.toMessage(session)));
+    }
+
     /**
      * 녹음 종료 요청을 처리하는 메서드
      * 세션 정보를 정리하고 오디오 서버에 녹음 종료 요청을 전달합니다.
+     * 묶음으로 보낸 종료 명령이 처리된 뒤 클라이언트에게 종료 응답을 전송합니다.
      *
      * @param session WebSocket 세션
-     * @param jsonNode 클라이언트로부터 수신한 JSON 데이터
+     * @param state 세션 상태
      * @return 비동기 처리 결과
      */
-    private Mono<Void> handleRecordEnd(WebSocketSession session, JsonNode jsonNode) {
+    private Mono<Void> handleRecordEnd(WebSocketSession session, SessionState state) {
         String sessionId = session.getId();
         log.info("Handling record-end for session: {}", sessionId);
 
         // AudioHandler에서 세션 정리
-        sessionUserMap.remove(sessionId);
+        state.setUserId(null);
 
-        return audioServerWebClient.post()
-                .uri("/record/end")
-                .bodyValue(Map.of("sessionId", sessionId))
-                .retrieve()
-                .bodyToMono(String.class)
-                .flatMap(response -> session.send(Mono.just(session.textMessage("End record response: " + response))));
+        RecordRoute route = audioStreamRelay.route(sessionId);
+        return audioStreamRelay.close(sessionId)
+                .then(commandBatcher.end(sessionId, route))
+                .then(send(session, END_RECORD_RESPONSE));
     }
 
     /**
@@ -215,50 +505,35 @@ public class AudioHandler implements WebSocketHandler {
      * 세션의 마지막 활동 시간을 업데이트하고 클라이언트에게 응답을 전송합니다.
      *
      * @param session WebSocket 세션
-     * @param jsonNode 클라이언트로부터 수신한 JSON 데이터
+     * @param state 세션 상태
      * @return 비동기 처리 결과
      */
-    private Mono<Void> handleHeartbeat(WebSocketSession session, JsonNode jsonNode) {
+    private Mono<Void> handleHeartbeat(WebSocketSession session, SessionState state) {
         String sessionId = session.getId();
-        log.info("Received heartbeat from session: {}", sessionId);
-        sessionLastActivityMap.put(sessionId, System.currentTimeMillis());
-        return session.send(Mono.just(session.textMessage("Heartbeat acknowledged")));
+        log.debug("Received heartbeat from session: {}", sessionId);
+        state.touch();
+        audioStreamRelay.keepAlive(sessionId);
+        return send(session, HEARTBEAT_ACK);
     }
 
     /**
-     * 오래된 세션을 정리하는 스케줄링 메서드
-     * 30분 이상 활동이 없는 세션을 식별하고 리소스를 정리합니다.
-     * 5분마다 자동으로 실행됩니다.
+     * 유휴 시간이 지난 세션을 정리하는 메서드
+     * {@link SessionIdleTimer}가 마지막 활동 후 audio.session.idle-timeout 이 지난 세션에 대해,
+     * 정리 요청이 몰리지 않도록 나누어 호출합니다.
+     *
+     * @param state 만료된 세션 상태
+     * @return 비동기 처리 결과
      */
-    @Scheduled(fixedRate = 300000) // 5분마다 실행
-    public void cleanupStaleSessions() {
-        long currentTime = System.currentTimeMillis();
-        List<String> staleSessions = new ArrayList<>();
-
-        // 오래된 세션 식별 (30분 이상 비활성)
-        for (Map.Entry<String, Long> entry : sessionLastActivityMap.entrySet()) {
-            if (currentTime - entry.getValue() > 1800000) { // 30분
-                staleSessions.add(entry.getKey());
-            }
-        }
-
-        // 오래된 세션 정리
-        for (String sessionId : staleSessions) {
-            log.info("Cleaning up stale session: {}", sessionId);
-            sessionUserMap.remove(sessionId);
-
-            // RecordService에 리소스 정리 요청
-            audioServerWebClient.post()
-                .uri("/record/end")
-                .bodyValue(Map.of("sessionId", sessionId))
-                .retrieve()
-                .bodyToMono(String.class)
-                .subscribe(
-                    response -> log.info("녹음 종료 응답 (stale session): {}", response),
-                    error -> log.error("녹음 종료 오류 (stale session): {}", error.getMessage())
-                );
+    private Mono<Void> cleanupStaleSession(SessionState state) {
+        String sessionId = state.getSessionId();
+        log.info("Cleaning up stale session: {}", sessionId);
+        state.setUserId(null);
 
-            sessionLastActivityMap.remove(sessionId);
-        }
+        // RecordService에 리소스 정리 요청
+        RecordRoute route = audioStreamRelay.route(sessionId);
+        return audioStreamRelay.close(sessionId)
+                .then(commandBatcher.end(sessionId, route))
+                .doOnSuccess(ignored -> log.info("녹음 종료 완료 (stale session): {}", sessionId))
+                .doOnError(error -> log.error("녹음 종료 오류 (stale session): {}", error.getMessage()));
     }
 }
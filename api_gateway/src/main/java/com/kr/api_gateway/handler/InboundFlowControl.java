@@ -0,0 +1,59 @@
+package com.kr.api_gateway.handler;
+
+/**
+ * WebSocket 세션별 수신 흐름 제어 상태
+ * 받았지만 아직 처리가 끝나지 않은 메시지 수를 세고, slow-down 기준에 도달하면 한 번 감속 신호를,
+ * resume 기준 아래로 내려가면 한 번 재개 신호를 내보내도록 알려줍니다. (기준 사이에서는 신호를 반복하지 않음)
+ *
+ * 수신 버퍼 자체는 {@link AudioHandler}의 concatMap prefetch(max-in-flight)로 제한되며,
+ * 가득 차면 소켓 읽기가 멈춰 TCP 수준에서 클라이언트 전송이 늦춰집니다.
+ */
+class InboundFlowControl {
+
+    static final String SLOW_DOWN = "{\"type\":\"flow-control\",\"action\":\"slow-down\"}";
+    static final String RESUME = "{\"type\":\"flow-control\",\"action\":\"resume\"}";
+
+    private final int slowDownThreshold;
+    private final int resumeThreshold;
+    private int pending;
+    private boolean throttled;
+
+    InboundFlowControl(int slowDownThreshold, int resumeThreshold) {
+        this.slowDownThreshold = slowDownThreshold;
+        this.resumeThreshold = Math.min(resumeThreshold, slowDownThreshold - 1);
+    }
+
+    /**
+     * 메시지를 받았을 때 호출합니다.
+     *
+     * @return 감속 신호를 보내야 하면 true
+     */
+    synchronized boolean received() {
+        if (++pending >= slowDownThreshold && !throttled) {
+            throttled = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 메시지 처리가 끝났을 때 호출합니다.
+     *
+     * @return 재개 신호를 보내야 하면 true
+     */
+    synchronized boolean completed() {
+        if (--pending <= resumeThreshold && throttled) {
+            throttled = false;
+            return true;
+        }
+        return false;
+    }
+
+    synchronized int getPending() {
+        return pending;
+    }
+
+    synchronized boolean isThrottled() {
+        return throttled;
+    }
+}
@@ -0,0 +1,26 @@
+package com.kr.api_gateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * audio-server 로드밸런서 설정 (LoadBalancerConfig 의 @LoadBalancerClient 에서 사용)
+ * 서비스별 자식 컨텍스트에서만 등록되어야 하므로 @Configuration 을 붙이지 않습니다.
+ */
+public class AudioServerLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> consistentHashLoadBalancer(
+            Environment environment,
+            ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+            @Value("${audio.routing.virtual-nodes:160}") int virtualNodes) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new ConsistentHashLoadBalancer(supplierProvider, serviceId, virtualNodes);
+    }
+}
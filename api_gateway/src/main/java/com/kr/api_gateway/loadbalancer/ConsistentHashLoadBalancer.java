@@ -0,0 +1,125 @@
+package com.kr.api_gateway.loadbalancer;
+
+import com.kr.core.web.constans.RecordHeaders;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 녹음 키 기반 일관된 해시 로드밸런서
+ * X-Record-Key(없으면 X-Session-Id) 헤더 값으로 인스턴스를 고르므로, 한 녹음의 시작/청크/종료 요청이
+ * 파일을 열어 둔 같은 audio-server 인스턴스로 전달됩니다.
+ * 인스턴스가 추가/제거되면 링을 다시 만들며, 바뀐 구간의 녹음만 다른 인스턴스로 옮겨집니다.
+ * 키가 없는 요청(파일 목록 등)은 라운드 로빈으로 분배합니다.
+ *
+ * 드레인 중인 인스턴스(Eureka 메타데이터 draining=true)도 링에 남겨 진행 중인 녹음의 요청은 계속 받게 하고,
+ * 새 녹음 시작(/record/start)만 보내지 않습니다. 빈 응답을 돌려주면 게이트웨이가 X-Record-Replica 를 늘려
+ * 링의 다음 인스턴스로 다시 시도하고, 이후 그 녹음의 요청은 같은 X-Record-Replica 로 보냅니다. ({@link RecordRoute})
+ */
+@Slf4j
+public class ConsistentHashLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    static final String DRAINING_METADATA = "draining";
+    private static final String RECORD_START_PATH = "/record/start";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final ServiceInstanceRing ring;
+    private final AtomicInteger position = new AtomicInteger();
+
+    public ConsistentHashLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                      String serviceId, int virtualNodes) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.ring = new ServiceInstanceRing(serviceId, virtualNodes);
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        RecordRoute route = route(request);
+        boolean recordStart = isRecordStart(request);
+        return supplier.get(request).next().map(instances -> choose(instances, route, recordStart));
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances, RecordRoute route, boolean recordStart) {
+        if (instances.isEmpty()) {
+            log.warn("[LB] No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        if (route == null) {
+            int index = Math.floorMod(position.getAndIncrement(), instances.size());
+            return new DefaultResponse(instances.get(index));
+        }
+        ConsistentHashRing<ServiceInstance> current = ring.ringFor(instances);
+        ServiceInstance chosen;
+        if (route.replica() == 0) {
+            chosen = current.get(route.key());
+        } else {
+            List<ServiceInstance> successors = current.getAll(route.key());
+            chosen = successors.get(route.replica() % successors.size());
+        }
+        ServiceInstance instance = current(instances, chosen);
+        if (recordStart && isDraining(instance)) {
+            log.info("[LB] {} is draining, not starting record {} (replica {}) on it",
+                    ServiceInstanceRing.instanceKey(instance), route.key(), route.replica());
+            return new EmptyResponse();
+        }
+        return new DefaultResponse(instance);
+    }
+
+    // 링은 주소가 바뀔 때만 다시 만들므로, 메타데이터(드레인 여부)는 이번 목록의 인스턴스에서 읽습니다.
+    private static ServiceInstance current(List<ServiceInstance> instances, ServiceInstance chosen) {
+        String key = ServiceInstanceRing.instanceKey(chosen);
+        for (ServiceInstance instance : instances) {
+            if (ServiceInstanceRing.instanceKey(instance).equals(key)) {
+                return instance;
+            }
+        }
+        return chosen;
+    }
+
+    private static boolean isDraining(ServiceInstance instance) {
+        return instance.getMetadata() != null && "true".equals(instance.getMetadata().get(DRAINING_METADATA));
+    }
+
+    private static boolean isRecordStart(Request request) {
+        return request.getContext() instanceof RequestDataContext context && context.getClientRequest() != null
+                && context.getClientRequest().getUrl().getPath().endsWith(RECORD_START_PATH);
+    }
+
+    private static RecordRoute route(Request request) {
+        if (!(request.getContext() instanceof RequestDataContext context) || context.getClientRequest() == null) {
+            return null;
+        }
+        HttpHeaders headers = context.getClientRequest().getHeaders();
+        String key = headers.getFirst(RecordHeaders.RECORD_KEY);
+        if (!StringUtils.hasText(key)) {
+            key = headers.getFirst(RecordHeaders.SESSION_ID);
+        }
+        if (!StringUtils.hasText(key)) {
+            return null;
+        }
+        String replica = headers.getFirst(RecordHeaders.RECORD_REPLICA);
+        try {
+            return new RecordRoute(key, StringUtils.hasText(replica) ? Math.max(0, Integer.parseInt(replica)) : 0);
+        } catch (NumberFormatException e) {
+            log.warn("[LB] Invalid {} header: {}", RecordHeaders.RECORD_REPLICA, replica);
+            return RecordRoute.of(key);
+        }
+    }
+}
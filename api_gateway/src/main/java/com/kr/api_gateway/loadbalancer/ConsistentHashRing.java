@@ -0,0 +1,142 @@
+package com.kr.api_gateway.loadbalancer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 가상 노드를 사용하는 일관된 해시 링
+ * 노드마다 virtualNodes 개의 점을 링 위에 배치하고, 키의 해시 이후 처음 만나는 점의 노드를 선택합니다.
+ * 노드가 추가/제거되면 해당 노드 구간의 키만 다른 노드로 옮겨집니다. (N 개 중 1 개 추가 시 약 1/(N+1))
+ *
+ * 생성 후에는 변경되지 않으므로 여러 스레드에서 동시에 조회할 수 있습니다.
+ *
+ * @param <T> 노드 타입
+ */
+public final class ConsistentHashRing<T> {
+
+    private final long[] points;
+    private final Object[] owners;
+    private final Set<String> nodeKeys;
+
+    /**
+     * @param nodes 노드 목록
+     * @param nodeKey 노드 식별 문자열 (재시작 후에도 같은 값이어야 같은 구간을 받습니다. 예: host:port)
+     * @param virtualNodes 노드당 가상 노드 수
+     */
+    public ConsistentHashRing(List<T> nodes, Function<T, String> nodeKey, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive: " + virtualNodes);
+        }
+        int size = nodes.size() * virtualNodes;
+        long[] hashes = new long[size];
+        Object[] entries = new Object[size];
+
+        int n = 0;
+        for (T node : nodes) {
+            String key = nodeKey.apply(node);
+            for (int i = 0; i < virtualNodes; i++) {
+                hashes[n] = hash(key + "#" + i);
+                entries[n] = node;
+                n++;
+            }
+        }
+
+        // 해시 순으로 정렬 (같은 해시는 먼저 배치된 점 우선)
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> hashes[a] != hashes[b] ? Long.compare(hashes[a], hashes[b]) : Integer.compare(a, b));
+
+        this.points = new long[size];
+        this.owners = new Object[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = hashes[order[i]];
+            owners[i] = entries[order[i]];
+        }
+        this.nodeKeys = nodes.stream().map(nodeKey).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * 키를 담당하는 노드를 반환합니다.
+     *
+     * @return 노드 (링이 비어 있으면 null)
+     */
+    @SuppressWarnings("unchecked")
+    public T get(String key) {
+        if (points.length == 0) {
+            return null;
+        }
+        return (T) owners[index(key)];
+    }
+
+    /**
+     * 키를 담당하는 노드부터 링을 따라가며 만나는 서로 다른 노드를 순서대로 반환합니다.
+     * 담당 노드가 요청을 처리할 수 없을 때 (드레인 중, 구성원 변경 전에 기록된 녹음 등) 다음으로 시도할 노드 순서입니다.
+     *
+     * @return 노드 목록 (첫 항목은 {@link #get(String)} 과 같음, 링이 비어 있으면 빈 목록)
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> getAll(String key) {
+        if (points.length == 0) {
+            return List.of();
+        }
+        List<T> nodes = new ArrayList<>(nodeKeys.size());
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        int start = index(key);
+        for (int n = 0; n < points.length && nodes.size() < nodeKeys.size(); n++) {
+            Object owner = owners[(start + n) % points.length];
+            if (seen.add(owner)) {
+                nodes.add((T) owner);
+            }
+        }
+        return nodes;
+    }
+
+    private int index(String key) {
+        int i = Arrays.binarySearch(points, hash(key));
+        if (i < 0) {
+            i = -i - 1;
+            if (i == points.length) {
+                i = 0;
+            }
+        } else {
+            // 같은 해시가 여러 개면 가장 앞의 점
+            while (i > 0 && points[i - 1] == points[i]) {
+                i--;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * 링을 구성한 노드 식별 문자열 (구성원이 바뀌었는지 비교할 때 사용)
+     */
+    public Set<String> getNodeKeys() {
+        return nodeKeys;
+    }
+
+    /**
+     * 64 bit FNV-1a 에 MurmurHash3 의 fmix64 를 더해 짧은 키에서도 고르게 퍼지도록 합니다.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
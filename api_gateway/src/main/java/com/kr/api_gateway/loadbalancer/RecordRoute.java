@@ -0,0 +1,38 @@
+package com.kr.api_gateway.loadbalancer;
+
+import com.kr.core.web.constans.RecordHeaders;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * 녹음 요청의 audio-server 라우팅 정보
+ * key(metaId)를 담당하는 인스턴스부터 해시 링을 따라 replica 번째 인스턴스로 보냅니다. (0 이면 담당 인스턴스)
+ *
+ * 담당 인스턴스가 드레인 중이라 다음 인스턴스에서 녹음을 시작해도 key 는 metaId 그대로이므로,
+ * 다운로드처럼 파일 이름(metaId)만 아는 요청도 같은 링 순서로 녹음을 찾습니다.
+ *
+ * @param key 라우팅 키 (녹음의 metaId, 녹음 시작 전이면 세션 ID)
+ * @param replica 담당 인스턴스 다음으로 건너뛸 인스턴스 수
+ */
+public record RecordRoute(String key, int replica) {
+
+    public static RecordRoute of(String key) {
+        return new RecordRoute(key, 0);
+    }
+
+    /**
+     * 링에서 다음 인스턴스로 보내는 라우팅 정보
+     */
+    public RecordRoute next() {
+        return new RecordRoute(key, replica + 1);
+    }
+
+    /**
+     * 요청 헤더(X-Record-Key, X-Record-Replica)로 설정합니다.
+     */
+    public void applyTo(HttpHeaders headers) {
+        headers.set(RecordHeaders.RECORD_KEY, key);
+        if (replica > 0) {
+            headers.set(RecordHeaders.RECORD_REPLICA, Integer.toString(replica));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.kr.api_gateway.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 서비스 인스턴스 해시 링
+ * 인스턴스 목록이 바뀔 때만 링을 다시 만들고, 그 외에는 이전 링을 그대로 사용합니다.
+ * 로드밸런서와 녹음 파일 조회가 같은 virtual-nodes 로 만들어야 같은 인스턴스를 가리킵니다.
+ */
+@Slf4j
+public final class ServiceInstanceRing {
+
+    private final String serviceId;
+    private final int virtualNodes;
+    private volatile ConsistentHashRing<ServiceInstance> ring = new ConsistentHashRing<>(List.of(), ServiceInstanceRing::instanceKey, 1);
+
+    public ServiceInstanceRing(String serviceId, int virtualNodes) {
+        this.serviceId = serviceId;
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * 이번 인스턴스 목록의 링 (구성원이 같으면 이전 링)
+     */
+    public ConsistentHashRing<ServiceInstance> ringFor(List<ServiceInstance> instances) {
+        ConsistentHashRing<ServiceInstance> current = ring;
+        Set<String> keys = instances.stream().map(ServiceInstanceRing::instanceKey).collect(Collectors.toSet());
+        if (!current.getNodeKeys().equals(keys)) {
+            current = new ConsistentHashRing<>(instances, ServiceInstanceRing::instanceKey, virtualNodes);
+            ring = current;
+            log.info("[LB] {} ring rebuilt with instances {}", serviceId, keys);
+        }
+        return current;
+    }
+
+    /**
+     * 인스턴스 식별 문자열 (host:port)
+     */
+    public static String instanceKey(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+}
@@ -0,0 +1,88 @@
+package com.kr.api_gateway.protocol;
+
+import lombok.Getter;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 오디오 바이너리 프레임
+ * WebSocket 바이너리 메시지로 전달되는 오디오 청크의 헤더를 해석합니다.
+ * 오디오 본문은 복사하지 않고 원본 DataBuffer의 읽기 위치만 헤더 뒤로 옮겨 그대로 전달합니다.
+ *
+ * <pre>
+ * +---------+-------+--------------+-------------------+----------------+-------------+
+ * | version | flags | metaId 길이  | sequence          | metaId (UTF-8) | 오디오 바이트 |
+ * | 1 byte  | 1 byte| 2 byte       | 8 byte            | n byte         | 나머지       |
+ * +---------+-------+--------------+-------------------+----------------+-------------+
+ * </pre>
+ * 모든 정수는 big-endian 으로 기록합니다.
+ */
+@Getter
+public class AudioFrame {
+
+    public static final byte VERSION = 1;
+    public static final int HEADER_SIZE = 12;
+
+    /** 녹음의 마지막 청크임을 나타내는 플래그 */
+    public static final byte FLAG_LAST = 0x01;
+
+    private final byte flags;
+    private final long sequence;
+    private final String metaId;
+    private final DataBuffer payload;
+
+    private AudioFrame(byte flags, long sequence, String metaId, DataBuffer payload) {
+        this.flags = flags;
+        this.sequence = sequence;
+        this.metaId = metaId;
+        this.payload = payload;
+    }
+
+    /**
+     * 바이너리 메시지에서 프레임 헤더를 읽습니다.
+     * 반환된 프레임의 payload는 전달받은 버퍼 그 자체이며, 읽기 위치가 오디오 시작 지점에 있습니다.
+     *
+     * @param buffer 바이너리 메시지 본문
+     * @return 해석된 프레임
+     * @throws IllegalArgumentException 헤더가 올바르지 않은 경우
+     */
+    public static AudioFrame decode(DataBuffer buffer) {
+        if (buffer.readableByteCount() < HEADER_SIZE) {
+            throw new IllegalArgumentException("Frame too short: " + buffer.readableByteCount());
+        }
+
+        byte version = buffer.read();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported frame version: " + version);
+        }
+
+        byte flags = buffer.read();
+        int metaIdLength = ((buffer.read() & 0xFF) << 8) | (buffer.read() & 0xFF);
+        long sequence = 0;
+        for (int i = 0; i < 8; i++) {
+            sequence = (sequence << 8) | (buffer.read() & 0xFF);
+        }
+
+        if (buffer.readableByteCount() < metaIdLength) {
+            throw new IllegalArgumentException("Invalid metaId length: " + metaIdLength);
+        }
+
+        String metaId = null;
+        if (metaIdLength > 0) {
+            byte[] metaIdBytes = new byte[metaIdLength];
+            buffer.read(metaIdBytes);
+            metaId = new String(metaIdBytes, StandardCharsets.UTF_8);
+        }
+
+        return new AudioFrame(flags, sequence, metaId, buffer);
+    }
+
+    public boolean isLast() {
+        return (flags & FLAG_LAST) != 0;
+    }
+
+    public int getPayloadSize() {
+        return payload.readableByteCount();
+    }
+}
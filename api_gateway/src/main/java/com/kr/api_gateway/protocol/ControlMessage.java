@@ -0,0 +1,171 @@
+package com.kr.api_gateway.protocol;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import lombok.Getter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * WebSocket JSON 제어 메시지
+ * 트리(JsonNode)를 만들지 않고 JsonParser 로 최상위 필드를 한 번 훑어 필요한 값만 읽습니다.
+ *
+ * - action, metaId, metaData.userId 만 읽고 나머지 값(Base64 chunk 등)은 문자열로 만들지 않고 건너뜁니다.
+ * - heartbeat, record-end 는 action 만 확인되면 나머지를 읽지 않습니다.
+ * - 오디오 서버로 전달할 때는 원본 바이트 끝의 '}' 앞에 필드를 덧붙여 보내므로 본문을 다시 직렬화하지 않습니다.
+ *   (JSON 객체에서 같은 이름의 필드는 뒤의 값이 적용되므로 덧붙인 값이 원본 값을 대신합니다)
+ */
+@Getter
+public class ControlMessage {
+
+    public static final String RECORD_START = "record-start";
+    public static final String RECORD_IDLE = "record-idle";
+    public static final String RECORD_END = "record-end";
+    public static final String HEARTBEAT = "heartbeat";
+
+    private String action;
+    private String metaId;
+    private String userId;
+
+    // 최상위 필드 수와 닫는 '}' 위치 (전체를 읽은 경우에만 유효)
+    private int fieldCount;
+    private long closingBraceOffset = -1;
+
+    private ControlMessage() {
+    }
+
+    /**
+     * 메시지 본문을 읽습니다. 버퍼의 읽기 위치는 바뀌지 않습니다.
+     *
+     * @param jsonFactory JSON 팩토리 (ObjectMapper.getFactory())
+     * @param payload 텍스트 메시지 본문 (UTF-8)
+     * @return 읽은 메시지
+     * @throws IOException JSON 객체가 아니거나 형식이 올바르지 않은 경우
+     */
+    public static ControlMessage parse(JsonFactory jsonFactory, DataBuffer payload) throws IOException {
+        int readPosition = payload.readPosition();
+        try (InputStream in = payload.asInputStream();
+             JsonParser parser = jsonFactory.createParser(in)) {
+            return parse(parser);
+        } finally {
+            payload.readPosition(readPosition);
+        }
+    }
+
+    static ControlMessage parse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Control message must be a JSON object");
+        }
+
+        ControlMessage message = new ControlMessage();
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            message.fieldCount++;
+            switch (name) {
+                case "action" -> {
+                    message.action = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    if (HEARTBEAT.equals(message.action) || RECORD_END.equals(message.action)) {
+                        return message;
+                    }
+                }
+                case "metaId" -> message.metaId = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                case "metaData" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        message.userId = readUserId(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            throw new IOException("Unexpected token " + token);
+        }
+        message.closingBraceOffset = parser.currentTokenLocation().getByteOffset();
+        if (parser.nextToken() != null) {
+            throw new IOException("Trailing content after control message");
+        }
+        return message;
+    }
+
+    private static String readUserId(JsonParser parser) throws IOException {
+        String userId = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("userId".equals(name) && value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                userId = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return userId;
+    }
+
+    /**
+     * 원본 본문에 필드를 덧붙인 전달용 본문을 만듭니다.
+     * 원본 버퍼를 잘라 그대로 사용하므로, 반환된 Flux 가 버퍼의 해제 책임을 가집니다.
+     *
+     * @param payload {@link #parse}로 읽은 원본 본문
+     * @param fields 덧붙일 필드 (문자열 값)
+     * @return 전달용 본문
+     * @throws IllegalStateException 본문 전체를 읽지 않은 메시지인 경우 (heartbeat, record-end)
+     */
+    public Flux<DataBuffer> forward(DataBuffer payload, Map<String, String> fields) {
+        if (closingBraceOffset < 0) {
+            throw new IllegalStateException("Message was not fully parsed: " + action);
+        }
+        payload.writePosition(payload.readPosition() + (int) closingBraceOffset);
+        DataBuffer tail = DefaultDataBufferFactory.sharedInstance.wrap(suffix(fields));
+        return Flux.just(payload, tail);
+    }
+
+    /**
+     * 원본 본문에 필드를 덧붙인 전달용 본문을 바이트 배열로 복사합니다.
+     * 여러 번 보내야 하는 작은 메시지(재시도하는 record-start)에 사용하며, 원본 버퍼는 해제하지 않습니다.
+     *
+     * @param payload {@link #parse}로 읽은 원본 본문
+     * @param fields 덧붙일 필드 (문자열 값)
+     * @return 전달용 본문
+     */
+    public byte[] toBytes(DataBuffer payload, Map<String, String> fields) {
+        if (closingBraceOffset < 0) {
+            throw new IllegalStateException("Message was not fully parsed: " + action);
+        }
+        byte[] suffix = suffix(fields);
+        byte[] bytes = new byte[(int) closingBraceOffset + suffix.length];
+        int readPosition = payload.readPosition();
+        payload.read(bytes, 0, (int) closingBraceOffset);
+        payload.readPosition(readPosition);
+        System.arraycopy(suffix, 0, bytes, (int) closingBraceOffset, suffix.length);
+        return bytes;
+    }
+
+    private byte[] suffix(Map<String, String> fields) {
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        StringBuilder suffix = new StringBuilder(64);
+        boolean first = fieldCount == 0;
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            suffix.append(first ? "\"" : ",\"").append(encoder.quoteAsString(field.getKey())).append("\":");
+            if (field.getValue() == null) {
+                suffix.append("null");
+            } else {
+                suffix.append('"').append(encoder.quoteAsString(field.getValue())).append('"');
+            }
+            first = false;
+        }
+        suffix.append('}');
+        return suffix.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
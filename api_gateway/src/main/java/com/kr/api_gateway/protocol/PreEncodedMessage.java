@@ -0,0 +1,51 @@
+package com.kr.api_gateway.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import lombok.Getter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 미리 인코딩해 둔 고정 텍스트 메시지 (하트비트 응답, 흐름 제어 신호 등)
+ * 보낼 때마다 문자열을 UTF-8 로 인코딩하고 버퍼를 할당하는 대신, 해제되지 않는 버퍼 하나를 공유해 보냅니다.
+ */
+public final class PreEncodedMessage {
+
+    @Getter
+    private final String text;
+    private final byte[] bytes;
+    private final ByteBuf content;
+
+    private PreEncodedMessage(String text) {
+        this.text = text;
+        this.bytes = text.getBytes(StandardCharsets.UTF_8);
+        this.content = Unpooled.unreleasableBuffer(Unpooled.wrappedBuffer(bytes).asReadOnly());
+    }
+
+    public static PreEncodedMessage of(String text) {
+        return new PreEncodedMessage(text);
+    }
+
+    /**
+     * 세션으로 보낼 텍스트 메시지를 만듭니다.
+     * Netty 세션이면 공유 버퍼의 duplicate 를, 그 외에는 바이트 배열을 감싸 사용하므로 내용을 복사하지 않습니다.
+     */
+    public WebSocketMessage toMessage(WebSocketSession session) {
+        DataBufferFactory bufferFactory = session.bufferFactory();
+        DataBuffer payload = bufferFactory instanceof NettyDataBufferFactory netty
+                ? netty.wrap(content.duplicate())
+                : bufferFactory.wrap(bytes);
+        return new WebSocketMessage(WebSocketMessage.Type.TEXT, payload);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,414 @@
+package com.kr.api_gateway.relay;
+
+import com.kr.api_gateway.loadbalancer.RecordRoute;
+import com.kr.core.web.constans.RecordHeaders;
+import com.kr.core.web.webclient.DownstreamProperties;
+import com.kr.core.web.webclient.WebClientFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 오디오 청크 스트리밍 릴레이
+ * 녹음 세션마다 오디오 서버의 /record/stream 으로 하나의 장기 HTTP 요청을 열어두고,
+ * 청크를 요청 본문에 이어서 기록합니다. 업스트림 전송 속도는 Reactor Netty의 쓰기 가능 여부에 따라
+ * 조절되며(backpressure), 스트림을 열 수 없거나 실패한 세션은 청크를 {@link RecordCommandBatcher}로 모아 /record/batch 로 보내는
+ * 방식으로 대체합니다.
+ *
+ * 스트림 본문 형식 (청크마다 반복, big-endian):
+ * <pre>
+ * +-------------------+---------------+----------------+
+ * | sequence (8 byte) | 길이 (4 byte) | 오디오 바이트    |
+ * +-------------------+---------------+----------------+
+ * </pre>
+ * 길이가 0인 프레임은 연결 유지를 위한 keep-alive 프레임입니다.
+ *
+ * 녹음 시작 시 정한 라우팅 정보({@link RecordRoute}, metaId 와 링 위치)를 모든 요청 헤더로 보내,
+ * 스트림과 청크 요청이 파일을 열어 둔 같은 audio-server 인스턴스로 전달되게 합니다.
+ *
+ * 스트림에 쓴 청크는 오디오 서버가 받았는지 응답으로 알 수 없으므로, 최근 청크를 세션마다 replay-bytes 까지 보관합니다.
+ * 보관은 복사 없이 원본 버퍼의 참조 카운트를 늘린 slice 로 하며, 보관 범위를 벗어나거나 스트림이 끝나면 해제합니다.
+ * 스트림이 실패하면 /record/resume 으로 오디오 서버가 마지막으로 받은 순번을 확인하고, 그 이후 청크를 순서대로
+ * 배치 전송으로 다시 보낸 뒤 배치 전송으로 전환합니다. 필요한 청크가 이미 보관 범위를 벗어났으면
+ * 이후 청크 전송을 오류로 끝내, 핸들러가 클라이언트에 다시 보낼 순번을 알리게 합니다. (청크가 조용히 빠지지 않음)
+ */
+@Slf4j
+@Component
+public class AudioStreamRelay {
+
+    public static final int FRAME_HEADER_SIZE = 12;
+    private static final long KEEP_ALIVE_SEQUENCE = -1L;
+
+    private final RecordCommandBatcher commandBatcher;
+    private final WebClient streamWebClient;
+    private final boolean streamEnabled;
+    private final int bufferSize;
+    private final int maxStreams;
+    private final Duration closeTimeout;
+    private final long replayBytes;
+    private final Map<String, SessionStream> streams = new ConcurrentHashMap<>();
+    private final Map<String, RecordRoute> routes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AudioStreamRelay(RecordCommandBatcher commandBatcher,
+                            WebClientFactory webClientFactory,
+                            @Value("${audio.relay.mode:stream}") String mode,
+                            @Value("${audio.relay.buffer-size:256}") int bufferSize,
+                            @Value("${audio.relay.max-streams:1000}") int maxStreams,
+                            @Value("${audio.relay.close-timeout:10s}") Duration closeTimeout,
+                            @Value("${audio.relay.replay-bytes:256KB}") DataSize replayBytes) {
+        this(commandBatcher, streamWebClient(webClientFactory, maxStreams), "stream".equalsIgnoreCase(mode),
+                bufferSize, maxStreams, closeTimeout, replayBytes);
+    }
+
+    AudioStreamRelay(RecordCommandBatcher commandBatcher, WebClient streamWebClient, boolean streamEnabled,
+                     int bufferSize, int maxStreams, Duration closeTimeout, DataSize replayBytes) {
+        this.commandBatcher = commandBatcher;
+        this.streamWebClient = streamWebClient;
+        this.streamEnabled = streamEnabled;
+        this.bufferSize = bufferSize;
+        this.maxStreams = maxStreams;
+        this.closeTimeout = closeTimeout;
+        this.replayBytes = replayBytes.toBytes();
+    }
+
+    // 스트림은 세션 동안 연결을 점유하므로, 청크/제어 요청용 커넥션 풀과 분리합니다.
+    private static WebClient streamWebClient(WebClientFactory webClientFactory, int maxStreams) {
+        DownstreamProperties streamProperties = webClientFactory.properties("audio-server");
+        streamProperties.setMaxConnections(maxStreams);
+        streamProperties.setPendingAcquireMaxCount(-1);
+        return webClientFactory.create("audio-stream-relay", streamProperties);
+    }
+
+    /**
+     * 세션의 업스트림 스트림을 엽니다.
+     * 스트리밍 모드가 꺼져 있거나 동시 스트림 수가 한도에 도달하면 열지 않으며,
+     * 이 경우 해당 세션의 청크는 청크 단위 요청으로 전달됩니다.
+     *
+     * @param sessionId 세션 ID
+     * @param metaId 메타 ID
+     */
+    public void open(String sessionId, String metaId) {
+        open(sessionId, metaId, RecordRoute.of(metaId));
+    }
+
+    /**
+     * 세션의 업스트림 스트림을 엽니다.
+     *
+     * @param sessionId 세션 ID
+     * @param metaId 메타 ID
+     * @param route 녹음을 시작한 인스턴스로 보내기 위한 라우팅 정보 (드레인 중인 인스턴스를 피한 경우 replica 가 0 보다 큼)
+     */
+    public void open(String sessionId, String metaId, RecordRoute route) {
+        routes.put(sessionId, route);
+        if (!streamEnabled || streams.size() >= maxStreams) {
+            log.info("[RELAY] Stream not opened for session {}, using per-chunk requests", sessionId);
+            return;
+        }
+
+        SessionStream stream = new SessionStream();
+        Flux<DataBuffer> body = stream.sink.asFlux()
+                .concatMapIterable(RelayChunk::buffers)
+                .doOnDiscard(RelayChunk.class, RelayChunk::release)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+
+        stream.completion = streamWebClient.post()
+                .uri("/record/stream")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(RecordHeaders.SESSION_ID, sessionId)
+                .header(RecordHeaders.META_ID, metaId)
+                .headers(route::applyTo)
+                .body(BodyInserters.fromDataBuffers(body))
+                .retrieve()
+                .toBodilessEntity()
+                .then()
+                .onErrorResume(e -> replay(sessionId, stream, e))
+                .doFinally(signal -> stream.clearUnconfirmed())
+                .cache();
+
+        if (streams.putIfAbsent(sessionId, stream) != null) {
+            return;
+        }
+        stream.completion.subscribe();
+        log.info("[RELAY] Stream opened for session {}", sessionId);
+    }
+
+    /**
+     * 오디오 청크를 업스트림으로 전달합니다.
+     * 스트림이 열려 있으면 스트림에 이어 쓰고, 그렇지 않으면 {@link RecordCommandBatcher}로 배치 전송합니다.
+     * 스트림 버퍼가 가득 차면 해당 세션은 스트림을 닫고, 이미 버퍼에 쌓인 청크가 모두 전송된 뒤에
+     * 배치 전송 방식으로 전환하여 청크 순서를 유지합니다.
+     * 스트림에 쓴 청크는 바로 완료되지만, 스트림이 실패하면 보관한 사본을 다시 보내므로 빠지지 않습니다.
+     *
+     * @param sessionId 세션 ID
+     * @param metaId 메타 ID
+     * @param sequence 청크 순번
+     * @param payload 오디오 바이트 (이 메서드가 해제 책임을 가짐)
+     * @return 비동기 처리 결과 (스트림 실패 후 빠진 청크를 다시 보낼 수 없으면 오류)
+     */
+    public Mono<Void> send(String sessionId, String metaId, long sequence, DataBuffer payload) {
+        SessionStream stream = streams.get(sessionId);
+        if (stream == null) {
+            return sendChunk(sessionId, sequence, payload);
+        }
+
+        synchronized (stream) {
+            if (!stream.failed) {
+                stream.retain(sequence, payload);
+                RelayChunk chunk = new RelayChunk(header(sequence, payload.readableByteCount()), payload);
+                Sinks.EmitResult result = stream.sink.tryEmitNext(chunk);
+                if (result.isSuccess()) {
+                    return Mono.empty();
+                }
+                DataBufferUtils.release(chunk.header);
+                stream.forgetLast();
+                log.warn("[RELAY] Stream rejected chunk {} for session {} ({}), falling back", sequence, sessionId, result);
+                stream.failed = true;
+                stream.sink.tryEmitComplete();
+            }
+        }
+
+        return stream.completion
+                .doOnError(e -> DataBufferUtils.release(payload))
+                .then(Mono.defer(() -> sendChunk(sessionId, sequence, payload)));
+    }
+
+    /**
+     * 실패한 스트림에서 오디오 서버가 받지 못한 청크를 배치 전송으로 다시 보냅니다.
+     * 스트림 상태를 실패로 바꾼 시점까지 스트림에 쓴 청크만 대상이며, 이후 청크는 {@link #send}가 이 작업이 끝난 뒤 보냅니다.
+     */
+    private Mono<Void> replay(String sessionId, SessionStream stream, Throwable error) {
+        Deque<Unconfirmed> chunks;
+        long evictedSequence;
+        synchronized (stream) {
+            stream.failed = true;
+            // 보관 청크의 해제 책임은 여기로 넘어옵니다. (보내면 배치 전송이, 남은 것은 doFinally 가 해제)
+            chunks = new ArrayDeque<>(stream.unconfirmed);
+            evictedSequence = stream.evictedSequence;
+            stream.unconfirmed.clear();
+            stream.unconfirmedBytes = 0;
+        }
+        log.error("[RELAY] [ERR] Stream failed for session {}: {}, replaying up to {} chunks",
+                sessionId, error.getMessage(), chunks.size());
+
+        return resume(sessionId)
+                .flatMap(lastSequence -> {
+                    if (evictedSequence > lastSequence) {
+                        return Mono.error(new IllegalStateException("Chunks after sequence " + lastSequence
+                                + " are no longer buffered for session " + sessionId));
+                    }
+                    return replayAfter(sessionId, chunks, lastSequence);
+                })
+                .doOnError(e -> log.error("[RELAY] [ERR] Replay failed for session {}: {}", sessionId, e.getMessage()))
+                .doFinally(signal -> release(chunks));
+    }
+
+    /**
+     * 보관 청크 중 lastSequence 이후 청크를 하나씩 순서대로 배치 전송합니다. (이미 받은 청크는 해제)
+     */
+    private Mono<Void> replayAfter(String sessionId, Deque<Unconfirmed> chunks, long lastSequence) {
+        return Mono.defer(() -> {
+            Unconfirmed chunk;
+            synchronized (chunks) {
+                while ((chunk = chunks.pollFirst()) != null && chunk.sequence() <= lastSequence) {
+                    DataBufferUtils.release(chunk.payload());
+                }
+            }
+            if (chunk == null) {
+                return Mono.empty();
+            }
+            return sendChunk(sessionId, chunk.sequence(), chunk.payload())
+                    .then(replayAfter(sessionId, chunks, lastSequence));
+        });
+    }
+
+    private static void release(Deque<Unconfirmed> chunks) {
+        synchronized (chunks) {
+            Unconfirmed chunk;
+            while ((chunk = chunks.pollFirst()) != null) {
+                DataBufferUtils.release(chunk.payload());
+            }
+        }
+    }
+
+    /**
+     * 오디오 서버가 세션을 이어받게 하고, 마지막으로 받은 청크 순번을 돌려받습니다.
+     * 이후 오디오 서버는 이미 받은 순번의 청크를 건너뛰고, 순번이 빠진 청크는 거절합니다.
+     *
+     * @param sessionId 세션 ID
+     * @return 마지막으로 받은 청크 순번 (없으면 -1)
+     */
+    public Mono<Long> resume(String sessionId) {
+        return streamWebClient.post()
+                .uri("/record/resume")
+                .headers(route(sessionId)::applyTo)
+                .header(RecordHeaders.SESSION_ID, sessionId)
+                .retrieve()
+                .bodyToMono(ResumeResult.class)
+                .map(ResumeResult::lastSequence);
+    }
+
+    /**
+     * /record/resume 응답 (audio-server 의 RecordResumeResult)
+     */
+    record ResumeResult(String sessionId, long lastSequence) {
+    }
+
+    /**
+     * 유휴 상태의 스트림이 서버 측 읽기 타임아웃으로 끊기지 않도록 빈 프레임을 전송합니다.
+     *
+     * @param sessionId 세션 ID
+     */
+    public void keepAlive(String sessionId) {
+        SessionStream stream = streams.get(sessionId);
+        if (stream == null) {
+            return;
+        }
+        synchronized (stream) {
+            if (stream.failed) {
+                return;
+            }
+            DataBuffer header = header(KEEP_ALIVE_SEQUENCE, 0);
+            if (!stream.sink.tryEmitNext(new RelayChunk(header, null)).isSuccess()) {
+                DataBufferUtils.release(header);
+            }
+        }
+    }
+
+    /**
+     * 세션의 라우팅 정보 (녹음 시작 시 정한 metaId 와 링 위치. 시작 전이면 세션 ID)
+     * 녹음 종료 요청은 {@link #close(String)} 전에 읽어 두어야 합니다.
+     *
+     * @param sessionId 세션 ID
+     */
+    public RecordRoute route(String sessionId) {
+        RecordRoute route = routes.get(sessionId);
+        return route != null ? route : RecordRoute.of(sessionId);
+    }
+
+    /**
+     * 세션의 스트림을 닫고, 버퍼에 남은 청크가 모두 오디오 서버에 기록될 때까지 기다립니다.
+     * 녹음 종료 요청은 이 Mono가 완료된 뒤에 보내야 마지막 청크가 누락되지 않습니다.
+     *
+     * @param sessionId 세션 ID
+     * @return 스트림 종료 결과 (스트림이 없으면 즉시 완료)
+     */
+    public Mono<Void> close(String sessionId) {
+        routes.remove(sessionId);
+        SessionStream stream = streams.remove(sessionId);
+        if (stream == null) {
+            return Mono.empty();
+        }
+        synchronized (stream) {
+            stream.sink.emitComplete(Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+        }
+        return stream.completion
+                .timeout(closeTimeout)
+                .onErrorResume(e -> {
+                    log.error("[RELAY] [ERR] Stream close failed for session {}: {}", sessionId, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> sendChunk(String sessionId, long sequence, DataBuffer payload) {
+        return commandBatcher.chunk(sessionId, route(sessionId), sequence, payload);
+    }
+
+    private DataBuffer header(long sequence, int length) {
+        byte[] bytes = new byte[FRAME_HEADER_SIZE];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (sequence >>> (56 - 8 * i));
+        }
+        for (int i = 0; i < 4; i++) {
+            bytes[8 + i] = (byte) (length >>> (24 - 8 * i));
+        }
+        return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+    }
+
+    /**
+     * 세션별 업스트림 스트림 상태
+     * sink 에 쓰기와 보관 청크 변경은 이 객체로 동기화합니다.
+     */
+    private final class SessionStream {
+
+        private final Sinks.Many<RelayChunk> sink =
+                Sinks.many().unicast().onBackpressureBuffer(Queues.<RelayChunk>get(bufferSize).get());
+        private volatile boolean failed;
+        private Mono<Void> completion = Mono.empty();
+
+        // 스트림에 쓴 최근 청크 (오래된 것부터 replay-bytes 를 넘는 만큼 해제)
+        private final Deque<Unconfirmed> unconfirmed = new ArrayDeque<>();
+        private long unconfirmedBytes;
+        private long evictedSequence = -1;
+
+        // 스트림 쓰기가 원본의 읽기 위치를 옮기므로, 위치가 독립적인 slice 로 보관합니다. (메모리는 공유)
+        @SuppressWarnings("deprecation")
+        private void retain(long sequence, DataBuffer payload) {
+            DataBuffer slice = payload.retainedSlice(payload.readPosition(), payload.readableByteCount());
+            unconfirmed.addLast(new Unconfirmed(sequence, slice));
+            unconfirmedBytes += slice.readableByteCount();
+            while (unconfirmedBytes > replayBytes && unconfirmed.size() > 1) {
+                Unconfirmed evicted = unconfirmed.removeFirst();
+                unconfirmedBytes -= evicted.payload().readableByteCount();
+                evictedSequence = evicted.sequence();
+                DataBufferUtils.release(evicted.payload());
+            }
+        }
+
+        private void forgetLast() {
+            Unconfirmed last = unconfirmed.pollLast();
+            if (last != null) {
+                unconfirmedBytes -= last.payload().readableByteCount();
+                DataBufferUtils.release(last.payload());
+            }
+        }
+
+        private synchronized void clearUnconfirmed() {
+            unconfirmed.forEach(chunk -> DataBufferUtils.release(chunk.payload()));
+            unconfirmed.clear();
+            unconfirmedBytes = 0;
+        }
+    }
+
+    /**
+     * 스트림에 쓴 청크 (원본 버퍼의 retained slice)
+     */
+    private record Unconfirmed(long sequence, DataBuffer payload) {
+    }
+
+    /**
+     * 스트림에 기록할 하나의 프레임 (헤더 + 본문)
+     */
+    private record RelayChunk(DataBuffer header, DataBuffer payload) {
+
+        List<DataBuffer> buffers() {
+            return payload != null ? List.of(header, payload) : List.of(header);
+        }
+
+        void release() {
+            DataBufferUtils.release(header);
+            if (payload != null) {
+                DataBufferUtils.release(payload);
+            }
+        }
+    }
+}
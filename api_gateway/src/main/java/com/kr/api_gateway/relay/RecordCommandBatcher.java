@@ -0,0 +1,308 @@
+package com.kr.api_gateway.relay;
+
+import com.kr.api_gateway.loadbalancer.RecordRoute;
+import com.kr.core.web.constans.RecordBatch;
+import com.kr.core.web.webclient.DownstreamProperties;
+import com.kr.core.web.webclient.WebClientFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 녹음 명령 배치 전송기
+ * 청크 저장/녹음 종료 명령을 audio-server 인스턴스별로 모아 /record/batch 한 번으로 보냅니다.
+ *
+ * - 첫 명령이 들어오면 window 동안 기다렸다가 모인 명령을 보냅니다.
+ * - max-commands 개 또는 max-bytes 에 도달하면 바로 보냅니다.
+ * - 인스턴스마다 한 번에 하나의 배치만 전송하므로 같은 세션의 명령 순서가 유지되고,
+ *   전송 중에 들어온 명령은 다음 배치로 모입니다. (연결 종료가 몰리면 배치가 자연스럽게 커집니다)
+ *
+ * 대상 인스턴스는 명령의 라우팅 정보({@link RecordRoute})로 로드밸런서에서 고르므로, 개별 요청과 같은 인스턴스로 전달됩니다.
+ * 로드밸런서가 없으면 services.audio-server.base-url 로 보냅니다.
+ */
+@Slf4j
+@Component
+public class RecordCommandBatcher {
+
+    private static final String SERVICE = "audio-server";
+
+    private final WebClient webClient;
+    private final ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory;
+    private final String serviceId;
+    private final Duration window;
+    private final int maxCommands;
+    private final long maxBytes;
+    private final Map<URI, Target> targets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RecordCommandBatcher(WebClientFactory webClientFactory,
+                                ObjectProvider<ReactiveLoadBalancer.Factory<ServiceInstance>> loadBalancerFactory,
+                                @Value("${audio.batch.window:5ms}") Duration window,
+                                @Value("${audio.batch.max-commands:256}") int maxCommands,
+                                @Value("${audio.batch.max-bytes:1MB}") DataSize maxBytes) {
+        this(batchWebClient(webClientFactory), loadBalancerFactory.getIfAvailable(),
+                webClientFactory.properties(SERVICE).getServiceId(), window, maxCommands, maxBytes);
+    }
+
+    RecordCommandBatcher(WebClient webClient, ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
+                         String serviceId, Duration window, int maxCommands, DataSize maxBytes) {
+        this.webClient = webClient;
+        this.loadBalancerFactory = StringUtils.hasText(serviceId) ? loadBalancerFactory : null;
+        this.serviceId = serviceId;
+        this.window = window;
+        this.maxCommands = Math.max(1, maxCommands);
+        this.maxBytes = maxBytes.toBytes();
+    }
+
+    // 배치는 대상 인스턴스를 직접 고르므로 로드밸런서 필터 없이 만듭니다.
+    private static WebClient batchWebClient(WebClientFactory webClientFactory) {
+        DownstreamProperties properties = webClientFactory.properties(SERVICE);
+        properties.setServiceId(null);
+        return webClientFactory.create("audio-server-batch", properties);
+    }
+
+    /**
+     * 녹음 종료 명령을 보냅니다.
+     *
+     * @param sessionId 세션 ID
+     * @param route 녹음 라우팅 정보
+     * @return 명령이 처리되면 완료 (세션 처리 실패 시 오류)
+     */
+    public Mono<Void> end(String sessionId, RecordRoute route) {
+        return submit(RecordBatch.END, sessionId, route, -1L, null);
+    }
+
+    /**
+     * 오디오 청크 저장 명령을 보냅니다.
+     *
+     * @param sessionId 세션 ID
+     * @param route 녹음 라우팅 정보
+     * @param sequence 청크 순번
+     * @param payload 오디오 바이트 (이 메서드가 해제 책임을 가짐)
+     * @return 명령이 처리되면 완료 (세션 처리 실패 시 오류)
+     */
+    public Mono<Void> chunk(String sessionId, RecordRoute route, long sequence, DataBuffer payload) {
+        return submit(RecordBatch.CHUNK, sessionId, route, sequence, payload);
+    }
+
+    private Mono<Void> submit(byte type, String sessionId, RecordRoute route, long sequence, DataBuffer payload) {
+        return resolve(route)
+                .onErrorResume(e -> {
+                    if (payload != null) {
+                        DataBufferUtils.release(payload);
+                    }
+                    return Mono.error(e);
+                })
+                .flatMap(target -> {
+                    Command command = new Command(type, sessionId, sequence, payload);
+                    targets.computeIfAbsent(target, Target::new).add(command);
+                    return command.result.asMono();
+                });
+    }
+
+    private Mono<URI> resolve(RecordRoute route) {
+        if (loadBalancerFactory == null) {
+            return Mono.just(URI.create("/"));
+        }
+        HttpHeaders headers = new HttpHeaders();
+        route.applyTo(headers);
+        RequestData data = new RequestData(HttpMethod.POST, URI.create("http://" + serviceId + "/record/batch"),
+                headers, new LinkedMultiValueMap<>(), Map.of());
+        return Mono.from(loadBalancerFactory.getInstance(serviceId).choose(new DefaultRequest<>(new RequestDataContext(data))))
+                .flatMap(response -> response.hasServer()
+                        ? Mono.just(response.getServer().getUri())
+                        : Mono.error(new IllegalStateException("No instances available for " + serviceId)));
+    }
+
+    private Mono<Void> send(URI target, List<Command> batch) {
+        List<DataBuffer> buffers = new ArrayList<>(batch.size() * 2);
+        for (Command command : batch) {
+            buffers.add(command.header());
+            if (command.payload != null) {
+                buffers.add(command.payload);
+            }
+        }
+
+        // 본문을 쓰기 시작하면 버퍼는 전송(또는 doOnDiscard)이 해제하고, 그 전에 실패하면 여기서 해제합니다.
+        AtomicBoolean bodyTaken = new AtomicBoolean();
+        Flux<DataBuffer> body = Flux.defer(() -> bodyTaken.compareAndSet(false, true)
+                        ? Flux.fromIterable(buffers)
+                        : Flux.<DataBuffer>empty())
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+
+        return webClient.post()
+                .uri(target.resolve("/record/batch"))
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(BodyInserters.fromDataBuffers(body))
+                .retrieve()
+                .bodyToMono(BatchResult.class)
+                .defaultIfEmpty(new BatchResult(0, 0, List.of()))
+                .doOnNext(result -> complete(batch, result))
+                .doOnError(e -> {
+                    log.error("[BATCH] [ERR] Batch of {} commands to {} failed: {}", batch.size(), target, e.getMessage());
+                    batch.forEach(command -> command.result.tryEmitError(e));
+                })
+                .onErrorResume(e -> Mono.empty())
+                .doFinally(signal -> {
+                    if (bodyTaken.compareAndSet(false, true)) {
+                        buffers.forEach(DataBufferUtils::release);
+                    }
+                })
+                .then();
+    }
+
+    private static void complete(List<Command> batch, BatchResult result) {
+        Set<String> failed = result.failedSessions() == null ? Set.of() : new HashSet<>(result.failedSessions());
+        for (Command command : batch) {
+            if (failed.contains(command.sessionId)) {
+                command.result.tryEmitError(new IllegalStateException("Record command failed for session " + command.sessionId));
+            } else {
+                command.result.tryEmitEmpty();
+            }
+        }
+        log.debug("[BATCH] {} commands sent ({} chunks, {} ends, {} failed)",
+                batch.size(), result.chunks(), result.ended(), failed.size());
+    }
+
+    /**
+     * /record/batch 응답 (audio-server 의 RecordBatchResult)
+     */
+    record BatchResult(int chunks, int ended, List<String> failedSessions) {
+    }
+
+    private static final class Command {
+        private final byte type;
+        private final String sessionId;
+        // 프레임에 쓰는 세션 ID (UTF-8)
+        private final byte[] sessionIdBytes;
+        private final long sequence;
+        private final DataBuffer payload;
+        private final Sinks.One<Void> result = Sinks.one();
+
+        private Command(byte type, String sessionId, long sequence, DataBuffer payload) {
+            this.type = type;
+            this.sessionId = sessionId;
+            this.sessionIdBytes = sessionId.getBytes(StandardCharsets.UTF_8);
+            this.sequence = sequence;
+            this.payload = payload;
+        }
+
+        private int size() {
+            return RecordBatch.HEADER_SIZE + sessionIdBytes.length + (payload == null ? 0 : payload.readableByteCount());
+        }
+
+        private DataBuffer header() {
+            ByteBuffer header = ByteBuffer.allocate(RecordBatch.HEADER_SIZE + sessionIdBytes.length);
+            header.put(type).putShort((short) sessionIdBytes.length).put(sessionIdBytes).putLong(sequence)
+                    .putInt(payload == null ? 0 : payload.readableByteCount());
+            return DefaultDataBufferFactory.sharedInstance.wrap(header.array());
+        }
+    }
+
+    /**
+     * 인스턴스별 대기 명령 큐
+     */
+    private final class Target {
+        private final URI uri;
+        private final Queue<Command> pending = new ArrayDeque<>();
+        private long pendingBytes;
+        private boolean inFlight;
+        private boolean scheduled;
+
+        private Target(URI uri) {
+            this.uri = uri;
+        }
+
+        private void add(Command command) {
+            boolean flushNow = false;
+            boolean schedule = false;
+            synchronized (this) {
+                pending.add(command);
+                pendingBytes += command.size();
+                if (!inFlight) {
+                    if (pending.size() >= maxCommands || pendingBytes >= maxBytes) {
+                        flushNow = true;
+                    } else if (!scheduled) {
+                        scheduled = true;
+                        schedule = true;
+                    }
+                }
+            }
+            if (flushNow) {
+                flush();
+            } else if (schedule) {
+                Schedulers.parallel().schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void flush() {
+            List<Command> batch = new ArrayList<>();
+            synchronized (this) {
+                scheduled = false;
+                if (inFlight || pending.isEmpty()) {
+                    return;
+                }
+                long bytes = 0;
+                while (!pending.isEmpty() && batch.size() < maxCommands
+                        && (batch.isEmpty() || bytes + pending.peek().size() <= maxBytes)) {
+                    Command command = pending.poll();
+                    bytes += command.size();
+                    batch.add(command);
+                }
+                pendingBytes -= bytes;
+                inFlight = true;
+            }
+
+            send(uri, batch)
+                    .doFinally(signal -> {
+                        boolean more;
+                        synchronized (this) {
+                            inFlight = false;
+                            more = !pending.isEmpty();
+                        }
+                        // 전송 중에 쌓인 명령은 이미 기다렸으므로 바로 보냅니다.
+                        if (more) {
+                            flush();
+                        }
+                    })
+                    .subscribe();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.kr.api_gateway.session;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * WebSocket 세션 유휴 만료 타이머
+ * 세션마다 해시 타이머 휠(HashedWheelTimer)에 만료 시점을 하나 걸어 두고, 활동이 있으면 마지막 활동 시각만 갱신합니다.
+ * (활동 1건당 O(1), 전체 세션 스캔 없음)
+ * 타이머가 울렸을 때 그 사이 활동이 있었으면 남은 시간만큼 다시 걸고, 없으면 세션을 만료 처리합니다.
+ *
+ * 활동 시각은 휠 스레드가 tick 마다 갱신하는 공용 시계({@link #now()})로 기록하므로,
+ * 만료 시각 오차는 tick-duration 의 2배 이내입니다.
+ *
+ * 만료된 세션의 정리 작업은 한꺼번에 몰리지 않도록 cleanup-interval 마다 최대 cleanup-batch-size 건씩,
+ * 동시에 cleanup-concurrency 건까지만 실행합니다. 정리가 늦어지면 만료된 세션은 배치로 나뉘어 대기합니다.
+ */
+@Slf4j
+@Component
+public class SessionIdleTimer {
+
+    private final long idleTimeoutNanos;
+    private final long tickNanos;
+    private final HashedWheelTimer timer;
+    private final Map<String, SessionState> entries = new ConcurrentHashMap<>();
+    private final Sinks.Many<SessionState> expired = Sinks.many().unicast().onBackpressureBuffer();
+    private final int batchSize;
+    private final Duration cleanupInterval;
+    private final int concurrency;
+    private volatile Disposable cleanup;
+    private volatile long now = System.nanoTime();
+
+    public SessionIdleTimer(@Value("${audio.session.idle-timeout:30m}") Duration idleTimeout,
+                            @Value("${audio.session.tick-duration:1s}") Duration tickDuration,
+                            @Value("${audio.session.cleanup-batch-size:50}") int batchSize,
+                            @Value("${audio.session.cleanup-interval:1s}") Duration cleanupInterval,
+                            @Value("${audio.session.cleanup-concurrency:8}") int concurrency) {
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.tickNanos = tickDuration.toNanos();
+        this.batchSize = Math.max(1, batchSize);
+        this.cleanupInterval = cleanupInterval;
+        this.concurrency = Math.max(1, concurrency);
+        this.timer = new HashedWheelTimer(runnable -> {
+            Thread thread = new Thread(runnable, "session-idle-timer");
+            thread.setDaemon(true);
+            return thread;
+        }, tickDuration.toMillis(), TimeUnit.MILLISECONDS, 512);
+        timer.newTimeout(this::advanceClock, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 공용 시계를 tick 마다 갱신합니다.
+    private void advanceClock(Timeout timeout) {
+        now = System.nanoTime();
+        try {
+            timer.newTimeout(this::advanceClock, tickNanos, TimeUnit.NANOSECONDS);
+        } catch (IllegalStateException e) {
+            // 종료된 타이머
+        }
+    }
+
+    /**
+     * 공용 시계 (System.nanoTime() 기준, tick-duration 단위로 갱신)
+     */
+    public long now() {
+        return now;
+    }
+
+    /**
+     * 만료된 세션을 정리할 작업을 등록하고 정리 파이프라인을 시작합니다. (한 번만 호출)
+     *
+     * @param handler 만료된 세션을 받아 정리를 수행하는 작업
+     */
+    public synchronized void onExpired(Function<SessionState, Mono<Void>> handler) {
+        if (cleanup != null) {
+            throw new IllegalStateException("Expiry handler already registered");
+        }
+        // 정리가 밀려 요청이 없을 때도 배치를 버리거나 오류로 끝내지 않도록, 요청이 있을 때만 배치를 내보냅니다.
+        // (그동안 만료된 세션은 unicast sink 에 쌓임)
+        cleanup = expired.asFlux()
+                .bufferTimeout(batchSize, cleanupInterval, true)
+                .delayElements(cleanupInterval)
+                .concatMap(batch -> cleanupBatch(batch, handler))
+                .subscribe();
+    }
+
+    private Mono<Void> cleanupBatch(List<SessionState> sessions, Function<SessionState, Mono<Void>> handler) {
+        log.info("[SESSION] Cleaning up {} idle sessions", sessions.size());
+        return Flux.fromIterable(sessions)
+                .flatMap(state -> handler.apply(state)
+                        .onErrorResume(e -> {
+                            log.error("[SESSION] [ERR] Cleanup failed for session {}: {}", state.getSessionId(), e.getMessage());
+                            return Mono.empty();
+                        }), concurrency)
+                .then();
+    }
+
+    /**
+     * 세션 상태를 만들고 만료 타이머를 겁니다. (연결 시 한 번)
+     *
+     * @param sessionId 세션 ID
+     * @return 연결 동안 활동 기록에 사용할 세션 상태
+     */
+    public SessionState register(String sessionId) {
+        SessionState state = new SessionState(sessionId, this, now);
+        arm(state);
+        return state;
+    }
+
+    // 만료 타이머가 없으면 겁니다. (등록 시, 만료된 세션에 다시 활동이 있을 때)
+    void arm(SessionState state) {
+        synchronized (state) {
+            if (state.closed || state.timeout != null) {
+                return;
+            }
+            entries.put(state.getSessionId(), state);
+            state.timeout = timer.newTimeout(t -> check(state), idleTimeoutNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 세션을 만료 대상에서 제외합니다. (연결 종료 시)
+     *
+     * @param state 세션 상태
+     */
+    public void remove(SessionState state) {
+        Timeout timeout;
+        synchronized (state) {
+            state.closed = true;
+            timeout = state.timeout;
+            state.timeout = null;
+        }
+        entries.remove(state.getSessionId(), state);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * 만료를 기다리는 세션 수
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private void check(SessionState state) {
+        long idle;
+        synchronized (state) {
+            if (state.closed) {
+                return;
+            }
+            idle = now - state.getLastActivity();
+            if (idle < idleTimeoutNanos) {
+                state.timeout = timer.newTimeout(t -> check(state), idleTimeoutNanos - idle, TimeUnit.NANOSECONDS);
+                return;
+            }
+            state.timeout = null;
+            entries.remove(state.getSessionId(), state);
+        }
+        log.info("[SESSION] Session {} idle for {}s, expiring", state.getSessionId(), TimeUnit.NANOSECONDS.toSeconds(idle));
+        // 휠 스레드에서만 호출되므로 동시 emit 은 없습니다.
+        Sinks.EmitResult result = expired.tryEmitNext(state);
+        if (result.isFailure()) {
+            log.error("[SESSION] [ERR] Expired session {} not queued for cleanup: {}", state.getSessionId(), result);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        timer.stop();
+        Disposable current = cleanup;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.kr.api_gateway.session;
+
+import io.netty.util.Timeout;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * WebSocket 세션별 상태
+ * 연결 시 {@link SessionIdleTimer#register}로 만들어 핸들러가 연결 동안 들고 있으므로,
+ * 메시지마다 세션 ID 로 맵을 조회하거나 갱신하지 않습니다.
+ *
+ * 마지막 활동 시각은 {@link SessionIdleTimer}가 tick 마다 갱신하는 공용 시계 값을 primitive 필드에 기록합니다.
+ * (메시지당 System.nanoTime() 호출, Long 박싱 없음)
+ */
+public class SessionState {
+
+    @Getter
+    private final String sessionId;
+    private final SessionIdleTimer timer;
+
+    // record-start 로 받은 사용자 ID (녹음 중이 아니면 null)
+    @Getter
+    @Setter
+    private volatile String userId;
+
+    @Getter
+    private volatile long lastActivity;
+
+    // 만료 타이머 (만료됐거나 제거된 경우 null)
+    volatile Timeout timeout;
+    volatile boolean closed;
+
+    SessionState(String sessionId, SessionIdleTimer timer, long now) {
+        this.sessionId = sessionId;
+        this.timer = timer;
+        this.lastActivity = now;
+    }
+
+    /**
+     * 세션 활동을 기록합니다. 만료된 뒤의 활동이면 만료 타이머를 다시 겁니다.
+     */
+    public void touch() {
+        lastActivity = timer.now();
+        if (timeout == null) {
+            timer.arm(this);
+        }
+    }
+
+    /**
+     * 녹음 중인 세션인지 (record-start 이후 종료 전)
+     */
+    public boolean isRecording() {
+        return userId != null;
+    }
+}
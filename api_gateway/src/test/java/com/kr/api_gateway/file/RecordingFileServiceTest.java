@@ -0,0 +1,179 @@
+package com.kr.api_gateway.file;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kr.api_gateway.loadbalancer.ConsistentHashRing;
+import com.kr.api_gateway.loadbalancer.ServiceInstanceRing;
+import com.kr.core.web.constans.RecordingCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecordingFileServiceTest {
+
+    private static final ServiceInstance A = instance("a");
+    private static final ServiceInstance B = instance("b");
+    private static final ServiceInstance C = instance("c");
+
+    private final ReactiveDiscoveryClient discoveryClient = mock(ReactiveDiscoveryClient.class);
+    private final List<String> requestedHosts = new ArrayList<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 인스턴스별 녹음 파일 목록
+    private final Map<String, List<RecordingFile>> catalogs = new HashMap<>();
+    // 녹음 파일이 있는 인스턴스
+    private String owner;
+
+    private final RecordingFileService service = new RecordingFileService(
+            WebClient.builder().exchangeFunction(this::exchange).build(), discoveryClient, "audio-server", 160, 500);
+
+    private static ServiceInstance instance(String host) {
+        return new DefaultServiceInstance(host, "audio-server", host, 5001, false);
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request) {
+        String host = request.url().getHost();
+        requestedHosts.add(host);
+        if (request.url().getPath().equals("/api/files")) {
+            return list(host, UriComponentsBuilder.fromUri(request.url()).build().getQueryParams());
+        }
+        if (!host.equals(owner)) {
+            return Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+        }
+        return Mono.just(ClientResponse.create(HttpStatus.PARTIAL_CONTENT)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes 0-4/10")
+                .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                .body("audio")
+                .build());
+    }
+
+    /**
+     * audio-server 카탈로그의 최신순 조회 (커서 이후 size 개, 더 있으면 nextCursor)
+     */
+    private Mono<ClientResponse> list(String host, MultiValueMap<String, String> params) {
+        String after = RecordingCursor.decode(params.getFirst("cursor"));
+        int size = Integer.parseInt(params.getFirst("size"));
+        List<RecordingFile> files = catalogs.getOrDefault(host, List.of()).stream()
+                .sorted(Comparator.comparing(RecordingFileServiceTest::timeKey).reversed())
+                .filter(file -> after == null || timeKey(file).compareTo(after) < 0)
+                .toList();
+        List<RecordingFile> page = files.subList(0, Math.min(size, files.size()));
+        String nextCursor = files.size() > size ? RecordingCursor.encode(timeKey(page.get(page.size() - 1))) : null;
+        try {
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(objectMapper.writeValueAsString(new RecordingPage(page, nextCursor)))
+                    .build());
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+
+    private static String timeKey(RecordingFile file) {
+        return RecordingCursor.timeKey(LocalDateTime.parse(file.recordedAt()), file.fileName());
+    }
+
+    private static String owner(List<ServiceInstance> instances, String key) {
+        return new ConsistentHashRing<>(instances, ServiceInstanceRing::instanceKey, 160).get(key).getHost();
+    }
+
+    private static String body(ResponseEntity<Flux<DataBuffer>> response) {
+        DataBuffer joined = DataBufferUtils.join(response.getBody()).block(Duration.ofSeconds(5));
+        String body = joined.toString(StandardCharsets.UTF_8);
+        DataBufferUtils.release(joined);
+        return body;
+    }
+
+    @Test
+    void recordingIsFoundAfterInstanceIsAdded() {
+        // 인스턴스 c 가 추가되면서 담당 인스턴스가 바뀐 녹음 (a, b 일 때 기록)
+        String metaId = null;
+        for (int i = 0; metaId == null; i++) {
+            String candidate = "meta-" + i;
+            if (owner(List.of(A, B, C), candidate).equals("c")) {
+                metaId = candidate;
+            }
+        }
+        owner = owner(List.of(A, B), metaId);
+        when(discoveryClient.getInstances("audio-server")).thenReturn(Flux.just(A, B, C));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setRange(List.of(HttpRange.createByteRange(0, 4)));
+        ResponseEntity<Flux<DataBuffer>> response = service.download(metaId + "_20240101_120000000.webm", headers)
+                .block(Duration.ofSeconds(5));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 0-4/10");
+        assertThat(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING)).isFalse();
+        assertThat(body(response)).isEqualTo("audio");
+        // 새 담당 인스턴스(c)부터 링 순서대로 찾습니다.
+        assertThat(requestedHosts.get(0)).isEqualTo("c");
+        assertThat(requestedHosts.get(requestedHosts.size() - 1)).isEqualTo(owner);
+    }
+
+    @Test
+    void missingRecordingIsNotFoundAfterAllInstances() {
+        owner = null;
+        when(discoveryClient.getInstances("audio-server")).thenReturn(Flux.just(A, B, C));
+
+        assertThatThrownBy(() -> service.download("meta_20240101_120000000.webm", new HttpHeaders())
+                .block(Duration.ofSeconds(5))).isInstanceOf(WebClientResponseException.NotFound.class);
+        assertThat(requestedHosts).containsExactlyInAnyOrder("a", "b", "c");
+    }
+
+    @Test
+    void listingMergesAllInstancesAndPagesWithoutGapsOrDuplicates() {
+        List<RecordingFile> all = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // 같은 시각의 녹음이 여러 인스턴스에 나뉘어 있는 경우도 포함
+            String recordedAt = LocalDateTime.of(2024, 1, 1, 12, 0).plusSeconds(i / 2).toString();
+            RecordingFile file = new RecordingFile("meta-" + i + "_x.webm", "meta-" + i, recordedAt, i);
+            catalogs.computeIfAbsent(List.of("a", "b", "c").get(i % 3), host -> new ArrayList<>()).add(file);
+            all.add(file);
+        }
+        when(discoveryClient.getInstances("audio-server")).thenReturn(Flux.just(A, B, C));
+
+        List<RecordingFile> listed = new ArrayList<>();
+        String cursor = null;
+        do {
+            RecordingPage page = service.list(null, null, null, null, cursor, 4).block(Duration.ofSeconds(5));
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(4);
+            listed.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(listed).doesNotHaveDuplicates()
+                .containsExactlyElementsOf(all.stream()
+                        .sorted(Comparator.comparing(RecordingFileServiceTest::timeKey).reversed())
+                        .toList());
+    }
+}
@@ -1,6 +1,11 @@
 package com.kr.api_gateway.handler;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kr.api_gateway.drain.DrainService;
+import com.kr.api_gateway.relay.AudioStreamRelay;
+import com.kr.api_gateway.relay.RecordCommandBatcher;
+import com.kr.api_gateway.session.SessionIdleTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -12,7 +17,9 @@ class AudioHandlerTest {
     void audioHandlerCanBeCreatedWithMockWebClient() {
         ObjectMapper objectMapper = new ObjectMapper();
         WebClient mockWebClient = mock(WebClient.class);
-        AudioHandler handler = new AudioHandler(objectMapper, mockWebClient);
+        AudioHandler handler = new AudioHandler(objectMapper, mockWebClient, mock(AudioStreamRelay.class),
+                mock(RecordCommandBatcher.class), mock(SessionIdleTimer.class), mock(DrainService.class),
+                new SimpleMeterRegistry(), 32, 24, 8);
         assertThat(handler).isNotNull();
     }
 } 
\ No newline at end of file
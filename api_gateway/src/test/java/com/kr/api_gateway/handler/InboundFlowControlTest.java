@@ -0,0 +1,40 @@
+package com.kr.api_gateway.handler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InboundFlowControlTest {
+
+    @Test
+    void signalsSlowDownOnceAndResumeAfterDraining() {
+        InboundFlowControl flowControl = new InboundFlowControl(4, 1);
+
+        assertThat(flowControl.received()).isFalse();
+        assertThat(flowControl.received()).isFalse();
+        assertThat(flowControl.received()).isFalse();
+        assertThat(flowControl.received()).isTrue();
+        assertThat(flowControl.received()).isFalse();
+        assertThat(flowControl.isThrottled()).isTrue();
+
+        assertThat(flowControl.completed()).isFalse();
+        assertThat(flowControl.completed()).isFalse();
+        assertThat(flowControl.completed()).isFalse();
+        assertThat(flowControl.completed()).isTrue();
+        assertThat(flowControl.completed()).isFalse();
+        assertThat(flowControl.getPending()).isZero();
+        assertThat(flowControl.isThrottled()).isFalse();
+    }
+
+    @Test
+    void belowThresholdNeverSignals() {
+        InboundFlowControl flowControl = new InboundFlowControl(4, 1);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(flowControl.received()).isFalse();
+            assertThat(flowControl.received()).isFalse();
+            assertThat(flowControl.completed()).isFalse();
+            assertThat(flowControl.completed()).isFalse();
+        }
+    }
+}
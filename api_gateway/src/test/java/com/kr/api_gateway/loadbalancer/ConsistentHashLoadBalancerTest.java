@@ -0,0 +1,66 @@
+package com.kr.api_gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ConsistentHashLoadBalancerTest {
+
+    @SuppressWarnings("unchecked")
+    private final ConsistentHashLoadBalancer loadBalancer = new ConsistentHashLoadBalancer(
+            mock(ObjectProvider.class), "audio-server", 160);
+
+    private static ServiceInstance instance(String host, boolean draining) {
+        Map<String, String> metadata = draining ? Map.of(ConsistentHashLoadBalancer.DRAINING_METADATA, "true") : Map.of();
+        return new DefaultServiceInstance(host, "audio-server", host, 5001, false, metadata);
+    }
+
+    @Test
+    void drainingInstanceKeepsExistingKeysButRejectsRecordStart() {
+        List<ServiceInstance> active = List.of(instance("a", false), instance("b", false), instance("c", false));
+        List<ServiceInstance> draining = List.of(instance("a", true), instance("b", false), instance("c", false));
+
+        int rejected = 0;
+        for (int i = 0; i < 300; i++) {
+            RecordRoute key = RecordRoute.of("meta-" + i);
+            ServiceInstance before = loadBalancer.choose(active, key, false).getServer();
+            // 드레인 중에도 진행 중인 녹음의 요청은 같은 인스턴스로 갑니다.
+            assertThat(loadBalancer.choose(draining, key, false).getServer().getHost()).isEqualTo(before.getHost());
+
+            boolean hasServer = loadBalancer.choose(draining, key, true).hasServer();
+            assertThat(hasServer).isEqualTo(!before.getHost().equals("a"));
+            if (!hasServer) {
+                rejected++;
+            }
+        }
+        assertThat(rejected).isPositive();
+    }
+
+    @Test
+    void recordStartRejectedByDrainingOwnerLandsOnNextRingNodeWithSameKey() {
+        List<ServiceInstance> draining = List.of(instance("a", true), instance("b", false), instance("c", false));
+        ConsistentHashRing<ServiceInstance> ring = new ConsistentHashRing<>(draining, ServiceInstanceRing::instanceKey, 160);
+
+        String key = null;
+        for (int i = 0; key == null; i++) {
+            if (ring.get("meta-" + i).getHost().equals("a")) {
+                key = "meta-" + i;
+            }
+        }
+        assertThat(loadBalancer.choose(draining, RecordRoute.of(key), true).hasServer()).isFalse();
+
+        // 키는 그대로 두고 링의 다음 인스턴스로 시작하며, 이후 요청도 같은 인스턴스로 갑니다.
+        RecordRoute next = RecordRoute.of(key).next();
+        ServiceInstance started = loadBalancer.choose(draining, next, true).getServer();
+        assertThat(started.getHost()).isEqualTo(ring.getAll(key).get(1).getHost()).isNotEqualTo("a");
+        assertThat(loadBalancer.choose(draining, next, false).getServer().getHost()).isEqualTo(started.getHost());
+    }
+}
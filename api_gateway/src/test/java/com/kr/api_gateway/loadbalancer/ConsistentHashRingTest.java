@@ -0,0 +1,89 @@
+package com.kr.api_gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 20_000;
+
+    @Test
+    void sameKeyAlwaysMapsToSameNode() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(nodes(4), Function.identity(), 160);
+        ConsistentHashRing<String> rebuilt = new ConsistentHashRing<>(List.of("node-3", "node-1", "node-0", "node-2"),
+                Function.identity(), 160);
+
+        for (int i = 0; i < 1000; i++) {
+            String key = "meta-" + i;
+            assertThat(ring.get(key)).isEqualTo(ring.get(key)).isEqualTo(rebuilt.get(key));
+        }
+    }
+
+    @Test
+    void keysAreSpreadAcrossNodes() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(nodes(4), Function.identity(), 160);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.get("meta-" + i), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(4);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 4 * 7 / 10, KEYS / 4 * 13 / 10));
+    }
+
+    @Test
+    void addingNodeOnlyMovesKeysToTheNewNode() {
+        ConsistentHashRing<String> before = new ConsistentHashRing<>(nodes(4), Function.identity(), 160);
+        ConsistentHashRing<String> after = new ConsistentHashRing<>(nodes(5), Function.identity(), 160);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "meta-" + i;
+            String owner = after.get(key);
+            if (!owner.equals(before.get(key))) {
+                assertThat(owner).isEqualTo("node-4");
+                moved++;
+            }
+        }
+
+        // 이상적으로 1/5
+        assertThat(moved).isBetween(KEYS / 10, KEYS * 3 / 10);
+    }
+
+    @Test
+    void successorsStartWithOwnerAndVisitEveryNodeOnce() {
+        ConsistentHashRing<String> before = new ConsistentHashRing<>(nodes(4), Function.identity(), 160);
+        ConsistentHashRing<String> after = new ConsistentHashRing<>(nodes(5), Function.identity(), 160);
+
+        for (int i = 0; i < 1000; i++) {
+            String key = "meta-" + i;
+            List<String> successors = after.getAll(key);
+            assertThat(successors).hasSize(5).doesNotHaveDuplicates().startsWith(after.get(key));
+            // 새 노드로 옮겨진 키는 이전 담당 노드가 바로 다음입니다.
+            if (successors.get(0).equals("node-4")) {
+                assertThat(successors.get(1)).isEqualTo(before.get(key));
+            }
+        }
+    }
+
+    @Test
+    void emptyRingReturnsNull() {
+        assertThat(new ConsistentHashRing<String>(List.of(), Function.identity(), 160).get("meta")).isNull();
+    }
+
+    private static List<String> nodes(int count) {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            nodes.add("node-" + i);
+        }
+        return nodes;
+    }
+}
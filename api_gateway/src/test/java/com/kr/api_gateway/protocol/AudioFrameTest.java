@@ -0,0 +1,54 @@
+package com.kr.api_gateway.protocol;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AudioFrameTest {
+
+    private static DataBuffer frame(byte version, byte flags, long sequence, String metaId, byte[] audio) {
+        byte[] metaIdBytes = metaId.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(AudioFrame.HEADER_SIZE + metaIdBytes.length + audio.length);
+        buffer.put(version).put(flags).putShort((short) metaIdBytes.length).putLong(sequence);
+        buffer.put(metaIdBytes).put(audio);
+        return DefaultDataBufferFactory.sharedInstance.wrap(buffer.array());
+    }
+
+    @Test
+    void decodeReadsHeaderAndLeavesAudioReadable() {
+        byte[] audio = {1, 2, 3, 4, 5};
+        AudioFrame frame = AudioFrame.decode(frame(AudioFrame.VERSION, AudioFrame.FLAG_LAST, 42L, "meta-1", audio));
+
+        assertThat(frame.getSequence()).isEqualTo(42L);
+        assertThat(frame.getMetaId()).isEqualTo("meta-1");
+        assertThat(frame.isLast()).isTrue();
+        assertThat(frame.getPayloadSize()).isEqualTo(audio.length);
+
+        byte[] payload = new byte[frame.getPayloadSize()];
+        frame.getPayload().read(payload);
+        assertThat(payload).isEqualTo(audio);
+    }
+
+    @Test
+    void decodeWithoutMetaIdReturnsNullMetaId() {
+        AudioFrame frame = AudioFrame.decode(frame(AudioFrame.VERSION, (byte) 0, 0L, "", new byte[]{9}));
+
+        assertThat(frame.getMetaId()).isNull();
+        assertThat(frame.isLast()).isFalse();
+        assertThat(frame.getPayloadSize()).isEqualTo(1);
+    }
+
+    @Test
+    void decodeRejectsUnknownVersionAndShortFrames() {
+        assertThatThrownBy(() -> AudioFrame.decode(frame((byte) 2, (byte) 0, 0L, "", new byte[0])))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AudioFrame.decode(DefaultDataBufferFactory.sharedInstance.wrap(new byte[3])))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
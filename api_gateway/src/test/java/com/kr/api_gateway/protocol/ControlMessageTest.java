@@ -0,0 +1,99 @@
+package com.kr.api_gateway.protocol;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ControlMessageTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static DataBuffer text(String json) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private JsonNode forwarded(ControlMessage message, DataBuffer payload, Map<String, String> fields) throws IOException {
+        DataBuffer joined = DataBufferUtils.join(message.forward(payload, fields)).block();
+        return objectMapper.readTree(joined.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void parseReadsActionMetaIdAndUserIdWithoutTouchingChunk() throws IOException {
+        DataBuffer payload = text("{\"action\":\"record-idle\",\"chunk\":\"AAEC\",\"metaData\":{\"tags\":[1,2],\"userId\":\"u1\"},\"metaId\":\"m1\"}");
+        int readPosition = payload.readPosition();
+
+        ControlMessage message = ControlMessage.parse(objectMapper.getFactory(), payload);
+
+        assertThat(message.getAction()).isEqualTo(ControlMessage.RECORD_IDLE);
+        assertThat(message.getMetaId()).isEqualTo("m1");
+        assertThat(message.getUserId()).isEqualTo("u1");
+        assertThat(payload.readPosition()).isEqualTo(readPosition);
+    }
+
+    @Test
+    void parseAllowsMissingMetaDataAndNullMetaId() throws IOException {
+        ControlMessage message = ControlMessage.parse(objectMapper.getFactory(),
+                text("{\"action\":\"record-start\",\"metaId\":null,\"metaData\":{\"userId\":null}}"));
+
+        assertThat(message.getMetaId()).isNull();
+        assertThat(message.getUserId()).isNull();
+    }
+
+    @Test
+    void heartbeatStopsAfterAction() throws IOException {
+        // action 뒤의 내용은 읽지 않으므로 깨져 있어도 처리됩니다.
+        ControlMessage message = ControlMessage.parse(objectMapper.getFactory(), text("{\"action\":\"heartbeat\",\"x\":"));
+
+        assertThat(message.getAction()).isEqualTo(ControlMessage.HEARTBEAT);
+        assertThatThrownBy(() -> message.forward(text("{}"), Map.of()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void forwardAppendsFieldsToOriginalBody() throws IOException {
+        DataBuffer payload = text("{\"action\":\"record-start\",\"metaId\":\"old\",\"chunk\":\"AAEC\"}  ");
+        ControlMessage message = ControlMessage.parse(objectMapper.getFactory(), payload);
+
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("sessionId", "s\"1");
+        fields.put("metaId", "new");
+        JsonNode body = forwarded(message, payload, fields);
+
+        assertThat(body.get("action").asText()).isEqualTo("record-start");
+        assertThat(body.get("chunk").asText()).isEqualTo("AAEC");
+        assertThat(body.get("sessionId").asText()).isEqualTo("s\"1");
+        assertThat(body.get("metaId").asText()).isEqualTo("new");
+    }
+
+    @Test
+    void forwardHandlesEmptyObject() throws IOException {
+        DataBuffer payload = text("{}");
+        ControlMessage message = ControlMessage.parse(objectMapper.getFactory(), payload);
+
+        JsonNode body = forwarded(message, payload, Map.of("sessionId", "s1"));
+
+        assertThat(message.getAction()).isNull();
+        assertThat(body.get("sessionId").asText()).isEqualTo("s1");
+    }
+
+    @Test
+    void parseRejectsNonObjectAndTrailingContent() {
+        assertThatThrownBy(() -> ControlMessage.parse(objectMapper.getFactory(), text("[1,2]")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> ControlMessage.parse(objectMapper.getFactory(), text("{\"action\":\"record-idle\"} {}")))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> ControlMessage.parse(objectMapper.getFactory(), text("not json")))
+                .isInstanceOf(IOException.class);
+    }
+}
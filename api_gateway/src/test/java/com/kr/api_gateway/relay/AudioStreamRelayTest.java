@@ -0,0 +1,192 @@
+package com.kr.api_gateway.relay;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AudioStreamRelayTest {
+
+    private static final int CHUNK_SIZE = 64;
+    private static final int CHUNKS = 10;
+
+    // 오디오 서버가 받은 청크 (스트림 + 배치 전송, 순번 순서대로 이어 붙임)
+    private final ByteArrayOutputStream received = new ByteArrayOutputStream();
+    private final AtomicLong lastSequence = new AtomicLong(-1);
+    // 연결이 끊기기 전 스트림으로 보낸 청크 3개 중 오디오 서버가 실제로 기록한 청크 수 (나머지는 전송 중 유실)
+    private int recordedByStream = 1;
+    private final RecordCommandBatcher commandBatcher = mock(RecordCommandBatcher.class);
+    // 게이트웨이가 받은 WebSocket 프레임처럼 참조 카운트가 있는 청크 버퍼 (테스트 끝에 모두 해제되어야 함)
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(new UnpooledByteBufAllocator(false));
+    private final List<DataBuffer> payloads = new ArrayList<>();
+
+    private final WebClient webClient = WebClient.builder()
+            .baseUrl("http://audio-server")
+            .exchangeFunction(this::exchange)
+            .build();
+
+    private AudioStreamRelay relay(DataSize replayBytes) {
+        when(commandBatcher.chunk(eq("s"), any(), anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    long sequence = invocation.getArgument(2);
+                    DataBuffer payload = invocation.getArgument(3);
+                    receive(sequence, payload);
+                    return Mono.empty();
+                });
+        return new AudioStreamRelay(commandBatcher, webClient, true, 256, 10, Duration.ofSeconds(5), replayBytes);
+    }
+
+    private synchronized void receive(long sequence, DataBuffer payload) {
+        byte[] bytes = new byte[payload.readableByteCount()];
+        payload.read(bytes);
+        DataBufferUtils.release(payload);
+        // 오디오 서버는 이어받은 뒤 이미 받은 순번을 건너뛰고, 빠진 순번은 거절합니다.
+        if (sequence <= lastSequence.get()) {
+            return;
+        }
+        assertThat(sequence).isEqualTo(lastSequence.get() + 1);
+        received.writeBytes(bytes);
+        lastSequence.set(sequence);
+    }
+
+    /**
+     * /record/stream 은 청크 3개(버퍼 6개)를 보낸 뒤 연결이 끊기고, 그중 recordedByStream 개만 기록됩니다.
+     * /record/resume 은 마지막으로 받은 순번을 돌려줍니다.
+     */
+    private Mono<ClientResponse> exchange(ClientRequest request) {
+        String path = request.url().getPath();
+        if (path.equals("/record/resume")) {
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body("{\"sessionId\":\"s\",\"lastSequence\":" + lastSequence.get() + "}")
+                    .build());
+        }
+
+        MockClientHttpRequest mock = new MockClientHttpRequest(HttpMethod.POST, URI.create(path));
+        mock.setWriteHandler(body -> Flux.from(body)
+                .take(6)
+                .buffer(2)
+                .doOnNext(frame -> {
+                    DataBuffer header = frame.get(0);
+                    byte[] sequenceBytes = new byte[8];
+                    header.read(sequenceBytes);
+                    long sequence = ByteBuffer.wrap(sequenceBytes).getLong();
+                    DataBufferUtils.release(header);
+                    if (sequence < recordedByStream) {
+                        receive(sequence, frame.get(1));
+                    } else {
+                        DataBufferUtils.release(frame.get(1));
+                    }
+                })
+                .then(Mono.error(new IOException("Connection reset"))));
+        return request.body().insert(mock, new BodyInserter.Context() {
+                    @Override
+                    public List<HttpMessageWriter<?>> messageWriters() {
+                        return ExchangeStrategies.withDefaults().messageWriters();
+                    }
+
+                    @Override
+                    public Optional<ServerHttpRequest> serverRequest() {
+                        return Optional.empty();
+                    }
+
+                    @Override
+                    public Map<String, Object> hints() {
+                        return Map.of();
+                    }
+                })
+                .then(Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+    }
+
+    private DataBuffer payload(int sequence) {
+        DataBuffer buffer = bufferFactory.wrap(chunk(sequence));
+        payloads.add(buffer);
+        return buffer;
+    }
+
+    private void assertAllReleased() {
+        assertThat(payloads).allSatisfy(buffer -> assertThat(((PooledDataBuffer) buffer).isAllocated()).isFalse());
+    }
+
+    private static byte[] chunk(int sequence) {
+        byte[] data = new byte[CHUNK_SIZE];
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            data[i] = (byte) (sequence * 17 + i);
+        }
+        return data;
+    }
+
+    @Test
+    void chunksWrittenToFailedStreamAreReplayed() {
+        AudioStreamRelay relay = relay(DataSize.ofKilobytes(256));
+        relay.open("s", "m");
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int sequence = 0; sequence < CHUNKS; sequence++) {
+            expected.writeBytes(chunk(sequence));
+            relay.send("s", "m", sequence, payload(sequence))
+                    .block(Duration.ofSeconds(5));
+        }
+        relay.close("s").block(Duration.ofSeconds(5));
+
+        assertThat(lastSequence.get()).isEqualTo(CHUNKS - 1);
+        assertThat(received.toByteArray()).isEqualTo(expected.toByteArray());
+        assertAllReleased();
+    }
+
+    @Test
+    void chunksBeyondReplayWindowFailInsteadOfLeavingGap() {
+        // 마지막 청크 하나만 보관하므로 전송 중 유실된 청크 1 을 다시 보낼 수 없습니다.
+        AudioStreamRelay relay = relay(DataSize.ofBytes(CHUNK_SIZE));
+        relay.open("s", "m");
+
+        for (int sequence = 0; sequence < 3; sequence++) {
+            relay.send("s", "m", sequence, payload(sequence))
+                    .block(Duration.ofSeconds(5));
+        }
+
+        assertThatThrownBy(() -> relay.send("s", "m", 3, payload(3))
+                .block(Duration.ofSeconds(5))).isInstanceOf(IllegalStateException.class);
+        assertThat(lastSequence.get()).isZero();
+        assertThat(received.toByteArray()).isEqualTo(chunk(0));
+        relay.close("s").block(Duration.ofSeconds(5));
+        assertAllReleased();
+    }
+}
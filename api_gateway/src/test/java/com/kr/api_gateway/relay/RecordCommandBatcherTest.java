@@ -0,0 +1,160 @@
+package com.kr.api_gateway.relay;
+
+import com.kr.api_gateway.loadbalancer.RecordRoute;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecordCommandBatcherTest {
+
+    private final List<byte[]> bodies = new CopyOnWriteArrayList<>();
+    private volatile String response = "{\"chunks\":0,\"ended\":0,\"failedSessions\":[]}";
+    // true 면 본문을 쓰기 전에 연결이 실패합니다.
+    private volatile boolean refused;
+
+    private final WebClient webClient = WebClient.builder()
+            .baseUrl("http://audio-server")
+            .exchangeFunction(this::exchange)
+            .build();
+
+    private Mono<ClientResponse> exchange(ClientRequest request) {
+        if (refused) {
+            return Mono.error(new ConnectException("Connection refused"));
+        }
+        MockClientHttpRequest mock = new MockClientHttpRequest(HttpMethod.POST, URI.create("/record/batch"));
+        return request.body().insert(mock, new BodyInserter.Context() {
+                    @Override
+                    public List<HttpMessageWriter<?>> messageWriters() {
+                        return ExchangeStrategies.withDefaults().messageWriters();
+                    }
+
+                    @Override
+                    public Optional<ServerHttpRequest> serverRequest() {
+                        return Optional.empty();
+                    }
+
+                    @Override
+                    public Map<String, Object> hints() {
+                        return Map.of();
+                    }
+                })
+                .then(Mono.defer(() -> DataBufferUtils.join(mock.getBody())))
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    bodies.add(bytes);
+                    return ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(response)
+                            .build();
+                });
+    }
+
+    private RecordCommandBatcher batcher(Duration window, int maxCommands) {
+        return new RecordCommandBatcher(webClient, null, null, window, maxCommands, DataSize.ofMegabytes(1));
+    }
+
+    @Test
+    void commandsWithinWindowAreSentInOneBatch() {
+        RecordCommandBatcher batcher = batcher(Duration.ofMillis(50), 256);
+
+        Mono.when(
+                batcher.chunk("a", RecordRoute.of("a"), 1, DefaultDataBufferFactory.sharedInstance.wrap(new byte[]{1, 2, 3})),
+                batcher.end("a", RecordRoute.of("a")),
+                batcher.end("b", RecordRoute.of("b"))
+        ).block(Duration.ofSeconds(5));
+
+        assertThat(bodies).hasSize(1);
+        List<String> commands = decode(bodies.get(0));
+        assertThat(commands).containsExactly("1:a:1:3", "2:a:-1:0", "2:b:-1:0");
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForWindow() {
+        RecordCommandBatcher batcher = batcher(Duration.ofSeconds(30), 2);
+
+        Mono.when(batcher.end("a", RecordRoute.of("a")), batcher.end("b", RecordRoute.of("b"))).block(Duration.ofSeconds(5));
+
+        assertThat(bodies).hasSize(1);
+    }
+
+    @Test
+    void failedSessionCompletesWithError() {
+        response = "{\"chunks\":0,\"ended\":1,\"failedSessions\":[\"b\"]}";
+        RecordCommandBatcher batcher = batcher(Duration.ofMillis(10), 256);
+
+        Mono<Void> a = batcher.end("a", RecordRoute.of("a")).cache();
+        Mono<Void> b = batcher.end("b", RecordRoute.of("b")).cache();
+        a.subscribe(null, e -> { });
+        b.subscribe(null, e -> { });
+
+        a.block(Duration.ofSeconds(5));
+        assertThatThrownBy(() -> b.block(Duration.ofSeconds(5))).hasMessageContaining("session b");
+    }
+
+    @Test
+    void chunksAreReleasedWhenBatchFailsBeforeBodyIsWritten() {
+        refused = true;
+        RecordCommandBatcher batcher = batcher(Duration.ofMillis(10), 256);
+        NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(new UnpooledByteBufAllocator(false));
+        DataBuffer first = bufferFactory.wrap(new byte[]{1, 2, 3});
+        DataBuffer second = bufferFactory.wrap(new byte[]{4, 5});
+
+        Mono<Void> a = batcher.chunk("a", RecordRoute.of("a"), 1, first).cache();
+        Mono<Void> b = batcher.chunk("a", RecordRoute.of("a"), 2, second).cache();
+        a.subscribe(null, e -> { });
+        b.subscribe(null, e -> { });
+
+        assertThatThrownBy(() -> a.block(Duration.ofSeconds(5))).hasMessageContaining("Connection refused");
+        assertThatThrownBy(() -> b.block(Duration.ofSeconds(5))).hasMessageContaining("Connection refused");
+        assertThat(((PooledDataBuffer) first).isAllocated()).isFalse();
+        assertThat(((PooledDataBuffer) second).isAllocated()).isFalse();
+    }
+
+    private static List<String> decode(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        List<String> commands = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            byte type = buffer.get();
+            byte[] id = new byte[buffer.getShort()];
+            buffer.get(id);
+            long sequence = buffer.getLong();
+            int length = buffer.getInt();
+            buffer.position(buffer.position() + length);
+            commands.add(type + ":" + new String(id, StandardCharsets.UTF_8) + ":" + sequence + ":" + length);
+        }
+        return commands;
+    }
+}
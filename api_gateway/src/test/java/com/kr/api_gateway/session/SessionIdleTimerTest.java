@@ -0,0 +1,98 @@
+package com.kr.api_gateway.session;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class SessionIdleTimerTest {
+
+    private final List<String> expired = new CopyOnWriteArrayList<>();
+    private final SessionIdleTimer timer = new SessionIdleTimer(
+            Duration.ofMillis(200), Duration.ofMillis(10), 10, Duration.ofMillis(10), 4);
+
+    {
+        timer.onExpired(state -> Mono.fromRunnable(() -> expired.add(state.getSessionId())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.close();
+    }
+
+    @Test
+    void idleSessionIsExpiredOnce() {
+        timer.register("s1");
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> expired.contains("s1"));
+        assertThat(timer.size()).isZero();
+        assertThat(expired).containsExactly("s1");
+    }
+
+    @Test
+    void activityPostponesExpiry() throws InterruptedException {
+        SessionState active = timer.register("active");
+        timer.register("idle");
+        for (int i = 0; i < 6; i++) {
+            Thread.sleep(60);
+            active.touch();
+        }
+
+        assertThat(expired).containsExactly("idle");
+        await().atMost(Duration.ofSeconds(2)).until(() -> expired.contains("active"));
+    }
+
+    @Test
+    void removedSessionIsNotExpired() throws InterruptedException {
+        SessionState closed = timer.register("closed");
+        timer.remove(closed);
+        closed.touch();
+
+        Thread.sleep(400);
+        assertThat(expired).isEmpty();
+        assertThat(timer.size()).isZero();
+    }
+
+    @Test
+    void activityAfterExpiryRearmsTimer() {
+        SessionState state = timer.register("s1");
+        await().atMost(Duration.ofSeconds(2)).until(() -> expired.size() == 1);
+
+        state.touch();
+        assertThat(timer.size()).isEqualTo(1);
+        await().atMost(Duration.ofSeconds(2)).until(() -> expired.size() == 2);
+        assertThat(expired).containsExactly("s1", "s1");
+    }
+
+    @Test
+    void burstLargerThanBatchSizeIsCleanedUpInBatches() {
+        SessionIdleTimer slow = new SessionIdleTimer(
+                Duration.ofMillis(100), Duration.ofMillis(10), 10, Duration.ofMillis(1), 4);
+        // 모든 세션이 만료될 때까지 정리를 막아 두어 배치가 밀리게 합니다.
+        Sinks.Empty<Void> gate = Sinks.empty();
+        List<String> cleaned = new CopyOnWriteArrayList<>();
+        slow.onExpired(state -> gate.asMono().then(Mono.fromRunnable(() -> cleaned.add(state.getSessionId()))));
+        try {
+            for (int i = 0; i < 1000; i++) {
+                slow.register("s" + i);
+            }
+            await().atMost(Duration.ofSeconds(5)).until(() -> slow.size() == 0);
+            gate.tryEmitEmpty();
+
+            // 배치 크기의 100배가 밀려도 버퍼가 넘치지 않고 모두 정리되며, 이후 만료도 계속 처리합니다.
+            await().atMost(Duration.ofSeconds(10)).until(() -> cleaned.size() == 1000);
+            slow.register("late");
+            await().atMost(Duration.ofSeconds(2)).until(() -> cleaned.contains("late"));
+            assertThat(cleaned).doesNotHaveDuplicates();
+        } finally {
+            slow.close();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.kr.audio_server.codec;
+
+import com.kr.audio_server.dto.RecordCompletedEvent;
+import com.kr.kafka.serializer.BinaryEventReader;
+import com.kr.kafka.serializer.BinaryEventWriter;
+import com.kr.kafka.serializer.EventCodec;
+import org.springframework.stereotype.Component;
+
+/**
+ * 녹음 완료 이벤트 바이너리 코덱
+ * 프로듀서의 kafka.serialization.binary-topics 에 audio.record.completed 가 포함되면 JSON 대신 사용됩니다. (기본값은 JSON)
+ *
+ * 스키마 v1: sessionId, metaId, filePath, fileName, completedAt
+ */
+@Component
+public class RecordCompletedEventCodec implements EventCodec<RecordCompletedEvent> {
+
+    public static final int TYPE_ID = 1;
+    private static final int VERSION = 1;
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public Class<RecordCompletedEvent> getEventType() {
+        return RecordCompletedEvent.class;
+    }
+
+    @Override
+    public void write(RecordCompletedEvent event, BinaryEventWriter out) {
+        out.writeString(event.getSessionId())
+                .writeString(event.getMetaId())
+                .writeString(event.getFilePath())
+                .writeString(event.getFileName())
+                .writeTimestamp(event.getCompletedAt());
+    }
+
+    @Override
+    public RecordCompletedEvent read(BinaryEventReader in, int version) {
+        RecordCompletedEvent event = new RecordCompletedEvent();
+        event.setSessionId(in.readString());
+        event.setMetaId(in.readString());
+        event.setFilePath(in.readString());
+        event.setFileName(in.readString());
+        event.setCompletedAt(in.readTimestamp());
+        return event;
+    }
+}
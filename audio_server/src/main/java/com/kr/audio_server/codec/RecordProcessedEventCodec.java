@@ -0,0 +1,67 @@
+package com.kr.audio_server.codec;
+
+import com.kr.audio_server.dto.RecordProcessedEvent;
+import com.kr.kafka.serializer.BinaryEventReader;
+import com.kr.kafka.serializer.BinaryEventWriter;
+import com.kr.kafka.serializer.EventCodec;
+import org.springframework.stereotype.Component;
+
+/**
+ * 녹음 후처리 완료 이벤트 바이너리 코덱
+ * 아웃박스 기록과, 프로듀서의 kafka.serialization.binary-topics 에 audio.record.processed 가 포함된 경우의 전송에 사용됩니다.
+ *
+ * 스키마 v1: sessionId, metaId, fileName, size, checksum, durationMs, codec, sampleRate, channels, bitrate, processedAt
+ */
+@Component
+public class RecordProcessedEventCodec implements EventCodec<RecordProcessedEvent> {
+
+    public static final int TYPE_ID = 2;
+    private static final int VERSION = 1;
+
+    @Override
+    public int getTypeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public Class<RecordProcessedEvent> getEventType() {
+        return RecordProcessedEvent.class;
+    }
+
+    @Override
+    public void write(RecordProcessedEvent event, BinaryEventWriter out) {
+        out.writeString(event.getSessionId())
+                .writeString(event.getMetaId())
+                .writeString(event.getFileName())
+                .writeVarLong(event.getSize())
+                .writeString(event.getChecksum())
+                .writeVarLong(event.getDurationMs())
+                .writeString(event.getCodec())
+                .writeDouble(event.getSampleRate())
+                .writeVarLong(event.getChannels())
+                .writeVarLong(event.getBitrate())
+                .writeTimestamp(event.getProcessedAt());
+    }
+
+    @Override
+    public RecordProcessedEvent read(BinaryEventReader in, int version) {
+        RecordProcessedEvent event = new RecordProcessedEvent();
+        event.setSessionId(in.readString());
+        event.setMetaId(in.readString());
+        event.setFileName(in.readString());
+        event.setSize(in.readVarLong());
+        event.setChecksum(in.readString());
+        event.setDurationMs(in.readVarLong());
+        event.setCodec(in.readString());
+        event.setSampleRate(in.readDouble());
+        event.setChannels((int) in.readVarLong());
+        event.setBitrate(in.readVarLong());
+        event.setProcessedAt(in.readTimestamp());
+        return event;
+    }
+}
@@ -1,33 +1,69 @@
 package com.kr.audio_server.consumer;
 
+import com.kr.audio_server.consumer.pipeline.RecordPostProcessor;
 import com.kr.audio_server.dto.RecordCompletedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * 파일 녹음 완료 이벤트 컨슈머
+ * poll 한 번에 받은 이벤트를 배치로 {@link RecordPostProcessor}에 넘기고, 모든 후처리가 끝난 뒤 오프셋을 commit 합니다.
+ * 동시 처리 수와 배치 크기는 kafka.consumer.batch.* 속성으로 조정합니다.
+ * 배치마다 할당된 파티션의 컨슈머 랙을 kafka.consumer.lag 게이지로 기록합니다.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class RecordCompletedConsumer {
 
+    private final RecordPostProcessor postProcessor;
+    private final MeterRegistry meterRegistry;
+    private final Map<TopicPartition, AtomicLong> lags = new ConcurrentHashMap<>();
+
     // (KafkaListener의 topic명은 실제 발행에 사용한 토픽과 동일해야 함)
     @KafkaListener(
             topics = "audio.record.completed",
-            groupId = "audio-service"
+            groupId = "audio-service",
+            containerFactory = "batchKafkaListenerContainerFactory"
     )
-    public void consume(RecordCompletedEvent event) {
-        log.info("[Kafka][RecordCompletedConsumer] 파일 처리 완료 이벤트 수신! sessionId={}, filePath={}",
-                event.getSessionId(), event.getFilePath());
+    public void consume(List<RecordCompletedEvent> events, Acknowledgment acknowledgment, Consumer<?, ?> consumer) {
+        log.info("[Kafka][RecordCompletedConsumer] 파일 처리 완료 이벤트 {}건 수신", events.size());
 
-        // 1. 파일 후처리 (ex. 파일 이동, DB update, 썸네일 생성, 외부 API 호출 등)
-        // 2. 비즈니스 로직 추가
-        // 3. 필요하다면 추가 이벤트 발행
+        // 실패하면 예외가 전파되어 commit 없이 배치가 다시 전달됩니다.
+        postProcessor.process(events);
+        acknowledgment.acknowledge();
+        recordLag(consumer);
+    }
 
-        // 예시: 파일이 S3에 저장됐다면 DB에 상태 저장
-        // 예시: 썸네일/파생파일 생성 트리거 등
+    private void recordLag(Consumer<?, ?> consumer) {
+        for (TopicPartition partition : consumer.assignment()) {
+            OptionalLong lag = consumer.currentLag(partition);
+            if (lag.isPresent()) {
+                lags.computeIfAbsent(partition, this::registerLagGauge).set(lag.getAsLong());
+            }
+        }
+    }
 
-        // TODO: 구현
+    private AtomicLong registerLagGauge(TopicPartition partition) {
+        AtomicLong lag = new AtomicLong();
+        Gauge.builder("kafka.consumer.lag", lag, AtomicLong::get)
+                .tag("topic", partition.topic())
+                .tag("partition", String.valueOf(partition.partition()))
+                .tag("group", "audio-service")
+                .register(meterRegistry);
+        return lag;
     }
 }
@@ -0,0 +1,61 @@
+package com.kr.audio_server.consumer.pipeline;
+
+import com.kr.audio_server.service.RecordingStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 녹음 파일 보관 디렉토리 복사
+ * audio.pipeline.archive.path 를 설정한 경우에만 등록되며, 녹음 디렉토리와 같은 배치로 복사합니다.
+ * 임시 파일에 복사한 뒤 이름을 바꾸므로 보관 디렉토리에 쓰다 만 파일이 남지 않습니다.
+ */
+@Slf4j
+@Component
+@Order(400)
+@ConditionalOnProperty(name = "audio.pipeline.archive.path")
+public class ArchiveStage implements PostProcessingStage {
+
+    private final RecordingStorage recordingStorage;
+    private final Path archiveRoot;
+
+    public ArchiveStage(RecordingStorage recordingStorage,
+                        @Value("${audio.pipeline.archive.path}") String archivePath) {
+        this.recordingStorage = recordingStorage;
+        this.archiveRoot = Paths.get(archivePath).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String getName() {
+        return "archive";
+    }
+
+    @Override
+    public void process(PostProcessingContext context) throws IOException {
+        Path file = context.getFile();
+        Path target = archiveRoot.resolve(recordingStorage.getLayout().directoryOf(file.getFileName().toString()))
+                .resolve(file.getFileName().toString());
+        if (Files.exists(target) && Files.size(target) == Files.size(file)) {
+            return;
+        }
+
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".part");
+        Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        log.info("[PIPELINE] [archive] {} -> {}", file.getFileName(), target);
+    }
+}
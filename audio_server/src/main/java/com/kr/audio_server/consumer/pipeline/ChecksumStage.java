@@ -0,0 +1,51 @@
+package com.kr.audio_server.consumer.pipeline;
+
+import com.kr.audio_server.media.TreeChecksum;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 녹음 파일 체크섬 계산
+ * 파일을 메모리 매핑해 구간별로 병렬 계산하는 SHA-256 트리 체크섬({@link TreeChecksum})을 사용합니다.
+ * 결과는 {@link #ATTRIBUTE} 속성으로 뒤 단계에 전달합니다.
+ */
+@Slf4j
+@Component
+@Order(100)
+public class ChecksumStage implements PostProcessingStage {
+
+    public static final String ATTRIBUTE = "checksum";
+
+    private final ForkJoinPool pool;
+    private final TreeChecksum treeChecksum;
+
+    public ChecksumStage(@Value("${audio.pipeline.checksum.parallelism:0}") int parallelism,
+                         @Value("${audio.pipeline.checksum.segment-size:4MB}") DataSize segmentSize) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.treeChecksum = new TreeChecksum(pool, (int) segmentSize.toBytes());
+    }
+
+    @Override
+    public String getName() {
+        return "checksum";
+    }
+
+    @Override
+    public void process(PostProcessingContext context) throws IOException {
+        String checksum = treeChecksum.checksum(context.getFile());
+        context.setAttribute(ATTRIBUTE, checksum);
+        log.info("[PIPELINE] [checksum] fileName={}, checksum={}", context.getEvent().getFileName(), checksum);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,28 @@
+package com.kr.audio_server.consumer.pipeline;
+
+import com.kr.audio_server.service.RecordingCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 녹음 파일 목록(카탈로그) 반영
+ * 다른 노드에서 녹음된 파일이 공유 저장소에 있을 때도 목록에 최종 크기로 나타나도록 합니다.
+ */
+@Component
+@Order(300)
+@RequiredArgsConstructor
+public class IndexStage implements PostProcessingStage {
+
+    private final RecordingCatalog recordingCatalog;
+
+    @Override
+    public String getName() {
+        return "index";
+    }
+
+    @Override
+    public void process(PostProcessingContext context) {
+        recordingCatalog.update(context.getFile());
+    }
+}
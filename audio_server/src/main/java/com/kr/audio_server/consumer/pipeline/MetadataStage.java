@@ -0,0 +1,34 @@
+package com.kr.audio_server.consumer.pipeline;
+
+import com.kr.audio_server.media.WebmMetadata;
+import com.kr.audio_server.media.WebmParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * WebM 헤더에서 재생 시간, 코덱, 샘플링 정보를 추출
+ * 결과({@link WebmMetadata})는 {@link #ATTRIBUTE} 속성으로 뒤 단계에 전달합니다.
+ */
+@Slf4j
+@Component
+@Order(150)
+public class MetadataStage implements PostProcessingStage {
+
+    public static final String ATTRIBUTE = "webm";
+
+    @Override
+    public String getName() {
+        return "metadata";
+    }
+
+    @Override
+    public void process(PostProcessingContext context) throws IOException {
+        WebmMetadata metadata = WebmParser.parse(context.getFile());
+        context.setAttribute(ATTRIBUTE, metadata);
+        log.info("[PIPELINE] [metadata] fileName={}, codec={}, durationMs={}",
+                context.getEvent().getFileName(), metadata.codec(), metadata.durationMs());
+    }
+}
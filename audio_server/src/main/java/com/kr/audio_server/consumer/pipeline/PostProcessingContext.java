@@ -0,0 +1,34 @@
+package com.kr.audio_server.consumer.pipeline;
+
+import com.kr.audio_server.dto.RecordCompletedEvent;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 후처리 단계 사이에 전달되는 이벤트별 상태
+ * 앞 단계의 결과(예: 체크섬)는 속성으로 남겨 뒤 단계에서 사용합니다.
+ */
+@Getter
+public class PostProcessingContext {
+
+    private final RecordCompletedEvent event;
+    private final Path file;
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    public PostProcessingContext(RecordCompletedEvent event, Path file) {
+        this.event = event;
+        this.file = file;
+    }
+
+    public void setAttribute(String name, Object value) {
+        attributes.put(name, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getAttribute(String name) {
+        return (T) attributes.get(name);
+    }
+}
@@ -0,0 +1,25 @@
+package com.kr.audio_server.consumer.pipeline;
+
+/**
+ * 녹음 완료 후처리 단계
+ * 빈으로 등록하면 {@link RecordPostProcessor}가 {@code @Order} 순서대로 실행합니다.
+ * 권장 순서: 체크섬(100) → 메타데이터(150) → 트랜스코딩(200) → 색인(300) → 보관(400) → 결과 이벤트 발행(1000)
+ *
+ * 오프셋은 배치의 모든 단계가 끝난 뒤 commit 되므로, 실패한 배치는 다시 전달될 수 있습니다.
+ * 같은 이벤트로 여러 번 실행되어도 결과가 같도록 구현해야 합니다.
+ */
+public interface PostProcessingStage {
+
+    /**
+     * 로그에 표시할 단계 이름
+     */
+    String getName();
+
+    /**
+     * 이벤트 하나를 처리합니다.
+     *
+     * @param context 이벤트, 녹음 파일 경로, 앞 단계 결과
+     * @throws Exception 처리에 실패한 경우 (이후 단계는 실행하지 않음)
+     */
+    void process(PostProcessingContext context) throws Exception;
+}
@@ -0,0 +1,54 @@
+package com.kr.audio_server.consumer.pipeline;
+
+import com.kr.audio_server.dto.RecordCompletedEvent;
+import com.kr.audio_server.dto.RecordProcessedEvent;
+import com.kr.audio_server.media.WebmMetadata;
+import com.kr.audio_server.outbox.EventOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+
+/**
+ * 후처리 결과를 담은 {@link RecordProcessedEvent}를 아웃박스에 기록 (마지막 단계)
+ * 앞 단계의 체크섬/메타데이터 속성을 모아 이벤트를 만들며, 실제 Kafka 전송은 OutboxRelay 가 처리합니다.
+ */
+@Component
+@Order(1000)
+@RequiredArgsConstructor
+public class ProcessedEventStage implements PostProcessingStage {
+
+    private final EventOutbox outbox;
+
+    @Override
+    public String getName() {
+        return "publish";
+    }
+
+    @Override
+    public void process(PostProcessingContext context) throws IOException {
+        RecordCompletedEvent completed = context.getEvent();
+        WebmMetadata metadata = context.getAttribute(MetadataStage.ATTRIBUTE);
+        long size = Files.size(context.getFile());
+
+        RecordProcessedEvent event = new RecordProcessedEvent();
+        event.setSessionId(completed.getSessionId());
+        event.setMetaId(completed.getMetaId());
+        event.setFileName(completed.getFileName());
+        event.setSize(size);
+        event.setChecksum(context.getAttribute(ChecksumStage.ATTRIBUTE));
+        if (metadata != null) {
+            event.setDurationMs(metadata.durationMs());
+            event.setCodec(metadata.codec());
+            event.setSampleRate(metadata.sampleRate());
+            event.setChannels(metadata.channels());
+            event.setBitrate(metadata.bitrate(size));
+        }
+        event.setProcessedAt(LocalDateTime.now());
+
+        outbox.append(event, completed.getSessionId());
+    }
+}
@@ -0,0 +1,163 @@
+package com.kr.audio_server.consumer.pipeline;
+
+import com.kr.audio_server.dto.RecordCompletedEvent;
+import com.kr.audio_server.service.RecordingStorage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 녹음 완료 후처리 파이프라인
+ * 배치로 받은 이벤트마다 {@link PostProcessingStage}를 순서대로 실행하고, 모든 이벤트가 끝날 때까지 기다립니다.
+ *
+ * - 이벤트는 크기가 제한된 작업 스레드 풀에서 병렬로 처리되며, 큐가 가득 차면 호출한 컨슈머 스레드가 직접 실행합니다. (역압)
+ * - 같은 세션의 이벤트는 배치 내 순서대로 한 작업에서 처리합니다.
+ * - 하나라도 실패하면 예외를 던져 배치의 오프셋이 commit 되지 않도록 합니다.
+ * - 녹음 파일을 찾을 수 없는 이벤트는 다시 받아도 처리할 수 없으므로 로그만 남기고 건너뜁니다. (오프셋 commit)
+ * - 제한 시간(audio.pipeline.timeout)은 컨슈머의 max.poll.interval 보다 짧아야 하며, 시작할 때 확인합니다.
+ *   (길면 후처리를 기다리는 동안 컨슈머가 그룹에서 빠져 리밸런스와 재전달이 반복됩니다)
+ */
+@Slf4j
+@Component
+public class RecordPostProcessor {
+
+    private final List<PostProcessingStage> stages;
+    private final RecordingStorage recordingStorage;
+    private final Duration timeout;
+    private final ThreadPoolExecutor workers;
+
+    @Autowired
+    public RecordPostProcessor(ObjectProvider<PostProcessingStage> stages,
+                               RecordingStorage recordingStorage,
+                               @Value("${audio.pipeline.threads:4}") int threads,
+                               @Value("${audio.pipeline.queue-capacity:256}") int queueCapacity,
+                               @Value("${audio.pipeline.timeout:2m}") Duration timeout,
+                               @Value("${kafka.consumer.batch.max-poll-interval:5m}") Duration maxPollInterval) {
+        this(stages.orderedStream().toList(), recordingStorage, threads, queueCapacity,
+                checkTimeout(timeout, maxPollInterval));
+    }
+
+    public RecordPostProcessor(List<PostProcessingStage> stages,
+                               RecordingStorage recordingStorage,
+                               int threads,
+                               int queueCapacity,
+                               Duration timeout) {
+        this.stages = List.copyOf(stages);
+        this.recordingStorage = recordingStorage;
+        this.timeout = timeout;
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreadFactory("record-post-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        log.info("[PIPELINE] Stages: {}", this.stages.stream().map(PostProcessingStage::getName).toList());
+    }
+
+    /**
+     * @return 제한 시간 (0 이하이거나 max.poll.interval 이상이면 IllegalStateException)
+     */
+    static Duration checkTimeout(Duration timeout, Duration maxPollInterval) {
+        if (timeout.isNegative() || timeout.isZero() || timeout.compareTo(maxPollInterval) >= 0) {
+            throw new IllegalStateException("audio.pipeline.timeout (" + timeout
+                    + ") must be positive and shorter than kafka.consumer.batch.max-poll-interval (" + maxPollInterval + ")");
+        }
+        return timeout;
+    }
+
+    /**
+     * 배치의 모든 이벤트를 후처리합니다.
+     *
+     * @param events 컨슈머가 받은 이벤트 (파티션 내 순서)
+     * @throws IllegalStateException 실패하거나 제한 시간 안에 끝나지 않은 이벤트가 있는 경우
+     */
+    public void process(List<RecordCompletedEvent> events) {
+        if (events.isEmpty() || stages.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<RecordCompletedEvent>> bySession = new LinkedHashMap<>();
+        for (RecordCompletedEvent event : events) {
+            bySession.computeIfAbsent(event.getSessionId(), key -> new ArrayList<>()).add(event);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(bySession.size());
+        for (List<RecordCompletedEvent> sessionEvents : bySession.values()) {
+            futures.add(CompletableFuture.runAsync(() -> sessionEvents.forEach(this::runStages), workers));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Post-processing interrupted", e);
+        } catch (ExecutionException e) {
+            long failed = futures.stream().filter(CompletableFuture::isCompletedExceptionally).count();
+            throw new IllegalStateException(failed + " of " + futures.size() + " sessions failed post-processing", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Post-processing of " + events.size() + " events timed out after " + timeout, e);
+        }
+    }
+
+    private void runStages(RecordCompletedEvent event) {
+        Path file = resolveFile(event);
+        if (file == null || !Files.exists(file)) {
+            log.error("[PIPELINE] [ERR] sessionId={}, fileName={}, filePath={} : recording file not found, skipped",
+                    event.getSessionId(), event.getFileName(), event.getFilePath());
+            return;
+        }
+
+        PostProcessingContext context = new PostProcessingContext(event, file);
+        for (PostProcessingStage stage : stages) {
+            try {
+                stage.process(context);
+            } catch (Exception e) {
+                log.error("[PIPELINE] [{}] [ERR] sessionId={}, fileName={} : {}",
+                        stage.getName(), event.getSessionId(), event.getFileName(), e.getMessage());
+                throw new IllegalStateException(stage.getName() + " failed for " + event.getFileName(), e);
+            }
+        }
+    }
+
+    private Path resolveFile(RecordCompletedEvent event) {
+        Path file = event.getFileName() == null ? null : recordingStorage.find(event.getFileName());
+        if (file == null && event.getFilePath() != null) {
+            file = Path.of(event.getFilePath());
+        }
+        return file;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,78 +1,92 @@
 package com.kr.audio_server.controller;
 
+import com.kr.audio_server.dto.RecordingPage;
 import com.kr.audio_server.exception.AudioServiceErrorCode;
+import com.kr.audio_server.service.RecordingCatalog;
+import com.kr.audio_server.service.RecordingDownloadService;
+import com.kr.audio_server.service.RecordingStorage;
 import com.kr.core.web.exception.BusinessException;
 import com.kr.core.web.exception.DefaultErrorCode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.LocalDateTime;
 
 /**
  * 파일 관리 컨트롤러
  * 녹음된 오디오 파일 목록 조회 및 다운로드 기능을 제공합니다.
+ * 목록은 {@link RecordingCatalog}에서 조회하므로 요청마다 디렉토리를 읽지 않습니다.
  */
 @Slf4j
 @RestController
 public class FileController {
 
-    private static final String RECORDINGS_PATH = System.getProperty("user.dir") + File.separator + "recordings";
+    private final RecordingDownloadService downloadService;
+    private final RecordingCatalog recordingCatalog;
+    private final RecordingStorage recordingStorage;
+
+    public FileController(RecordingDownloadService downloadService,
+                          RecordingCatalog recordingCatalog,
+                          RecordingStorage recordingStorage) {
+        this.downloadService = downloadService;
+        this.recordingCatalog = recordingCatalog;
+        this.recordingStorage = recordingStorage;
+    }
 
     /**
      * 녹음된 파일 목록을 조회하는 메서드
-     * recordings 디렉토리에 저장된 모든 파일의 이름을 반환합니다.
+     * 메모리 카탈로그에서 커서 기반으로 한 페이지씩 반환합니다.
+     * metaId 또는 prefix 를 주면 파일 이름 순, 없으면 녹음 시각 최신순입니다.
      *
-     * @return 파일 이름 목록
+     * @param metaId 메타 ID (정확히 일치)
+     * @param prefix 파일 이름 접두어
+     * @param from 녹음 시각 하한 (ISO-8601, 포함)
+     * @param to 녹음 시각 상한 (ISO-8601, 포함)
+     * @param cursor 이전 응답의 nextCursor
+     * @param size 페이지 크기
+     * @return 파일 목록 페이지
      */
     @GetMapping("/api/files")
-    public List<String> getFiles() {
-        File folder = new File(RECORDINGS_PATH);
-        File[] listOfFiles = folder.listFiles();
-        List<String> fileNames = new ArrayList<>();
-
-        if (listOfFiles != null) {
-            for (File file : listOfFiles) {
-                if (file.isFile()) {
-                    fileNames.add(file.getName());
-                }
-            }
-        }
-        return fileNames;
+    public RecordingPage getFiles(@RequestParam(required = false) String metaId,
+                                  @RequestParam(required = false) String prefix,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(defaultValue = "50") int size) {
+        return recordingCatalog.find(metaId, prefix, from, to, cursor, size);
     }
 
     /**
      * 녹음된 파일을 다운로드하는 메서드
-     * 지정된 파일 이름에 해당하는 파일을 다운로드할 수 있는 응답을 반환합니다.
+     * 지정된 파일 이름에 해당하는 파일을 전송합니다.
+     * Range 요청(206)과 조건부 요청(ETag / Last-Modified → 304)을 지원하므로
+     * 브라우저가 긴 녹음 파일을 탐색할 때 필요한 구간만 내려받습니다.
      *
      * @param fileName 다운로드할 파일 이름
-     * @return 파일 다운로드 응답
      */
     @GetMapping("/api/download/{fileName}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable String fileName) {
-        try {
-            Path filePath = Paths.get(RECORDINGS_PATH).resolve(fileName);
-            Resource resource = new UrlResource(filePath.toUri());
-            if (!resource.exists() || !resource.isReadable()) {
-                throw new BusinessException(DefaultErrorCode.RESOURCE_NOT_FOUND);
-            }
+    public void downloadFile(@PathVariable String fileName, HttpServletRequest request, HttpServletResponse response) {
+        // 파일 이름에서 배치 방식에 따른 위치를 계산하므로 디렉토리를 탐색하지 않습니다.
+        Path filePath = recordingStorage.find(fileName);
+        if (filePath == null || !Files.isReadable(filePath)) {
+            // 게이트웨이는 404 이면 다른 인스턴스에서 찾습니다.
+            throw new BusinessException(DefaultErrorCode.RESOURCE_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
-                    .body(resource);
-        } catch (MalformedURLException e) {
-            log.error("[DOWNLOAD] [ERR] Error creating resource for file: {}", fileName, e);
+        try {
+            downloadService.send(filePath, request, response);
+        } catch (IOException e) {
+            log.error("[DOWNLOAD] [ERR] Error sending file: {}", fileName, e);
             throw new BusinessException(AudioServiceErrorCode.FILE_PROCESSING_ERROR);
         }
     }
@@ -2,14 +2,22 @@ package com.kr.audio_server.controller;
 
 import com.kr.audio_server.dto.EndRequest;
 import com.kr.audio_server.dto.IdleRequest;
+import com.kr.audio_server.dto.RecordBatchResult;
 import com.kr.audio_server.dto.RecordRequest;
+import com.kr.audio_server.dto.RecordResumeResult;
 import com.kr.audio_server.service.RecordService;
+import com.kr.core.web.constans.RecordHeaders;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
+
 @Slf4j
 @RestController
 @RequestMapping("/record")
@@ -31,8 +39,49 @@ public class RecordController {
         recordService.saveChunk(dto);
     }
 
+    /**
+     * 바이너리 오디오 청크를 저장합니다.
+     * 요청 본문은 디코딩 없이 원본 오디오 바이트 그대로 전달되며, audio.stream.max-chunk-size 를 넘으면 400 을 반환합니다.
+     */
+    @PostMapping(value = "/chunk", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void chunk(@RequestHeader(RecordHeaders.SESSION_ID) String sessionId,
+                      @RequestHeader(value = RecordHeaders.CHUNK_SEQUENCE, defaultValue = "-1") long sequence,
+                      @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+                      InputStream body) {
+        recordService.saveChunk(sessionId, sequence, body, contentLength != null ? contentLength : -1);
+    }
+
+    /**
+     * 녹음 세션 하나의 청크를 하나의 장기 요청 본문으로 연속 수신합니다.
+     * 본문은 [sequence(8)][길이(4)][오디오 바이트] 프레임의 반복이며, 게이트웨이가 스트림을 닫을 때 종료됩니다.
+     * 요청 스레드 하나를 녹음 내내 점유하므로 동시 스트림이 audio.stream.max-concurrent 를 넘으면 503 을 반환합니다.
+     */
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void stream(@RequestHeader(RecordHeaders.SESSION_ID) String sessionId, InputStream body) {
+        recordService.saveStream(sessionId, body);
+    }
+
+    /**
+     * 녹음 세션을 이어받습니다. (재시작으로 복구된 세션, 또는 청크 전달이 실패한 세션)
+     * 응답의 lastSequence 다음 순번부터 청크를 다시 보내야 합니다.
+     */
+    @PostMapping("/resume")
+    public RecordResumeResult resume(@RequestHeader(RecordHeaders.SESSION_ID) String sessionId) {
+        return recordService.resume(sessionId);
+    }
+
     @PostMapping("/end")
     public void end(@RequestBody EndRequest dto) {
         recordService.end(dto.getSessionId());
     }
+
+    /**
+     * 여러 세션의 청크 저장/녹음 종료 명령을 한 요청으로 처리합니다.
+     * 본문은 [명령(1)][세션 ID 길이(2)][세션 ID][sequence(8)][길이(4)][오디오 바이트] 프레임의 반복입니다. (RecordBatch)
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public RecordBatchResult batch(InputStream body,
+                                   @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength) {
+        return recordService.saveBatch(body, contentLength != null ? contentLength : -1);
+    }
 }
@@ -0,0 +1,37 @@
+package com.kr.audio_server.drain;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 드레인 actuator 엔드포인트
+ * GET /actuator/drain: 드레인 상태 조회
+ * POST /actuator/drain: 드레인 시작 (본문 {"timeout": "10m"} 으로 대기 시간 지정 가능)
+ *
+ * 인증이 없으므로 서비스 포트가 아닌 관리 포트(management.server.port, 로컬 바인딩)에서만 노출합니다.
+ */
+@Component
+@Endpoint(id = "drain")
+public class DrainEndpoint {
+
+    private final DrainService drainService;
+
+    public DrainEndpoint(DrainService drainService) {
+        this.drainService = drainService;
+    }
+
+    @ReadOperation
+    public DrainService.Status status() {
+        return drainService.status();
+    }
+
+    @WriteOperation
+    public DrainService.Status drain(@Nullable Duration timeout) {
+        return drainService.start(timeout);
+    }
+}
@@ -0,0 +1,215 @@
+package com.kr.audio_server.drain;
+
+import com.kr.audio_server.outbox.EventOutbox;
+import com.kr.audio_server.service.RecordService;
+import com.kr.audio_server.service.RecordSession;
+import com.kr.audio_server.service.RecordSessionRegistry;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 녹음 서버 드레인
+ * 노드를 내리기 전에 진행 중인 녹음을 잃지 않도록 정리합니다. (/actuator/drain 으로 시작)
+ *
+ * 1. 새 녹음 시작을 거절하고, Eureka 메타데이터에 draining=true 를 알립니다.
+ *    게이트웨이는 이 인스턴스로 record-start 를 보내지 않지만, 진행 중인 녹음의 요청은 계속 이 인스턴스로 보냅니다.
+ *    (상태를 바로 OUT_OF_SERVICE 로 바꾸면 해시 링에서 빠져 진행 중인 녹음이 다른 인스턴스로 옮겨집니다)
+ * 2. 진행 중인 녹음이 끝나기를 audio.drain.timeout 까지 기다립니다.
+ * 3. 남은 녹음은 쓰기 대기 바이트가 적은 순으로 batch-size 개씩 batch-interval 간격으로 닫아,
+ *    파일 닫기와 완료 이벤트 기록이 한꺼번에 몰리지 않게 합니다.
+ * 4. 아웃박스의 완료 이벤트가 모두 발행되기를 publish-timeout 까지 기다린 뒤 Eureka 상태를 OUT_OF_SERVICE 로 바꿉니다.
+ *
+ * 드레인 없이 종료되는 경우에도 종료 시점에 3, 4 단계를 수행합니다.
+ */
+@Slf4j
+@Component
+@DependsOn("outboxRelay")
+public class DrainService {
+
+    public static final String DRAINING_METADATA = "draining";
+
+    public enum State {
+        ACTIVE, DRAINING, DRAINED
+    }
+
+    /**
+     * 드레인 상태
+     *
+     * @param state 상태
+     * @param activeSessions 진행 중인 녹음 수
+     * @param pendingEvents 발행을 기다리는 완료 이벤트가 있는지
+     * @param deadline 진행 중인 녹음을 기다리는 기한 (드레인 전이면 null)
+     */
+    public record Status(State state, int activeSessions, boolean pendingEvents, Instant deadline) {
+    }
+
+    private final RecordService recordService;
+    private final RecordSessionRegistry sessionRegistry;
+    private final EventOutbox outbox;
+    private final ApplicationInfoManager applicationInfoManager;
+    private final Duration timeout;
+    private final int batchSize;
+    private final Duration batchInterval;
+    private final Duration publishTimeout;
+
+    private final CountDownLatch shutdown = new CountDownLatch(1);
+    private volatile State state = State.ACTIVE;
+    private volatile Instant deadline;
+    private Thread worker;
+
+    @Autowired
+    public DrainService(RecordService recordService,
+                        RecordSessionRegistry sessionRegistry,
+                        EventOutbox outbox,
+                        ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+                        @Value("${audio.drain.timeout:5m}") Duration timeout,
+                        @Value("${audio.drain.batch-size:20}") int batchSize,
+                        @Value("${audio.drain.batch-interval:200ms}") Duration batchInterval,
+                        @Value("${audio.drain.publish-timeout:30s}") Duration publishTimeout) {
+        this(recordService, sessionRegistry, outbox, applicationInfoManager.getIfAvailable(),
+                timeout, batchSize, batchInterval, publishTimeout);
+    }
+
+    DrainService(RecordService recordService, RecordSessionRegistry sessionRegistry, EventOutbox outbox,
+                 ApplicationInfoManager applicationInfoManager, Duration timeout, int batchSize,
+                 Duration batchInterval, Duration publishTimeout) {
+        this.recordService = recordService;
+        this.sessionRegistry = sessionRegistry;
+        this.outbox = outbox;
+        this.applicationInfoManager = applicationInfoManager;
+        this.timeout = timeout;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchInterval = batchInterval;
+        this.publishTimeout = publishTimeout;
+    }
+
+    /**
+     * 드레인을 시작합니다. 이미 시작했으면 현재 상태만 돌려줍니다.
+     *
+     * @param timeout 진행 중인 녹음을 기다릴 시간 (null 이면 audio.drain.timeout)
+     * @return 드레인 상태
+     */
+    public synchronized Status start(Duration timeout) {
+        if (state == State.ACTIVE) {
+            state = State.DRAINING;
+            deadline = Instant.now().plus(timeout != null ? timeout : this.timeout);
+            recordService.stopAccepting();
+            advertiseDraining();
+            log.info("[DRAIN] Draining {} sessions until {}", sessionRegistry.size(), deadline);
+
+            worker = new Thread(this::drain, "record-drain");
+            worker.setDaemon(true);
+            worker.start();
+        }
+        return status();
+    }
+
+    public Status status() {
+        return new Status(state, sessionRegistry.size(), outbox.hasPending(), deadline);
+    }
+
+    private void drain() {
+        try {
+            while (sessionRegistry.size() > 0 && Instant.now().isBefore(deadline)) {
+                if (shutdown.await(1, TimeUnit.SECONDS)) {
+                    return;
+                }
+            }
+            closeRemaining();
+            awaitPublished();
+            state = State.DRAINED;
+            setStatus(InstanceInfo.InstanceStatus.OUT_OF_SERVICE);
+            log.info("[DRAIN] Drained (pending events: {})", outbox.hasPending());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 남은 녹음을 batch-size 개씩 batch-interval 간격으로 닫습니다.
+     * 쓰기 대기 바이트가 적은 녹음부터 닫아 완료 이벤트를 먼저 기록합니다.
+     */
+    void closeRemaining() throws InterruptedException {
+        List<String> sessionIds = sessionRegistry.sessions().stream()
+                .sorted(Comparator.comparingLong(RecordSession::getPendingBytes))
+                .map(RecordSession::getSessionId)
+                .toList();
+        if (sessionIds.isEmpty()) {
+            return;
+        }
+        log.info("[DRAIN] Closing {} remaining sessions", sessionIds.size());
+
+        for (int from = 0; from < sessionIds.size(); from += batchSize) {
+            if (from > 0) {
+                Thread.sleep(batchInterval.toMillis());
+            }
+            List<String> batch = sessionIds.subList(from, Math.min(from + batchSize, sessionIds.size()));
+            try {
+                List<String> failed = recordService.endAll(batch);
+                if (!failed.isEmpty()) {
+                    log.error("[DRAIN] [ERR] Failed to close sessions {}", failed);
+                }
+            } catch (RuntimeException e) {
+                log.error("[DRAIN] [ERR] Failed to close {} sessions: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void awaitPublished() throws InterruptedException {
+        long until = System.nanoTime() + publishTimeout.toNanos();
+        while (outbox.hasPending() && System.nanoTime() < until) {
+            Thread.sleep(100);
+        }
+        if (outbox.hasPending()) {
+            log.warn("[DRAIN] Completed events not published within {}, relayed after restart", publishTimeout);
+        }
+    }
+
+    private void advertiseDraining() {
+        if (applicationInfoManager != null) {
+            applicationInfoManager.registerAppMetadata(Map.of(DRAINING_METADATA, "true"));
+        }
+    }
+
+    private void setStatus(InstanceInfo.InstanceStatus status) {
+        if (applicationInfoManager != null) {
+            applicationInfoManager.setInstanceStatus(status);
+        }
+    }
+
+    /**
+     * 종료 시 남은 녹음을 닫고 완료 이벤트 발행을 기다립니다.
+     * (웹 서버가 먼저 멈추므로 이 시점에는 새 요청이 없습니다)
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        recordService.stopAccepting();
+        shutdown.countDown();
+        Thread current;
+        synchronized (this) {
+            current = worker;
+        }
+        if (current != null) {
+            current.join(publishTimeout.toMillis());
+        }
+        if (state != State.DRAINED) {
+            closeRemaining();
+            awaitPublished();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.kr.audio_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 녹음 명령 배치 처리 결과
+ * failedSessions 에 포함된 세션의 명령은 처리되지 않았거나 실패했습니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordBatchResult {
+
+    private int chunks;
+    private int ended;
+    private List<String> failedSessions;
+
+}
@@ -0,0 +1,40 @@
+package com.kr.audio_server.dto;
+
+import com.kr.kafka.config.Event;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 오디오 녹음 후처리 완료 이벤트
+ * 녹음 완료 이벤트에 파일 내용에서 추출한 정보(체크섬, 재생 시간, 코덱 등)를 더해 발행하는 카프카 이벤트
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordProcessedEvent implements Event {
+
+    private String sessionId;
+    private String metaId;
+    private String fileName;
+    private long size;
+    private String checksum;
+    private long durationMs;
+    private String codec;
+    private double sampleRate;
+    private int channels;
+    private long bitrate;
+    private LocalDateTime processedAt;
+
+    @Override
+    public String getTopic() {
+        return "audio.record.processed";
+    }
+
+    @Override
+    public LocalDateTime getTimestamp() {
+        return processedAt != null ? processedAt : LocalDateTime.now();
+    }
+}
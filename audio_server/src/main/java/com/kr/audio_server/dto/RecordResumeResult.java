@@ -0,0 +1,19 @@
+package com.kr.audio_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 녹음 이어받기 결과
+ * 클라이언트는 lastSequence 다음 순번의 청크부터 다시 보냅니다. (-1 이면 처음부터)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordResumeResult {
+
+    private String sessionId;
+    private long lastSequence;
+
+}
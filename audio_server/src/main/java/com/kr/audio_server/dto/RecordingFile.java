@@ -0,0 +1,23 @@
+package com.kr.audio_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 녹음 파일 목록 항목
+ * 파일 이름에서 추출한 메타 ID와 녹음 시작 시각, 파일 크기를 담습니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingFile {
+
+    private String fileName;
+    private String metaId;
+    private LocalDateTime recordedAt;
+    private long size;
+
+}
@@ -0,0 +1,21 @@
+package com.kr.audio_server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 녹음 파일 목록 페이지
+ * nextCursor 가 null 이면 마지막 페이지입니다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingPage {
+
+    private List<RecordingFile> items;
+    private String nextCursor;
+
+}
@@ -4,7 +4,11 @@ import com.kr.core.web.exception.ErrorCodeProvider;
 
 public enum AudioServiceErrorCode implements ErrorCodeProvider {
 
-    FILE_PROCESSING_ERROR("A001", "파일 처리 중 오류가 발생했습니다.");
+    FILE_PROCESSING_ERROR("A001", "파일 처리 중 오류가 발생했습니다."),
+    SESSION_NOT_FOUND("A002", "녹음 세션을 찾을 수 없습니다."),
+    DRAINING("A003", "서버가 종료 준비 중이라 새 녹음을 시작할 수 없습니다."),
+    STREAM_LIMIT("A004", "동시 스트림 수가 한도에 도달했습니다. 청크 단위 요청으로 보내야 합니다."),
+    INVALID_CHUNK("A005", "청크 길이가 올바르지 않습니다.");
 
     private final String code;
     private final String defaultMessage;
@@ -0,0 +1,125 @@
+package com.kr.audio_server.media;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 파일 트리 체크섬 (SHA-256)
+ * 파일을 segmentSize 단위 구간으로 나눠 구간별 SHA-256 을 구하고, 구간 해시를 순서대로 이어 붙인 값의 SHA-256 을 결과로 합니다.
+ * 구간은 서로 독립적이므로 fork-join 으로 병렬 계산하며, 구간마다 따로 메모리 매핑하므로 2GB 보다 큰 파일도 처리할 수 있습니다.
+ *
+ * 결과는 segmentSize 에 따라 달라지므로, 비교할 값은 같은 구간 크기로 계산해야 합니다.
+ */
+public class TreeChecksum {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private final ForkJoinPool pool;
+    private final int segmentSize;
+
+    /**
+     * @param pool 구간 해시를 계산할 풀
+     * @param segmentSize 구간 크기 (바이트)
+     */
+    public TreeChecksum(ForkJoinPool pool, int segmentSize) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("segmentSize must be positive: " + segmentSize);
+        }
+        this.pool = pool;
+        this.segmentSize = segmentSize;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * 파일의 트리 체크섬을 계산합니다.
+     *
+     * @param file 대상 파일
+     * @return 16진수 SHA-256 (64자)
+     */
+    public String checksum(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int segments = (int) Math.max(1, (size + segmentSize - 1) / segmentSize);
+            byte[][] digests = new byte[segments][];
+
+            try {
+                pool.invoke(new SegmentTask(channel, size, digests, 0, segments));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            MessageDigest root = newDigest();
+            for (byte[] digest : digests) {
+                root.update(digest);
+            }
+            return HexFormat.of().formatHex(root.digest());
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        }
+    }
+
+    /**
+     * [from, to) 구간의 해시를 계산합니다. 구간이 하나가 될 때까지 반으로 나눕니다.
+     */
+    private class SegmentTask extends RecursiveTask<Void> {
+
+        private final FileChannel channel;
+        private final long size;
+        private final byte[][] digests;
+        private final int from;
+        private final int to;
+
+        SegmentTask(FileChannel channel, long size, byte[][] digests, int from, int to) {
+            this.channel = channel;
+            this.size = size;
+            this.digests = digests;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Void compute() {
+            if (to - from == 1) {
+                digests[from] = digestSegment(from);
+                return null;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SegmentTask(channel, size, digests, from, mid),
+                    new SegmentTask(channel, size, digests, mid, to));
+            return null;
+        }
+
+        private byte[] digestSegment(int index) {
+            long position = (long) index * segmentSize;
+            long length = Math.min(segmentSize, size - position);
+            MessageDigest digest = newDigest();
+            if (length > 0) {
+                try {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                    digest.update(buffer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return digest.digest();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.kr.audio_server.media;
+
+/**
+ * WebM(Matroska) 헤더에서 추출한 녹음 정보
+ *
+ * @param docType EBML DocType (webm / matroska)
+ * @param codec 첫 오디오 트랙의 CodecID (예: A_OPUS), 없으면 null
+ * @param sampleRate 샘플링 주파수 (Hz), 없으면 0
+ * @param channels 채널 수, 없으면 0
+ * @param durationMs 재생 시간 (밀리초)
+ */
+public record WebmMetadata(String docType, String codec, double sampleRate, int channels, long durationMs) {
+
+    /**
+     * 파일 크기 기준 평균 비트레이트 (bps), 재생 시간을 알 수 없으면 0
+     */
+    public long bitrate(long fileSize) {
+        return durationMs > 0 ? fileSize * 8 * 1000 / durationMs : 0;
+    }
+}
@@ -0,0 +1,313 @@
+package com.kr.audio_server.media;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+
+/**
+ * WebM(EBML/Matroska) 메타데이터 파서
+ * 파일을 메모리 매핑해 필요한 요소의 헤더만 따라가며 읽고, 오디오 데이터(블록 본문)는 건너뜁니다.
+ *
+ * - DocType, 첫 오디오 트랙의 CodecID/SamplingFrequency/Channels 를 읽습니다.
+ * - 재생 시간은 Info/Duration 을 우선 사용하고, 없으면 (브라우저 MediaRecorder 출력처럼) 클러스터/블록 타임코드의 최댓값으로 계산합니다.
+ * - 크기를 알 수 없는(unknown-size) Segment/Cluster 와 끝이 잘린 파일도 읽은 데까지의 정보로 결과를 반환합니다.
+ */
+public final class WebmParser {
+
+    static final int EBML = 0x1A45DFA3;
+    static final int DOC_TYPE = 0x4282;
+    static final int SEGMENT = 0x18538067;
+    static final int INFO = 0x1549A966;
+    static final int TIMECODE_SCALE = 0x2AD7B1;
+    static final int DURATION = 0x4489;
+    static final int TRACKS = 0x1654AE6B;
+    static final int TRACK_ENTRY = 0xAE;
+    static final int TRACK_TYPE = 0x83;
+    static final int CODEC_ID = 0x86;
+    static final int AUDIO = 0xE1;
+    static final int SAMPLING_FREQUENCY = 0xB5;
+    static final int CHANNELS = 0x9F;
+    static final int CLUSTER = 0x1F43B675;
+    static final int TIMECODE = 0xE7;
+    static final int SIMPLE_BLOCK = 0xA3;
+    static final int BLOCK_GROUP = 0xA0;
+    static final int BLOCK = 0xA1;
+
+    private static final int TRACK_TYPE_AUDIO = 2;
+    private static final long DEFAULT_TIMECODE_SCALE = 1_000_000L;
+    private static final long UNKNOWN_SIZE = -1;
+
+    // Segment 의 하위(level 1) 요소: 크기를 알 수 없는 Cluster 의 끝을 판단하는 데 사용
+    private static final Set<Integer> LEVEL1_IDS = Set.of(
+            0x114D9B74, INFO, TRACKS, CLUSTER, 0x1C53BB6B, 0x1941A469, 0x1043A770, 0x1254C367);
+
+    private WebmParser() {
+    }
+
+    /**
+     * 파일을 메모리 매핑해 메타데이터를 읽습니다.
+     */
+    public static WebmMetadata parse(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = Math.min(channel.size(), Integer.MAX_VALUE);
+            return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * 버퍼의 position 부터 limit 까지를 WebM 파일로 읽습니다.
+     *
+     * @throws IOException EBML 파일이 아닌 경우
+     */
+    public static WebmMetadata parse(ByteBuffer buffer) throws IOException {
+        State state = new State();
+        ByteBuffer in = buffer.slice();
+
+        try {
+            if (in.remaining() < 4 || readId(in) != EBML) {
+                throw new IOException("Not an EBML file");
+            }
+            long headerEnd = end(in, readSize(in));
+            while (in.position() < headerEnd) {
+                int id = readId(in);
+                long size = readSize(in);
+                if (id == DOC_TYPE) {
+                    state.docType = readString(in, size);
+                } else {
+                    skip(in, size);
+                }
+            }
+            in.position((int) headerEnd);
+
+            while (in.hasRemaining()) {
+                int id = readId(in);
+                long size = readSize(in);
+                if (id == SEGMENT) {
+                    parseSegment(in, end(in, size), state);
+                    break;
+                }
+                skip(in, size);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            // 끝이 잘린 파일: 읽은 데까지 사용
+        }
+        return state.toMetadata();
+    }
+
+    private static void parseSegment(ByteBuffer in, long end, State state) {
+        while (in.position() < end) {
+            int id = readId(in);
+            long size = readSize(in);
+            switch (id) {
+                case INFO -> parseInfo(in, end(in, size), state);
+                case TRACKS -> parseTracks(in, end(in, size), state);
+                case CLUSTER -> parseCluster(in, size, state);
+                default -> {
+                    if (size == UNKNOWN_SIZE) {
+                        return;
+                    }
+                    skip(in, size);
+                }
+            }
+        }
+    }
+
+    private static void parseInfo(ByteBuffer in, long end, State state) {
+        while (in.position() < end) {
+            int id = readId(in);
+            long size = readSize(in);
+            switch (id) {
+                case TIMECODE_SCALE -> state.timecodeScale = readUnsigned(in, size);
+                case DURATION -> state.duration = readFloat(in, size);
+                default -> skip(in, size);
+            }
+        }
+        in.position((int) end);
+    }
+
+    private static void parseTracks(ByteBuffer in, long end, State state) {
+        while (in.position() < end) {
+            int id = readId(in);
+            long size = readSize(in);
+            if (id == TRACK_ENTRY) {
+                parseTrackEntry(in, end(in, size), state);
+            } else {
+                skip(in, size);
+            }
+        }
+        in.position((int) end);
+    }
+
+    private static void parseTrackEntry(ByteBuffer in, long end, State state) {
+        long type = 0;
+        String codec = null;
+        double sampleRate = 0;
+        int channels = 0;
+
+        while (in.position() < end) {
+            int id = readId(in);
+            long size = readSize(in);
+            switch (id) {
+                case TRACK_TYPE -> type = readUnsigned(in, size);
+                case CODEC_ID -> codec = readString(in, size);
+                case AUDIO -> {
+                    long audioEnd = end(in, size);
+                    while (in.position() < audioEnd) {
+                        int audioId = readId(in);
+                        long audioSize = readSize(in);
+                        switch (audioId) {
+                            case SAMPLING_FREQUENCY -> sampleRate = readFloat(in, audioSize);
+                            case CHANNELS -> channels = (int) readUnsigned(in, audioSize);
+                            default -> skip(in, audioSize);
+                        }
+                    }
+                }
+                default -> skip(in, size);
+            }
+        }
+        in.position((int) end);
+
+        if (state.codec == null && (type == TRACK_TYPE_AUDIO || sampleRate > 0)) {
+            state.codec = codec;
+            state.sampleRate = sampleRate;
+            state.channels = channels;
+        }
+    }
+
+    private static void parseCluster(ByteBuffer in, long size, State state) {
+        long end = end(in, size);
+        long clusterTimecode = 0;
+
+        while (in.position() < end) {
+            int start = in.position();
+            int id = readId(in);
+            if (size == UNKNOWN_SIZE && LEVEL1_IDS.contains(id)) {
+                // 크기를 알 수 없는 클러스터는 다음 level 1 요소에서 끝납니다.
+                in.position(start);
+                return;
+            }
+            long childSize = readSize(in);
+            switch (id) {
+                case TIMECODE -> clusterTimecode = readUnsigned(in, childSize);
+                case SIMPLE_BLOCK -> readBlockTimecode(in, childSize, clusterTimecode, state);
+                case BLOCK_GROUP -> {
+                    long groupEnd = end(in, childSize);
+                    while (in.position() < groupEnd) {
+                        int groupId = readId(in);
+                        long groupChildSize = readSize(in);
+                        if (groupId == BLOCK) {
+                            readBlockTimecode(in, groupChildSize, clusterTimecode, state);
+                        } else {
+                            skip(in, groupChildSize);
+                        }
+                    }
+                }
+                default -> skip(in, childSize);
+            }
+        }
+    }
+
+    private static void readBlockTimecode(ByteBuffer in, long size, long clusterTimecode, State state) {
+        int blockEnd = (int) end(in, size);
+        readSize(in); // track number
+        short relative = in.getShort();
+        state.maxTimecode = Math.max(state.maxTimecode, clusterTimecode + relative);
+        in.position(Math.min(blockEnd, in.limit()));
+    }
+
+    /**
+     * 요소 ID (길이 표시 비트 포함)
+     */
+    static int readId(ByteBuffer in) {
+        int first = in.get() & 0xff;
+        int length = Integer.numberOfLeadingZeros(first) - 23;
+        if (length < 1 || length > 4) {
+            throw new IllegalArgumentException("Invalid EBML id");
+        }
+        int id = first;
+        for (int i = 1; i < length; i++) {
+            id = (id << 8) | (in.get() & 0xff);
+        }
+        return id;
+    }
+
+    /**
+     * 요소 크기 (길이 표시 비트 제외), 알 수 없는 크기면 -1
+     */
+    static long readSize(ByteBuffer in) {
+        int first = in.get() & 0xff;
+        int length = Integer.numberOfLeadingZeros(first) - 23;
+        if (length < 1 || length > 8) {
+            throw new IllegalArgumentException("Invalid EBML size");
+        }
+        long value = first & (0xff >>> length);
+        boolean allOnes = value == (0xff >>> length);
+        for (int i = 1; i < length; i++) {
+            int b = in.get() & 0xff;
+            allOnes &= b == 0xff;
+            value = (value << 8) | b;
+        }
+        return allOnes ? UNKNOWN_SIZE : value;
+    }
+
+    private static long end(ByteBuffer in, long size) {
+        return size == UNKNOWN_SIZE ? in.limit() : Math.min(in.limit(), in.position() + size);
+    }
+
+    private static void skip(ByteBuffer in, long size) {
+        if (size == UNKNOWN_SIZE) {
+            throw new IllegalArgumentException("Cannot skip unknown-size element");
+        }
+        in.position((int) Math.min(in.limit(), in.position() + size));
+    }
+
+    private static long readUnsigned(ByteBuffer in, long size) {
+        long value = 0;
+        for (int i = 0; i < size; i++) {
+            value = (value << 8) | (in.get() & 0xff);
+        }
+        return value;
+    }
+
+    private static double readFloat(ByteBuffer in, long size) {
+        if (size == 4) {
+            return in.getFloat();
+        }
+        if (size == 8) {
+            return in.getDouble();
+        }
+        skip(in, size);
+        return 0;
+    }
+
+    private static String readString(ByteBuffer in, long size) {
+        byte[] bytes = new byte[(int) size];
+        in.get(bytes);
+        int length = bytes.length;
+        while (length > 0 && bytes[length - 1] == 0) {
+            length--;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static class State {
+        String docType;
+        String codec;
+        double sampleRate;
+        int channels;
+        long timecodeScale = DEFAULT_TIMECODE_SCALE;
+        double duration = -1;
+        long maxTimecode = -1;
+
+        WebmMetadata toMetadata() {
+            double ticks = duration >= 0 ? duration : Math.max(maxTimecode, 0);
+            long durationMs = Math.round(ticks * timecodeScale / 1_000_000d);
+            return new WebmMetadata(docType, codec, sampleRate, channels, durationMs);
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package com.kr.audio_server.outbox;
+
+import com.kr.kafka.config.Event;
+import com.kr.kafka.serializer.BinaryEventDeserializer;
+import com.kr.kafka.serializer.BinaryEventSerializer;
+import com.kr.kafka.serializer.EventCodecRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 이벤트 아웃박스 (파일 기반 추가 전용 로그)
+ * 발행할 이벤트를 먼저 로컬 디스크에 기록(fsync)해 두고, {@link OutboxRelay}가 별도로 읽어 Kafka 로 전송합니다.
+ * 브로커가 느리거나 내려가 있어도 요청 처리 시간에 영향을 주지 않고, 재시작 후에도 전송하지 못한 이벤트가 남습니다.
+ *
+ * 로그는 세그먼트 파일({번호}.log)로 나뉘며, 항목 형식은 [본문 길이 4B][CRC32 4B][키 길이 4B][키][이벤트] 입니다.
+ * 이벤트는 {@link BinaryEventSerializer}로 기록하므로 이벤트 타입마다 EventCodec 이 등록되어 있어야 합니다.
+ * 전송이 끝난 위치는 offset 파일에 기록하고, 그 앞의 세그먼트는 삭제합니다.
+ * 계속 전송할 수 없는 항목은 {@link #deadLetter(Position, Position)}로 outbox.dead-letter 에 같은 형식으로 옮깁니다.
+ */
+@Slf4j
+@Component
+public class EventOutbox {
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String OFFSET_FILE = "outbox.offset";
+    private static final String DEAD_LETTER_FILE = "outbox.dead-letter";
+    private static final int ENTRY_HEADER_SIZE = 8;
+    private static final int MAX_ENTRY_SIZE = 16 * 1024 * 1024;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final BinaryEventSerializer serializer;
+    private final BinaryEventDeserializer deserializer;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Condition appended = appendLock.newCondition();
+
+    private FileChannel segment;
+    private long segmentId;
+    private volatile Position end;
+    private volatile Position committed;
+
+    /**
+     * 로그 내 위치 (세그먼트 번호, 세그먼트 내 오프셋)
+     */
+    public record Position(long segment, long offset) implements Comparable<Position> {
+
+        @Override
+        public int compareTo(Position other) {
+            int bySegment = Long.compare(segment, other.segment);
+            return bySegment != 0 ? bySegment : Long.compare(offset, other.offset);
+        }
+    }
+
+    /**
+     * 로그에서 읽은 항목
+     *
+     * @param event 이벤트
+     * @param key 메시지 키
+     * @param next 이 항목 다음 위치 (전송 후 commit 에 사용)
+     */
+    public record Entry(Event event, String key, Position next) {
+    }
+
+    /**
+     * 체크섬은 맞지만 이벤트로 읽을 수 없는 항목 (코덱이 없는 이벤트 타입 등)
+     */
+    public static class UnreadableEntryException extends IOException {
+
+        private final Position position;
+        private final Position next;
+
+        UnreadableEntryException(Position position, Position next, Throwable cause) {
+            super("Unreadable outbox entry at " + position + ": " + cause.getMessage(), cause);
+            this.position = position;
+            this.next = next;
+        }
+
+        public Position getPosition() {
+            return position;
+        }
+
+        public Position getNext() {
+            return next;
+        }
+    }
+
+    public EventOutbox(EventCodecRegistry eventCodecRegistry,
+                       @Value("${audio.outbox.path:outbox}") String path,
+                       @Value("${audio.outbox.segment-size:16MB}") DataSize segmentSize) throws IOException {
+        this.directory = Paths.get(path).toAbsolutePath().normalize();
+        this.segmentSize = segmentSize.toBytes();
+        this.serializer = new BinaryEventSerializer(eventCodecRegistry);
+        this.deserializer = new BinaryEventDeserializer(eventCodecRegistry);
+        open();
+    }
+
+    /**
+     * 이벤트를 로그에 추가하고 디스크에 동기화합니다.
+     * 반환되면 재시작 후에도 이벤트가 전송됩니다.
+     *
+     * @param event 이벤트
+     * @param key 메시지 키 (같은 키는 기록 순서대로 전송)
+     * @throws IOException 기록 또는 동기화에 실패한 경우
+     */
+    public void append(Event event, String key) throws IOException {
+        write(List.of(encode(event, key)));
+    }
+
+    /**
+     * 여러 이벤트를 순서대로 로그에 추가하고 한 번만 디스크에 동기화합니다.
+     * 반환되면 모든 이벤트가 재시작 후에도 전송됩니다.
+     *
+     * @param events 이벤트
+     * @param keyMapper 이벤트별 메시지 키
+     * @throws IOException 기록 또는 동기화에 실패한 경우
+     */
+    public <T extends Event> void appendAll(Collection<? extends T> events, Function<? super T, String> keyMapper)
+            throws IOException {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<ByteBuffer> entries = new ArrayList<>(events.size());
+        for (T event : events) {
+            entries.add(encode(event, keyMapper.apply(event)));
+        }
+        write(entries);
+    }
+
+    private ByteBuffer encode(Event event, String key) {
+        byte[] eventBytes = serializer.serialize(event.getTopic(), event);
+        byte[] keyBytes = key == null ? null : key.getBytes(StandardCharsets.UTF_8);
+        int bodyLength = 4 + (keyBytes == null ? 0 : keyBytes.length) + eventBytes.length;
+
+        ByteBuffer entry = ByteBuffer.allocate(ENTRY_HEADER_SIZE + bodyLength);
+        entry.position(ENTRY_HEADER_SIZE);
+        entry.putInt(keyBytes == null ? -1 : keyBytes.length);
+        if (keyBytes != null) {
+            entry.put(keyBytes);
+        }
+        entry.put(eventBytes);
+        CRC32 crc = new CRC32();
+        crc.update(entry.array(), ENTRY_HEADER_SIZE, bodyLength);
+        entry.putInt(0, bodyLength).putInt(4, (int) crc.getValue());
+        entry.flip();
+        return entry;
+    }
+
+    private void write(List<ByteBuffer> entries) throws IOException {
+        appendLock.lock();
+        try {
+            Position start = new Position(segmentId, segment.position());
+            try {
+                for (ByteBuffer entry : entries) {
+                    if (segment.position() > 0 && segment.position() + entry.remaining() > segmentSize) {
+                        // 세그먼트를 넘기기 전에 지금까지 쓴 항목을 동기화합니다.
+                        segment.force(false);
+                        roll();
+                    }
+                    while (entry.hasRemaining()) {
+                        segment.write(entry);
+                    }
+                }
+                segment.force(false);
+            } catch (IOException e) {
+                rollback(start, e);
+                throw e;
+            }
+            end = new Position(segmentId, segment.position());
+            appended.signalAll();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 기록에 실패한 항목을 잘라내 로그를 기록 시작 위치로 되돌립니다.
+     * 실패를 반환한 이벤트가 재시작 후 전송되거나, 이후 항목이 일부만 쓰인 항목 뒤에 붙지 않도록 합니다.
+     */
+    private void rollback(Position start, IOException cause) {
+        try {
+            if (segmentId != start.segment()) {
+                segment.close();
+                for (long id = start.segment() + 1; id <= segmentId; id++) {
+                    Files.deleteIfExists(segmentPath(id));
+                }
+                segmentId = start.segment();
+                segment = FileChannel.open(segmentPath(segmentId), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            segment.truncate(start.offset());
+            segment.position(start.offset());
+            segment.force(false);
+            log.warn("[OUTBOX] Rolled back partial write to {}", start);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+            log.error("[OUTBOX] [ERR] Failed to roll back partial write to {}: {}", start, e.getMessage());
+        }
+    }
+
+    /**
+     * 지정 위치부터 최대 max 개의 항목을 읽습니다.
+     * 동기화가 끝난 항목만 반환합니다.
+     * 이벤트로 읽을 수 없는 항목을 만나면 그 앞까지 반환하고, 첫 항목이면 {@link UnreadableEntryException}을 던집니다.
+     *
+     * @param from 읽기 시작 위치
+     * @param max 최대 항목 수
+     * @return 읽은 항목 (없으면 빈 목록)
+     */
+    public List<Entry> read(Position from, int max) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        Position limit = end;
+        Position position = from;
+
+        while (entries.size() < max && position.compareTo(limit) < 0) {
+            if (position.segment() < limit.segment() && !Files.exists(segmentPath(position.segment()))) {
+                position = new Position(position.segment() + 1, 0);
+                continue;
+            }
+
+            try (FileChannel channel = FileChannel.open(segmentPath(position.segment()), StandardOpenOption.READ)) {
+                long readable = position.segment() == limit.segment() ? limit.offset() : channel.size();
+                long offset = position.offset();
+                ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_SIZE);
+                while (entries.size() < max && offset + ENTRY_HEADER_SIZE <= readable) {
+                    header.clear();
+                    readFully(channel, header, offset);
+                    int length = header.getInt(0);
+                    ByteBuffer body = ByteBuffer.allocate(length);
+                    readFully(channel, body, offset + ENTRY_HEADER_SIZE);
+                    Position next = new Position(position.segment(), offset + ENTRY_HEADER_SIZE + length);
+                    try {
+                        entries.add(decode(body.array(), next));
+                    } catch (RuntimeException e) {
+                        if (entries.isEmpty()) {
+                            throw new UnreadableEntryException(new Position(position.segment(), offset), next, e);
+                        }
+                        return entries;
+                    }
+                    offset = next.offset();
+                }
+                position = new Position(position.segment(), offset);
+                if (offset >= readable && position.segment() < limit.segment()) {
+                    position = new Position(position.segment() + 1, 0);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 전송이 끝난 위치를 기록하고 그 앞의 세그먼트를 삭제합니다.
+     *
+     * @param position 다음에 읽을 위치
+     */
+    public void commit(Position position) throws IOException {
+        Path temp = directory.resolve(OFFSET_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(16).putLong(position.segment()).putLong(position.offset());
+            buffer.flip();
+            channel.write(buffer);
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(OFFSET_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        committed = position;
+
+        for (long id : segmentIds()) {
+            if (id < position.segment()) {
+                Files.deleteIfExists(segmentPath(id));
+            }
+        }
+    }
+
+    /**
+     * 전송할 수 없는 항목을 outbox.dead-letter 에 원본 그대로 옮기고 그 다음 위치를 commit 합니다.
+     *
+     * @param from 항목 위치 (현재 commit 위치)
+     * @param next 항목 다음 위치
+     */
+    public void deadLetter(Position from, Position next) throws IOException {
+        // 세그먼트 끝에 commit 된 경우 항목은 다음 세그먼트의 처음에 있습니다.
+        long offset = from.segment() == next.segment() ? from.offset() : 0;
+        ByteBuffer entry = ByteBuffer.allocate((int) (next.offset() - offset));
+        try (FileChannel channel = FileChannel.open(segmentPath(next.segment()), StandardOpenOption.READ)) {
+            readFully(channel, entry, offset);
+        }
+        entry.flip();
+        try (FileChannel deadLetter = FileChannel.open(directory.resolve(DEAD_LETTER_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (entry.hasRemaining()) {
+                deadLetter.write(entry);
+            }
+            deadLetter.force(false);
+        }
+        commit(next);
+    }
+
+    public Position getCommitted() {
+        return committed;
+    }
+
+    public Position getEnd() {
+        return end;
+    }
+
+    /**
+     * 전송을 기다리는 항목이 있는지
+     */
+    public boolean hasPending() {
+        return committed.compareTo(end) < 0;
+    }
+
+    /**
+     * 새 항목이 추가될 때까지 최대 timeout 동안 기다립니다.
+     */
+    public void awaitAppend(Position after, long timeout, TimeUnit unit) throws InterruptedException {
+        appendLock.lock();
+        try {
+            long nanos = unit.toNanos(timeout);
+            while (end.compareTo(after) <= 0 && nanos > 0) {
+                nanos = appended.awaitNanos(nanos);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            segment.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        committed = readOffset();
+
+        List<Long> ids = segmentIds();
+        segmentId = ids.isEmpty() ? Math.max(committed.segment(), 0) : ids.get(ids.size() - 1);
+        Path path = segmentPath(segmentId);
+        segment = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // 기록 도중 중단된 마지막 항목은 잘라냅니다.
+        long valid = validLength(segment);
+        if (valid < segment.size()) {
+            log.warn("[OUTBOX] Truncating torn entry in {} at {} (size {})", path.getFileName(), valid, segment.size());
+            segment.truncate(valid);
+            segment.force(true);
+        }
+        segment.position(valid);
+        end = new Position(segmentId, valid);
+
+        if (committed.compareTo(end) > 0) {
+            committed = end;
+        }
+        log.info("[OUTBOX] Opened {} (committed={}, end={})", directory, committed, end);
+    }
+
+    private void roll() throws IOException {
+        segment.close();
+        segmentId++;
+        segment = FileChannel.open(segmentPath(segmentId), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private Entry decode(byte[] body, Position next) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        int keyLength = buffer.getInt();
+        String key = null;
+        if (keyLength >= 0) {
+            key = new String(body, 4, keyLength, StandardCharsets.UTF_8);
+            buffer.position(4 + keyLength);
+        }
+        byte[] eventBytes = new byte[buffer.remaining()];
+        buffer.get(eventBytes);
+        return new Entry((Event) deserializer.deserialize(null, eventBytes), key, next);
+    }
+
+    private static long validLength(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long offset = 0;
+        ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_SIZE);
+        while (offset + ENTRY_HEADER_SIZE <= size) {
+            header.clear();
+            readFully(channel, header, offset);
+            int length = header.getInt(0);
+            int checksum = header.getInt(4);
+            if (length < 4 || length > MAX_ENTRY_SIZE || offset + ENTRY_HEADER_SIZE + length > size) {
+                break;
+            }
+            ByteBuffer body = ByteBuffer.allocate(length);
+            readFully(channel, body, offset + ENTRY_HEADER_SIZE);
+            CRC32 crc = new CRC32();
+            crc.update(body.array());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            offset += ENTRY_HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                throw new IOException("Unexpected end of outbox segment at " + position);
+            }
+        }
+    }
+
+    private Position readOffset() throws IOException {
+        Path offsetFile = directory.resolve(OFFSET_FILE);
+        if (!Files.exists(offsetFile)) {
+            List<Long> ids = segmentIds();
+            return new Position(ids.isEmpty() ? 0 : ids.get(0), 0);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(offsetFile));
+        return new Position(buffer.getLong(), buffer.getLong());
+    }
+
+    private List<Long> segmentIds() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+    }
+}
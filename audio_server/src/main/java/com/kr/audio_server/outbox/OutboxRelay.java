@@ -0,0 +1,193 @@
+package com.kr.audio_server.outbox;
+
+import com.kr.kafka.component.EventPublisher;
+import com.kr.kafka.config.Event;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.RetriableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 아웃박스 릴레이
+ * {@link EventOutbox}에 기록된 이벤트를 배치로 읽어 Kafka 로 발행하고, 모든 전송이 확인되면 위치를 commit 합니다.
+ *
+ * - 전송에 실패하면 같은 배치를 지수 백오프로 재시도하므로 이벤트는 최소 1회 이상 전달됩니다. (중복 가능)
+ * - 한 스레드가 기록 순서대로 발행하므로 같은 키의 이벤트 순서가 유지됩니다.
+ * - 읽을 수 없거나 재시도해도 성공할 수 없는 오류(직렬화 실패 등)로 같은 위치에서 max-attempts 번 실패하면,
+ *   배치를 한 건씩 나누어 보내 실패하는 항목을 찾고 그 항목을 dead-letter 로 옮긴 뒤 다음 항목으로 넘어갑니다.
+ *   브로커 장애처럼 재시도할 수 있는 오류는 횟수와 상관없이 계속 재시도합니다.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final EventOutbox outbox;
+    private final EventPublisher eventPublisher;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration sendTimeout;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    // 연속으로 실패한 위치와 횟수 (릴레이 스레드에서만 사용)
+    private EventOutbox.Position failedAt;
+    private int failures;
+    // 이 위치 전까지는 실패한 항목을 찾기 위해 한 건씩 발행
+    private EventOutbox.Position isolateUntil;
+
+    public OutboxRelay(EventOutbox outbox,
+                       EventPublisher eventPublisher,
+                       @Value("${audio.outbox.batch-size:500}") int batchSize,
+                       @Value("${audio.outbox.poll-interval:1s}") Duration pollInterval,
+                       @Value("${audio.outbox.send-timeout:30s}") Duration sendTimeout,
+                       @Value("${audio.outbox.max-backoff:30s}") Duration maxBackoff,
+                       @Value("${audio.outbox.max-attempts:5}") int maxAttempts) {
+        this.outbox = outbox;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.sendTimeout = sendTimeout;
+        this.maxBackoff = maxBackoff;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(sendTimeout.toMillis());
+        }
+    }
+
+    private void run() {
+        long backoff = 0;
+        while (running) {
+            try {
+                if (backoff > 0) {
+                    Thread.sleep(backoff);
+                }
+                int sent = relayOnce();
+                backoff = 0;
+                if (sent == 0) {
+                    outbox.awaitAppend(outbox.getCommitted(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                backoff = backoff == 0 ? 1000 : Math.min(backoff * 2, maxBackoff.toMillis());
+                log.error("[OUTBOX] [RELAY] [ERR] {} (retry in {}ms)", e.getMessage(), backoff);
+            }
+        }
+    }
+
+    /**
+     * 커밋 위치부터 한 배치를 발행하고 commit 합니다.
+     *
+     * @return 발행한 이벤트 수
+     * @throws Exception 읽기, 발행 또는 commit 에 실패한 경우 (위치는 그대로 유지)
+     */
+    int relayOnce() throws Exception {
+        EventOutbox.Position from = outbox.getCommitted();
+        if (isolateUntil != null && from.compareTo(isolateUntil) >= 0) {
+            isolateUntil = null;
+        }
+
+        List<EventOutbox.Entry> entries;
+        try {
+            entries = outbox.read(from, isolateUntil != null ? 1 : batchSize);
+        } catch (EventOutbox.UnreadableEntryException e) {
+            if (countFailure(from) < maxAttempts) {
+                throw e;
+            }
+            deadLetter(from, e.getNext(), e);
+            return 0;
+        }
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        List<Event> events = new ArrayList<>(entries.size());
+        Map<Event, String> keys = new IdentityHashMap<>(entries.size());
+        for (EventOutbox.Entry entry : entries) {
+            events.add(entry.event());
+            keys.put(entry.event(), entry.key());
+        }
+
+        try {
+            eventPublisher.publishAll(events, keys::get).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | RuntimeException e) {
+            if (isRetriable(e) || countFailure(from) < maxAttempts) {
+                throw e;
+            }
+            if (entries.size() > 1) {
+                // 배치 중 어느 항목이 실패하는지 모르므로 이 배치 범위는 한 건씩 보냅니다.
+                isolateUntil = entries.get(entries.size() - 1).next();
+                failedAt = null;
+                log.warn("[OUTBOX] Batch at {} failed {} times, publishing one by one until {}", from, maxAttempts, isolateUntil);
+                throw e;
+            }
+            deadLetter(from, entries.get(0).next(), e);
+            return 0;
+        }
+        outbox.commit(entries.get(entries.size() - 1).next());
+        failedAt = null;
+        log.debug("[OUTBOX] Relayed {} events", entries.size());
+        return entries.size();
+    }
+
+    /**
+     * 같은 위치에서 연속으로 실패한 횟수를 늘리고 반환합니다.
+     */
+    private int countFailure(EventOutbox.Position position) {
+        if (position.equals(failedAt)) {
+            failures++;
+        } else {
+            failedAt = position;
+            failures = 1;
+        }
+        return failures;
+    }
+
+    private void deadLetter(EventOutbox.Position from, EventOutbox.Position next, Exception cause) throws IOException {
+        outbox.deadLetter(from, next);
+        failedAt = null;
+        log.error("[OUTBOX] [RELAY] [ERR] Dead-lettered entry at {} after {} attempts: {}", from, maxAttempts, cause.getMessage());
+    }
+
+    /**
+     * 브로커 장애, 전송 시간 초과처럼 다시 보내면 성공할 수 있는 오류인지
+     */
+    private static boolean isRetriable(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof RetriableException || t instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
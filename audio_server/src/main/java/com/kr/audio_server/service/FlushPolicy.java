@@ -0,0 +1,18 @@
+package com.kr.audio_server.service;
+
+/**
+ * 녹음 파일 동기화(fsync) 정책
+ * 쓰기 스레드가 청크를 파일 채널에 기록한 뒤 언제 디스크 동기화를 수행할지 결정합니다.
+ * 모든 정책은 녹음 종료 시 한 번 더 동기화합니다.
+ */
+public enum FlushPolicy {
+
+    /** 마지막 동기화 이후 기록된 바이트가 flush-bytes 이상이면 동기화 */
+    BYTES,
+
+    /** 마지막 동기화 이후 flush-interval 이 지나면 동기화 */
+    INTERVAL,
+
+    /** 녹음 종료 시에만 동기화 */
+    END
+}
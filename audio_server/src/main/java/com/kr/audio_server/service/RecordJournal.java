@@ -0,0 +1,221 @@
+package com.kr.audio_server.service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 녹음 세션 저널 (세션별 write-ahead 로그)
+ * 녹음 파일에 청크 묶음을 기록할 때마다 [마지막 청크 순번][파일 끝 오프셋] 체크포인트를 덧붙입니다.
+ * 저널은 녹음 파일을 동기화한 직후에만 동기화하므로, 동기화 한 번에 그동안 기록한 청크 전체가 함께 확정됩니다. (group commit)
+ *
+ * 파일 형식
+ * - 헤더: [magic(4)][버전(2)] + sessionId, metaId, filePath, fileName ([길이(2)][UTF-8])
+ * - 체크포인트: [sequence(8)][offset(8)][CRC32(4)] 의 반복
+ *
+ * 비정상 종료 후에는 CRC 가 맞고 오프셋이 녹음 파일 크기 이하인 마지막 체크포인트가 마지막으로 온전히 기록된 청크의 경계입니다.
+ * 쓰기는 세션의 쓰기 스레드 하나만 하므로 동기화하지 않습니다.
+ */
+@Slf4j
+final class RecordJournal {
+
+    static final int ENTRY_SIZE = 20;
+    private static final int MAGIC = 0x524A4E4C;  // "RJNL"
+    private static final short VERSION = 1;
+
+    /**
+     * 저널 헤더 (녹음 시작 시 기록)
+     */
+    record Header(String sessionId, String metaId, String filePath, String fileName) {
+    }
+
+    /**
+     * 녹음 파일이 온전한 마지막 지점
+     *
+     * @param sequence 마지막으로 기록된 청크 순번 (순번이 있는 청크가 없으면 -1)
+     * @param offset 녹음 파일 크기
+     */
+    record Checkpoint(long sequence, long offset) {
+    }
+
+    @Getter
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+    private final CRC32 crc = new CRC32();
+    private boolean dirty;
+
+    private RecordJournal(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    /**
+     * 새 저널을 만들고 헤더를 디스크에 동기화합니다.
+     */
+    static RecordJournal create(Path path, Header header) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        writeString(out, header.sessionId());
+        writeString(out, header.metaId());
+        writeString(out, header.filePath());
+        writeString(out, header.fileName());
+
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new RecordJournal(path, channel);
+    }
+
+    /**
+     * 비정상 종료로 남은 저널을 읽습니다.
+     * 녹음 파일 크기를 넘거나 CRC 가 맞지 않는 체크포인트부터는 버리고, 이어서 기록할 수 있도록 저널을 엽니다.
+     *
+     * @param path 저널 경로
+     * @return 복구 정보, 헤더를 읽을 수 없으면 null (녹음 시작 도중 종료된 경우)
+     */
+    static Recovered recover(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(channel.size(), Integer.MAX_VALUE));
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 끝까지 읽습니다.
+            }
+            buffer.flip();
+
+            Header header = readHeader(buffer);
+            if (header == null) {
+                channel.close();
+                return null;
+            }
+
+            Path file = Path.of(header.filePath());
+            long fileSize = Files.isRegularFile(file) ? Files.size(file) : -1;
+            Checkpoint checkpoint = new Checkpoint(-1, 0);
+            long validLength = buffer.position();
+            CRC32 crc = new CRC32();
+            while (buffer.remaining() >= ENTRY_SIZE) {
+                long sequence = buffer.getLong();
+                long offset = buffer.getLong();
+                int checksum = buffer.getInt();
+                crc.reset();
+                crc.update(buffer.array(), buffer.position() - ENTRY_SIZE, ENTRY_SIZE - 4);
+                if ((int) crc.getValue() != checksum || offset > fileSize || offset < checkpoint.offset()) {
+                    break;
+                }
+                checkpoint = new Checkpoint(sequence, offset);
+                validLength = buffer.position();
+            }
+
+            channel.truncate(validLength);
+            channel.position(validLength);
+            return new Recovered(header, checkpoint, fileSize >= 0, new RecordJournal(path, channel));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 복구한 저널
+     *
+     * @param header 헤더
+     * @param checkpoint 마지막 체크포인트 (없으면 오프셋 0)
+     * @param fileExists 녹음 파일이 남아 있는지
+     * @param journal 이어서 기록할 저널
+     */
+    record Recovered(Header header, Checkpoint checkpoint, boolean fileExists, RecordJournal journal) {
+    }
+
+    /**
+     * 체크포인트를 덧붙입니다. 동기화는 {@link #force()}에서 합니다.
+     */
+    void append(long sequence, long offset) throws IOException {
+        entry.clear();
+        entry.putLong(sequence).putLong(offset);
+        crc.reset();
+        crc.update(entry.array(), 0, ENTRY_SIZE - 4);
+        entry.putInt((int) crc.getValue());
+        entry.flip();
+        while (entry.hasRemaining()) {
+            channel.write(entry);
+        }
+        dirty = true;
+    }
+
+    /**
+     * 덧붙인 체크포인트를 디스크에 동기화합니다. 녹음 파일을 동기화한 뒤에 호출해야 합니다.
+     */
+    void force() throws IOException {
+        if (dirty) {
+            channel.force(false);
+            dirty = false;
+        }
+    }
+
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("[JOURNAL] Failed to close {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 녹음 완료 이벤트를 아웃박스에 기록한 뒤 저널을 지웁니다.
+     */
+    void delete() {
+        close();
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.error("[JOURNAL] [ERR] Failed to delete {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static Header readHeader(ByteBuffer buffer) {
+        if (buffer.remaining() < 6 || buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+            return null;
+        }
+        String[] values = new String[4];
+        for (int i = 0; i < values.length; i++) {
+            if (buffer.remaining() < 2) {
+                return null;
+            }
+            int length = Short.toUnsignedInt(buffer.getShort());
+            if (buffer.remaining() < length) {
+                return null;
+            }
+            values[i] = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        }
+        return new Header(values[0], values[1].isEmpty() ? null : values[1], values[2], values[3]);
+    }
+}
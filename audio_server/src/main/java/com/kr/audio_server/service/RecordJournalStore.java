@@ -0,0 +1,70 @@
+package com.kr.audio_server.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 녹음 세션 저널 디렉토리
+ * 진행 중인 녹음마다 {녹음 파일 이름}.journal 하나를 두고, 녹음 완료 이벤트를 아웃박스에 기록하면 지웁니다.
+ * 따라서 재시작 시 남아 있는 저널이 곧 끝나지 않은 녹음 목록입니다. ({@link RecordRecovery})
+ */
+@Slf4j
+@Component
+public class RecordJournalStore {
+
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+
+    /**
+     * @param path 저널 디렉토리
+     * @param enabled false 이면 저널을 남기지 않습니다. (비정상 종료 시 녹음 복구 불가)
+     */
+    public RecordJournalStore(@Value("${audio.journal.path:journal}") String path,
+                              @Value("${audio.journal.enabled:true}") boolean enabled) throws IOException {
+        if (enabled) {
+            this.directory = Paths.get(path).toAbsolutePath().normalize();
+            Files.createDirectories(directory);
+        } else {
+            this.directory = null;
+        }
+        log.info("[JOURNAL] directory={}", directory);
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * 새 녹음의 저널을 만듭니다.
+     *
+     * @return 저널, 비활성화된 경우 null
+     */
+    RecordJournal create(String sessionId, String metaId, Path file, String fileName) throws IOException {
+        if (directory == null) {
+            return null;
+        }
+        return RecordJournal.create(directory.resolve(fileName + SUFFIX),
+                new RecordJournal.Header(sessionId, metaId, file.toString(), fileName));
+    }
+
+    /**
+     * 남아 있는 저널 목록 (끝나지 않은 녹음)
+     */
+    List<Path> journals() throws IOException {
+        if (directory == null) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.kr.audio_server.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비정상 종료된 녹음 복구
+ * 기동 시 (웹 서버가 요청을 받기 전) 남아 있는 저널을 읽어 끝나지 않은 녹음을 찾습니다.
+ *
+ * 1. 녹음 파일을 마지막 체크포인트(마지막으로 온전히 기록된 청크 경계)까지 자릅니다.
+ * 2. 세션을 다시 등록해 게이트웨이가 POST /record/resume 으로 이어받을 수 있게 합니다.
+ *    (클라이언트는 응답의 마지막 순번 다음 청크부터 다시 보냄)
+ * 3. audio.journal.resume-timeout 안에 이어받지 않은 세션은 종료해 녹음 완료 이벤트를 아웃박스에 기록합니다.
+ *
+ * 녹음 파일이 없으면 (시작 도중 종료) 저널만 지웁니다.
+ */
+@Slf4j
+@Component
+public class RecordRecovery {
+
+    private final RecordJournalStore journalStore;
+    private final RecordSessionRegistry sessionRegistry;
+    private final RecordService recordService;
+    private final RecordingCatalog recordingCatalog;
+    private final Duration resumeTimeout;
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public RecordRecovery(RecordJournalStore journalStore,
+                          RecordSessionRegistry sessionRegistry,
+                          RecordService recordService,
+                          RecordingCatalog recordingCatalog,
+                          @Value("${audio.journal.resume-timeout:2m}") Duration resumeTimeout) {
+        this.journalStore = journalStore;
+        this.sessionRegistry = sessionRegistry;
+        this.recordService = recordService;
+        this.recordingCatalog = recordingCatalog;
+        this.resumeTimeout = resumeTimeout;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "record-recovery");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        List<String> recovered = recover();
+        if (recovered.isEmpty()) {
+            return;
+        }
+        scheduler.schedule(() -> endUnresumed(recovered), resumeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 남아 있는 저널로 끝나지 않은 녹음을 복구해 세션으로 등록합니다.
+     *
+     * @return 복구한 세션 ID
+     */
+    List<String> recover() throws IOException {
+        List<String> recovered = new ArrayList<>();
+        for (Path path : journalStore.journals()) {
+            try {
+                RecordSession session = recover(path);
+                if (session != null) {
+                    recovered.add(session.getSessionId());
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("[RECOVERY] [ERR] Failed to recover {}: {}", path, e.getMessage(), e);
+            }
+        }
+        if (!recovered.isEmpty()) {
+            log.info("[RECOVERY] {} unfinished recordings recovered, waiting {} for resume", recovered.size(), resumeTimeout);
+        }
+        return recovered;
+    }
+
+    private RecordSession recover(Path path) throws IOException {
+        RecordJournal.Recovered recovered = RecordJournal.recover(path);
+        if (recovered == null || !recovered.fileExists()) {
+            log.warn("[RECOVERY] Discarding journal without recording: {}", path);
+            if (recovered != null) {
+                recovered.journal().delete();
+            } else {
+                Files.deleteIfExists(path);
+            }
+            return null;
+        }
+
+        RecordJournal.Header header = recovered.header();
+        RecordJournal.Checkpoint checkpoint = recovered.checkpoint();
+        Path file = Path.of(header.filePath());
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            channel.truncate(checkpoint.offset());
+            channel.force(true);
+            channel.position(checkpoint.offset());
+            log.info("[RECOVERY] {} truncated {} -> {} bytes (last sequence {})",
+                    header.fileName(), size, checkpoint.offset(), checkpoint.sequence());
+        } catch (IOException e) {
+            channel.close();
+            recovered.journal().close();
+            throw e;
+        }
+
+        RecordSession session = RecordSession.recovered(header, channel, recovered.journal(), checkpoint);
+        RecordSession previous = sessionRegistry.register(session);
+        if (previous != null) {
+            // 같은 세션 ID로 녹음을 다시 시작한 직후 종료된 경우, 정상 재시작과 같이 이전 녹음은 완료 이벤트 없이 닫습니다.
+            log.warn("[RECOVERY] Session {} restarted, discarding previous file {}", header.sessionId(), previous.getFileName());
+            previous.channel.close();
+            previous.deleteJournal();
+        }
+        recordingCatalog.update(file);
+        return previous != null ? null : session;
+    }
+
+    /**
+     * 이어받지 않은 복구 세션을 종료하고 녹음 완료 이벤트를 기록합니다.
+     */
+    void endUnresumed(List<String> sessionIds) {
+        List<String> unresumed = sessionIds.stream()
+                .filter(sessionId -> {
+                    RecordSession session = sessionRegistry.get(sessionId);
+                    return session != null && session.isRecovered();
+                })
+                .toList();
+        if (unresumed.isEmpty()) {
+            return;
+        }
+        log.info("[RECOVERY] {} recovered sessions not resumed within {}, completing", unresumed.size(), resumeTimeout);
+        try {
+            List<String> failed = recordService.endAll(unresumed);
+            if (!failed.isEmpty()) {
+                log.error("[RECOVERY] [ERR] Failed to complete sessions {}", failed);
+            }
+        } catch (RuntimeException e) {
+            log.error("[RECOVERY] [ERR] Failed to complete {} sessions: {}", unresumed.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
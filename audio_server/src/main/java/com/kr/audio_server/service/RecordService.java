@@ -1,80 +1,190 @@
 package com.kr.audio_server.service;
 
 import com.kr.audio_server.dto.IdleRequest;
+import com.kr.audio_server.dto.RecordBatchResult;
 import com.kr.audio_server.dto.RecordCompletedEvent;
 import com.kr.audio_server.dto.RecordRequest;
+import com.kr.audio_server.dto.RecordResumeResult;
 import com.kr.audio_server.exception.AudioServiceErrorCode;
-import com.kr.core.util.DateUtils;
+import com.kr.audio_server.outbox.EventOutbox;
 import com.kr.core.util.StringUtils;
+import com.kr.core.web.constans.RecordBatch;
 import com.kr.core.web.exception.BusinessException;
-import com.kr.kafka.component.EventPublisher;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
-import java.io.BufferedOutputStream;
-import java.io.File;
-import java.io.FileOutputStream;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Base64;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
 
 /**
  * 오디오 녹음 서비스
  * 클라이언트로부터 수신한 오디오 데이터를 파일로 저장하고 관리합니다.
- * 세션별로 파일 스트림을 관리하며, 녹음 시작/중지 및 청크 데이터 저장 기능을 제공합니다.
+ * 세션별 상태는 {@link RecordSessionRegistry}에 {@link RecordSession} 하나로 보관하며,
+ * 녹음 시작/중지 및 청크 데이터 저장 기능을 제공합니다.
+ * 실제 파일 기록은 {@link RecordWriter}가 비동기로 처리하므로 청크 저장 요청은 큐에 넣은 뒤 바로 반환합니다.
+ * 녹음 완료 이벤트는 {@link EventOutbox}에 기록되고 OutboxRelay 가 Kafka 로 전송합니다.
+ * 드레인이 시작되면({@link #stopAccepting()}) 새 녹음 시작은 503 으로 거절하고 진행 중인 녹음만 처리합니다.
+ * 녹음마다 저널({@link RecordJournalStore})을 남기고 완료 이벤트를 기록한 뒤 지우므로,
+ * 비정상 종료로 끝나지 않은 녹음은 재시작 시 {@link RecordRecovery}가 복구합니다.
+ *
+ * 스트리밍 릴레이(/record/stream)는 녹음 동안 Tomcat 작업 스레드 하나를 점유하므로, 동시 스트림은
+ * audio.stream.max-concurrent 개까지만 받고 나머지는 503 으로 거절해 게이트웨이가 배치 전송을 쓰게 합니다.
+ * (server.tomcat.threads.max 보다 작게 두어 녹음 시작/종료, 배치, 파일 요청이 쓸 스레드를 남김)
  */
 @Slf4j
 @Service
 public class RecordService {
 
-    private final Map<String, String> filePathMap = new HashMap<>();
-    private final Map<String, BufferedOutputStream> fileStreamMap = new HashMap<>();
-    private final Map<String, String> metaIdMap = new HashMap<>();
-    private final EventPublisher eventPublisher;
+    private final EventOutbox outbox;
+    private final RecordSessionRegistry sessionRegistry;
+    private final RecordWriter recordWriter;
+    private final RecordingCatalog recordingCatalog;
+    private final RecordingStorage recordingStorage;
+    private final RecordJournalStore journalStore;
+
+    private final Semaphore streamPermits;
+    private final long maxChunkSize;
 
     private static final int BUFFER_SIZE = 32768;
-    private static final String FILE_PATH = System.getProperty("user.dir") + File.separator + "recordings";
+    private static final int DEFAULT_MAX_STREAMS = 150;
+    private static final DataSize DEFAULT_MAX_CHUNK_SIZE = DataSize.ofMegabytes(1);
+
+    private volatile boolean accepting = true;
+
+    public RecordService(EventOutbox outbox,
+                         RecordSessionRegistry sessionRegistry,
+                         RecordWriter recordWriter,
+                         RecordingCatalog recordingCatalog,
+                         RecordingStorage recordingStorage,
+                         RecordJournalStore journalStore) {
+        this(outbox, sessionRegistry, recordWriter, recordingCatalog, recordingStorage, journalStore,
+                DEFAULT_MAX_STREAMS, DEFAULT_MAX_CHUNK_SIZE);
+    }
 
-    public RecordService(EventPublisher eventPublisher) {
-        this.eventPublisher = eventPublisher;
+    @Autowired
+    public RecordService(EventOutbox outbox,
+                         RecordSessionRegistry sessionRegistry,
+                         RecordWriter recordWriter,
+                         RecordingCatalog recordingCatalog,
+                         RecordingStorage recordingStorage,
+                         RecordJournalStore journalStore,
+                         @Value("${audio.stream.max-concurrent:150}") int maxStreams,
+                         @Value("${audio.stream.max-chunk-size:1MB}") DataSize maxChunkSize) {
+        this.outbox = outbox;
+        this.sessionRegistry = sessionRegistry;
+        this.recordWriter = recordWriter;
+        this.recordingCatalog = recordingCatalog;
+        this.recordingStorage = recordingStorage;
+        this.journalStore = journalStore;
+        this.streamPermits = new Semaphore(Math.max(0, maxStreams));
+        this.maxChunkSize = maxChunkSize.toBytes();
     }
 
     /**
      * 녹음 세션을 시작하는 메서드
-     * 세션 ID에 해당하는 파일을 생성하고 출력 스트림을 초기화합니다.
+     * 세션 ID에 해당하는 파일을 생성하고 파일 채널을 초기화합니다.
      *
      * @param dto 녹음 시작 요청 정보를 담은 DTO
      */
     public void start(RecordRequest dto) {
         log.info("[start] ConnectionId: {}, MetaId: {}", dto.getSessionId(), dto.getMetaId());
 
+        if (!accepting) {
+            log.warn("[start] Draining, rejecting sessionId: {}", dto.getSessionId());
+            throw new BusinessException(AudioServiceErrorCode.DRAINING, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
         try {
             // metaId가 있으면 사용, 없으면 세션 ID 사용 (StringUtils 활용)
-            String fileIdentifier = StringUtils.isEmpty(dto.getMetaId()) 
-                    ? dto.getSessionId() 
+            String fileIdentifier = StringUtils.isEmpty(dto.getMetaId())
+                    ? dto.getSessionId()
                     : dto.getMetaId();
 
-            // metaId 저장
-            metaIdMap.put(dto.getSessionId(), dto.getMetaId());
+            // 파일 이름과 위치는 RecordingStorage 의 배치 방식을 따릅니다.
+            String fileName = recordingStorage.newFileName(fileIdentifier);
+            Path file = recordingStorage.create(fileName);
+            String filePath = file.toString();
+
+            // 파일을 열 수 없으면 저널을 만들지 않고, 저널을 만들 수 없으면 연 파일을 닫습니다. (실패 시 남는 핸들 없음)
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            RecordJournal journal;
+            try {
+                journal = journalStore.create(dto.getSessionId(), dto.getMetaId(), file, fileName);
+            } catch (IOException e) {
+                try {
+                    channel.close();
+                } catch (IOException closeError) {
+                    e.addSuppressed(closeError);
+                }
+                throw e;
+            }
+            RecordSession previous = sessionRegistry.register(
+                    new RecordSession(dto.getSessionId(), dto.getMetaId(), filePath, fileName, channel, journal));
+            recordingCatalog.update(file);
 
-            // core 모듈의 DateUtils 사용
-            String now = DateUtils.getCurrentTimestamp();
+            if (previous != null) {
+                log.warn("[start] Session {} restarted, closing previous file {}", dto.getSessionId(), previous.getFileName());
+                recordWriter.close(previous).thenRun(previous::deleteJournal);
+            }
 
-            String fileName = String.format("%s_%s.webm", fileIdentifier, now);
+        } catch (IOException e) {
+            log.error("[RECORD] [START] [ERR] Error : {}", e.getMessage(), e);
+            throw new BusinessException(AudioServiceErrorCode.FILE_PROCESSING_ERROR);
+        }
+    }
+
+    /**
+     * 새 녹음 시작을 더 받지 않습니다. (드레인 시작 시, 되돌리지 않음)
+     */
+    public void stopAccepting() {
+        accepting = false;
+    }
 
-            Files.createDirectories(Paths.get(FILE_PATH));
-            String filePath = FILE_PATH + File.separator + fileName;
+    public boolean isAccepting() {
+        return accepting;
+    }
 
-            BufferedOutputStream bos = new BufferedOutputStream(new FileOutputStream(filePath), BUFFER_SIZE);
-            fileStreamMap.put(dto.getSessionId(), bos);
-            filePathMap.put(dto.getSessionId(), filePath);
+    /**
+     * 게이트웨이가 녹음 세션을 이어받는 메서드
+     * 재시작으로 복구된 세션은 이어받은 뒤부터 청크를 받으며, 클라이언트는 반환된 순번 다음 청크부터 다시 보냅니다.
+     * 진행 중인 세션에 호출하면 청크 전달이 실패한 뒤 어디부터 다시 보낼지 알려줍니다.
+     *
+     * @param sessionId 세션 ID
+     * @return 마지막으로 받은 청크 순번
+     */
+    public RecordResumeResult resume(String sessionId) {
+        RecordSession session = sessionRegistry.get(sessionId);
+        if (session == null) {
+            log.error("[resume] No open stream for sessionId: {}", sessionId);
+            throw new BusinessException(AudioServiceErrorCode.SESSION_NOT_FOUND);
+        }
 
+        try {
+            long lastSequence = recordWriter.resume(session);
+            log.info("[resume] ConnectionId: {} resumed after sequence {}", sessionId, lastSequence);
+            return new RecordResumeResult(sessionId, lastSequence);
         } catch (IOException e) {
-            log.error("[RECORD] [START] [ERR] Error : {}", e.getMessage(), e);
+            log.error("[RECORD] [RESUME] [ERR] Error : {}", e.getMessage());
             throw new BusinessException(AudioServiceErrorCode.FILE_PROCESSING_ERROR);
         }
     }
@@ -86,13 +196,13 @@ public class RecordService {
      * @param dto 오디오 데이터 청크를 담은 DTO
      */
     public void saveChunk(IdleRequest dto) {
-        log.info("[saveChunk] ConnectionId: {}, MetaId: {}", dto.getSessionId(), dto.getMetaId());
+        log.debug("[saveChunk] ConnectionId: {}, MetaId: {}", dto.getSessionId(), dto.getMetaId());
 
         String connectionId = dto.getSessionId();
         String chunk = dto.getChunk();
 
-        BufferedOutputStream bos = fileStreamMap.get(connectionId);
-        if (bos == null) {
+        RecordSession session = sessionRegistry.get(connectionId);
+        if (session == null) {
             log.error("[saveChunk] No open stream for sessionId: {}", connectionId);
             return;
         }
@@ -100,60 +210,314 @@ public class RecordService {
         try {
             String base64Data = chunk.split("base64,")[1];
             byte[] decodedData = Base64.getDecoder().decode(base64Data);
-            bos.write(decodedData);
-            bos.flush(); // 버퍼의 내용을 파일로 즉시 기록
+            recordWriter.enqueue(session, ByteBuffer.wrap(decodedData));
         } catch (IOException e) {
             log.error("[RECORD] [IDLE] [ERR] Error : {}", e.getMessage());
             throw new BusinessException(AudioServiceErrorCode.FILE_PROCESSING_ERROR);
         }
     }
 
+    /**
+     * 바이너리 오디오 청크를 저장하는 메서드
+     * 요청 본문을 디코딩 없이 그대로 읽어 쓰기 큐에 넣습니다.
+     *
+     * @param sessionId 세션 ID
+     * @param sequence 청크 순번 (알 수 없으면 -1)
+     * @param data 원본 오디오 바이트 스트림
+     */
+    public void saveChunk(String sessionId, long sequence, InputStream data) {
+        saveChunk(sessionId, sequence, data, -1);
+    }
+
+    /**
+     * 바이너리 오디오 청크를 저장하는 메서드
+     * 본문 길이(Content-Length)나 실제로 읽은 길이가 audio.stream.max-chunk-size 를 넘으면 400 으로 거절하며,
+     * 본문은 최대 청크 크기까지만 읽습니다.
+     *
+     * @param sessionId 세션 ID
+     * @param sequence 청크 순번 (알 수 없으면 -1)
+     * @param data 원본 오디오 바이트 스트림
+     * @param contentLength 본문 길이 (모르면 -1)
+     */
+    public void saveChunk(String sessionId, long sequence, InputStream data, long contentLength) {
+        log.debug("[saveChunk] ConnectionId: {}, Sequence: {}", sessionId, sequence);
+
+        if (contentLength >= 0) {
+            checkChunkLength(sessionId, contentLength);
+        }
+        RecordSession session = sessionRegistry.get(sessionId);
+        if (session == null) {
+            log.error("[saveChunk] No open stream for sessionId: {}", sessionId);
+            return;
+        }
+
+        try {
+            byte[] chunk = data.readNBytes((int) Math.min(maxChunkSize + 1, Integer.MAX_VALUE));
+            checkChunkLength(sessionId, chunk.length);
+            recordWriter.enqueue(session, sequence, ByteBuffer.wrap(chunk));
+        } catch (IOException e) {
+            log.error("[RECORD] [CHUNK] [ERR] Error : {}", e.getMessage());
+            throw new BusinessException(AudioServiceErrorCode.FILE_PROCESSING_ERROR);
+        }
+    }
+
+    /**
+     * 스트리밍 릴레이로 전달되는 청크를 연속으로 저장하는 메서드
+     * 요청 본문은 [sequence(8)][길이(4)][오디오 바이트] 프레임의 반복이며, 본문이 끝날 때까지 읽습니다.
+     * 길이가 0인 프레임은 연결 유지용이므로 건너뜁니다.
+     * 동시 스트림이 audio.stream.max-concurrent 에 도달했으면 503 으로 거절하고,
+     * 길이가 음수이거나 audio.stream.max-chunk-size 를 넘는 프레임은 400 으로 거절합니다.
+     *
+     * @param sessionId 세션 ID
+     * @param body 스트림 요청 본문
+     */
+    public void saveStream(String sessionId, InputStream body) {
+        log.info("[saveStream] ConnectionId: {} stream opened", sessionId);
+
+        RecordSession session = sessionRegistry.get(sessionId);
+        if (session == null) {
+            log.error("[saveStream] No open stream for sessionId: {}", sessionId);
+            throw new BusinessException(AudioServiceErrorCode.SESSION_NOT_FOUND);
+        }
+        if (!streamPermits.tryAcquire()) {
+            log.warn("[saveStream] Stream limit reached, rejecting sessionId: {}", sessionId);
+            throw new BusinessException(AudioServiceErrorCode.STREAM_LIMIT, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        try {
+            readStream(session, body);
+        } finally {
+            streamPermits.release();
+        }
+    }
+
+    private void readStream(RecordSession session, InputStream body) {
+        String sessionId = session.getSessionId();
+        DataInputStream in = new DataInputStream(new BufferedInputStream(body, BUFFER_SIZE));
+        long chunks = 0;
+        try {
+            while (true) {
+                long sequence;
+                try {
+                    sequence = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                int length = in.readInt();
+                if (length == 0) {
+                    continue;
+                }
+                checkChunkLength(sessionId, length);
+
+                // 버퍼는 쓰기 스레드로 넘어가므로 청크마다 새로 할당합니다.
+                byte[] chunk = new byte[length];
+                try {
+                    in.readFully(chunk);
+                } catch (EOFException e) {
+                    throw new EOFException("Stream ended inside chunk " + sequence);
+                }
+                recordWriter.enqueue(session, sequence, ByteBuffer.wrap(chunk));
+                chunks++;
+            }
+        } catch (IOException e) {
+            log.error("[RECORD] [STREAM] [ERR] Error : {}", e.getMessage());
+            throw new BusinessException(AudioServiceErrorCode.FILE_PROCESSING_ERROR);
+        }
+        log.info("[saveStream] ConnectionId: {} stream closed after {} chunks", sessionId, chunks);
+    }
+
+    private void checkChunkLength(String sessionId, long length) {
+        if (length < 0 || length > maxChunkSize) {
+            log.error("[RECORD] [ERR] Invalid chunk length {} for sessionId: {}", length, sessionId);
+            throw new BusinessException(AudioServiceErrorCode.INVALID_CHUNK);
+        }
+    }
+
     /**
      * 녹음 세션을 종료하는 메서드
-     * 파일 스트림을 닫고 세션 관련 리소스를 정리합니다.
-     * 녹음 완료 시 카프카 이벤트를 발행합니다.
+     * 쓰기 큐에 남은 청크를 모두 기록하고 파일을 닫을 때까지 기다린 뒤 세션 관련 리소스를 정리합니다.
+     * 녹음 완료 이벤트는 아웃박스에 기록(디스크 동기화)한 뒤 반환하며, Kafka 전송은 릴레이가 처리합니다.
      *
      * @param sessionId 종료할 세션 ID
      */
     public void end(String sessionId) {
         log.info("[end] ConnectionId : {}", sessionId);
 
-        BufferedOutputStream bos = fileStreamMap.get(sessionId);
-        String filePath = filePathMap.get(sessionId);
-        String metaId = metaIdMap.get(sessionId);
-
-        if (bos == null || filePath == null) {
+        RecordSession session = sessionRegistry.remove(sessionId);
+        if (session == null) {
             log.error("[end] No open stream or file path for sessionId: {}", sessionId);
             return;
         }
 
         try {
-            bos.flush();
-            bos.close();
-            
-            // 파일명 추출
-            String fileName = new File(filePath).getName();
-            
+            recordWriter.closeAndWait(session);
+            recordingCatalog.update(Path.of(session.getFilePath()));
+
             // 녹음 완료 이벤트 발행
-            RecordCompletedEvent event = new RecordCompletedEvent(
-                sessionId,
-                metaId,
-                filePath,
-                fileName,
-                LocalDateTime.now()
-            );
-            
-            // kafka-core의 EventPublisher를 사용하여 이벤트 발행
-            eventPublisher.publish(event, sessionId);
-            log.info("[end] Record completed event published for sessionId: {}, fileName: {}", sessionId, fileName);
-            
+            RecordCompletedEvent event = completedEvent(session);
+
+            // 아웃박스에 기록 (브로커 상태와 무관하게 재시작 후에도 전송 보장)
+            outbox.append(event, sessionId);
+            session.deleteJournal();
+            log.info("[end] Record completed event queued for sessionId: {}, fileName: {}", sessionId, session.getFileName());
+
         } catch (IOException e) {
             log.error("[RECORD] [END] [ERR] Error closing stream: {}", e.getMessage(), e);
             throw new BusinessException(AudioServiceErrorCode.FILE_PROCESSING_ERROR);
-        } finally {
-            fileStreamMap.remove(sessionId);
-            filePathMap.remove(sessionId);
-            metaIdMap.remove(sessionId);
         }
     }
+
+    /**
+     * 여러 세션의 청크 저장/녹음 종료 명령을 한 요청으로 처리하는 메서드
+     * 본문 형식은 {@link RecordBatch}를 따릅니다. 청크는 읽는 즉시 쓰기 큐에 넣고,
+     * 종료 명령은 본문을 모두 읽은 뒤 {@link #endAll(List)}로 한꺼번에 처리합니다.
+     * 세션이 없거나 실패한 명령은 결과의 failedSessions 로 알리고 나머지 명령은 계속 처리합니다.
+     *
+     * @param body 배치 요청 본문
+     * @return 처리 결과
+     */
+    public RecordBatchResult saveBatch(InputStream body) {
+        return saveBatch(body, -1);
+    }
+
+    /**
+     * 여러 세션의 청크 저장/녹음 종료 명령을 한 요청으로 처리하는 메서드
+     * 프레임의 청크 길이가 audio.stream.max-chunk-size 를 넘거나 남은 본문보다 길면 형식 오류(400)로 처리합니다.
+     *
+     * @param body 배치 요청 본문
+     * @param contentLength 본문 길이 (모르면 -1)
+     * @return 처리 결과
+     */
+    public RecordBatchResult saveBatch(InputStream body, long contentLength) {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(body, BUFFER_SIZE));
+        Set<String> failed = new LinkedHashSet<>();
+        List<String> ends = new ArrayList<>();
+        int chunks = 0;
+        long consumed = 0;
+        try {
+            while (true) {
+                int command = in.read();
+                if (command < 0) {
+                    break;
+                }
+                byte[] sessionIdBytes = new byte[in.readUnsignedShort()];
+                in.readFully(sessionIdBytes);
+                String sessionId = new String(sessionIdBytes, StandardCharsets.UTF_8);
+                long sequence = in.readLong();
+                int length = in.readInt();
+                consumed += RecordBatch.HEADER_SIZE + sessionIdBytes.length;
+                checkChunkLength(sessionId, length);
+                if (contentLength >= 0 && length > contentLength - consumed) {
+                    log.error("[RECORD] [BATCH] [ERR] Chunk length {} exceeds remaining body for sessionId: {}", length, sessionId);
+                    throw new BusinessException(AudioServiceErrorCode.INVALID_CHUNK);
+                }
+                byte[] chunk = new byte[length];
+                in.readFully(chunk);
+                consumed += length;
+
+                if (command == RecordBatch.END) {
+                    ends.add(sessionId);
+                } else if (command == RecordBatch.CHUNK) {
+                    if (saveBatchChunk(sessionId, sequence, chunk)) {
+                        chunks++;
+                    } else {
+                        failed.add(sessionId);
+                    }
+                } else {
+                    log.error("[saveBatch] Unknown command {} for sessionId: {}", command, sessionId);
+                    failed.add(sessionId);
+                }
+            }
+        } catch (EOFException e) {
+            log.error("[RECORD] [BATCH] [ERR] Body ended inside a frame after {} bytes", consumed);
+            throw new BusinessException(AudioServiceErrorCode.INVALID_CHUNK);
+        } catch (IOException e) {
+            log.error("[RECORD] [BATCH] [ERR] Error : {}", e.getMessage());
+            throw new BusinessException(AudioServiceErrorCode.FILE_PROCESSING_ERROR);
+        }
+
+        failed.addAll(endAll(ends));
+        log.debug("[saveBatch] {} chunks, {} ends, {} failed", chunks, ends.size(), failed.size());
+        return new RecordBatchResult(chunks, ends.size(), List.copyOf(failed));
+    }
+
+    private boolean saveBatchChunk(String sessionId, long sequence, byte[] chunk) {
+        RecordSession session = sessionRegistry.get(sessionId);
+        if (session == null) {
+            log.error("[saveBatch] No open stream for sessionId: {}", sessionId);
+            return false;
+        }
+        if (chunk.length == 0) {
+            return true;
+        }
+        try {
+            recordWriter.enqueue(session, sequence, ByteBuffer.wrap(chunk));
+            return true;
+        } catch (IOException e) {
+            log.error("[RECORD] [BATCH] [ERR] Error writing sessionId {} : {}", sessionId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 여러 녹음 세션을 한꺼번에 종료하는 메서드
+     * 모든 세션의 파일 닫기를 먼저 요청해 병렬로 진행한 뒤 순서대로 완료를 기다리고,
+     * 녹음 완료 이벤트는 아웃박스에 한 번의 디스크 동기화로 기록합니다.
+     * 이미 종료된(없는) 세션은 {@link #end(String)}와 같이 건너뜁니다.
+     *
+     * @param sessionIds 종료할 세션 ID
+     * @return 종료에 실패한 세션 ID
+     */
+    public List<String> endAll(List<String> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return List.of();
+        }
+        log.info("[endAll] {} sessions", sessionIds.size());
+
+        List<RecordSession> sessions = new ArrayList<>(sessionIds.size());
+        for (String sessionId : sessionIds) {
+            RecordSession session = sessionRegistry.remove(sessionId);
+            if (session == null) {
+                log.error("[endAll] No open stream or file path for sessionId: {}", sessionId);
+                continue;
+            }
+            recordWriter.close(session);
+            sessions.add(session);
+        }
+
+        List<String> failed = new ArrayList<>();
+        List<RecordSession> completed = new ArrayList<>(sessions.size());
+        List<RecordCompletedEvent> events = new ArrayList<>(sessions.size());
+        for (RecordSession session : sessions) {
+            try {
+                recordWriter.closeAndWait(session);
+                recordingCatalog.update(Path.of(session.getFilePath()));
+                completed.add(session);
+                events.add(completedEvent(session));
+            } catch (IOException e) {
+                log.error("[RECORD] [END] [ERR] Error closing stream for sessionId {}: {}", session.getSessionId(), e.getMessage(), e);
+                failed.add(session.getSessionId());
+            }
+        }
+
+        try {
+            outbox.appendAll(events, RecordCompletedEvent::getSessionId);
+        } catch (IOException e) {
+            log.error("[RECORD] [END] [ERR] Error queueing {} completed events: {}", events.size(), e.getMessage(), e);
+            throw new BusinessException(AudioServiceErrorCode.FILE_PROCESSING_ERROR);
+        }
+        completed.forEach(RecordSession::deleteJournal);
+        log.info("[endAll] {} record completed events queued", events.size());
+        return failed;
+    }
+
+    private static RecordCompletedEvent completedEvent(RecordSession session) {
+        return new RecordCompletedEvent(
+                session.getSessionId(),
+                session.getMetaId(),
+                session.getFilePath(),
+                session.getFileName(),
+                LocalDateTime.now()
+        );
+    }
 }
@@ -0,0 +1,120 @@
+package com.kr.audio_server.service;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 녹음 세션 상태
+ * 하나의 녹음에 대한 메타 ID, 파일 경로, 파일 채널과 아직 기록되지 않은 청크 큐를 하나의 객체로 묶어 관리합니다.
+ * 청크는 요청 스레드가 큐에 넣고, {@link RecordWriter}의 쓰기 스레드 하나가 세션 단위로 꺼내 기록하므로
+ * 같은 세션의 청크는 도착 순서대로 기록되고, 서로 다른 세션끼리는 잠금을 공유하지 않습니다.
+ *
+ * 저널({@link RecordJournal})이 있으면 청크를 기록할 때마다 체크포인트를 남겨 비정상 종료 후 복구할 수 있습니다.
+ * 복구된 세션은 게이트웨이가 이어받기({@link RecordWriter#resume})를 요청하기 전까지 청크를 받지 않습니다.
+ */
+public class RecordSession {
+
+    @Getter
+    private final String sessionId;
+    @Getter
+    private final String metaId;
+    @Getter
+    private final String filePath;
+    @Getter
+    private final String fileName;
+
+    final FileChannel channel;
+    final RecordJournal journal;
+    final Queue<Chunk> pending = new ConcurrentLinkedQueue<>();
+    final AtomicLong pendingBytes = new AtomicLong();
+    final AtomicBoolean scheduled = new AtomicBoolean();
+    final CompletableFuture<Void> closed = new CompletableFuture<>();
+
+    volatile boolean closeRequested;
+    volatile IOException failure;
+
+    // 복구 후 이어받기를 기다리는 중인지, 이어받은 뒤 청크 순번을 확인하는지
+    volatile boolean recovered;
+    volatile boolean resumed;
+    // 요청 스레드가 마지막으로 큐에 넣은 청크 순번 (순번 확인과 큐 추가는 enqueueLock 으로 함께 처리)
+    volatile long lastEnqueuedSequence = -1;
+    final Object enqueueLock = new Object();
+
+    // 아래 필드는 쓰기 스레드에서만 갱신합니다.
+    volatile long unflushedBytes;
+    long bytesWritten;
+    long lastSequence = -1;
+    long lastFlushNanos = System.nanoTime();
+
+    /**
+     * 기록 대기 청크
+     *
+     * @param sequence 청크 순번 (알 수 없으면 -1)
+     * @param data 오디오 바이트
+     */
+    record Chunk(long sequence, ByteBuffer data) {
+    }
+
+    public RecordSession(String sessionId, String metaId, String filePath, String fileName, FileChannel channel) {
+        this(sessionId, metaId, filePath, fileName, channel, null);
+    }
+
+    RecordSession(String sessionId, String metaId, String filePath, String fileName, FileChannel channel,
+                  RecordJournal journal) {
+        this.sessionId = sessionId;
+        this.metaId = metaId;
+        this.filePath = filePath;
+        this.fileName = fileName;
+        this.channel = channel;
+        this.journal = journal;
+    }
+
+    /**
+     * 비정상 종료 전 녹음을 이어서 기록할 세션을 만듭니다.
+     *
+     * @param channel 체크포인트 오프셋 위치에 연 파일 채널
+     * @param checkpoint 마지막 체크포인트
+     */
+    static RecordSession recovered(RecordJournal.Header header, FileChannel channel, RecordJournal journal,
+                                   RecordJournal.Checkpoint checkpoint) {
+        RecordSession session = new RecordSession(header.sessionId(), header.metaId(), header.filePath(),
+                header.fileName(), channel, journal);
+        session.bytesWritten = checkpoint.offset();
+        session.lastSequence = checkpoint.sequence();
+        session.lastEnqueuedSequence = checkpoint.sequence();
+        session.recovered = true;
+        return session;
+    }
+
+    public boolean isRecovered() {
+        return recovered;
+    }
+
+    /**
+     * 녹음 완료 이벤트를 기록한 뒤 저널을 지웁니다.
+     */
+    void deleteJournal() {
+        if (journal != null) {
+            journal.delete();
+        }
+    }
+
+    public boolean isClosed() {
+        return closeRequested;
+    }
+
+    /**
+     * 쓰기 대기 중인 바이트 수
+     */
+    public long getPendingBytes() {
+        return pendingBytes.get();
+    }
+}
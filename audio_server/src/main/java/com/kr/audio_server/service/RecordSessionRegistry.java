@@ -0,0 +1,52 @@
+package com.kr.audio_server.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 녹음 세션 레지스트리
+ * 진행 중인 녹음 세션을 세션 ID로 보관합니다.
+ * ConcurrentHashMap 기반이므로 서로 다른 세션의 조회/등록/제거는 경합하지 않으며,
+ * 청크 하나를 저장할 때 조회는 한 번만 일어납니다.
+ */
+@Component
+public class RecordSessionRegistry {
+
+    private final ConcurrentMap<String, RecordSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * 세션을 등록합니다.
+     *
+     * @param session 등록할 세션
+     * @return 같은 세션 ID로 이미 등록되어 있던 세션, 없으면 null
+     */
+    public RecordSession register(RecordSession session) {
+        return sessions.put(session.getSessionId(), session);
+    }
+
+    public RecordSession get(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    /**
+     * 세션을 제거합니다.
+     * 동시에 여러 번 호출되어도 세션을 돌려받는 호출은 하나뿐입니다.
+     *
+     * @param sessionId 세션 ID
+     * @return 제거된 세션, 없으면 null
+     */
+    public RecordSession remove(String sessionId) {
+        return sessions.remove(sessionId);
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public Collection<RecordSession> sessions() {
+        return sessions.values();
+    }
+}
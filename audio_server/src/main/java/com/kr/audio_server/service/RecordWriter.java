@@ -0,0 +1,393 @@
+package com.kr.audio_server.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 녹음 파일 비동기 쓰기 모듈
+ * 요청 스레드는 청크를 세션 큐에 넣고 바로 반환하며, 소수의 쓰기 스레드가 세션 단위로 큐를 비우면서
+ * 여러 청크를 하나의 gathering write({@code FileChannel.write(ByteBuffer[])})로 묶어 기록합니다.
+ *
+ * 한 세션은 동시에 하나의 쓰기 스레드만 처리하므로 세션 내 청크 순서가 유지되고,
+ * 디스크 동기화 시점은 {@link FlushPolicy}로 설정합니다.
+ * 세션별 대기 바이트가 max-pending-bytes 를 넘으면 요청 스레드는 여유가 생길 때까지 기다립니다.
+ *
+ * 세션에 저널이 있으면 gathering write 마다 [마지막 청크 순번][파일 크기] 체크포인트를 저널에 덧붙이고,
+ * 녹음 파일을 동기화할 때 저널도 이어서 동기화합니다. (동기화 한 번으로 그동안의 청크를 함께 확정)
+ *
+ * 메트릭: audio.record.sessions.open (열린 파일 수), audio.record.write (쓰기 시간),
+ * audio.record.bytes.written (기록 바이트), audio.record.fsync (디스크 동기화 시간)
+ */
+@Slf4j
+@Component
+public class RecordWriter {
+
+    private static final int MAX_BATCH_BUFFERS = 64;
+    private static final long MAX_BATCH_BYTES = 4L * 1024 * 1024;
+
+    private final RecordSessionRegistry sessionRegistry;
+    private final FlushPolicy flushPolicy;
+    private final long flushBytes;
+    private final long flushIntervalNanos;
+    private final long maxPendingBytes;
+    private final Duration timeout;
+    private final ExecutorService writers;
+    private final ScheduledExecutorService flusher;
+    private final Timer writeTimer;
+    private final Timer fsyncTimer;
+    private final Counter bytesWritten;
+    private final ThreadLocal<ByteBuffer[]> batches = ThreadLocal.withInitial(() -> new ByteBuffer[MAX_BATCH_BUFFERS]);
+
+    public RecordWriter(RecordSessionRegistry sessionRegistry,
+                        @Value("${audio.writer.threads:4}") int threads,
+                        @Value("${audio.writer.durability:interval}") FlushPolicy flushPolicy,
+                        @Value("${audio.writer.flush-bytes:1MB}") DataSize flushBytes,
+                        @Value("${audio.writer.flush-interval:1s}") Duration flushInterval,
+                        @Value("${audio.writer.max-pending-bytes:8MB}") DataSize maxPendingBytes,
+                        @Value("${audio.writer.timeout:30s}") Duration timeout,
+                        MeterRegistry meterRegistry) {
+        this.sessionRegistry = sessionRegistry;
+        this.flushPolicy = flushPolicy;
+        this.flushBytes = flushBytes.toBytes();
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.maxPendingBytes = maxPendingBytes.toBytes();
+        this.timeout = timeout;
+        this.writers = Executors.newFixedThreadPool(threads, namedThreadFactory("record-writer-"));
+
+        Gauge.builder("audio.record.sessions.open", sessionRegistry, RecordSessionRegistry::size)
+                .description("Open recording file streams")
+                .register(meterRegistry);
+        this.writeTimer = Timer.builder("audio.record.write").description("Gathering write latency").register(meterRegistry);
+        this.fsyncTimer = Timer.builder("audio.record.fsync").description("FileChannel.force latency").register(meterRegistry);
+        this.bytesWritten = Counter.builder("audio.record.bytes.written").baseUnit("bytes").register(meterRegistry);
+
+        if (flushPolicy == FlushPolicy.INTERVAL) {
+            // 청크가 더 들어오지 않는 세션도 주기적으로 동기화되도록 합니다.
+            this.flusher = Executors.newSingleThreadScheduledExecutor(namedThreadFactory("record-flusher-"));
+            long intervalMillis = Math.max(1, flushInterval.toMillis());
+            this.flusher.scheduleWithFixedDelay(this::scheduleIdleFlush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+
+        log.info("[WRITER] threads={}, durability={}, flushBytes={}, flushInterval={}, maxPendingBytes={}",
+                threads, flushPolicy, flushBytes, flushInterval, maxPendingBytes);
+    }
+
+    /**
+     * 청크를 세션 큐에 넣고 쓰기 스레드에 처리를 요청합니다.
+     * 버퍼의 소유권은 쓰기 모듈로 넘어오므로 호출 측에서 이후에 수정하면 안 됩니다.
+     *
+     * @param session 녹음 세션
+     * @param data 기록할 데이터
+     * @throws IOException 세션이 이미 닫혔거나, 이전 쓰기가 실패했거나, 대기 시간 안에 큐에 여유가 생기지 않은 경우
+     */
+    public void enqueue(RecordSession session, ByteBuffer data) throws IOException {
+        enqueue(session, -1, data);
+    }
+
+    /**
+     * 순번이 있는 청크를 세션 큐에 넣습니다.
+     * 이어받은({@link #resume}) 세션은 이미 받은 순번의 청크를 건너뛰고, 중간 순번이 빠진 청크는 거절합니다.
+     * 같은 세션에 동시에 들어온 청크도 순번 확인과 큐 추가를 세션별 락으로 한 번에 처리하므로, 같은 순번이 두 번 기록되지 않습니다.
+     *
+     * @param session 녹음 세션
+     * @param sequence 청크 순번 (알 수 없으면 -1)
+     * @param data 기록할 데이터
+     * @throws IOException 세션이 이미 닫혔거나, 이어받기 전이거나, 순번이 빠졌거나, 대기 시간 안에 큐에 여유가 생기지 않은 경우
+     */
+    public void enqueue(RecordSession session, long sequence, ByteBuffer data) throws IOException {
+        ensureWritable(session);
+
+        long size = data.remaining();
+        if (session.pendingBytes.get() + size > maxPendingBytes) {
+            awaitCapacity(session, size);
+        }
+
+        synchronized (session.enqueueLock) {
+            if (sequence >= 0) {
+                long last = session.lastEnqueuedSequence;
+                if (session.resumed && last >= 0) {
+                    if (sequence <= last) {
+                        return;
+                    }
+                    if (sequence != last + 1) {
+                        throw new IOException("Missing chunks after sequence " + last + " for " + session.getFileName());
+                    }
+                }
+                session.lastEnqueuedSequence = sequence;
+            }
+            session.pendingBytes.addAndGet(size);
+            session.pending.add(new RecordSession.Chunk(sequence, data));
+        }
+        schedule(session);
+    }
+
+    /**
+     * 게이트웨이가 세션을 이어받습니다.
+     * 복구된 세션이면 이때부터 청크를 받고, 이후로는 청크 순번이 이어지는지 확인합니다.
+     *
+     * @param session 녹음 세션
+     * @return 마지막으로 받은 청크 순번 (클라이언트는 그다음 순번부터 다시 보냄, 없으면 -1)
+     * @throws IOException 세션이 이미 닫혔거나 이전 쓰기가 실패한 경우
+     */
+    public long resume(RecordSession session) throws IOException {
+        synchronized (session.enqueueLock) {
+            session.resumed = true;
+            session.recovered = false;
+            ensureWritable(session);
+            return session.lastEnqueuedSequence;
+        }
+    }
+
+    /**
+     * 세션 종료를 요청합니다.
+     * 큐에 남은 청크를 모두 기록하고 동기화한 뒤 파일 채널을 닫습니다.
+     *
+     * @param session 녹음 세션
+     * @return 파일이 닫히면 완료되는 Future
+     */
+    public CompletableFuture<Void> close(RecordSession session) {
+        session.closeRequested = true;
+        schedule(session);
+        return session.closed;
+    }
+
+    /**
+     * 세션 종료를 요청하고 파일이 닫힐 때까지 기다립니다.
+     *
+     * @param session 녹음 세션
+     * @throws IOException 기록 또는 종료에 실패했거나 대기 시간을 초과한 경우
+     */
+    public void closeAndWait(RecordSession session) throws IOException {
+        try {
+            close(session).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing " + session.getFileName(), e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IOException("Timed out closing " + session.getFileName(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        writers.shutdown();
+        if (!writers.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("[WRITER] Writer threads did not finish within {}", timeout);
+        }
+    }
+
+    private void ensureWritable(RecordSession session) throws IOException {
+        if (session.failure != null) {
+            throw new IOException("Previous write failed for " + session.getFileName(), session.failure);
+        }
+        if (session.closeRequested) {
+            throw new IOException("Record session already closed: " + session.getSessionId());
+        }
+        if (session.recovered) {
+            throw new IOException("Recovered session not resumed yet: " + session.getSessionId());
+        }
+    }
+
+    private void awaitCapacity(RecordSession session, long size) throws IOException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (session) {
+            while (session.pendingBytes.get() > 0 && session.pendingBytes.get() + size > maxPendingBytes) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    throw new IOException("Write queue full for " + session.getFileName());
+                }
+                try {
+                    session.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while waiting for write queue", e);
+                }
+                ensureWritable(session);
+            }
+        }
+    }
+
+    private void schedule(RecordSession session) {
+        if (session.scheduled.compareAndSet(false, true)) {
+            try {
+                writers.execute(() -> drain(session));
+            } catch (RuntimeException e) {
+                session.scheduled.set(false);
+                fail(session, new IOException("Writer rejected " + session.getFileName(), e));
+            }
+        }
+    }
+
+    private void scheduleIdleFlush() {
+        long now = System.nanoTime();
+        for (RecordSession session : sessionRegistry.sessions()) {
+            if (session.unflushedBytes > 0 && now - session.lastFlushNanos >= flushIntervalNanos) {
+                schedule(session);
+            }
+        }
+    }
+
+    /**
+     * 세션 큐를 비우는 쓰기 스레드 작업
+     * scheduled 플래그를 가진 스레드만 실행하므로 한 세션에 대해 동시에 하나만 동작합니다.
+     */
+    private void drain(RecordSession session) {
+        ByteBuffer[] batch = batches.get();
+        try {
+            while (true) {
+                if (session.closed.isDone()) {
+                    session.pending.clear();
+                    return;
+                }
+
+                int count = 0;
+                long bytes = 0;
+                long sequence = -1;
+                RecordSession.Chunk chunk;
+                while (count < MAX_BATCH_BUFFERS && bytes < MAX_BATCH_BYTES && (chunk = session.pending.poll()) != null) {
+                    batch[count++] = chunk.data();
+                    bytes += chunk.data().remaining();
+                    if (chunk.sequence() >= 0) {
+                        sequence = chunk.sequence();
+                    }
+                }
+
+                if (count > 0) {
+                    try {
+                        write(session, batch, count, bytes, sequence);
+                    } finally {
+                        Arrays.fill(batch, 0, count, null);
+                    }
+                    continue;
+                }
+
+                if (flushPolicy == FlushPolicy.INTERVAL && session.unflushedBytes > 0
+                        && System.nanoTime() - session.lastFlushNanos >= flushIntervalNanos) {
+                    force(session, false);
+                }
+
+                if (session.closeRequested) {
+                    closeChannel(session);
+                    return;
+                }
+
+                session.scheduled.set(false);
+                // 플래그를 내린 사이에 들어온 청크나 종료 요청이 있으면 다시 처리합니다.
+                if ((session.pending.isEmpty() && !session.closeRequested) || !session.scheduled.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            fail(session, e);
+        }
+    }
+
+    private void write(RecordSession session, ByteBuffer[] batch, int count, long bytes, long sequence) throws IOException {
+        long start = System.nanoTime();
+        long remaining = bytes;
+        while (remaining > 0) {
+            remaining -= session.channel.write(batch, 0, count);
+        }
+        writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        bytesWritten.increment(bytes);
+        session.bytesWritten += bytes;
+        session.unflushedBytes += bytes;
+        session.pendingBytes.addAndGet(-bytes);
+        if (sequence >= 0) {
+            session.lastSequence = sequence;
+        }
+        if (session.journal != null) {
+            session.journal.append(session.lastSequence, session.bytesWritten);
+        }
+
+        synchronized (session) {
+            session.notifyAll();
+        }
+
+        if (flushPolicy == FlushPolicy.BYTES && session.unflushedBytes >= flushBytes) {
+            force(session, false);
+        } else if (flushPolicy == FlushPolicy.INTERVAL && System.nanoTime() - session.lastFlushNanos >= flushIntervalNanos) {
+            force(session, false);
+        }
+    }
+
+    private void force(RecordSession session, boolean metaData) throws IOException {
+        long start = System.nanoTime();
+        session.channel.force(metaData);
+        if (session.journal != null) {
+            session.journal.force();
+        }
+        session.lastFlushNanos = System.nanoTime();
+        fsyncTimer.record(session.lastFlushNanos - start, TimeUnit.NANOSECONDS);
+        session.unflushedBytes = 0;
+    }
+
+    private void closeChannel(RecordSession session) throws IOException {
+        try {
+            force(session, true);
+        } finally {
+            session.channel.close();
+            if (session.journal != null) {
+                session.journal.close();
+            }
+        }
+        session.closed.complete(null);
+        log.debug("[WRITER] Closed {} ({} bytes)", session.getFileName(), session.bytesWritten);
+    }
+
+    private void fail(RecordSession session, IOException e) {
+        log.error("[WRITER] [ERR] Write failed for {}: {}", session.getFileName(), e.getMessage());
+        session.failure = e;
+        session.pending.clear();
+        session.pendingBytes.set(0);
+        try {
+            session.channel.close();
+        } catch (IOException ignored) {
+            // 이미 실패한 채널이므로 닫기 오류는 무시합니다.
+        }
+        if (session.journal != null) {
+            session.journal.close();
+        }
+        session.closed.completeExceptionally(e);
+        synchronized (session) {
+            session.notifyAll();
+        }
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
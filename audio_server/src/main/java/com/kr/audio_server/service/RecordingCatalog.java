@@ -0,0 +1,500 @@
+package com.kr.audio_server.service;
+
+import com.kr.audio_server.dto.RecordingFile;
+import com.kr.audio_server.dto.RecordingPage;
+import com.kr.core.util.StringUtils;
+import com.kr.core.web.constans.RecordingCursor;
+import com.kr.core.web.exception.BusinessException;
+import com.kr.core.web.exception.DefaultErrorCode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.stream.Stream;
+
+/**
+ * 녹음 파일 카탈로그
+ * 녹음 디렉토리의 파일 목록을 메모리에 색인해 두고 커서 기반 페이지로 조회합니다.
+ * 조회 시 디렉토리를 읽지 않으므로 응답 시간이 파일 수에 비례해 늘어나지 않습니다.
+ *
+ * 시작 시 한 번 디렉토리 전체를 읽어 채우고, 이후에는 {@link RecordService}의 녹음 시작/종료와
+ * {@link WatchService}로 감지한 외부 변경(삭제, 복사 등)으로 갱신합니다.
+ * 디렉토리마다 감시(inotify watch)가 하나씩 필요하므로, 시스템 한도에 걸려 등록하지 못한 디렉토리는
+ * audio.catalog.rescan-interval 주기의 전체 재검사로 맞춥니다. (재검사는 감시 누락 보정을 위해 평소에도 수행)
+ * 녹음 중인 파일은 쓸 때마다 수정 이벤트가 생기므로, 수정 이벤트는 audio.catalog.modify-debounce 동안
+ * 더 이상 바뀌지 않은 파일만 반영합니다. 디렉토리가 삭제(이동)되면 그 아래 항목을 모두 제거합니다.
+ *
+ * 색인은 두 가지입니다.
+ * - 파일 이름 순: 메타 ID / 접두어 조회
+ * - 녹음 시각 순: 최신순 전체 조회 및 기간 조회
+ */
+@Slf4j
+@Component
+public class RecordingCatalog {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = RecordingCursor.TIMESTAMP_FORMAT;
+    private static final char KEY_SEPARATOR = RecordingCursor.KEY_SEPARATOR;
+
+    // 감시 한도에 걸렸는데 재검사가 꺼져 있을 때 사용하는 재검사 주기
+    private static final Duration FALLBACK_RESCAN_INTERVAL = Duration.ofMinutes(1);
+
+    private final Path recordingsPath;
+    private final boolean watchEnabled;
+    private final int maxPageSize;
+    private final Duration rescanInterval;
+    private final Duration modifyDebounce;
+
+    private final ConcurrentSkipListMap<String, RecordingFile> byName = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, RecordingFile> byTime = new ConcurrentSkipListMap<>();
+    // 파일 이름 → 경로 (updateLock 으로 보호)
+    private final Map<String, Path> locations = new HashMap<>();
+    private final Object updateLock = new Object();
+
+    private final Map<WatchKey, Path> watchedDirectories = new ConcurrentHashMap<>();
+    // 반영을 미룬 수정 이벤트: 경로 → 마지막 이벤트 시각 (nanoTime, 감시 스레드에서만 사용)
+    private final Map<Path, Long> pendingModifies = new HashMap<>();
+    private WatchService watchService;
+    private Thread watcherThread;
+    // 감시 한도에 걸려 더 이상 디렉토리를 등록하지 않는지 여부
+    private volatile boolean watchLimited;
+    private volatile ScheduledExecutorService rescanner;
+
+    public RecordingCatalog(RecordingStorage recordingStorage, boolean watchEnabled, int maxPageSize) {
+        this(recordingStorage, watchEnabled, maxPageSize, Duration.ofMinutes(10), Duration.ofSeconds(2));
+    }
+
+    @Autowired
+    public RecordingCatalog(RecordingStorage recordingStorage,
+                            @Value("${audio.catalog.watch:true}") boolean watchEnabled,
+                            @Value("${audio.catalog.max-page-size:500}") int maxPageSize,
+                            @Value("${audio.catalog.rescan-interval:10m}") Duration rescanInterval,
+                            @Value("${audio.catalog.modify-debounce:2s}") Duration modifyDebounce) {
+        this.recordingsPath = recordingStorage.getRoot();
+        this.watchEnabled = watchEnabled;
+        this.maxPageSize = maxPageSize;
+        this.rescanInterval = rescanInterval;
+        this.modifyDebounce = modifyDebounce;
+    }
+
+    /**
+     * 녹음 디렉토리를 읽어 카탈로그를 채우고 디렉토리 감시를 시작합니다.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(recordingsPath);
+
+        if (watchEnabled) {
+            // 초기 색인 중에 생긴 변경도 놓치지 않도록 감시를 먼저 등록합니다.
+            watchService = FileSystems.getDefault().newWatchService();
+            registerTree(recordingsPath);
+        }
+
+        long started = System.nanoTime();
+        scan(recordingsPath);
+        log.info("[CATALOG] Indexed {} recordings in {} ms", byName.size(), (System.nanoTime() - started) / 1_000_000);
+
+        if (watchEnabled) {
+            watcherThread = new Thread(this::watch, "recording-catalog-watcher");
+            watcherThread.setDaemon(true);
+            watcherThread.start();
+        }
+        if (!rescanInterval.isZero()) {
+            scheduleRescan(rescanInterval);
+        } else if (watchLimited) {
+            scheduleRescan(FALLBACK_RESCAN_INTERVAL);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (rescanner != null) {
+            rescanner.shutdownNow();
+        }
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * 파일의 현재 상태로 카탈로그를 갱신합니다.
+     * 파일이 없으면 카탈로그에서 제거합니다.
+     *
+     * @param file 녹음 파일 경로
+     */
+    public void update(Path file) {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            remove(file.getFileName().toString());
+            return;
+        } catch (IOException e) {
+            log.warn("[CATALOG] Cannot read attributes of {}: {}", file, e.getMessage());
+            return;
+        }
+        if (!attributes.isRegularFile()) {
+            return;
+        }
+
+        String fileName = file.getFileName().toString();
+        RecordingFile entry = toEntry(fileName, attributes);
+        synchronized (updateLock) {
+            RecordingFile previous = byName.put(fileName, entry);
+            if (previous != null) {
+                byTime.remove(timeKey(previous));
+            }
+            byTime.put(timeKey(entry), entry);
+            locations.put(fileName, file);
+        }
+    }
+
+    /**
+     * 카탈로그에서 파일을 제거합니다.
+     *
+     * @param fileName 파일 이름
+     */
+    public void remove(String fileName) {
+        synchronized (updateLock) {
+            RecordingFile previous = byName.remove(fileName);
+            if (previous != null) {
+                byTime.remove(timeKey(previous));
+            }
+            locations.remove(fileName);
+        }
+    }
+
+    /**
+     * 경로 아래(경로 자체 포함)의 파일을 카탈로그에서 제거합니다.
+     * 삭제 이벤트만으로는 파일인지 디렉토리인지 알 수 없으므로, 같은 경로의 파일이 없으면 디렉토리로 보고 하위 항목을 찾습니다.
+     *
+     * @param path 삭제된 파일 또는 디렉토리 경로
+     */
+    void removeUnder(Path path) {
+        String fileName = path.getFileName().toString();
+        synchronized (updateLock) {
+            if (path.equals(locations.get(fileName))) {
+                remove(fileName);
+                return;
+            }
+            List<String> removed = locations.entrySet().stream()
+                    .filter(e -> e.getValue().startsWith(path))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            removed.forEach(this::remove);
+            if (!removed.isEmpty()) {
+                log.info("[CATALOG] Removed {} recordings under deleted directory {}", removed.size(), path);
+            }
+        }
+    }
+
+    public int size() {
+        return byName.size();
+    }
+
+    /**
+     * 녹음 파일 목록을 조회합니다.
+     * 메타 ID 또는 접두어가 있으면 파일 이름 순으로, 없으면 녹음 시각 최신순으로 반환합니다.
+     *
+     * @param metaId 메타 ID (정확히 일치)
+     * @param prefix 파일 이름 접두어
+     * @param from 녹음 시각 하한 (포함)
+     * @param to 녹음 시각 상한 (포함)
+     * @param cursor 이전 페이지의 nextCursor
+     * @param size 페이지 크기
+     * @return 조회 결과 페이지
+     */
+    public RecordingPage find(String metaId, String prefix, LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, maxPageSize));
+        String after = decodeCursor(cursor);
+
+        if (!StringUtils.isEmpty(metaId) || !StringUtils.isEmpty(prefix)) {
+            String namePrefix = StringUtils.isEmpty(metaId) ? prefix : metaId + "_";
+            NavigableMap<String, RecordingFile> view = after == null
+                    ? byName.tailMap(namePrefix, true)
+                    : byName.tailMap(after, false);
+            return collect(view, limit, (key, entry) -> {
+                if (!key.startsWith(namePrefix)) {
+                    return Match.STOP;
+                }
+                if (!StringUtils.isEmpty(metaId) && !metaId.equals(entry.getMetaId())) {
+                    return Match.SKIP;
+                }
+                return inRange(entry, from, to) ? Match.ACCEPT : Match.SKIP;
+            });
+        }
+
+        // 최신순: 시각 색인을 역순으로 읽고, 상한은 범위 조회로, 하한은 중단 조건으로 처리합니다.
+        NavigableMap<String, RecordingFile> view = byTime;
+        if (to != null) {
+            view = view.headMap(TIMESTAMP_FORMAT.format(to) + (char) (KEY_SEPARATOR + 1), false);
+        }
+        if (after != null) {
+            view = view.headMap(after, false);
+        }
+        return collect(view.descendingMap(), limit, (key, entry) ->
+                from != null && entry.getRecordedAt().isBefore(from) ? Match.STOP : Match.ACCEPT);
+    }
+
+    private RecordingPage collect(NavigableMap<String, RecordingFile> view, int limit, Filter filter) {
+        List<RecordingFile> items = new ArrayList<>(limit);
+        String lastKey = null;
+        for (Map.Entry<String, RecordingFile> e : view.entrySet()) {
+            Match match = filter.test(e.getKey(), e.getValue());
+            if (match == Match.STOP) {
+                return new RecordingPage(items, null);
+            }
+            if (match == Match.ACCEPT) {
+                if (items.size() == limit) {
+                    // 다음 항목이 있을 때만 커서를 반환합니다.
+                    return new RecordingPage(items, encodeCursor(lastKey));
+                }
+                items.add(e.getValue());
+                lastKey = e.getKey();
+            }
+        }
+        return new RecordingPage(items, null);
+    }
+
+    private static boolean inRange(RecordingFile entry, LocalDateTime from, LocalDateTime to) {
+        return (from == null || !entry.getRecordedAt().isBefore(from))
+                && (to == null || !entry.getRecordedAt().isAfter(to));
+    }
+
+    private static RecordingFile toEntry(String fileName, BasicFileAttributes attributes) {
+        Matcher matcher = RecordingStorage.FILE_NAME_PATTERN.matcher(fileName);
+        if (matcher.matches()) {
+            try {
+                LocalDateTime recordedAt = LocalDateTime.parse(matcher.group(2), TIMESTAMP_FORMAT);
+                return new RecordingFile(fileName, matcher.group(1), recordedAt, attributes.size());
+            } catch (DateTimeParseException ignored) {
+                // 형식이 다른 파일은 수정 시각을 사용합니다.
+            }
+        }
+        LocalDateTime modified = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(attributes.lastModifiedTime().toMillis()), ZoneId.systemDefault());
+        return new RecordingFile(fileName, null, modified, attributes.size());
+    }
+
+    private static String timeKey(RecordingFile entry) {
+        return RecordingCursor.timeKey(entry.getRecordedAt(), entry.getFileName());
+    }
+
+    private static String encodeCursor(String key) {
+        return RecordingCursor.encode(key);
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (StringUtils.isEmpty(cursor)) {
+            return null;
+        }
+        try {
+            return RecordingCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(DefaultErrorCode.INVALID_REQUEST);
+        }
+    }
+
+    private void scan(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(Files::isRegularFile).forEach(this::update);
+        }
+    }
+
+    /**
+     * 디렉토리와 하위 디렉토리를 감시 대상으로 등록합니다.
+     * 감시 한도(fs.inotify.max_user_watches 등)에 걸리면 이후 디렉토리는 등록하지 않고 주기적 재검사로 맞춥니다.
+     */
+    private void registerTree(Path directory) throws IOException {
+        if (watchLimited) {
+            return;
+        }
+        try (Stream<Path> directories = Files.walk(directory)) {
+            for (Path dir : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator) {
+                try {
+                    WatchKey key = dir.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_DELETE,
+                            StandardWatchEventKinds.ENTRY_MODIFY);
+                    watchedDirectories.put(key, dir);
+                } catch (NoSuchFileException e) {
+                    // 등록 전에 삭제된 디렉토리
+                } catch (IOException e) {
+                    log.error("[CATALOG] [ERR] Cannot watch {} ({} directories watched): {}, falling back to periodic rescan",
+                            dir, watchedDirectories.size(), e.getMessage());
+                    watchLimited = true;
+                    if (rescanInterval.isZero() && watcherThread != null) {
+                        scheduleRescan(FALLBACK_RESCAN_INTERVAL);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    private void scheduleRescan(Duration interval) {
+        if (rescanner != null) {
+            return;
+        }
+        rescanner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "recording-catalog-rescan");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rescanner.scheduleWithFixedDelay(() -> {
+            try {
+                rescan();
+            } catch (IOException | RuntimeException e) {
+                log.error("[CATALOG] [ERR] Rescan failed: {}", e.getMessage());
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("[CATALOG] Rescanning {} every {}", recordingsPath, interval);
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = pendingModifies.isEmpty()
+                        ? watchService.take()
+                        : watchService.poll(modifyDebounce.toMillis(), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    Path directory = watchedDirectories.get(key);
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        try {
+                            handle(directory, event);
+                        } catch (IOException | UncheckedIOException e) {
+                            // Files.walk 도중 새 디렉토리가 삭제·이동된 경우 등 (이후 이벤트나 재스캔으로 맞춰짐)
+                            log.warn("[CATALOG] Failed to handle {} event: {}", event.kind(), e.getMessage());
+                        }
+                    }
+                    if (!key.reset()) {
+                        watchedDirectories.remove(key);
+                    }
+                }
+                flushModified();
+            }
+        } catch (ClosedWatchServiceException e) {
+            log.debug("[CATALOG] Watcher stopped");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(Path directory, WatchEvent<?> event) throws IOException {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            // 이벤트 유실 시 전체를 다시 읽어 맞춥니다.
+            log.warn("[CATALOG] Watch events overflowed, rescanning {}", recordingsPath);
+            rescan();
+            return;
+        }
+        if (directory == null) {
+            // 감시를 해제한(삭제·이동된) 디렉토리에 남아 있던 이벤트
+            return;
+        }
+
+        Path path = directory.resolve((Path) event.context());
+        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+            registerTree(path);
+            scan(path);
+        } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+            pendingModifies.keySet().removeIf(pending -> pending.startsWith(path));
+            unwatchUnder(path);
+            removeUnder(path);
+        } else if (event.kind() == StandardWatchEventKinds.ENTRY_MODIFY && !modifyDebounce.isZero()) {
+            // 녹음 중인 파일은 쓰기가 멈춘 뒤 한 번만 반영합니다.
+            pendingModifies.put(path, System.nanoTime());
+        } else {
+            update(path);
+        }
+    }
+
+    /**
+     * 마지막 수정 이벤트 후 modify-debounce 가 지난 파일을 반영합니다.
+     */
+    private void flushModified() {
+        long now = System.nanoTime();
+        long debounce = modifyDebounce.toNanos();
+        pendingModifies.entrySet().removeIf(e -> {
+            if (now - e.getValue() < debounce) {
+                return false;
+            }
+            update(e.getKey());
+            return true;
+        });
+    }
+
+    /**
+     * 삭제(이동)된 디렉토리 아래의 감시를 해제합니다. (다른 곳으로 이동한 디렉토리는 감시가 남아 있으므로)
+     */
+    private void unwatchUnder(Path path) {
+        watchedDirectories.entrySet().removeIf(e -> {
+            if (!e.getValue().startsWith(path)) {
+                return false;
+            }
+            e.getKey().cancel();
+            return true;
+        });
+    }
+
+    /**
+     * 디렉토리 전체를 다시 읽어 카탈로그를 맞춥니다.
+     * 재검사 중에 녹음이 시작/종료될 수 있으므로, 제거는 기록된 경로에 파일이 없는 항목만 합니다.
+     */
+    void rescan() throws IOException {
+        long started = System.nanoTime();
+        scan(recordingsPath);
+        Map<String, Path> known;
+        synchronized (updateLock) {
+            known = Map.copyOf(locations);
+        }
+        int removed = 0;
+        for (Map.Entry<String, Path> entry : known.entrySet()) {
+            if (!Files.exists(entry.getValue())) {
+                remove(entry.getKey());
+                removed++;
+            }
+        }
+        log.debug("[CATALOG] Rescanned {} recordings ({} removed) in {} ms",
+                byName.size(), removed, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private enum Match {
+        ACCEPT, SKIP, STOP
+    }
+
+    @FunctionalInterface
+    private interface Filter {
+        Match test(String key, RecordingFile entry);
+    }
+}
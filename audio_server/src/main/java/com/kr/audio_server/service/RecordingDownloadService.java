@@ -0,0 +1,172 @@
+package com.kr.audio_server.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+/**
+ * 녹음 파일 다운로드 서비스
+ * Range(206), 조건부 GET(ETag / Last-Modified → 304)을 처리하고,
+ * 본문은 서블릿 컨테이너의 sendfile 을 우선 사용해 힙을 거치지 않고 소켓으로 보냅니다.
+ * sendfile 을 지원하지 않는 환경에서는 {@link FileChannel#transferTo}로 전송합니다.
+ */
+@Slf4j
+@Service
+public class RecordingDownloadService {
+
+    // Tomcat sendfile 요청/응답 속성 (org.apache.catalina.Globals)
+    static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    // 녹음 파일은 오디오 전용 webm 이므로 기본 매핑(video/webm) 대신 사용합니다.
+    private static final MediaType AUDIO_WEBM = MediaType.parseMediaType("audio/webm");
+
+    /**
+     * 파일을 응답으로 전송하는 메서드
+     * Range 헤더가 단일 구간이면 206, 여러 구간이면 전체 파일을 200 으로 보내고,
+     * 형식은 맞지만 파일 범위를 벗어난 구간이면 416 을 반환합니다.
+     * 형식이 잘못된 Range 와 If-Range 가 현재 파일과 다른 경우에는 Range 를 무시하고 전체 파일을 보냅니다. (RFC 9110)
+     *
+     * @param file 전송할 파일 (존재 여부는 호출 측에서 확인)
+     * @param request HTTP 요청
+     * @param response HTTP 응답
+     */
+    public void send(Path file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long fileSize = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = etag(fileSize, lastModified);
+
+        // If-None-Match / If-Modified-Since / If-Match / If-Unmodified-Since 처리 (304, 412)
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        String fileName = file.getFileName().toString();
+        MediaType contentType = fileName.endsWith(".webm")
+                ? AUDIO_WEBM
+                : MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(contentType.toString());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString());
+
+        long start = 0;
+        long end = fileSize - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        List<HttpRange> ranges = rangeHeader != null && ifRangeMatches(request, etag, lastModified)
+                ? parseRanges(rangeHeader)
+                : List.of();
+        if (!ranges.isEmpty()) {
+            if (ranges.size() == 1 && !satisfiable(ranges.get(0), fileSize)) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize);
+                return;
+            }
+
+            // 다중 구간(multipart/byteranges)은 지원하지 않으므로 전체 파일을 보냅니다.
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                start = range.getRangeStart(fileSize);
+                end = range.getRangeEnd(fileSize);
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileSize);
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            // 컨테이너가 응답 커밋 후 파일 구간을 커널에서 바로 소켓으로 보냅니다. (end 는 배타적)
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toFile().getCanonicalPath());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, end + 1);
+            return;
+        }
+
+        transfer(file, start, length, Channels.newChannel(response.getOutputStream()));
+    }
+
+    /**
+     * 파일의 지정 구간을 채널로 전송하는 메서드
+     * 대상이 소켓/파일 채널이면 커널 수준 복사(sendfile)가 사용됩니다.
+     */
+    static void transfer(Path file, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long sent = 0;
+            while (sent < count) {
+                long n = channel.transferTo(position + sent, count - sent, target);
+                if (n <= 0 && position + sent >= channel.size()) {
+                    throw new IOException("File truncated during transfer: " + file.getFileName());
+                }
+                sent += n;
+            }
+        }
+    }
+
+    private static String etag(long size, long lastModified) {
+        return "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * @return Range 구간 목록 (형식이 잘못되었거나 bytes 단위가 아니면 빈 목록)
+     */
+    private static List<HttpRange> parseRanges(String rangeHeader) {
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            log.debug("[DOWNLOAD] Ignoring malformed Range header: {}", rangeHeader);
+            return List.of();
+        }
+    }
+
+    private static boolean satisfiable(HttpRange range, long fileSize) {
+        try {
+            return fileSize > 0 && range.getRangeStart(fileSize) < fileSize;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return date >= 0 && lastModified / 1000 == date / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
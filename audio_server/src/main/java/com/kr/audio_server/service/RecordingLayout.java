@@ -0,0 +1,65 @@
+package com.kr.audio_server.service;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.zip.CRC32;
+
+/**
+ * 녹음 디렉토리 배치 방식
+ * 하위 디렉토리는 파일 이름({metaId}_{yyyyMMdd_HHmmssSSS}.webm)만으로 계산되므로,
+ * 별도 조회 없이 파일 이름에서 바로 위치를 찾을 수 있습니다.
+ * 형식이 다른 파일 이름은 모든 방식에서 최상위 디렉토리에 둡니다.
+ */
+public enum RecordingLayout {
+
+    /** 한 디렉토리에 모두 저장 (기존 방식) */
+    FLAT,
+
+    /** 녹음 날짜별: yyyy/MM/dd */
+    DATE,
+
+    /** 메타 ID 해시별: xx/yy (256 x 256 디렉토리) */
+    HASH,
+
+    /** 날짜 + 메타 ID 해시: yyyy/MM/dd/xx */
+    DATE_HASH;
+
+    /**
+     * 파일 이름에 해당하는 하위 디렉토리 (최상위 디렉토리 기준 상대 경로)
+     *
+     * @param fileName 녹음 파일 이름
+     * @return 하위 디렉토리, 최상위에 둘 경우 빈 경로
+     */
+    public Path directoryOf(String fileName) {
+        Path flat = Path.of("");
+        if (this == FLAT) {
+            return flat;
+        }
+
+        Matcher matcher = RecordingStorage.FILE_NAME_PATTERN.matcher(fileName);
+        if (!matcher.matches()) {
+            return flat;
+        }
+
+        String metaId = matcher.group(1);
+        String timestamp = matcher.group(2);
+        String year = timestamp.substring(0, 4);
+        String month = timestamp.substring(4, 6);
+        String day = timestamp.substring(6, 8);
+        int hash = hash(metaId);
+
+        return switch (this) {
+            case DATE -> Path.of(year, month, day);
+            case HASH -> Path.of(String.format("%02x", hash & 0xff), String.format("%02x", (hash >>> 8) & 0xff));
+            case DATE_HASH -> Path.of(year, month, day, String.format("%02x", hash & 0xff));
+            default -> flat;
+        };
+    }
+
+    private static int hash(String metaId) {
+        CRC32 crc = new CRC32();
+        crc.update(metaId.getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,113 @@
+package com.kr.audio_server.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * 녹음 디렉토리 배치 변경 도구 (1회성)
+ * 기존 녹음 파일을 지정한 {@link RecordingLayout} 위치로 옮기고, 비게 된 하위 디렉토리를 정리합니다.
+ * 녹음 중인 파일이 옮겨지지 않도록 audio-server 를 멈춘 상태에서 실행합니다.
+ *
+ * 실행: {@code gradle :audio_server:migrateRecordings --args="recordings date-hash [--dry-run]"}
+ */
+@Slf4j
+public class RecordingLayoutMigrator {
+
+    private final Path root;
+    private final RecordingStorage storage;
+
+    public RecordingLayoutMigrator(Path root, RecordingLayout layout) {
+        this.root = root.toAbsolutePath().normalize();
+        this.storage = new RecordingStorage(this.root.toString(), layout);
+    }
+
+    /**
+     * 녹음 파일을 새 배치 위치로 옮깁니다.
+     *
+     * @param dryRun true 이면 옮기지 않고 건수만 셉니다.
+     * @return 옮긴(또는 옮길) 파일 수
+     */
+    public long migrate(boolean dryRun) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).toList();
+        }
+
+        long moved = 0;
+        long skipped = 0;
+        for (Path file : files) {
+            Path target = storage.pathOf(file.getFileName().toString());
+            if (target.equals(file)) {
+                continue;
+            }
+            if (Files.exists(target)) {
+                log.warn("[MIGRATE] Target already exists, skipping {}", root.relativize(file));
+                skipped++;
+                continue;
+            }
+            if (!dryRun) {
+                Files.createDirectories(target.getParent());
+                move(file, target);
+            }
+            moved++;
+            if (moved % 10_000 == 0) {
+                log.info("[MIGRATE] {} files moved", moved);
+            }
+        }
+
+        if (!dryRun) {
+            removeEmptyDirectories();
+        }
+        log.info("[MIGRATE] {} {} files to {} layout under {} ({} skipped)",
+                dryRun ? "Would move" : "Moved", moved, storage.getLayout(), root, skipped);
+        return moved;
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        }
+    }
+
+    private void removeEmptyDirectories() throws IOException {
+        List<Path> directories = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(root)) {
+            walk.filter(Files::isDirectory).filter(dir -> !dir.equals(root)).forEach(directories::add);
+        }
+        // 깊은 디렉토리부터 지웁니다.
+        directories.sort(Comparator.comparingInt(Path::getNameCount).reversed());
+        for (Path directory : directories) {
+            try {
+                Files.deleteIfExists(directory);
+            } catch (DirectoryNotEmptyException ignored) {
+                // 파일이 남아 있는 디렉토리는 유지합니다.
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: RecordingLayoutMigrator <recordings-dir> <flat|date|hash|date-hash> [--dry-run]");
+            System.exit(1);
+        }
+
+        Path root = Path.of(args[0]);
+        RecordingLayout layout = RecordingLayout.valueOf(args[1].toUpperCase(Locale.ROOT).replace('-', '_'));
+        boolean dryRun = args.length > 2 && "--dry-run".equals(args[2]);
+
+        new RecordingLayoutMigrator(root, layout).migrate(dryRun);
+    }
+}
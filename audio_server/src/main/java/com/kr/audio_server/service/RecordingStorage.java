@@ -0,0 +1,94 @@
+package com.kr.audio_server.service;
+
+import com.kr.core.util.DateUtils;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.regex.Pattern;
+
+/**
+ * 녹음 파일 저장 위치 관리
+ * 녹음 파일 이름 생성과 파일 이름 → 경로 변환을 한 곳에서 처리합니다.
+ * {@link RecordService}, 파일 목록/다운로드, 카탈로그가 모두 이 클래스를 통해 같은 배치 방식({@link RecordingLayout})을 사용합니다.
+ */
+@Slf4j
+@Component
+public class RecordingStorage {
+
+    // {metaId}_{yyyyMMdd_HHmmssSSS}.webm
+    static final Pattern FILE_NAME_PATTERN = Pattern.compile("^(.+)_(\\d{8}_\\d{9})\\.[^.]+$");
+
+    @Getter
+    private final Path root;
+    @Getter
+    private final RecordingLayout layout;
+
+    public RecordingStorage(@Value("${audio.recordings.path:recordings}") String recordingsPath,
+                            @Value("${audio.recordings.layout:flat}") RecordingLayout layout) {
+        this.root = Paths.get(recordingsPath).toAbsolutePath().normalize();
+        this.layout = layout;
+        log.info("[STORAGE] root={}, layout={}", root, layout);
+    }
+
+    /**
+     * 새 녹음 파일 이름을 만듭니다.
+     *
+     * @param identifier 메타 ID 또는 세션 ID
+     * @return {identifier}_{yyyyMMdd_HHmmssSSS}.webm
+     */
+    public String newFileName(String identifier) {
+        return String.format("%s_%s.webm", identifier, DateUtils.getCurrentTimestamp());
+    }
+
+    /**
+     * 새 녹음 파일 경로를 만들고 상위 디렉토리를 생성합니다.
+     *
+     * @param fileName 녹음 파일 이름
+     * @return 파일 경로
+     * @throws IOException 디렉토리 생성에 실패했거나 파일 이름에 경로 구분자가 포함된 경우
+     */
+    public Path create(String fileName) throws IOException {
+        Path file = pathOf(fileName);
+        if (!file.startsWith(root) || !file.getFileName().toString().equals(fileName)) {
+            throw new IOException("Invalid recording file name: " + fileName);
+        }
+        Files.createDirectories(file.getParent());
+        return file;
+    }
+
+    /**
+     * 기존 녹음 파일을 찾습니다.
+     * 배치 방식을 바꾼 뒤 아직 이동하지 않은 파일을 위해 최상위 디렉토리도 확인합니다.
+     *
+     * @param fileName 녹음 파일 이름
+     * @return 파일 경로, 없거나 녹음 디렉토리를 벗어나는 이름이면 null
+     */
+    public Path find(String fileName) {
+        Path file = pathOf(fileName);
+        if (!file.startsWith(root)) {
+            return null;
+        }
+        if (Files.isRegularFile(file)) {
+            return file;
+        }
+
+        Path flat = root.resolve(fileName).normalize();
+        return flat.startsWith(root) && Files.isRegularFile(flat) ? flat : null;
+    }
+
+    /**
+     * 현재 배치 방식에서 파일이 있어야 할 경로
+     *
+     * @param fileName 녹음 파일 이름
+     * @return 파일 경로
+     */
+    public Path pathOf(String fileName) {
+        return root.resolve(layout.directoryOf(fileName)).resolve(fileName).normalize();
+    }
+}
@@ -0,0 +1,83 @@
+package com.kr.audio_server.codec;
+
+import com.kr.audio_server.dto.RecordCompletedEvent;
+import com.kr.kafka.serializer.BinaryEventDeserializer;
+import com.kr.kafka.serializer.BinaryEventSerializer;
+import com.kr.kafka.serializer.EventCodecRegistry;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 녹음 완료 이벤트 직렬화 벤치마크
+ * 기존 JsonSerializer(타입 헤더 포함)와 BinaryEventSerializer 의 메시지 크기와 직렬화/역직렬화 비용을 비교합니다.
+ * 일반 테스트에서는 제외되며 {@code gradle :audio_server:benchmark}로 실행합니다.
+ */
+@Tag("benchmark")
+class EventSerializationBenchmark {
+
+    private static final int ITERATIONS = 200_000;
+    private static final int ROUNDS = 5;
+    private static final String TOPIC = "audio.record.completed";
+
+    private final RecordCompletedEvent event = new RecordCompletedEvent("3f2c9a1e-session", "meta-12345",
+            "/data/recordings/2024/03/15/ab/meta-12345_20240315_093000123.webm",
+            "meta-12345_20240315_093000123.webm", LocalDateTime.of(2024, 3, 15, 9, 31, 2, 500_000_000));
+
+    @Test
+    void compareJsonAndBinary() {
+        JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+        JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+        jsonDeserializer.addTrustedPackages("com.kr.*");
+
+        EventCodecRegistry registry = new EventCodecRegistry(List.of(new RecordCompletedEventCodec()));
+        BinaryEventSerializer binarySerializer = new BinaryEventSerializer(registry);
+        BinaryEventDeserializer binaryDeserializer = new BinaryEventDeserializer(registry);
+
+        run("json", jsonSerializer, jsonDeserializer);
+        run("binary", binarySerializer, binaryDeserializer);
+    }
+
+    private void run(String name, Serializer<Object> serializer, Deserializer<Object> deserializer) {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] sample = serializer.serialize(TOPIC, headers, event);
+        int headerBytes = 0;
+        for (Header header : headers) {
+            headerBytes += header.key().length() + header.value().length;
+        }
+        // JsonDeserializer 는 읽은 타입 헤더를 지우므로 매번 복사본을 넘깁니다.
+        Header[] headerArray = headers.toArray();
+        assertThat(deserializer.deserialize(TOPIC, new RecordHeaders(headerArray), sample)).isEqualTo(event);
+
+        long bestSerialize = Long.MAX_VALUE;
+        long bestDeserialize = Long.MAX_VALUE;
+        long sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += serializer.serialize(TOPIC, new RecordHeaders(), event).length;
+            }
+            bestSerialize = Math.min(bestSerialize, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                sink += deserializer.deserialize(TOPIC, new RecordHeaders(headerArray), sample).hashCode();
+            }
+            bestDeserialize = Math.min(bestDeserialize, System.nanoTime() - start);
+        }
+
+        System.out.printf("[BENCH] %-6s value=%4d B  headers=%3d B  serialize=%6.0f ns/op  deserialize=%6.0f ns/op  (%d)%n",
+                name, sample.length, headerBytes,
+                (double) bestSerialize / ITERATIONS, (double) bestDeserialize / ITERATIONS, sink & 1);
+    }
+}
@@ -0,0 +1,38 @@
+package com.kr.audio_server.codec;
+
+import com.kr.audio_server.dto.RecordCompletedEvent;
+import com.kr.kafka.serializer.BinaryEventDeserializer;
+import com.kr.kafka.serializer.BinaryEventSerializer;
+import com.kr.kafka.serializer.EventCodecRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordCompletedEventCodecTest {
+
+    private final EventCodecRegistry registry = new EventCodecRegistry(List.of(new RecordCompletedEventCodec()));
+
+    @Test
+    void roundTripsRecordCompletedEvent() {
+        RecordCompletedEvent event = new RecordCompletedEvent("session-1", "meta-1",
+                "/data/recordings/2024/03/15/ab/meta-1_20240315_093000123.webm",
+                "meta-1_20240315_093000123.webm", LocalDateTime.of(2024, 3, 15, 9, 31, 2, 500_000_000));
+
+        byte[] bytes = new BinaryEventSerializer(registry).serialize(event.getTopic(), event);
+        Object decoded = new BinaryEventDeserializer(registry).deserialize(event.getTopic(), bytes);
+
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void keepsNullFields() {
+        RecordCompletedEvent event = new RecordCompletedEvent("session-1", null, null, null, null);
+
+        byte[] bytes = new BinaryEventSerializer(registry).serialize(event.getTopic(), event);
+
+        assertThat(new BinaryEventDeserializer(registry).deserialize(event.getTopic(), bytes)).isEqualTo(event);
+    }
+}
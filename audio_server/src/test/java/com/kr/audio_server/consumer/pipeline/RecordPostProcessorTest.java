@@ -0,0 +1,156 @@
+package com.kr.audio_server.consumer.pipeline;
+
+import com.kr.audio_server.dto.RecordCompletedEvent;
+import com.kr.audio_server.service.RecordingLayout;
+import com.kr.audio_server.service.RecordingStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecordPostProcessorTest {
+
+    @TempDir
+    Path recordingsDir;
+
+    private RecordingStorage storage;
+    private RecordPostProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        storage = new RecordingStorage(recordingsDir.toString(), RecordingLayout.DATE_HASH);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (processor != null) {
+            processor.shutdown();
+        }
+    }
+
+    private RecordCompletedEvent recording(String sessionId, String content) throws Exception {
+        String fileName = storage.newFileName(sessionId);
+        Path file = storage.create(fileName);
+        Files.writeString(file, content);
+        return new RecordCompletedEvent(sessionId, sessionId, file.toString(), fileName, LocalDateTime.now());
+    }
+
+    private static PostProcessingStage stage(String name, StageBody body) {
+        return new PostProcessingStage() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public void process(PostProcessingContext context) throws Exception {
+                body.run(context);
+            }
+        };
+    }
+
+    interface StageBody {
+        void run(PostProcessingContext context) throws Exception;
+    }
+
+    @Test
+    void runsStagesInOrderForEveryEventBeforeReturning() throws Exception {
+        Map<String, List<String>> trace = new ConcurrentHashMap<>();
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+
+        StageBody record = context -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            trace.computeIfAbsent(context.getEvent().getSessionId(), key -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(context.getAttribute("last") + ">" + context.getFile().getFileName());
+            concurrent.decrementAndGet();
+        };
+        processor = new RecordPostProcessor(List.of(
+                new ChecksumStage(2, DataSize.ofKilobytes(4)),
+                stage("first", context -> {
+                    context.setAttribute("last", "first");
+                    record.run(context);
+                }),
+                stage("second", context -> {
+                    assertThat((String) context.getAttribute(ChecksumStage.ATTRIBUTE)).hasSize(64);
+                    context.setAttribute("last", "second");
+                    record.run(context);
+                })), storage, 3, 2, Duration.ofSeconds(10));
+
+        List<RecordCompletedEvent> events = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            events.add(recording("session-" + i, "audio-" + i));
+        }
+        processor.process(events);
+
+        assertThat(trace).hasSize(20);
+        for (RecordCompletedEvent event : events) {
+            assertThat(trace.get(event.getSessionId()))
+                    .containsExactly("first>" + event.getFileName(), "second>" + event.getFileName());
+        }
+        // 작업 스레드 3개 + 큐가 찬 경우 호출 스레드
+        assertThat(maxConcurrent.get()).isBetween(2, 4);
+    }
+
+    @Test
+    void failsBatchWhenAnyStageFailsAndSkipsLaterStages() throws Exception {
+        List<String> archived = Collections.synchronizedList(new ArrayList<>());
+        processor = new RecordPostProcessor(List.of(
+                stage("transcode", context -> {
+                    if (context.getEvent().getSessionId().equals("bad")) {
+                        throw new IllegalArgumentException("unsupported codec");
+                    }
+                }),
+                stage("archive", context -> archived.add(context.getEvent().getSessionId()))
+        ), storage, 2, 8, Duration.ofSeconds(10));
+
+        List<RecordCompletedEvent> events = List.of(recording("good", "a"), recording("bad", "b"));
+
+        assertThatThrownBy(() -> processor.process(events))
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("unsupported codec");
+        assertThat(archived).containsExactly("good");
+    }
+
+    @Test
+    void skipsEventsWhoseRecordingFileCannotBeFound() throws Exception {
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        processor = new RecordPostProcessor(List.of(
+                stage("record", context -> processed.add(context.getEvent().getSessionId()))
+        ), storage, 2, 8, Duration.ofSeconds(10));
+
+        RecordCompletedEvent missing = new RecordCompletedEvent("missing", "missing", null, null, LocalDateTime.now());
+        RecordCompletedEvent deleted = recording("deleted", "a");
+        Files.delete(Path.of(deleted.getFilePath()));
+
+        processor.process(List.of(recording("good", "b"), missing, deleted));
+
+        assertThat(processed).containsExactly("good");
+    }
+
+    @Test
+    void rejectsTimeoutNotShorterThanMaxPollInterval() {
+        assertThat(RecordPostProcessor.checkTimeout(Duration.ofMinutes(2), Duration.ofMinutes(5)))
+                .isEqualTo(Duration.ofMinutes(2));
+        assertThatThrownBy(() -> RecordPostProcessor.checkTimeout(Duration.ofMinutes(5), Duration.ofMinutes(5)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> RecordPostProcessor.checkTimeout(Duration.ZERO, Duration.ofMinutes(5)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,116 @@
+package com.kr.audio_server.drain;
+
+import com.kr.audio_server.dto.RecordRequest;
+import com.kr.audio_server.outbox.EventOutbox;
+import com.kr.audio_server.service.FlushPolicy;
+import com.kr.audio_server.service.RecordJournalStore;
+import com.kr.audio_server.service.RecordService;
+import com.kr.audio_server.service.RecordSessionRegistry;
+import com.kr.audio_server.service.RecordWriter;
+import com.kr.audio_server.service.RecordingCatalog;
+import com.kr.audio_server.service.RecordingLayout;
+import com.kr.audio_server.service.RecordingStorage;
+import com.kr.core.web.exception.BusinessException;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class DrainServiceTest {
+
+    @TempDir
+    Path recordingsDir;
+
+    @TempDir
+    Path journalDir;
+
+    private final EventOutbox outbox = mock(EventOutbox.class);
+    private final ApplicationInfoManager applicationInfoManager = mock(ApplicationInfoManager.class);
+    private RecordSessionRegistry registry;
+    private RecordWriter recordWriter;
+    private RecordService recordService;
+    private DrainService drainService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        registry = new RecordSessionRegistry();
+        recordWriter = new RecordWriter(registry, 2, FlushPolicy.END, DataSize.ofMegabytes(1),
+                Duration.ofSeconds(1), DataSize.ofMegabytes(8), Duration.ofSeconds(30), new SimpleMeterRegistry());
+        RecordingStorage storage = new RecordingStorage(recordingsDir.toString(), RecordingLayout.FLAT);
+        recordService = new RecordService(outbox, registry, recordWriter,
+                new RecordingCatalog(storage, false, 500), storage,
+                new RecordJournalStore(journalDir.toString(), true));
+        drainService = new DrainService(recordService, registry, outbox, applicationInfoManager,
+                Duration.ofMillis(300), 2, Duration.ofMillis(10), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        drainService.close();
+        recordWriter.shutdown();
+    }
+
+    private static RecordRequest request(String sessionId) {
+        RecordRequest request = new RecordRequest();
+        request.setSessionId(sessionId);
+        request.setMetaId(sessionId);
+        return request;
+    }
+
+    @Test
+    void drainRejectsNewSessionsAndClosesRemainingAfterDeadline() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            recordService.start(request("session-" + i));
+        }
+
+        DrainService.Status status = drainService.start(null);
+        assertThat(status.state()).isEqualTo(DrainService.State.DRAINING);
+        assertThat(status.activeSessions()).isEqualTo(5);
+        verify(applicationInfoManager).registerAppMetadata(Map.of(DrainService.DRAINING_METADATA, "true"));
+        assertThatThrownBy(() -> recordService.start(request("late")))
+                .isInstanceOf(BusinessException.class);
+
+        // 기한 전에 끝난 녹음은 평소대로 처리됩니다.
+        recordService.end("session-0");
+
+        long until = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (drainService.status().state() != DrainService.State.DRAINED && System.nanoTime() < until) {
+            Thread.sleep(20);
+        }
+        assertThat(drainService.status().state()).isEqualTo(DrainService.State.DRAINED);
+        assertThat(registry.size()).isZero();
+        verify(outbox).append(any(), anyString());
+        // 남은 4개는 2개씩 두 번에 나누어 닫습니다.
+        verify(outbox, times(2)).appendAll(anyCollection(), any());
+        verify(applicationInfoManager).setInstanceStatus(InstanceInfo.InstanceStatus.OUT_OF_SERVICE);
+    }
+
+    @Test
+    void closeWithoutDrainStillClosesOpenSessions() throws Exception {
+        recordService.start(request("open"));
+
+        drainService.close();
+
+        assertThat(registry.size()).isZero();
+        assertThat(recordService.isAccepting()).isFalse();
+        verify(outbox).appendAll(anyCollection(), any());
+    }
+}
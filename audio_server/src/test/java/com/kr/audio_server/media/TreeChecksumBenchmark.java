@@ -0,0 +1,64 @@
+package com.kr.audio_server.media;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 트리 체크섬 처리량 비교 (MB/s, 코어당 MB/s)
+ * 실행: gradle :audio_server:benchmark --tests '*TreeChecksumBenchmark'
+ */
+@Tag("benchmark")
+class TreeChecksumBenchmark {
+
+    private static final int FILE_SIZE = 256 * 1024 * 1024;
+    private static final int SEGMENT_SIZE = 4 * 1024 * 1024;
+    private static final int ROUNDS = 5;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void throughputPerCore() throws Exception {
+        Path file = dir.resolve("large.webm");
+        byte[] block = new byte[1024 * 1024];
+        new Random(1).nextBytes(block);
+        try (var out = Files.newOutputStream(file)) {
+            for (int i = 0; i < FILE_SIZE / block.length; i++) {
+                out.write(block);
+            }
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("file=%dMB, segment=%dMB, cores=%d%n", FILE_SIZE >> 20, SEGMENT_SIZE >> 20, cores);
+        for (int parallelism = 1; parallelism <= cores; parallelism *= 2) {
+            run(file, parallelism);
+        }
+        if (Integer.bitCount(cores) != 1) {
+            run(file, cores);
+        }
+    }
+
+    private static void run(Path file, int parallelism) throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            TreeChecksum checksum = new TreeChecksum(pool, SEGMENT_SIZE);
+            checksum.checksum(file); // warm-up
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                checksum.checksum(file);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double mbPerSecond = (double) FILE_SIZE * ROUNDS / (1 << 20) / seconds;
+            System.out.printf("parallelism=%2d  %8.1f MB/s  %8.1f MB/s/core%n", parallelism, mbPerSecond, mbPerSecond / parallelism);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.kr.audio_server.media;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TreeChecksumTest {
+
+    @TempDir
+    Path dir;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private static String expected(byte[] data, int segmentSize) throws Exception {
+        MessageDigest root = MessageDigest.getInstance("SHA-256");
+        int position = 0;
+        do {
+            int length = Math.min(segmentSize, data.length - position);
+            MessageDigest segment = MessageDigest.getInstance("SHA-256");
+            segment.update(data, position, length);
+            root.update(segment.digest());
+            position += segmentSize;
+        } while (position < data.length);
+        return HexFormat.of().formatHex(root.digest());
+    }
+
+    @Test
+    void matchesSequentialTreeHashForAnySegmentCount() throws Exception {
+        byte[] data = new byte[100_000];
+        new Random(42).nextBytes(data);
+        Path file = Files.write(dir.resolve("a.webm"), data);
+
+        for (int segmentSize : new int[]{1_000, 4_096, 99_999, 100_000, 1 << 20}) {
+            assertThat(new TreeChecksum(pool, segmentSize).checksum(file)).isEqualTo(expected(data, segmentSize));
+        }
+        assertThat(new TreeChecksum(new ForkJoinPool(1), 4_096).checksum(file))
+                .isEqualTo(new TreeChecksum(pool, 4_096).checksum(file));
+    }
+
+    @Test
+    void hashesEmptyFile() throws Exception {
+        Path file = Files.createFile(dir.resolve("empty.webm"));
+
+        assertThat(new TreeChecksum(pool, 4_096).checksum(file)).isEqualTo(expected(new byte[0], 4_096));
+    }
+}
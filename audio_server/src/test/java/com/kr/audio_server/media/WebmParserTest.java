@@ -0,0 +1,132 @@
+package com.kr.audio_server.media;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebmParserTest {
+
+    private static final byte[] UNKNOWN = {0x01, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff};
+
+    private static byte[] id(int id) {
+        int length = id > 0xffffff ? 4 : id > 0xffff ? 3 : id > 0xff ? 2 : 1;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (id >>> (8 * (length - 1 - i)));
+        }
+        return bytes;
+    }
+
+    private static byte[] element(int id, byte[]... children) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (byte[] child : children) {
+            body.writeBytes(child);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(id(id));
+        // 8바이트 크기 표기
+        out.writeBytes(ByteBuffer.allocate(8).putLong(body.size()).put(0, (byte) 0x01).array());
+        out.writeBytes(body.toByteArray());
+        return out.toByteArray();
+    }
+
+    private static byte[] unknownSize(int id, byte[]... children) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(id(id));
+        out.writeBytes(UNKNOWN);
+        for (byte[] child : children) {
+            out.writeBytes(child);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] uint(int id, long value) {
+        return element(id, ByteBuffer.allocate(8).putLong(value).array());
+    }
+
+    private static byte[] string(int id, String value) {
+        return element(id, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] float64(int id, double value) {
+        return element(id, ByteBuffer.allocate(8).putDouble(value).array());
+    }
+
+    private static byte[] simpleBlock(int relativeTimecode) {
+        return element(WebmParser.SIMPLE_BLOCK,
+                new byte[]{(byte) 0x81}, ByteBuffer.allocate(2).putShort((short) relativeTimecode).array(),
+                new byte[]{(byte) 0x80}, new byte[40]);
+    }
+
+    private static byte[] header() {
+        return element(WebmParser.EBML, string(WebmParser.DOC_TYPE, "webm"));
+    }
+
+    private static byte[] opusTrack() {
+        return element(WebmParser.TRACKS, element(WebmParser.TRACK_ENTRY,
+                uint(WebmParser.TRACK_TYPE, 2),
+                string(WebmParser.CODEC_ID, "A_OPUS"),
+                element(WebmParser.AUDIO, float64(WebmParser.SAMPLING_FREQUENCY, 48000), uint(WebmParser.CHANNELS, 1))));
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void readsDurationAndTrackFromHeader() throws IOException {
+        byte[] file = concat(header(), element(WebmParser.SEGMENT,
+                element(WebmParser.INFO, uint(WebmParser.TIMECODE_SCALE, 1_000_000), float64(WebmParser.DURATION, 12_345.6)),
+                opusTrack(),
+                element(WebmParser.CLUSTER, uint(WebmParser.TIMECODE, 0), simpleBlock(0), simpleBlock(20))));
+
+        WebmMetadata metadata = WebmParser.parse(ByteBuffer.wrap(file));
+
+        assertThat(metadata).isEqualTo(new WebmMetadata("webm", "A_OPUS", 48000, 1, 12_346));
+        assertThat(metadata.bitrate(12_346)).isEqualTo(8000);
+    }
+
+    @Test
+    void derivesDurationFromBlocksInUnknownSizeClusters() throws IOException {
+        // 브라우저 MediaRecorder 출력: Segment/Cluster 크기와 Duration 이 없음
+        byte[] file = concat(header(), unknownSize(WebmParser.SEGMENT,
+                element(WebmParser.INFO, uint(WebmParser.TIMECODE_SCALE, 1_000_000)),
+                opusTrack(),
+                unknownSize(WebmParser.CLUSTER, uint(WebmParser.TIMECODE, 0), simpleBlock(0), simpleBlock(20), simpleBlock(40)),
+                unknownSize(WebmParser.CLUSTER, uint(WebmParser.TIMECODE, 5_000), simpleBlock(0), simpleBlock(980))));
+
+        WebmMetadata metadata = WebmParser.parse(ByteBuffer.wrap(file));
+
+        assertThat(metadata.codec()).isEqualTo("A_OPUS");
+        assertThat(metadata.durationMs()).isEqualTo(5_980);
+    }
+
+    @Test
+    void returnsWhatWasReadFromTruncatedFile() throws IOException {
+        byte[] file = concat(header(), unknownSize(WebmParser.SEGMENT,
+                opusTrack(),
+                unknownSize(WebmParser.CLUSTER, uint(WebmParser.TIMECODE, 1_000), simpleBlock(500), simpleBlock(520))));
+
+        WebmMetadata metadata = WebmParser.parse(ByteBuffer.wrap(Arrays.copyOf(file, file.length - 50)));
+
+        assertThat(metadata.codec()).isEqualTo("A_OPUS");
+        assertThat(metadata.durationMs()).isEqualTo(1_500);
+    }
+
+    @Test
+    void rejectsNonEbmlFile() {
+        assertThatThrownBy(() -> WebmParser.parse(ByteBuffer.wrap("RIFF....WAVE".getBytes(StandardCharsets.US_ASCII))))
+                .isInstanceOf(IOException.class);
+    }
+}
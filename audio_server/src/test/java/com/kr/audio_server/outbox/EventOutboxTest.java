@@ -0,0 +1,200 @@
+package com.kr.audio_server.outbox;
+
+import com.kr.audio_server.codec.RecordCompletedEventCodec;
+import com.kr.audio_server.dto.RecordCompletedEvent;
+import com.kr.kafka.component.EventPublisher;
+import com.kr.kafka.config.Event;
+import com.kr.kafka.serializer.EventCodecRegistry;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventOutboxTest {
+
+    private final EventCodecRegistry registry = new EventCodecRegistry(List.of(new RecordCompletedEventCodec()));
+
+    @TempDir
+    Path dir;
+
+    private EventOutbox outbox;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (outbox != null) {
+            outbox.close();
+        }
+    }
+
+    private EventOutbox open(DataSize segmentSize) throws IOException {
+        if (outbox != null) {
+            outbox.close();
+        }
+        outbox = new EventOutbox(registry, dir.toString(), segmentSize);
+        return outbox;
+    }
+
+    private static RecordCompletedEvent event(int i) {
+        return new RecordCompletedEvent("session-" + i, "meta-" + i, "/recordings/meta-" + i + ".webm",
+                "meta-" + i + ".webm", LocalDateTime.of(2024, 3, 15, 9, 30).plusSeconds(i));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    @Test
+    void readsAppendedEntriesInOrderAcrossSegmentsAndRestarts() throws IOException {
+        open(DataSize.ofBytes(512));
+        for (int i = 0; i < 20; i++) {
+            outbox.append(event(i), "session-" + i);
+        }
+        assertThat(segments()).hasSizeGreaterThan(1);
+
+        List<EventOutbox.Entry> first = outbox.read(outbox.getCommitted(), 7);
+        assertThat(first).extracting(EventOutbox.Entry::event).containsExactly(
+                event(0), event(1), event(2), event(3), event(4), event(5), event(6));
+        assertThat(first.get(0).key()).isEqualTo("session-0");
+        outbox.commit(first.get(first.size() - 1).next());
+
+        // 재시작 후 commit 위치부터 이어서 읽습니다.
+        open(DataSize.ofBytes(512));
+        List<EventOutbox.Entry> rest = outbox.read(outbox.getCommitted(), 100);
+        assertThat(rest).extracting(entry -> ((RecordCompletedEvent) entry.event()).getSessionId())
+                .containsExactlyElementsOf(Stream.iterate(7, i -> i < 20, i -> i + 1).map(i -> "session-" + i).toList());
+
+        outbox.commit(rest.get(rest.size() - 1).next());
+        assertThat(outbox.hasPending()).isFalse();
+        assertThat(segments()).hasSize(1);
+    }
+
+    @Test
+    void truncatesTornTailOnOpen() throws IOException {
+        open(DataSize.ofMegabytes(1));
+        outbox.append(event(1), "a");
+        outbox.append(event(2), "b");
+        outbox.close();
+
+        Path segment = segments().get(0);
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        open(DataSize.ofMegabytes(1));
+        assertThat(outbox.read(outbox.getCommitted(), 10)).extracting(EventOutbox.Entry::event).containsExactly(event(1));
+
+        outbox.append(event(3), "c");
+        assertThat(outbox.read(outbox.getCommitted(), 10)).extracting(EventOutbox.Entry::event)
+                .containsExactly(event(1), event(3));
+    }
+
+    @Test
+    void relayCommitsOnlyAfterSuccessfulPublish() throws Exception {
+        open(DataSize.ofMegabytes(1));
+        for (int i = 0; i < 5; i++) {
+            outbox.append(event(i), "session-" + i);
+        }
+
+        List<String> publishedKeys = new ArrayList<>();
+        EventPublisher publisher = mock(EventPublisher.class);
+        when(publisher.<Event>publishAll(any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .thenAnswer(invocation -> {
+                    Collection<Event> events = invocation.getArgument(0);
+                    Function<Event, String> keys = invocation.getArgument(1);
+                    events.forEach(event -> publishedKeys.add(keys.apply(event)));
+                    return CompletableFuture.completedFuture(null);
+                });
+
+        OutboxRelay relay = new OutboxRelay(outbox, publisher, 3, Duration.ofSeconds(1),
+                Duration.ofSeconds(1), Duration.ofSeconds(1), 5);
+
+        assertThatThrownBy(relay::relayOnce).hasRootCauseMessage("broker down");
+        assertThat(outbox.hasPending()).isTrue();
+
+        assertThat(relay.relayOnce()).isEqualTo(3);
+        assertThat(relay.relayOnce()).isEqualTo(2);
+        assertThat(relay.relayOnce()).isZero();
+        assertThat(publishedKeys).containsExactly("session-0", "session-1", "session-2", "session-3", "session-4");
+        assertThat(outbox.hasPending()).isFalse();
+    }
+
+    @Test
+    void relayDeadLettersEntryThatCannotBePublishedAndContinues() throws Exception {
+        open(DataSize.ofMegabytes(1));
+        for (int i = 0; i < 5; i++) {
+            outbox.append(event(i), "session-" + i);
+        }
+
+        // session-2 는 항상 재시도할 수 없는 오류로 실패합니다.
+        List<String> published = new ArrayList<>();
+        EventPublisher publisher = mock(EventPublisher.class);
+        when(publisher.<Event>publishAll(any(), any())).thenAnswer(invocation -> {
+            Collection<Event> events = invocation.getArgument(0);
+            Function<Event, String> keys = invocation.getArgument(1);
+            if (events.stream().anyMatch(event -> "session-2".equals(keys.apply(event)))) {
+                return CompletableFuture.failedFuture(new SerializationException("record too large"));
+            }
+            events.forEach(event -> published.add(keys.apply(event)));
+            return CompletableFuture.completedFuture(null);
+        });
+        OutboxRelay relay = new OutboxRelay(outbox, publisher, 5, Duration.ofSeconds(1),
+                Duration.ofSeconds(1), Duration.ofSeconds(1), 2);
+
+        int failures = 0;
+        while (outbox.hasPending()) {
+            try {
+                relay.relayOnce();
+            } catch (ExecutionException e) {
+                failures++;
+                assertThat(failures).isLessThan(10);
+            }
+        }
+
+        assertThat(published).containsExactly("session-0", "session-1", "session-3", "session-4");
+        assertThat(dir.resolve("outbox.dead-letter")).exists().isNotEmptyFile();
+    }
+
+    @Test
+    void relayDeadLettersEntryThatCannotBeRead() throws Exception {
+        open(DataSize.ofMegabytes(1));
+        outbox.append(event(1), "a");
+        outbox.close();
+
+        // 코덱이 없는 이벤트 타입으로 기록된 항목
+        outbox = new EventOutbox(new EventCodecRegistry(List.of()), dir.toString(), DataSize.ofMegabytes(1));
+        OutboxRelay relay = new OutboxRelay(outbox, mock(EventPublisher.class), 5, Duration.ofSeconds(1),
+                Duration.ofSeconds(1), Duration.ofSeconds(1), 2);
+
+        assertThatThrownBy(relay::relayOnce).isInstanceOf(EventOutbox.UnreadableEntryException.class);
+        assertThat(outbox.hasPending()).isTrue();
+        assertThat(relay.relayOnce()).isZero();
+        assertThat(outbox.hasPending()).isFalse();
+        assertThat(Files.size(dir.resolve("outbox.dead-letter"))).isEqualTo(Files.size(segments().get(0)));
+    }
+}
@@ -0,0 +1,169 @@
+package com.kr.audio_server.service;
+
+import com.kr.audio_server.dto.RecordCompletedEvent;
+import com.kr.audio_server.dto.RecordRequest;
+import com.kr.audio_server.outbox.EventOutbox;
+import com.kr.core.web.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class RecordRecoveryTest {
+
+    private static final int CHUNK_SIZE = 100;
+
+    @TempDir
+    Path recordingsDir;
+
+    @TempDir
+    Path journalDir;
+
+    private final EventOutbox outbox = mock(EventOutbox.class);
+    private final List<RecordWriter> writers = new ArrayList<>();
+    private RecordingStorage storage;
+    private RecordJournalStore journalStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storage = new RecordingStorage(recordingsDir.toString(), RecordingLayout.FLAT);
+        journalStore = new RecordJournalStore(journalDir.toString(), true);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (RecordWriter writer : writers) {
+            writer.shutdown();
+        }
+    }
+
+    /**
+     * 서버 한 번의 실행 (재시작은 레지스트리와 쓰기 모듈을 새로 만들어 흉내냅니다)
+     */
+    private final class Node {
+        final RecordSessionRegistry registry = new RecordSessionRegistry();
+        final RecordService recordService;
+        final RecordRecovery recovery;
+
+        Node() {
+            RecordWriter writer = new RecordWriter(registry, 2, FlushPolicy.BYTES, DataSize.ofBytes(CHUNK_SIZE * 2),
+                    Duration.ofSeconds(1), DataSize.ofMegabytes(1), Duration.ofSeconds(10), new SimpleMeterRegistry());
+            writers.add(writer);
+            RecordingCatalog catalog = new RecordingCatalog(storage, false, 500);
+            recordService = new RecordService(outbox, registry, writer, catalog, storage, journalStore);
+            recovery = new RecordRecovery(journalStore, registry, recordService, catalog, Duration.ofMinutes(1));
+        }
+
+        void send(String sessionId, int sequence) {
+            recordService.saveChunk(sessionId, sequence, new ByteArrayInputStream(chunk(sequence)));
+        }
+    }
+
+    private static byte[] chunk(int sequence) {
+        byte[] data = new byte[CHUNK_SIZE];
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            data[i] = (byte) (sequence * 13 + i);
+        }
+        return data;
+    }
+
+    private static RecordRequest request(String sessionId) {
+        RecordRequest request = new RecordRequest();
+        request.setSessionId(sessionId);
+        request.setMetaId(sessionId);
+        return request;
+    }
+
+    private static void awaitSize(Path file, long size) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Files.size(file) < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(Files.size(file)).isEqualTo(size);
+        // 저널 체크포인트는 파일 기록 직후 같은 스레드에서 덧붙입니다.
+        Thread.sleep(50);
+    }
+
+    /**
+     * 청크 0~3 을 기록한 뒤 종료된 녹음 (파일 끝에 일부만 기록된 청크, 저널 끝에 잘린 체크포인트)
+     */
+    private Path crashedRecording(String sessionId) throws Exception {
+        Node crashed = new Node();
+        crashed.recordService.start(request(sessionId));
+        for (int sequence = 0; sequence < 4; sequence++) {
+            crashed.send(sessionId, sequence);
+        }
+        Path file = Path.of(crashed.registry.get(sessionId).getFilePath());
+        awaitSize(file, 4L * CHUNK_SIZE);
+
+        Files.write(file, new byte[CHUNK_SIZE / 2], StandardOpenOption.APPEND);
+        try (var journals = Files.list(journalDir)) {
+            Files.write(journals.findFirst().orElseThrow(), new byte[7], StandardOpenOption.APPEND);
+        }
+        return file;
+    }
+
+    @Test
+    void recoveredSessionIsTruncatedAndResumedFromLastSequence() throws Exception {
+        Path file = crashedRecording("s1");
+
+        Node restarted = new Node();
+        assertThat(restarted.recovery.recover()).containsExactly("s1");
+        assertThat(Files.size(file)).isEqualTo(4L * CHUNK_SIZE);
+
+        // 이어받기 전에는 청크를 받지 않습니다.
+        assertThatThrownBy(() -> restarted.send("s1", 4)).isInstanceOf(BusinessException.class);
+
+        assertThat(restarted.recordService.resume("s1").getLastSequence()).isEqualTo(3);
+        restarted.send("s1", 3);  // 이미 기록된 청크는 건너뜀
+        restarted.send("s1", 4);
+        assertThatThrownBy(() -> restarted.send("s1", 6)).isInstanceOf(BusinessException.class);
+        restarted.send("s1", 5);
+        restarted.recordService.end("s1");
+
+        byte[] expected = new byte[6 * CHUNK_SIZE];
+        for (int sequence = 0; sequence < 6; sequence++) {
+            System.arraycopy(chunk(sequence), 0, expected, sequence * CHUNK_SIZE, CHUNK_SIZE);
+        }
+        assertThat(Files.readAllBytes(file)).isEqualTo(expected);
+        verify(outbox).append(any(RecordCompletedEvent.class), eq("s1"));
+        assertThat(journalStore.journals()).isEmpty();
+    }
+
+    @Test
+    void unresumedSessionIsCompleted() throws Exception {
+        Path file = crashedRecording("s2");
+
+        Node restarted = new Node();
+        List<String> recovered = restarted.recovery.recover();
+        restarted.recovery.endUnresumed(recovered);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RecordCompletedEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(outbox).appendAll(events.capture(), any());
+        assertThat(events.getValue()).extracting(RecordCompletedEvent::getSessionId).containsExactly("s2");
+        assertThat(events.getValue().get(0).getFilePath()).isEqualTo(file.toString());
+        assertThat(Files.size(file)).isEqualTo(4L * CHUNK_SIZE);
+        assertThat(restarted.registry.size()).isZero();
+        assertThat(journalStore.journals()).isEmpty();
+    }
+}
@@ -0,0 +1,320 @@
+package com.kr.audio_server.service;
+
+import com.kr.audio_server.dto.RecordBatchResult;
+import com.kr.audio_server.dto.RecordCompletedEvent;
+import com.kr.audio_server.dto.RecordRequest;
+import com.kr.audio_server.outbox.EventOutbox;
+import com.kr.core.web.constans.RecordBatch;
+import com.kr.core.web.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class RecordServiceConcurrencyTest {
+
+    private static final int SESSIONS = 2000;
+    private static final int CHUNKS_PER_SESSION = 16;
+    private static final int CHUNK_SIZE = 256;
+
+    @TempDir
+    Path recordingsDir;
+
+    @TempDir
+    Path journalDir;
+
+    private EventOutbox outbox;
+    private RecordSessionRegistry registry;
+    private RecordWriter recordWriter;
+    private RecordService recordService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        outbox = mock(EventOutbox.class);
+        registry = new RecordSessionRegistry();
+        recordWriter = new RecordWriter(registry, 4, FlushPolicy.INTERVAL, DataSize.ofMegabytes(1),
+                Duration.ofSeconds(1), DataSize.ofMegabytes(8), Duration.ofSeconds(30), new SimpleMeterRegistry());
+        RecordingStorage storage = new RecordingStorage(recordingsDir.toString(), RecordingLayout.DATE_HASH);
+        recordService = new RecordService(outbox, registry, recordWriter,
+                new RecordingCatalog(storage, false, 500), storage,
+                new RecordJournalStore(journalDir.toString(), true));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        recordWriter.shutdown();
+    }
+
+    private static RecordRequest request(String sessionId, String metaId) {
+        RecordRequest request = new RecordRequest();
+        request.setSessionId(sessionId);
+        request.setMetaId(metaId);
+        return request;
+    }
+
+    private static byte[] chunk(int session, int sequence) {
+        byte[] data = new byte[CHUNK_SIZE];
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            data[i] = (byte) (session * 31 + sequence * 7 + i);
+        }
+        return data;
+    }
+
+    @Test
+    void thousandsOfParallelSessionsWriteCompleteOrderedFiles() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int s = 0; s < SESSIONS; s++) {
+                int session = s;
+                futures.add(CompletableFuture.runAsync(() -> {
+                    String sessionId = "session-" + session;
+                    recordService.start(request(sessionId, "meta-" + session));
+                    for (int seq = 0; seq < CHUNKS_PER_SESSION; seq++) {
+                        recordService.saveChunk(sessionId, seq, new ByteArrayInputStream(chunk(session, seq)));
+                    }
+                    recordService.end(sessionId);
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(2, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ArgumentCaptor<RecordCompletedEvent> events = ArgumentCaptor.forClass(RecordCompletedEvent.class);
+        verify(outbox, times(SESSIONS)).append(events.capture(), anyString());
+        assertThat(registry.size()).isZero();
+
+        for (RecordCompletedEvent event : events.getAllValues()) {
+            int session = Integer.parseInt(event.getMetaId().substring("meta-".length()));
+            byte[] content = Files.readAllBytes(Path.of(event.getFilePath()));
+            assertThat(content).hasSize(CHUNKS_PER_SESSION * CHUNK_SIZE);
+            for (int seq = 0; seq < CHUNKS_PER_SESSION; seq++) {
+                byte[] expected = chunk(session, seq);
+                for (int i = 0; i < CHUNK_SIZE; i++) {
+                    assertThat(content[seq * CHUNK_SIZE + i]).isEqualTo(expected[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void concurrentWritersToOneSessionNeverInterleaveWithinAChunk() throws Exception {
+        int writers = 16;
+        int chunksPerWriter = 200;
+        recordService.start(request("shared", "shared"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch ready = new CountDownLatch(1);
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                byte[] data = new byte[CHUNK_SIZE];
+                Arrays.fill(data, (byte) w);
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        ready.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (int i = 0; i < chunksPerWriter; i++) {
+                        recordService.saveChunk("shared", i, new ByteArrayInputStream(data));
+                    }
+                }, executor));
+            }
+            ready.countDown();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String filePath = registry.get("shared").getFilePath();
+        recordService.end("shared");
+
+        byte[] content = Files.readAllBytes(Path.of(filePath));
+        assertThat(content).hasSize(writers * chunksPerWriter * CHUNK_SIZE);
+        for (int offset = 0; offset < content.length; offset += CHUNK_SIZE) {
+            byte first = content[offset];
+            for (int i = 1; i < CHUNK_SIZE; i++) {
+                assertThat(content[offset + i]).isEqualTo(first);
+            }
+        }
+    }
+
+    @Test
+    void concurrentEndPublishesCompletionOnlyOnce() throws Exception {
+        recordService.start(request("ending", "ending"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(CompletableFuture.runAsync(() -> recordService.end("ending"), executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(outbox, times(1)).append(any(RecordCompletedEvent.class), anyString());
+    }
+
+    @Test
+    void batchAppendsChunksAndEndsSessionsWithOneOutboxWrite() throws Exception {
+        recordService.start(request("a", "meta-1"));
+        recordService.start(request("b", "meta-2"));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        for (int seq = 0; seq < 3; seq++) {
+            batchFrame(out, RecordBatch.CHUNK, "a", seq, chunk(1, seq));
+            batchFrame(out, RecordBatch.CHUNK, "b", seq, chunk(2, seq));
+        }
+        batchFrame(out, RecordBatch.CHUNK, "unknown", 0, chunk(3, 0));
+        batchFrame(out, RecordBatch.END, "a", -1, new byte[0]);
+        batchFrame(out, RecordBatch.END, "b", -1, new byte[0]);
+
+        RecordBatchResult result = recordService.saveBatch(new ByteArrayInputStream(body.toByteArray()));
+
+        assertThat(result.getChunks()).isEqualTo(6);
+        assertThat(result.getEnded()).isEqualTo(2);
+        assertThat(result.getFailedSessions()).containsExactly("unknown");
+        assertThat(registry.size()).isZero();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RecordCompletedEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(outbox, times(1)).appendAll(events.capture(), any());
+        assertThat(events.getValue()).extracting(RecordCompletedEvent::getSessionId).containsExactly("a", "b");
+        for (RecordCompletedEvent event : events.getValue()) {
+            int session = Integer.parseInt(event.getMetaId().substring("meta-".length()));
+            byte[] content = Files.readAllBytes(Path.of(event.getFilePath()));
+            assertThat(content).hasSize(3 * CHUNK_SIZE);
+            for (int seq = 0; seq < 3; seq++) {
+                assertThat(Arrays.copyOfRange(content, seq * CHUNK_SIZE, (seq + 1) * CHUNK_SIZE)).isEqualTo(chunk(session, seq));
+            }
+        }
+    }
+
+    @Test
+    void streamRejectsInvalidChunkLengthAndStreamsAboveLimit() throws Exception {
+        RecordingStorage storage = new RecordingStorage(recordingsDir.toString(), RecordingLayout.FLAT);
+        RecordService limited = new RecordService(outbox, registry, recordWriter,
+                new RecordingCatalog(storage, false, 500), storage,
+                new RecordJournalStore(journalDir.toString(), false), 1, DataSize.ofBytes(CHUNK_SIZE));
+        limited.start(request("s", "s"));
+
+        for (int length : new int[]{-1, CHUNK_SIZE + 1}) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(body);
+            out.writeLong(0);
+            out.writeInt(length);
+            assertThatThrownBy(() -> limited.saveStream("s", new ByteArrayInputStream(body.toByteArray())))
+                    .isInstanceOfSatisfying(BusinessException.class,
+                            e -> assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        }
+
+        // 단건 청크도 같은 제한 (Content-Length 가 없으면 최대 크기 + 1 바이트까지만 읽고 거절)
+        assertBadRequest(() -> limited.saveChunk("s", 0, new ByteArrayInputStream(new byte[CHUNK_SIZE + 1])));
+        assertBadRequest(() -> limited.saveChunk("s", 0, new ByteArrayInputStream(new byte[0]), CHUNK_SIZE + 1));
+
+        // 스트림 하나가 열려 있는 동안 두 번째 스트림은 503 으로 거절됩니다.
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<Void> open = CompletableFuture.runAsync(() -> limited.saveStream("s", new InputStream() {
+            @Override
+            public int read() {
+                return -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                reading.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return -1;
+            }
+        }));
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> limited.saveStream("s", new ByteArrayInputStream(new byte[0])))
+                .isInstanceOfSatisfying(BusinessException.class,
+                        e -> assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        finish.countDown();
+        open.get(5, TimeUnit.SECONDS);
+        limited.saveStream("s", new ByteArrayInputStream(new byte[0]));
+        limited.end("s");
+    }
+
+    @Test
+    void batchRejectsChunkLengthAboveLimitOrBeyondBody() throws Exception {
+        recordService.start(request("a", "meta-1"));
+
+        // 최대 청크 크기를 넘는 길이 (할당 전에 거절)
+        ByteArrayOutputStream huge = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(huge);
+        batchFrame(out, RecordBatch.CHUNK, "a", 0, new byte[0]);
+        byte[] body = huge.toByteArray();
+        ByteBuffer.wrap(body).putInt(body.length - 4, Integer.MAX_VALUE);
+        assertBadRequest(() -> recordService.saveBatch(new ByteArrayInputStream(body)));
+
+        // 남은 본문보다 긴 길이
+        ByteArrayOutputStream truncated = new ByteArrayOutputStream();
+        batchFrame(new DataOutputStream(truncated), RecordBatch.CHUNK, "a", 0, chunk(1, 0));
+        byte[] cut = Arrays.copyOf(truncated.toByteArray(), truncated.size() - 1);
+        assertBadRequest(() -> recordService.saveBatch(new ByteArrayInputStream(cut), cut.length));
+        assertBadRequest(() -> recordService.saveBatch(new ByteArrayInputStream(cut)));
+
+        recordService.end("a");
+    }
+
+    private static void assertBadRequest(ThrowableAssert.ThrowingCallable call) {
+        assertThatThrownBy(call).isInstanceOfSatisfying(BusinessException.class,
+                e -> assertThat(e.getHttpStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private static void batchFrame(DataOutputStream out, byte command, String sessionId, long sequence, byte[] data)
+            throws IOException {
+        byte[] id = sessionId.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(command);
+        out.writeShort(id.length);
+        out.write(id);
+        out.writeLong(sequence);
+        out.writeInt(data.length);
+        out.write(data);
+    }
+}
@@ -0,0 +1,142 @@
+package com.kr.audio_server.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecordWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private final RecordSessionRegistry registry = new RecordSessionRegistry();
+    private RecordWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.shutdown();
+    }
+
+    private RecordWriter writer(FlushPolicy policy, DataSize maxPending) {
+        writer = new RecordWriter(registry, 2, policy, DataSize.ofKilobytes(64),
+                Duration.ofMillis(50), maxPending, Duration.ofSeconds(10), new SimpleMeterRegistry());
+        return writer;
+    }
+
+    private RecordSession open(String name) throws IOException {
+        Path file = dir.resolve(name);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        RecordSession session = new RecordSession(name, name, file.toString(), name, channel);
+        registry.register(session);
+        return session;
+    }
+
+    private static ByteBuffer chunk(int sequence, int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) (sequence + i);
+        }
+        return ByteBuffer.wrap(data);
+    }
+
+    @Test
+    void everyPolicyWritesAllChunksInOrder() throws Exception {
+        for (FlushPolicy policy : FlushPolicy.values()) {
+            RecordWriter writer = writer(policy, DataSize.ofMegabytes(8));
+            RecordSession session = open(policy.name());
+
+            for (int seq = 0; seq < 500; seq++) {
+                writer.enqueue(session, chunk(seq, 1000));
+            }
+            writer.closeAndWait(session);
+
+            byte[] content = Files.readAllBytes(Path.of(session.getFilePath()));
+            assertThat(content).hasSize(500 * 1000);
+            for (int seq = 0; seq < 500; seq++) {
+                assertThat(ByteBuffer.wrap(content, seq * 1000, 1000)).isEqualTo(chunk(seq, 1000));
+            }
+            assertThat(session.getPendingBytes()).isZero();
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void producerWaitsWhenPendingBytesExceedLimitButStillCompletes() throws Exception {
+        RecordWriter writer = writer(FlushPolicy.END, DataSize.ofKilobytes(16));
+        RecordSession session = open("bounded");
+
+        for (int seq = 0; seq < 2000; seq++) {
+            writer.enqueue(session, chunk(seq, 4096));
+            assertThat(session.getPendingBytes()).isLessThanOrEqualTo(16 * 1024 + 4096);
+        }
+        writer.closeAndWait(session);
+
+        assertThat(Files.size(Path.of(session.getFilePath()))).isEqualTo(2000L * 4096);
+    }
+
+    @Test
+    void enqueueAfterCloseIsRejected() throws Exception {
+        RecordWriter writer = writer(FlushPolicy.INTERVAL, DataSize.ofMegabytes(1));
+        RecordSession session = open("closed");
+
+        writer.enqueue(session, chunk(0, 10));
+        writer.close(session).get(10, TimeUnit.SECONDS);
+
+        assertThat(session.isClosed()).isTrue();
+        assertThatThrownBy(() -> writer.enqueue(session, chunk(1, 10))).isInstanceOf(IOException.class);
+        assertThat(Files.size(Path.of(session.getFilePath()))).isEqualTo(10);
+    }
+
+    @Test
+    void concurrentDuplicateChunksOfResumedSessionAreWrittenOnce() throws Exception {
+        RecordWriter writer = writer(FlushPolicy.END, DataSize.ofMegabytes(8));
+        RecordSession session = open("resumed");
+        writer.enqueue(session, 0, chunk(0, 10));
+        writer.resume(session);
+
+        // 같은 순번을 여러 요청이 동시에 보내도(재전송과 원래 스트림이 겹치는 경우) 한 번씩만 기록합니다.
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> senders = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                senders.add(executor.submit(() -> {
+                    for (int seq = 1; seq < 2000; seq++) {
+                        writer.enqueue(session, seq, chunk(seq, 10));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> sender : senders) {
+                sender.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        writer.closeAndWait(session);
+
+        byte[] content = Files.readAllBytes(Path.of(session.getFilePath()));
+        assertThat(content).hasSize(2000 * 10);
+        for (int seq = 0; seq < 2000; seq++) {
+            assertThat(ByteBuffer.wrap(content, seq * 10, 10)).isEqualTo(chunk(seq, 10));
+        }
+    }
+}
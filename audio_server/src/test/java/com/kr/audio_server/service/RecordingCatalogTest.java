@@ -0,0 +1,190 @@
+package com.kr.audio_server.service;
+
+import com.kr.audio_server.dto.RecordingFile;
+import com.kr.audio_server.dto.RecordingPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordingCatalogTest {
+
+    @TempDir
+    Path dir;
+
+    private RecordingCatalog catalog;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (catalog != null) {
+            catalog.close();
+        }
+    }
+
+    private Path record(String metaId, int minute) throws Exception {
+        String fileName = String.format("%s_20240101_10%02d00000.webm", metaId, minute);
+        return Files.write(dir.resolve(fileName), new byte[minute + 1]);
+    }
+
+    private static List<String> names(RecordingPage page) {
+        return page.getItems().stream().map(RecordingFile::getFileName).toList();
+    }
+
+    @Test
+    void seedsFromDirectoryAndPagesNewestFirstWithCursor() throws Exception {
+        for (int minute = 0; minute < 30; minute++) {
+            record("meta" + (minute % 3), minute);
+        }
+        catalog = new RecordingCatalog(new RecordingStorage(dir.toString(), RecordingLayout.FLAT), false, 500);
+        catalog.init();
+        assertThat(catalog.size()).isEqualTo(30);
+
+        List<String> all = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            RecordingPage page = catalog.find(null, null, null, null, cursor, 7);
+            all.addAll(names(page));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(5);
+        assertThat(all).hasSize(30).doesNotHaveDuplicates();
+        assertThat(all.get(0)).isEqualTo("meta2_20240101_102900000.webm");
+        assertThat(all.get(29)).isEqualTo("meta0_20240101_100000000.webm");
+    }
+
+    @Test
+    void filtersByMetaIdAndDateRange() throws Exception {
+        for (int minute = 0; minute < 30; minute++) {
+            record("meta" + (minute % 3), minute);
+        }
+        record("meta1_extra", 5);
+        catalog = new RecordingCatalog(new RecordingStorage(dir.toString(), RecordingLayout.FLAT), false, 500);
+        catalog.init();
+
+        RecordingPage byMeta = catalog.find("meta1", null, null, null, null, 100);
+        assertThat(byMeta.getItems()).hasSize(10).allMatch(f -> f.getMetaId().equals("meta1"));
+        assertThat(byMeta.getNextCursor()).isNull();
+
+        RecordingPage byPrefix = catalog.find(null, "meta1", null, null, null, 100);
+        assertThat(byPrefix.getItems()).hasSize(11);
+
+        RecordingPage range = catalog.find(null, null,
+                LocalDateTime.of(2024, 1, 1, 10, 10), LocalDateTime.of(2024, 1, 1, 10, 19), null, 100);
+        assertThat(range.getItems()).hasSize(10)
+                .allMatch(f -> f.getRecordedAt().getMinute() >= 10 && f.getRecordedAt().getMinute() <= 19);
+
+        RecordingPage metaInRange = catalog.find("meta0", null,
+                LocalDateTime.of(2024, 1, 1, 10, 10), LocalDateTime.of(2024, 1, 1, 10, 19), null, 100);
+        assertThat(names(metaInRange)).containsExactly(
+                "meta0_20240101_101200000.webm", "meta0_20240101_101500000.webm", "meta0_20240101_101800000.webm");
+    }
+
+    @Test
+    void tracksUpdatesAndExternalChanges() throws Exception {
+        catalog = new RecordingCatalog(new RecordingStorage(dir.toString(), RecordingLayout.FLAT), true, 500);
+        catalog.init();
+
+        Path recorded = record("direct", 1);
+        catalog.update(recorded);
+        assertThat(catalog.find("direct", null, null, null, null, 10).getItems()).hasSize(1);
+
+        Path copied = record("external", 2);
+        awaitSize(2);
+
+        Path nested = Files.createDirectories(dir.resolve("2024/01/01/ab"));
+        Files.write(nested.resolve("nested_20240101_100000000.webm"), new byte[1]);
+        awaitSize(3);
+
+        Files.delete(nested.resolve("nested_20240101_100000000.webm"));
+        Files.delete(copied);
+        Files.delete(recorded);
+        awaitSize(0);
+    }
+
+    @Test
+    void rescanReconcilesUnwatchedChanges() throws Exception {
+        Path kept = record("kept", 1);
+        Path deleted = record("deleted", 2);
+        catalog = new RecordingCatalog(new RecordingStorage(dir.toString(), RecordingLayout.FLAT), false, 500);
+        catalog.init();
+        assertThat(catalog.size()).isEqualTo(2);
+
+        Files.delete(deleted);
+        Path nested = Files.createDirectories(dir.resolve("2024/01/01"));
+        Files.write(nested.resolve("added_20240101_100000000.webm"), new byte[1]);
+        catalog.rescan();
+
+        assertThat(names(catalog.find(null, null, null, null, null, 10)))
+                .containsExactlyInAnyOrder(kept.getFileName().toString(), "added_20240101_100000000.webm");
+    }
+
+    @Test
+    void debouncesModificationsOfFilesBeingWritten() throws Exception {
+        catalog = new RecordingCatalog(new RecordingStorage(dir.toString(), RecordingLayout.FLAT), true, 500,
+                Duration.ZERO, Duration.ofMillis(500));
+        catalog.init();
+
+        Path file = Files.write(dir.resolve("writing_20240101_100000000.webm"), new byte[10]);
+        awaitSize(1);
+        awaitFileSize(file, 10);
+
+        // 쓰는 동안에는 수정 이벤트를 반영하지 않고, 쓰기가 멈춘 뒤 마지막 크기로 한 번 반영합니다.
+        for (int i = 1; i <= 10; i++) {
+            Files.write(file, new byte[10], StandardOpenOption.APPEND);
+            Thread.sleep(50);
+            assertThat(entry(file).getSize()).isEqualTo(10);
+        }
+        awaitFileSize(file, 110);
+    }
+
+    @Test
+    void deletedDirectoryRemovesAllRecordingsUnderIt() throws Exception {
+        Path root = Files.createDirectories(dir.resolve("recordings"));
+        catalog = new RecordingCatalog(new RecordingStorage(root.toString(), RecordingLayout.DATE_HASH), true, 500);
+        catalog.init();
+
+        Path day = Files.createDirectories(root.resolve("2024/01/01/ab"));
+        Files.write(day.resolve("a_20240101_100000000.webm"), new byte[1]);
+        Files.write(day.resolve("b_20240101_100000000.webm"), new byte[1]);
+        Files.write(root.resolve("c_20240101_100000000.webm"), new byte[1]);
+        awaitSize(3);
+
+        // 디렉토리를 통째로 옮기면 파일별 삭제 이벤트 없이 디렉토리 삭제 이벤트만 생깁니다.
+        Files.move(root.resolve("2024"), dir.resolve("archived"));
+        awaitSize(1);
+        assertThat(names(catalog.find(null, null, null, null, null, 10))).containsExactly("c_20240101_100000000.webm");
+    }
+
+    private RecordingFile entry(Path file) {
+        String fileName = file.getFileName().toString();
+        return catalog.find(null, fileName, null, null, null, 1).getItems().get(0);
+    }
+
+    private void awaitFileSize(Path file, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (entry(file).getSize() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(entry(file).getSize()).isEqualTo(expected);
+    }
+
+    private void awaitSize(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (catalog.size() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(catalog.size()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,122 @@
+package com.kr.audio_server.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.UrlResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 다운로드 전송 경로 벤치마크
+ * 기존 경로(UrlResource → StreamUtils.copy, ResourceHttpMessageConverter 와 동일한 힙 버퍼 복사)와
+ * FileChannel.transferTo(소켓 채널 대상이면 sendfile)를 루프백 소켓에서 비교합니다.
+ * 일반 테스트에서는 제외되며 {@code gradle :audio_server:benchmark}로 실행합니다.
+ */
+@Tag("benchmark")
+class RecordingDownloadBenchmark {
+
+    private static final long FILE_SIZE = 128L * 1024 * 1024;
+    private static final long RANGE_SIZE = 1024 * 1024;
+    private static final int ITERATIONS = 5;
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private ServerSocketChannel server;
+    private final ExecutorService drainer = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = dir.resolve("bench.webm");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            ByteBuffer block = ByteBuffer.allocateDirect(1024 * 1024);
+            for (int i = 0; i < block.capacity(); i++) {
+                block.put((byte) i);
+            }
+            for (long written = 0; written < FILE_SIZE; written += block.capacity()) {
+                block.flip();
+                while (block.hasRemaining()) {
+                    channel.write(block);
+                }
+            }
+        }
+        server = ServerSocketChannel.open().bind(new InetSocketAddress("127.0.0.1", 0));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+        drainer.shutdownNow();
+    }
+
+    @Test
+    void compareTransferPaths() throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            boolean report = i == ITERATIONS - 1;
+            measure("legacy stream copy (full)", FILE_SIZE, report, socket -> {
+                try (InputStream in = new UrlResource(file.toUri()).getInputStream()) {
+                    OutputStream out = Channels.newOutputStream(socket);
+                    StreamUtils.copy(in, out);
+                }
+            });
+            measure("transferTo (full)", FILE_SIZE, report,
+                    socket -> RecordingDownloadService.transfer(file, 0, FILE_SIZE, socket));
+            measure("transferTo (1MB tail range)", RANGE_SIZE, report,
+                    socket -> RecordingDownloadService.transfer(file, FILE_SIZE - RANGE_SIZE, RANGE_SIZE, socket));
+        }
+    }
+
+    private void measure(String name, long expected, boolean report, Sender sender) throws Exception {
+        try (SocketChannel client = SocketChannel.open(server.getLocalAddress());
+             SocketChannel accepted = server.accept()) {
+            Future<Long> received = drainer.submit(() -> drain(client));
+
+            long start = System.nanoTime();
+            sender.send(accepted);
+            accepted.shutdownOutput();
+            long bytes = received.get();
+            long elapsed = System.nanoTime() - start;
+
+            assertThat(bytes).isEqualTo(expected);
+            if (report) {
+                System.out.printf("[BENCH] %-30s %8.1f ms %10.1f MB/s%n", name, elapsed / 1e6,
+                        (bytes / 1024.0 / 1024.0) / (elapsed / 1e9));
+            }
+        }
+    }
+
+    private static long drain(SocketChannel channel) throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+        long total = 0;
+        int n;
+        while ((n = channel.read(buffer)) >= 0) {
+            total += n;
+            buffer.clear();
+        }
+        return total;
+    }
+
+    @FunctionalInterface
+    private interface Sender {
+        void send(SocketChannel socket) throws Exception;
+    }
+}
@@ -0,0 +1,139 @@
+package com.kr.audio_server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecordingDownloadServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final RecordingDownloadService service = new RecordingDownloadService();
+    private Path file;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        content = new byte[100_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        file = Files.write(dir.resolve("meta_20240101_000000000.webm"), content);
+    }
+
+    private static MockHttpServletRequest get() {
+        return new MockHttpServletRequest("GET", "/api/download/file");
+    }
+
+    @Test
+    void fullDownloadAdvertisesRangesAndValidators() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.send(file, get(), response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotBlank();
+        assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNotBlank();
+        assertThat(response.getContentType()).isEqualTo("audio/webm");
+    }
+
+    @Test
+    void singleRangeReturnsPartialContent() throws Exception {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=1000-1999");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.send(file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 1000-1999/100000");
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 1000, 2000));
+
+        request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=-500");
+        response = new MockHttpServletResponse();
+        service.send(file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 99_500, 100_000));
+    }
+
+    @Test
+    void unsatisfiableRangeReturns416() throws Exception {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=200000-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.send(file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */100000");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void malformedRangeIsIgnored() throws Exception {
+        for (String range : new String[]{"bytes=abc", "bytes=500-100", "items=0-9", "bytes"}) {
+            MockHttpServletRequest request = get();
+            request.addHeader(HttpHeaders.RANGE, range);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            service.send(file, request, response);
+
+            assertThat(response.getStatus()).as(range).isEqualTo(200);
+            assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).as(range).isNull();
+            assertThat(response.getContentAsByteArray()).as(range).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void conditionalGetReturnsNotModified() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        service.send(file, get(), first);
+
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.send(file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void staleIfRangeFallsBackToFullContent() throws Exception {
+        MockHttpServletRequest request = get();
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-9");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.send(file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).hasSize(content.length);
+    }
+
+    @Test
+    void sendfileCapableContainerGetsFileRegionInsteadOfBody() throws Exception {
+        MockHttpServletRequest request = get();
+        request.setAttribute(RecordingDownloadService.SENDFILE_SUPPORTED_ATTR, Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-19");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        service.send(file, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute(RecordingDownloadService.SENDFILE_FILENAME_ATTR))
+                .isEqualTo(file.toFile().getCanonicalPath());
+        assertThat(request.getAttribute(RecordingDownloadService.SENDFILE_START_ATTR)).isEqualTo(10L);
+        assertThat(request.getAttribute(RecordingDownloadService.SENDFILE_END_ATTR)).isEqualTo(20L);
+    }
+}
@@ -0,0 +1,83 @@
+package com.kr.audio_server.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecordingStorageTest {
+
+    private static final String FILE_NAME = "meta-1_20240315_093000123.webm";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void layoutsDeriveDirectoriesFromFileName() {
+        assertThat(RecordingLayout.FLAT.directoryOf(FILE_NAME)).isEqualTo(Path.of(""));
+        assertThat(RecordingLayout.DATE.directoryOf(FILE_NAME)).isEqualTo(Path.of("2024", "03", "15"));
+        assertThat(RecordingLayout.HASH.directoryOf(FILE_NAME).getNameCount()).isEqualTo(2);
+        assertThat(RecordingLayout.DATE_HASH.directoryOf(FILE_NAME).toString())
+                .matches("2024[/\\\\]03[/\\\\]15[/\\\\][0-9a-f]{2}");
+        // 같은 메타 ID 는 같은 해시 디렉토리
+        assertThat(RecordingLayout.HASH.directoryOf("meta-1_20200101_000000000.webm"))
+                .isEqualTo(RecordingLayout.HASH.directoryOf(FILE_NAME));
+        // 형식이 다른 이름은 최상위
+        assertThat(RecordingLayout.DATE_HASH.directoryOf("notes.txt")).isEqualTo(Path.of(""));
+    }
+
+    @Test
+    void createAndFindUseTheSameLayoutWithFlatFallback() throws IOException {
+        RecordingStorage storage = new RecordingStorage(dir.toString(), RecordingLayout.DATE_HASH);
+
+        Path created = storage.create(FILE_NAME);
+        Files.write(created, new byte[]{1});
+        assertThat(created.getParent()).isNotEqualTo(dir.toAbsolutePath());
+        assertThat(storage.find(FILE_NAME)).isEqualTo(created);
+
+        // 아직 옮기지 않은 기존 평면 파일도 찾습니다.
+        Files.write(dir.resolve("legacy_20230101_000000000.webm"), new byte[]{1});
+        assertThat(storage.find("legacy_20230101_000000000.webm")).isNotNull();
+
+        assertThat(storage.find("missing_20230101_000000000.webm")).isNull();
+        assertThat(storage.find("../outside.webm")).isNull();
+        assertThatThrownBy(() -> storage.create("../x_20240101_000000000.webm")).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void migratorMovesFlatDirectoryIntoLayout() throws IOException {
+        for (int i = 0; i < 50; i++) {
+            Files.write(dir.resolve(String.format("meta%d_202401%02d_120000000.webm", i, i % 28 + 1)), new byte[]{(byte) i});
+        }
+        Files.write(dir.resolve("readme.txt"), new byte[]{1});
+
+        assertThat(new RecordingLayoutMigrator(dir, RecordingLayout.DATE_HASH).migrate(true)).isEqualTo(50);
+        assertThat(countFiles(dir, 1)).isEqualTo(51);
+
+        assertThat(new RecordingLayoutMigrator(dir, RecordingLayout.DATE_HASH).migrate(false)).isEqualTo(50);
+        RecordingStorage storage = new RecordingStorage(dir.toString(), RecordingLayout.DATE_HASH);
+        for (int i = 0; i < 50; i++) {
+            String name = String.format("meta%d_202401%02d_120000000.webm", i, i % 28 + 1);
+            assertThat(storage.pathOf(name)).exists();
+        }
+        assertThat(countFiles(dir, 1)).isEqualTo(1);
+
+        // 다시 평면으로 되돌리면 빈 하위 디렉토리도 정리됩니다.
+        assertThat(new RecordingLayoutMigrator(dir, RecordingLayout.FLAT).migrate(false)).isEqualTo(50);
+        try (Stream<Path> entries = Files.list(dir)) {
+            assertThat(entries.allMatch(Files::isRegularFile)).isTrue();
+        }
+    }
+
+    private static long countFiles(Path dir, int depth) throws IOException {
+        try (Stream<Path> walk = Files.walk(dir, depth)) {
+            return walk.filter(Files::isRegularFile).count();
+        }
+    }
+}
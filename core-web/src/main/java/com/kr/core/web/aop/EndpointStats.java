@@ -0,0 +1,99 @@
+package com.kr.core.web.aop;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트(조인 포인트)별 호출 통계
+ * 호출 수, 오류 수, 누적/최대 실행 시간과 실행 시간 히스토그램을 락 없이 기록합니다.
+ * 히스토그램 구간은 1µs 부터 2배씩 커지는 고정 구간이며, 백분위는 구간 상한값으로 추정합니다.
+ */
+public final class EndpointStats {
+
+    private static final int BUCKETS = 28; // 1µs ~ 2^27µs(약 134초), 마지막 구간은 그 이상
+
+    private final String name;
+    private final boolean excluded;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    /**
+     * 구간 통계 (마지막 스냅샷 이후)
+     */
+    public record Snapshot(String name, long count, long errors, double avgMillis, double p50Millis, double p99Millis, double maxMillis) {
+    }
+
+    EndpointStats(String name, boolean excluded) {
+        this.name = name;
+        this.excluded = excluded;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isExcluded() {
+        return excluded;
+    }
+
+    void record(long nanos, boolean failed) {
+        count.increment();
+        if (failed) {
+            errors.increment();
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        histogram.incrementAndGet(bucket(nanos));
+    }
+
+    static int bucket(long nanos) {
+        long micros = nanos / 1_000;
+        if (micros <= 1) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros - 1));
+    }
+
+    /**
+     * 누적 값을 읽고 0으로 되돌립니다.
+     * 기록과 동시에 호출되면 일부 호출이 다음 구간으로 넘어갈 수 있습니다.
+     */
+    public Snapshot snapshotAndReset() {
+        long calls = count.sumThenReset();
+        long failed = errors.sumThenReset();
+        long total = totalNanos.sumThenReset();
+        long max = maxNanos.getThenReset();
+        long[] buckets = new long[BUCKETS];
+        long bucketTotal = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = histogram.getAndSet(i, 0);
+            bucketTotal += buckets[i];
+        }
+
+        return new Snapshot(name, calls, failed,
+                calls == 0 ? 0 : total / 1e6 / calls,
+                percentile(buckets, bucketTotal, 0.50),
+                percentile(buckets, bucketTotal, 0.99),
+                max / 1e6);
+    }
+
+    private static double percentile(long[] buckets, long total, double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return (1L << i) / 1_000d;
+            }
+        }
+        return (1L << (buckets.length - 1)) / 1_000d;
+    }
+}
@@ -1,27 +1,83 @@
 package com.kr.core.web.aop;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 웹 로깅 관점(Aspect)
  * 컨트롤러와 핸들러 계층의 메서드 실행 시작과 종료 시점에 로그를 남깁니다.
+ *
+ * web.logging.mode 로 동작을 선택합니다.
+ * - full: 모든 호출의 시작/종료를 기록 (기존 방식)
+ * - sampled: 호출마다 엔드포인트별 통계(호출 수, 오류 수, 실행 시간 히스토그램)만 기록하고,
+ *   sample-rate 건 중 1건, slow-threshold 를 넘긴 호출, 예외가 발생한 호출만 로그로 남깁니다.
+ *   엔드포인트별 요약은 summary-interval 마다 한 줄씩 남깁니다.
+ * 클래스/메서드 이름은 조인 포인트마다 처음 한 번만 계산합니다.
+ * Mono / Flux 를 반환하는 메서드는 반환 시점이 아니라 구독한 publisher 가 끝날 때(doFinally) 시간을 기록합니다.
  */
 @Slf4j
 @Aspect
 @Component
-@RequiredArgsConstructor
 public class WebLoggingAspect {
 
+    public enum Mode {
+        FULL, SAMPLED
+    }
+
     // 아래 추가된 특정 클래스 명과 메소드명은 로그를 남기지 않고 SKIP 합니다.
-    private final Set<String> excludeControllerNames = Set.of("healthCheck");
-    private final Set<String> excludeHandlerNames = Set.of();
+    private final Set<String> excludeControllerNames;
+    private final Set<String> excludeHandlerNames;
+
+    private final Mode mode;
+    private final int sampleRate;
+    private final long slowThresholdNanos;
+    private final Map<JoinPoint.StaticPart, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService summaryScheduler;
+
+    public WebLoggingAspect(@Value("${web.logging.mode:sampled}") Mode mode,
+                            @Value("${web.logging.sample-rate:100}") int sampleRate,
+                            @Value("${web.logging.slow-threshold:500ms}") Duration slowThreshold,
+                            @Value("${web.logging.summary-interval:1m}") Duration summaryInterval,
+                            @Value("${web.logging.exclude-controllers:healthCheck}") List<String> excludeControllerNames,
+                            @Value("${web.logging.exclude-handlers:}") List<String> excludeHandlerNames) {
+        this.mode = mode;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.excludeControllerNames = Set.copyOf(excludeControllerNames);
+        this.excludeHandlerNames = Set.copyOf(excludeHandlerNames);
+
+        if (mode == Mode.SAMPLED && !summaryInterval.isZero()) {
+            summaryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "web-logging-summary");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = summaryInterval.toMillis();
+            summaryScheduler.scheduleAtFixedRate(this::logSummary, millis, millis, TimeUnit.MILLISECONDS);
+        } else {
+            summaryScheduler = null;
+        }
+    }
 
     /**
      * 모든 컨트롤러 시작과 종료 부분에 로그를 남깁니다.
@@ -33,17 +89,9 @@ public class WebLoggingAspect {
      */
     @Around("execution(* com.kr..controller.*.*(..))")
     public Object controllerLogging(ProceedingJoinPoint joinPoint) throws Throwable {
-        String className = joinPoint.getTarget().getClass().getCanonicalName();
-        String methodName = joinPoint.getSignature().getName();
-
-        if (excludeControllerNames.contains(methodName) || excludeControllerNames.contains(className)) {
-            return joinPoint.proceed();
-        }
-
-        log.info("--- controller 컨트롤러 요청이 시작 되었습니다. START : {}.{}", className, methodName);
-        Object obj = joinPoint.proceed();
-        log.info("--- controller 컨트롤러 요청이 종료 되었습니다. END : {}.{}", className, methodName);
-        return obj;
+        EndpointStats endpoint = stats.computeIfAbsent(joinPoint.getStaticPart(),
+                key -> newStats(joinPoint, excludeControllerNames));
+        return proceed(joinPoint, endpoint, "controller 컨트롤러 요청이");
     }
 
     /**
@@ -56,16 +104,95 @@ public class WebLoggingAspect {
      */
     @Around("execution(* com.kr..handler.*.*(..))")
     public Object handlerLogging(ProceedingJoinPoint joinPoint) throws Throwable {
-        String className = joinPoint.getTarget().getClass().getCanonicalName();
-        String methodName = joinPoint.getSignature().getName();
+        EndpointStats endpoint = stats.computeIfAbsent(joinPoint.getStaticPart(),
+                key -> newStats(joinPoint, excludeHandlerNames));
+        return proceed(joinPoint, endpoint, "handler 핸들러가");
+    }
+
+    /**
+     * 지금까지 호출된 엔드포인트 통계
+     */
+    public Collection<EndpointStats> getStats() {
+        return stats.values();
+    }
 
-        if (excludeHandlerNames.contains(methodName) || excludeHandlerNames.contains(className)) {
+    private Object proceed(ProceedingJoinPoint joinPoint, EndpointStats endpoint, String label) throws Throwable {
+        if (endpoint.isExcluded()) {
             return joinPoint.proceed();
         }
 
-        log.info("--- handler 핸들러가 시작 되었습니다. START : {}.{}", className, methodName);
-        Object obj = joinPoint.proceed();
-        log.info("--- handler 핸들러가 종료 되었습니다. END : {}.{}", className, methodName);
+        if (mode == Mode.FULL) {
+            log.info("--- {} 시작 되었습니다. START : {}", label, endpoint.getName());
+        }
+
+        long start = System.nanoTime();
+        Object obj;
+        try {
+            obj = joinPoint.proceed();
+        } catch (Throwable e) {
+            finish(endpoint, label, start, true);
+            throw e;
+        }
+
+        // 리액티브 반환값은 조립만 끝난 상태이므로, 구독부터 종료까지를 기록합니다.
+        if (obj instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                long subscribed = System.nanoTime();
+                return mono.doFinally(signal -> finish(endpoint, label, subscribed, signal == SignalType.ON_ERROR));
+            });
+        }
+        if (obj instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long subscribed = System.nanoTime();
+                return flux.doFinally(signal -> finish(endpoint, label, subscribed, signal == SignalType.ON_ERROR));
+            });
+        }
+        finish(endpoint, label, start, false);
         return obj;
     }
-}
\ No newline at end of file
+
+    private void finish(EndpointStats endpoint, String label, long start, boolean failed) {
+        if (mode == Mode.FULL) {
+            if (!failed) {
+                log.info("--- {} 종료 되었습니다. END : {}", label, endpoint.getName());
+            }
+            return;
+        }
+
+        long elapsed = System.nanoTime() - start;
+        endpoint.record(elapsed, failed);
+        if (failed) {
+            log.warn("--- {} 실패 했습니다. {} ({} ms)", label, endpoint.getName(), elapsed / 1_000_000);
+        } else if (elapsed >= slowThresholdNanos) {
+            log.warn("--- {} 느리게 종료 되었습니다. SLOW : {} ({} ms)", label, endpoint.getName(), elapsed / 1_000_000);
+        } else if (log.isInfoEnabled() && ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+            log.info("--- {} 종료 되었습니다. SAMPLE : {} ({} µs)", label, endpoint.getName(), elapsed / 1_000);
+        }
+    }
+
+    private static EndpointStats newStats(ProceedingJoinPoint joinPoint, Set<String> excludeNames) {
+        String className = joinPoint.getTarget().getClass().getCanonicalName();
+        String methodName = joinPoint.getSignature().getName();
+        boolean excluded = excludeNames.contains(methodName) || excludeNames.contains(className);
+        return new EndpointStats(className + "." + methodName, excluded);
+    }
+
+    void logSummary() {
+        for (EndpointStats endpoint : stats.values()) {
+            EndpointStats.Snapshot snapshot = endpoint.snapshotAndReset();
+            if (snapshot.count() > 0) {
+                log.info("--- [SUMMARY] {} count={} errors={} avg={}ms p50<={}ms p99<={}ms max={}ms",
+                        snapshot.name(), snapshot.count(), snapshot.errors(),
+                        String.format("%.3f", snapshot.avgMillis()), snapshot.p50Millis(), snapshot.p99Millis(),
+                        String.format("%.3f", snapshot.maxMillis()));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (summaryScheduler != null) {
+            summaryScheduler.shutdownNow();
+        }
+    }
+}
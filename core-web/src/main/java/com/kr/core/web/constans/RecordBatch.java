@@ -0,0 +1,25 @@
+package com.kr.core.web.constans;
+
+/**
+ * 녹음 명령 배치 형식 (/record/batch)
+ * API Gateway가 여러 세션의 청크 저장/녹음 종료 명령을 한 요청에 모아 Audio Server로 보낼 때 사용합니다.
+ *
+ * 요청 본문은 아래 프레임의 반복입니다. (big-endian)
+ * <pre>
+ * +---------------+--------------------+------------+-------------------+---------------+--------------+
+ * | 명령 (1 byte) | 세션 ID 길이 (2)   | 세션 ID    | sequence (8 byte) | 길이 (4 byte) | 오디오 바이트 |
+ * +---------------+--------------------+------------+-------------------+---------------+--------------+
+ * </pre>
+ * 종료 명령은 sequence -1, 길이 0 으로 보냅니다.
+ */
+public final class RecordBatch {
+
+    public static final byte CHUNK = 1;
+    public static final byte END = 2;
+
+    // 세션 ID를 제외한 프레임 헤더 크기
+    public static final int HEADER_SIZE = 1 + 2 + 8 + 4;
+
+    private RecordBatch() {
+    }
+}
@@ -0,0 +1,20 @@
+package com.kr.core.web.constans;
+
+/**
+ * 녹음 관련 HTTP 헤더 상수
+ * API Gateway와 Audio Server 사이에서 바이너리 청크를 전달할 때 사용하는 헤더 이름입니다.
+ */
+public final class RecordHeaders {
+
+    public static final String SESSION_ID = "X-Session-Id";
+    public static final String META_ID = "X-Meta-Id";
+    public static final String CHUNK_SEQUENCE = "X-Chunk-Sequence";
+
+    // 녹음 요청을 같은 audio-server 인스턴스로 보내기 위한 라우팅 키 (녹음 시작 시 정한 metaId)
+    public static final String RECORD_KEY = "X-Record-Key";
+    // 라우팅 키를 담당하는 인스턴스부터 해시 링을 따라 몇 번째 인스턴스로 보낼지 (없으면 0, 담당 인스턴스가 드레인 중일 때 사용)
+    public static final String RECORD_REPLICA = "X-Record-Replica";
+
+    private RecordHeaders() {
+    }
+}
@@ -0,0 +1,45 @@
+package com.kr.core.web.constans;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * 녹음 파일 목록(/api/files) 커서 형식
+ * 커서는 페이지 마지막 항목의 정렬 키를 Base64(URL) 로 인코딩한 값이므로, 어느 audio-server 인스턴스에서 만들었는지와 상관없이
+ * 모든 인스턴스에 같은 의미를 가집니다. API Gateway는 인스턴스별 목록을 합친 뒤 같은 형식으로 다음 커서를 만듭니다.
+ *
+ * - 파일 이름 순 (metaId / prefix 조회): 파일 이름 오름차순, 키는 파일 이름
+ * - 녹음 시각 순 (그 외): {yyyyMMdd_HHmmssSSS}|{파일 이름} 내림차순
+ */
+public final class RecordingCursor {
+
+    public static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmssSSS");
+    public static final char KEY_SEPARATOR = '|';
+
+    private RecordingCursor() {
+    }
+
+    /**
+     * 녹음 시각 순 정렬 키
+     */
+    public static String timeKey(LocalDateTime recordedAt, String fileName) {
+        return TIMESTAMP_FORMAT.format(recordedAt) + KEY_SEPARATOR + fileName;
+    }
+
+    public static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 정렬 키 (커서가 없으면 null)
+     * @throws IllegalArgumentException 커서 형식이 잘못된 경우
+     */
+    public static String decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}
@@ -2,19 +2,59 @@ package com.kr.core.web.security.filter;
 
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * XSS 공격 방지 필터
  * HTTP 요청을 XSSRequestWrapper로 감싸서 XSS 공격을 방지합니다.
  * 특정 URL 패턴은 필터링에서 제외할 수 있습니다.
+ *
+ * 경로 규칙은 PathPattern(예: /api/files/**) 형식이며, 초기화 시 한 번 컴파일합니다.
+ * - excludePatterns: 필터링하지 않을 경로 (기본값: 바이너리/Base64 데이터를 받는 엔드포인트)
+ * - includePatterns: 지정하면 이 경로만 필터링 (비어 있으면 제외 경로를 뺀 전체)
+ * 생성자 또는 필터 init-param(쉼표 구분)으로 설정합니다.
  */
 public class XSSFilter implements Filter {
 
+    public static final String EXCLUDE_PATTERNS_PARAM = "excludePatterns";
+    public static final String INCLUDE_PATTERNS_PARAM = "includePatterns";
+
+    // 바이너리 데이터나 Base64 인코딩된 데이터는 XSS 필터링 제외
+    public static final List<String> DEFAULT_EXCLUDE_PATTERNS = List.of("/api/files/**", "/record/idle/**", "/record/chunk/**");
+
+    private List<PathPattern> excludePatterns;
+    private List<PathPattern> includePatterns;
+
+    public XSSFilter() {
+        this(DEFAULT_EXCLUDE_PATTERNS, List.of());
+    }
+
+    /**
+     * @param excludePatterns 필터링하지 않을 경로 패턴
+     * @param includePatterns 필터링할 경로 패턴 (비어 있으면 전체)
+     */
+    public XSSFilter(List<String> excludePatterns, List<String> includePatterns) {
+        this.excludePatterns = compile(excludePatterns);
+        this.includePatterns = compile(includePatterns);
+    }
+
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
-        // Initialize the filter
+        String exclude = filterConfig.getInitParameter(EXCLUDE_PATTERNS_PARAM);
+        if (exclude != null) {
+            excludePatterns = compile(split(exclude));
+        }
+        String include = filterConfig.getInitParameter(INCLUDE_PATTERNS_PARAM);
+        if (include != null) {
+            includePatterns = compile(split(include));
+        }
     }
 
     @Override
@@ -38,12 +78,28 @@ public class XSSFilter implements Filter {
      * @param request HTTP 요청
      * @return 제외 여부 (true: 필터링 제외, false: 필터링 적용)
      */
-    private boolean excludeUrl(HttpServletRequest request) {
-        String uri = request.getRequestURI().toString().trim();
-        // 구체적인 예외 URL 패턴 추가
-        if (uri.startsWith("/api/files") || uri.startsWith("/record/idle")) {
-            return true; // 바이너리 데이터나 Base64 인코딩된 데이터는 XSS 필터링 제외
+    boolean excludeUrl(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().trim());
+        if (!includePatterns.isEmpty() && !matches(includePatterns, path)) {
+            return true;
+        }
+        return matches(excludePatterns, path);
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
         }
         return false;
     }
-}
\ No newline at end of file
+
+    private static List<PathPattern> compile(List<String> patterns) {
+        return patterns.stream().map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    private static List<String> split(String patterns) {
+        return Arrays.stream(StringUtils.tokenizeToStringArray(patterns, ",")).toList();
+    }
+}
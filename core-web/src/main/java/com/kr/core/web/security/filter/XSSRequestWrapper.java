@@ -3,37 +3,27 @@ package com.kr.core.web.security.filter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
-import java.util.regex.Pattern;
 
 /**
  * XSS 공격 방지를 위한 HTTP 요청 래퍼
  * 요청 파라미터, 헤더 등에서 잠재적인 XSS 공격 패턴을 제거합니다.
+ * 값은 처음 조회할 때 한 번만 정리하고, 같은 요청 안에서는 정리된 값을 재사용합니다.
+ * (데이터 바인딩 과정에서 같은 파라미터/헤더를 여러 번 조회하므로)
  */
 public class XSSRequestWrapper extends HttpServletRequestWrapper {
 
-    private static final Pattern[] PATTERNS = new Pattern[]{
-            // Script 태그 제거
-            Pattern.compile("<script>(.*?)</script>", Pattern.CASE_INSENSITIVE),
-            Pattern.compile("<script(.*?)>", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
-            // src 속성 값에 대한 검사
-            Pattern.compile("src[\r\n]*=[\r\n]*\\\'(.*?)\\\'", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
-            Pattern.compile("src[\r\n]*=[\r\n]*\\\"(.*?)\\\"", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
-            // 악성 코드 패턴 제거
-            Pattern.compile("eval\\((.*?)\\)", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
-            Pattern.compile("expression\\((.*?)\\)", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
-            Pattern.compile("javascript:", Pattern.CASE_INSENSITIVE),
-            Pattern.compile("vbscript:", Pattern.CASE_INSENSITIVE),
-            // 이벤트 핸들러 제거
-            Pattern.compile("onload(.*?)=", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
-            Pattern.compile("onclick(.*?)=", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
-            Pattern.compile("onmouseover(.*?)=", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
-            Pattern.compile("onmouseout(.*?)=", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
-            Pattern.compile("onmousedown(.*?)=", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL)
-    };
+    private static final String[] NO_VALUES = new String[0];
+
+    // 파라미터 이름 → 정리된 값 (파라미터가 없으면 NO_VALUES)
+    private final Map<String, String[]> parameterCache = new HashMap<>();
+    // 소문자 헤더 이름 → 정리된 값 (헤더가 없으면 null 저장)
+    private final Map<String, String> headerCache = new HashMap<>();
+    private Map<String, String[]> parameterMap;
 
     /**
      * 생성자
@@ -45,113 +35,69 @@ public class XSSRequestWrapper extends HttpServletRequestWrapper {
 
     @Override
     public String[] getParameterValues(String parameter) {
-        String[] values = super.getParameterValues(parameter);
-        if (values == null) {
-            return null;
-        }
-        int count = values.length;
-        String[] encodedValues = new String[count];
-        for (int i = 0; i < count; i++) {
-            encodedValues[i] = stripXSS(values[i]);
-        }
-        return encodedValues;
+        String[] values = sanitizedValues(parameter);
+        return values == NO_VALUES ? null : values.clone();
     }
 
     @Override
     public String getParameter(String parameter) {
-        String value = super.getParameter(parameter);
-        return stripXSS(value);
+        String[] values = sanitizedValues(parameter);
+        return values.length > 0 ? values[0] : null;
     }
 
     @Override
     public String getHeader(String name) {
-        String value = super.getHeader(name);
-        return stripXSS(value);
+        if (name == null) {
+            return stripXSS(super.getHeader(null));
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        if (headerCache.containsKey(key)) {
+            return headerCache.get(key);
+        }
+        String value = stripXSS(super.getHeader(name));
+        headerCache.put(key, value);
+        return value;
     }
 
     @Override
     public Map<String, String[]> getParameterMap() {
-        Map<String, String[]> parameterMap = super.getParameterMap();
-        Map<String, String[]> cleanMap = new HashMap<>();
-        Set<String> keySet = parameterMap.keySet();
-        Iterator<String> iterator = keySet.iterator();
-
-        while (iterator.hasNext()) {
-            String key = iterator.next();
-            String[] paramValues = parameterMap.get(key);
-            if (paramValues == null) {
-                cleanMap.put(key, null);
-            } else {
-                int count = paramValues.length;
-                String[] encodedValues = new String[count];
-                for (int i = 0; i < count; i++) {
-                    encodedValues[i] = stripXSS(paramValues[i]);
-                }
-                cleanMap.put(key, encodedValues);
+        if (parameterMap == null) {
+            Map<String, String[]> cleanMap = new LinkedHashMap<>();
+            for (Map.Entry<String, String[]> entry : super.getParameterMap().entrySet()) {
+                String key = entry.getKey();
+                cleanMap.put(key, entry.getValue() == null ? null : sanitizedValues(key));
             }
+            parameterMap = Collections.unmodifiableMap(cleanMap);
         }
-        return cleanMap;
+        return parameterMap;
     }
 
-    /**
-     * XSS 공격 패턴을 제거하는 메서드
-     * @param value 검사할 문자열
-     * @return XSS 패턴이 제거된 문자열
-     */
-    private String stripXSS(String value) {
-        if (value != null) {
-            // 특수 문자 인코딩
-            value = value.replaceAll("[<>]", "&#?;");
-            value = value.replaceAll("\"", "&quot;");
+    private String[] sanitizedValues(String parameter) {
+        String[] cached = parameterCache.get(parameter);
+        if (cached != null) {
+            return cached;
+        }
 
-            // XSS 패턴 제거
-            for (Pattern pattern : PATTERNS) {
-                value = pattern.matcher(value).replaceAll("");
+        String[] values = super.getParameterValues(parameter);
+        if (values == null) {
+            cached = NO_VALUES;
+        } else {
+            cached = new String[values.length];
+            for (int i = 0; i < values.length; i++) {
+                cached[i] = stripXSS(values[i]);
             }
-
-            // 이벤트 핸들러 제거
-            value = removeEventHandlers(value);
-
-            // 악성 태그 및 키워드 제거
-            value = removeMaliciousTags(value);
         }
-        return value;
+        parameterCache.put(parameter, cached);
+        return cached;
     }
 
     /**
-     * 이벤트 핸들러를 제거하는 메서드
-     * @param value 검사할 문자열
-     * @return 이벤트 핸들러가 제거된 문자열
-     */
-    private String removeEventHandlers(String value) {
-        // onclick, onmouseover 등의 이벤트 핸들러 제거
-        return value.replaceAll("<a\\s+onclick\\s*=\\s*(\"|').*?\\1.*?>", "<a>");
-    }
-
-    /**
-     * 악성 태그 및 키워드를 제거하는 메서드
+     * XSS 공격 패턴을 제거하는 메서드
      * @param value 검사할 문자열
-     * @return 악성 태그 및 키워드가 제거된 문자열
+     * @return XSS 패턴이 제거된 문자열
+     * @see XSSSanitizer
      */
-    private String removeMaliciousTags(String value) {
-        // 악성 태그 및 키워드 제거
-        value = value.replaceAll("document", "x-document");
-        value = value.replaceAll("applet", "x-applet");
-        value = value.replaceAll("object", "x-object");
-        value = value.replaceAll("frame", "x-frame");
-        value = value.replaceAll("frameset", "x-frameset");
-        value = value.replaceAll("layer", "x-layer");
-        value = value.replaceAll("bgsound", "x-bgsound");
-        value = value.replaceAll("alert", "x-alert");
-        value = value.replaceAll("onblur", "x-onblur");
-        value = value.replaceAll("onchange", "x-onchange");
-        value = value.replaceAll("ondblclick", "x-ondblclick");
-        value = value.replaceAll("enerror", "x-enerror");
-        value = value.replaceAll("onfocus", "x-onfocus");
-        value = value.replaceAll("onmouse", "x-onmouse");
-        value = value.replaceAll("onscroll", "x-onscroll");
-        value = value.replaceAll("onsubmit", "x-onsubmit");
-        value = value.replaceAll("onunload", "x-onunload");
-        return value;
+    private String stripXSS(String value) {
+        return XSSSanitizer.sanitize(value);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,181 @@
+package com.kr.core.web.security.filter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.regex.Pattern;
+
+/**
+ * XSS 패턴 제거기
+ * 요청 값 하나를 한 번 훑으면서 특수 문자(&lt;, &gt;, ")를 치환하고, 동시에 제거 대상 키워드가 있는지
+ * Aho-Corasick 오토마톤으로 검사합니다.
+ *
+ * - 키워드가 없으면(대부분의 요청 값) 치환 결과를 바로 반환합니다. 치환할 문자도 없으면 새 문자열을 만들지 않습니다.
+ * - 키워드가 있으면 기존 규칙(정규식 제거 → 키워드 치환)을 순서대로 적용합니다.
+ *   규칙은 앞 단계 결과에 이어서 적용되므로(예: frame → x-frame 뒤 frameset → x-x-frameset) 결과를 그대로 유지하기 위해 순서를 바꾸지 않습니다.
+ *
+ * 특수 문자 치환 후에는 &lt;, &gt;, " 가 남지 않으므로, 이 문자가 필요한 기존 패턴(script 태그, src="..", &lt;a onclick)은 검사하지 않습니다.
+ */
+public final class XSSSanitizer {
+
+    private static final String ANGLE_BRACKET_REPLACEMENT = "&#?;";
+    private static final String QUOTE_REPLACEMENT = "&quot;";
+
+    // 특수 문자 치환 후에도 일치할 수 있는 제거 패턴 (적용 순서 유지)
+    private static final Pattern[] PATTERNS = new Pattern[]{
+            // src 속성 값에 대한 검사
+            Pattern.compile("src[\r\n]*=[\r\n]*\\'(.*?)\\'", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            // 악성 코드 패턴 제거
+            Pattern.compile("eval\\((.*?)\\)", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            Pattern.compile("expression\\((.*?)\\)", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            Pattern.compile("javascript:", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("vbscript:", Pattern.CASE_INSENSITIVE),
+            // 이벤트 핸들러 제거
+            Pattern.compile("onload(.*?)=", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            Pattern.compile("onclick(.*?)=", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            Pattern.compile("onmouseover(.*?)=", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            Pattern.compile("onmouseout(.*?)=", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            Pattern.compile("onmousedown(.*?)=", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL)
+    };
+
+    // 악성 태그 및 키워드 (대소문자 구분, 적용 순서 유지)
+    private static final String[] TAG_KEYWORDS = {
+            "document", "applet", "object", "frame", "frameset", "layer", "bgsound", "alert",
+            "onblur", "onchange", "ondblclick", "enerror", "onfocus", "onmouse", "onscroll", "onsubmit", "onunload"
+    };
+
+    // 위 규칙 중 하나라도 적용될 수 있는지 판단하는 키워드 (ASCII 대소문자 무시)
+    private static final String[] TRIGGERS = {
+            "src", "eval(", "expression(", "javascript:", "vbscript:", "onload", "onclick", "onmouse",
+            "document", "applet", "object", "frame", "layer", "bgsound", "alert",
+            "onblur", "onchange", "ondblclick", "enerror", "onfocus", "onscroll", "onsubmit", "onunload"
+    };
+
+    private static final int ALPHABET = 128;
+    private static final int[][] TRANSITIONS;
+    private static final boolean[] ACCEPT;
+
+    static {
+        List<int[]> transitions = new ArrayList<>();
+        List<Boolean> accept = new ArrayList<>();
+        transitions.add(newState());
+        accept.add(false);
+
+        for (String trigger : TRIGGERS) {
+            int state = 0;
+            for (char c : trigger.toCharArray()) {
+                int next = transitions.get(state)[c];
+                if (next <= 0) {
+                    next = transitions.size();
+                    transitions.add(newState());
+                    accept.add(false);
+                    transitions.get(state)[c] = next;
+                }
+                state = next;
+            }
+            accept.set(state, true);
+        }
+
+        // 실패 링크를 따라 전이를 채워 문자당 한 번의 배열 조회로 동작하는 DFA 를 만듭니다.
+        int[] fail = new int[transitions.size()];
+        int[] root = transitions.get(0);
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            if (root[c] > 0) {
+                fail[root[c]] = 0;
+                queue.add(root[c]);
+            } else {
+                root[c] = 0;
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] row = transitions.get(state);
+            if (accept.get(fail[state])) {
+                accept.set(state, true);
+            }
+            for (int c = 0; c < ALPHABET; c++) {
+                if (row[c] > 0) {
+                    fail[row[c]] = transitions.get(fail[state])[c];
+                    queue.add(row[c]);
+                } else {
+                    row[c] = transitions.get(fail[state])[c];
+                }
+            }
+        }
+
+        TRANSITIONS = transitions.toArray(new int[0][]);
+        ACCEPT = new boolean[accept.size()];
+        for (int i = 0; i < ACCEPT.length; i++) {
+            ACCEPT[i] = accept.get(i);
+        }
+    }
+
+    private XSSSanitizer() {
+    }
+
+    private static int[] newState() {
+        int[] row = new int[ALPHABET];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    /**
+     * XSS 공격 패턴을 제거합니다.
+     *
+     * @param value 검사할 문자열
+     * @return XSS 패턴이 제거된 문자열 (null 이면 null)
+     */
+    public static String sanitize(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        int length = value.length();
+        StringBuilder escaped = null;
+        int state = 0;
+        boolean triggered = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '<' || c == '>' || c == '"') {
+                if (escaped == null) {
+                    escaped = new StringBuilder(length + 16).append(value, 0, i);
+                }
+                String replacement = c == '"' ? QUOTE_REPLACEMENT : ANGLE_BRACKET_REPLACEMENT;
+                escaped.append(replacement);
+                // 치환 문자열도 이어지는 키워드 검사에 포함합니다.
+                for (int j = 0; j < replacement.length(); j++) {
+                    state = TRANSITIONS[state][replacement.charAt(j)];
+                    triggered |= ACCEPT[state];
+                }
+                continue;
+            }
+
+            if (escaped != null) {
+                escaped.append(c);
+            }
+            if (c < ALPHABET) {
+                state = TRANSITIONS[state][c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c];
+                triggered |= ACCEPT[state];
+            } else {
+                state = 0;
+            }
+        }
+
+        String result = escaped == null ? value : escaped.toString();
+        return triggered ? applyRules(result) : result;
+    }
+
+    private static String applyRules(String value) {
+        for (Pattern pattern : PATTERNS) {
+            value = pattern.matcher(value).replaceAll("");
+        }
+        for (String keyword : TAG_KEYWORDS) {
+            value = value.replace(keyword, "x-" + keyword);
+        }
+        return value;
+    }
+}
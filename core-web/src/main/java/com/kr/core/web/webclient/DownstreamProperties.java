@@ -0,0 +1,66 @@
+package com.kr.core.web.webclient;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 다운스트림 서비스별 WebClient 설정 (services.&lt;이름&gt;.*)
+ *
+ * service-id 가 있고 로드밸런서(Eureka)가 구성되어 있으면 base-url 대신 서비스 인스턴스 목록에서 대상을 고릅니다.
+ * 로드밸런서가 없는 환경(테스트, 단독 실행)에서는 base-url 로 호출합니다.
+ */
+@Getter
+@Setter
+public class DownstreamProperties {
+
+    // 고정 호출 주소 (service-id 가 없거나 로드밸런서가 없을 때 사용)
+    private String baseUrl;
+
+    // Eureka 에 등록된 서비스 이름
+    private String serviceId;
+
+    // 커넥션 풀
+    private int maxConnections = 500;
+    private int pendingAcquireMaxCount = 1000;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+    private Duration evictionInterval = Duration.ofSeconds(30);
+
+    // 타임아웃
+    private Duration connectTimeout = Duration.ofSeconds(3);
+    private Duration responseTimeout = Duration.ofSeconds(30);
+
+    // h2c (평문 HTTP/2), 서버가 지원하지 않으면 HTTP/1.1 로 통신합니다.
+    private boolean http2 = false;
+
+    // TCP keep-alive
+    private boolean keepAlive = true;
+
+    // 응답 본문을 메모리에 모을 때의 최대 크기
+    private DataSize maxInMemorySize = DataSize.ofMegabytes(2);
+
+    /**
+     * 같은 설정의 복사본 (일부 값만 바꿔 별도 풀을 만들 때 사용)
+     */
+    public DownstreamProperties copy() {
+        DownstreamProperties copy = new DownstreamProperties();
+        copy.baseUrl = baseUrl;
+        copy.serviceId = serviceId;
+        copy.maxConnections = maxConnections;
+        copy.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        copy.pendingAcquireTimeout = pendingAcquireTimeout;
+        copy.maxIdleTime = maxIdleTime;
+        copy.maxLifeTime = maxLifeTime;
+        copy.evictionInterval = evictionInterval;
+        copy.connectTimeout = connectTimeout;
+        copy.responseTimeout = responseTimeout;
+        copy.http2 = http2;
+        copy.keepAlive = keepAlive;
+        copy.maxInMemorySize = maxInMemorySize;
+        return copy;
+    }
+}
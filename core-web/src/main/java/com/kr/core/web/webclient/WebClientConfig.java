@@ -1,22 +1,25 @@
 package com.kr.core.web.webclient;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
 public class WebClientConfig {
 
-    // 실행할 모듈에서 yml 설정이 필요함.
-    @Value("${services.audio-server.base-url}")
-    private String audioServerBaseUrl;
+    // 실행할 모듈에서 services.<이름>.* yml 설정이 필요함. (DownstreamProperties 참고)
+    @Bean
+    public WebClientFactory webClientFactory(Environment environment,
+                                             ObjectProvider<LoadBalancedExchangeFilterFunction> loadBalancer) {
+        return WebClientFactory.from(environment, loadBalancer.getIfUnique());
+    }
 
     @Bean
-    public WebClient audioServerWebClient() {
-        return WebClient.builder()
-                .baseUrl(audioServerBaseUrl)
-                .build();
+    public WebClient audioServerWebClient(WebClientFactory webClientFactory) {
+        return webClientFactory.create("audio-server");
     }
-    
-} 
\ No newline at end of file
+
+}
@@ -0,0 +1,125 @@
+package com.kr.core.web.webclient;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 다운스트림 서비스용 WebClient 팩토리
+ * services.&lt;이름&gt;.* 설정({@link DownstreamProperties})으로 서비스마다 커넥션 풀, 타임아웃, HTTP/2(h2c),
+ * 응답 크기 제한을 적용한 WebClient 를 만듭니다.
+ *
+ * service-id 가 설정되어 있고 로드밸런서 필터가 주어지면 http://&lt;service-id&gt; 로 호출하며,
+ * 요청마다 Eureka 의 서비스 인스턴스 중 하나로 보내집니다.
+ * 만든 커넥션 풀은 컨텍스트 종료 시 함께 정리합니다.
+ */
+@Slf4j
+public class WebClientFactory implements DisposableBean {
+
+    private final Map<String, DownstreamProperties> downstreams;
+    private final LoadBalancedExchangeFilterFunction loadBalancer;
+    private final List<ConnectionProvider> providers = new CopyOnWriteArrayList<>();
+
+    public WebClientFactory(Map<String, DownstreamProperties> downstreams,
+                            LoadBalancedExchangeFilterFunction loadBalancer) {
+        this.downstreams = Map.copyOf(downstreams);
+        this.loadBalancer = loadBalancer;
+    }
+
+    /**
+     * 환경 설정의 services.* 를 읽어 팩토리를 만듭니다.
+     *
+     * @param loadBalancer 로드밸런서 필터 (없으면 null, base-url 로만 호출)
+     */
+    public static WebClientFactory from(Environment environment, LoadBalancedExchangeFilterFunction loadBalancer) {
+        Map<String, DownstreamProperties> downstreams = Binder.get(environment)
+                .bind("services", Bindable.mapOf(String.class, DownstreamProperties.class))
+                .orElse(Map.of());
+        return new WebClientFactory(downstreams, loadBalancer);
+    }
+
+    /**
+     * 서비스 설정의 복사본을 반환합니다.
+     *
+     * @throws IllegalArgumentException services.&lt;name&gt; 설정이 없을 때
+     */
+    public DownstreamProperties properties(String name) {
+        DownstreamProperties properties = downstreams.get(name);
+        if (properties == null) {
+            throw new IllegalArgumentException("No downstream configuration for services." + name);
+        }
+        return properties.copy();
+    }
+
+    /**
+     * services.&lt;name&gt; 설정으로 WebClient 를 만듭니다.
+     */
+    public WebClient create(String name) {
+        return create(name, properties(name));
+    }
+
+    /**
+     * 주어진 설정으로 WebClient 를 만듭니다. 커넥션 풀은 name 별로 새로 만들어집니다.
+     */
+    public WebClient create(String name, DownstreamProperties properties) {
+        boolean balanced = loadBalancer != null && StringUtils.hasText(properties.getServiceId());
+        String baseUrl = balanced ? "http://" + properties.getServiceId() : properties.getBaseUrl();
+        if (!StringUtils.hasText(baseUrl)) {
+            throw new IllegalArgumentException("services." + name + ".base-url or service-id is required");
+        }
+
+        WebClient.Builder builder = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient(name, properties)))
+                .codecs(codecs -> codecs.defaultCodecs()
+                        .maxInMemorySize((int) properties.getMaxInMemorySize().toBytes()));
+        if (balanced) {
+            builder.filter(loadBalancer);
+        }
+
+        log.info("[WebClient] {} -> {} (maxConnections={}, http2={}, loadBalanced={})",
+                name, baseUrl, properties.getMaxConnections(), properties.isHttp2(), balanced);
+        return builder.build();
+    }
+
+    private HttpClient httpClient(String name, DownstreamProperties properties) {
+        ConnectionProvider provider = ConnectionProvider.builder(name)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictionInterval())
+                .build();
+        providers.add(provider);
+
+        HttpClient client = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, properties.isKeepAlive())
+                .responseTimeout(properties.getResponseTimeout());
+        if (properties.isHttp2()) {
+            client = client.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return client;
+    }
+
+    @Override
+    public void destroy() {
+        providers.forEach(ConnectionProvider::dispose);
+        providers.clear();
+    }
+}
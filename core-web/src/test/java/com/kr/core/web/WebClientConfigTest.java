@@ -1,6 +1,8 @@
 package com.kr.core.web;
 
+import com.kr.core.web.webclient.DownstreamProperties;
 import com.kr.core.web.webclient.WebClientConfig;
+import com.kr.core.web.webclient.WebClientFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -10,14 +12,31 @@ import org.springframework.web.reactive.function.client.WebClient;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest(classes = WebClientConfig.class)
-@TestPropertySource(properties = "services.audio-server.base-url=http://mock-server:8080")
+@TestPropertySource(properties = {
+        "services.audio-server.base-url=http://mock-server:8080",
+        "services.audio-server.max-connections=64",
+        "services.audio-server.http2=true"
+})
 class WebClientConfigTest {
 
     @Autowired
     private WebClient audioServerWebClient;
 
+    @Autowired
+    private WebClientFactory webClientFactory;
+
     @Test
     void webClientBeanIsCreated() {
         assertThat(audioServerWebClient).isNotNull();
     }
+
+    @Test
+    void downstreamPropertiesAreBoundPerService() {
+        DownstreamProperties properties = webClientFactory.properties("audio-server");
+
+        assertThat(properties.getBaseUrl()).isEqualTo("http://mock-server:8080");
+        assertThat(properties.getMaxConnections()).isEqualTo(64);
+        assertThat(properties.isHttp2()).isTrue();
+        assertThat(properties.getPendingAcquireMaxCount()).isEqualTo(1000);
+    }
 }
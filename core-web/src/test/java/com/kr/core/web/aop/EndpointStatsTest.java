@@ -0,0 +1,41 @@
+package com.kr.core.web.aop;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class EndpointStatsTest {
+
+    @Test
+    void bucketsByPowerOfTwoMicros() {
+        assertThat(EndpointStats.bucket(500)).isZero();
+        assertThat(EndpointStats.bucket(TimeUnit.MICROSECONDS.toNanos(2))).isEqualTo(1);
+        assertThat(EndpointStats.bucket(TimeUnit.MICROSECONDS.toNanos(3))).isEqualTo(2);
+        assertThat(EndpointStats.bucket(TimeUnit.MICROSECONDS.toNanos(1024))).isEqualTo(10);
+        assertThat(EndpointStats.bucket(TimeUnit.MICROSECONDS.toNanos(1025))).isEqualTo(11);
+        assertThat(EndpointStats.bucket(TimeUnit.HOURS.toNanos(1))).isEqualTo(27);
+    }
+
+    @Test
+    void snapshotsAndResetsCounters() {
+        EndpointStats stats = new EndpointStats("RecordController.idle", false);
+        for (int i = 0; i < 99; i++) {
+            stats.record(TimeUnit.MICROSECONDS.toNanos(100), false);
+        }
+        stats.record(TimeUnit.MILLISECONDS.toNanos(40), true);
+
+        EndpointStats.Snapshot snapshot = stats.snapshotAndReset();
+
+        assertThat(snapshot.count()).isEqualTo(100);
+        assertThat(snapshot.errors()).isEqualTo(1);
+        assertThat(snapshot.p50Millis()).isEqualTo(0.128);
+        assertThat(snapshot.p99Millis()).isEqualTo(0.128);
+        assertThat(snapshot.maxMillis()).isEqualTo(40.0);
+        assertThat(snapshot.avgMillis()).isEqualTo((99 * 0.1 + 40) / 100, within(1e-9));
+
+        assertThat(stats.snapshotAndReset().count()).isZero();
+    }
+}
@@ -0,0 +1,95 @@
+package com.kr.core.web.security.filter;
+
+import java.util.regex.Pattern;
+
+/**
+ * 기존 XSSRequestWrapper.stripXSS 구현 (비교 기준)
+ * {@link XSSSanitizer} 결과가 기존과 같은지 확인하고 성능을 비교하는 데 사용합니다.
+ */
+final class LegacyXSSStripper {
+
+    private static final Pattern[] PATTERNS = new Pattern[]{
+            // Script 태그 제거
+            Pattern.compile("<script>(.*?)</script>", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("<script(.*?)>", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            // src 속성 값에 대한 검사
+            Pattern.compile("src[\r\n]*=[\r\n]*\\\'(.*?)\\\'", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            Pattern.compile("src[\r\n]*=[\r\n]*\\\"(.*?)\\\"", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            // 악성 코드 패턴 제거
+            Pattern.compile("eval\\((.*?)\\)", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            Pattern.compile("expression\\((.*?)\\)", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            Pattern.compile("javascript:", Pattern.CASE_INSENSITIVE),
+            Pattern.compile("vbscript:", Pattern.CASE_INSENSITIVE),
+            // 이벤트 핸들러 제거
+            Pattern.compile("onload(.*?)=", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            Pattern.compile("onclick(.*?)=", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            Pattern.compile("onmouseover(.*?)=", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            Pattern.compile("onmouseout(.*?)=", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL),
+            Pattern.compile("onmousedown(.*?)=", Pattern.CASE_INSENSITIVE | Pattern.MULTILINE | Pattern.DOTALL)
+    };
+
+    private LegacyXSSStripper() {
+    }
+
+    /**
+     * XSS 공격 패턴을 제거하는 메서드
+     * @param value 검사할 문자열
+     * @return XSS 패턴이 제거된 문자열
+     */
+    static String stripXSS(String value) {
+        if (value != null) {
+            // 특수 문자 인코딩
+            value = value.replaceAll("[<>]", "&#?;");
+            value = value.replaceAll("\"", "&quot;");
+
+            // XSS 패턴 제거
+            for (Pattern pattern : PATTERNS) {
+                value = pattern.matcher(value).replaceAll("");
+            }
+
+            // 이벤트 핸들러 제거
+            value = removeEventHandlers(value);
+
+            // 악성 태그 및 키워드 제거
+            value = removeMaliciousTags(value);
+        }
+        return value;
+    }
+
+    /**
+     * 이벤트 핸들러를 제거하는 메서드
+     * @param value 검사할 문자열
+     * @return 이벤트 핸들러가 제거된 문자열
+     */
+    private static String removeEventHandlers(String value) {
+        // onclick, onmouseover 등의 이벤트 핸들러 제거
+        return value.replaceAll("<a\\s+onclick\\s*=\\s*(\"|').*?\\1.*?>", "<a>");
+    }
+
+    /**
+     * 악성 태그 및 키워드를 제거하는 메서드
+     * @param value 검사할 문자열
+     * @return 악성 태그 및 키워드가 제거된 문자열
+     */
+    private static String removeMaliciousTags(String value) {
+        // 악성 태그 및 키워드 제거
+        value = value.replaceAll("document", "x-document");
+        value = value.replaceAll("applet", "x-applet");
+        value = value.replaceAll("object", "x-object");
+        value = value.replaceAll("frame", "x-frame");
+        value = value.replaceAll("frameset", "x-frameset");
+        value = value.replaceAll("layer", "x-layer");
+        value = value.replaceAll("bgsound", "x-bgsound");
+        value = value.replaceAll("alert", "x-alert");
+        value = value.replaceAll("onblur", "x-onblur");
+        value = value.replaceAll("onchange", "x-onchange");
+        value = value.replaceAll("ondblclick", "x-ondblclick");
+        value = value.replaceAll("enerror", "x-enerror");
+        value = value.replaceAll("onfocus", "x-onfocus");
+        value = value.replaceAll("onmouse", "x-onmouse");
+        value = value.replaceAll("onscroll", "x-onscroll");
+        value = value.replaceAll("onsubmit", "x-onsubmit");
+        value = value.replaceAll("onunload", "x-onunload");
+        return value;
+    }
+}
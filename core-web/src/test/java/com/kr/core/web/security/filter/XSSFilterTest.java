@@ -0,0 +1,69 @@
+package com.kr.core.web.security.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class XSSFilterTest {
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    @Test
+    void excludesDefaultBinaryEndpoints() {
+        XSSFilter filter = new XSSFilter();
+
+        assertThat(filter.excludeUrl(request("/api/files"))).isTrue();
+        assertThat(filter.excludeUrl(request("/api/files/a_20240315_093000123.webm"))).isTrue();
+        assertThat(filter.excludeUrl(request("/record/chunk"))).isTrue();
+        assertThat(filter.excludeUrl(request("/record/start"))).isFalse();
+    }
+
+    @Test
+    void appliesInitParameterRules() throws Exception {
+        XSSFilter filter = new XSSFilter();
+        MockFilterConfig config = new MockFilterConfig();
+        config.addInitParameter(XSSFilter.INCLUDE_PATTERNS_PARAM, "/api/**, /record/**");
+        config.addInitParameter(XSSFilter.EXCLUDE_PATTERNS_PARAM, "/record/stream");
+        filter.init(config);
+
+        assertThat(filter.excludeUrl(request("/record/start"))).isFalse();
+        assertThat(filter.excludeUrl(request("/record/stream"))).isTrue();
+        assertThat(filter.excludeUrl(request("/files"))).isTrue();
+    }
+
+    @Test
+    void wrapsRequestAndMemoizesSanitizedValues() throws Exception {
+        MockHttpServletRequest request = request("/record/start");
+        request.addParameter("name", "<b>x</b>", "javascript:alert(1)");
+        request.addHeader("X-Meta", "\"quoted\"");
+
+        MockFilterChain chain = new MockFilterChain();
+        new XSSFilter(List.of(), List.of()).doFilter(request, new MockHttpServletResponse(), chain);
+        HttpServletRequest wrapped = (HttpServletRequest) chain.getRequest();
+
+        assertThat(wrapped).isInstanceOf(XSSRequestWrapper.class);
+        assertThat(wrapped.getParameter("name")).isEqualTo("&#?;b&#?;x&#?;/b&#?;");
+        assertThat(wrapped.getParameterValues("name")).containsExactly("&#?;b&#?;x&#?;/b&#?;", "x-alert(1)");
+        assertThat(wrapped.getParameter("missing")).isNull();
+        assertThat(wrapped.getParameterValues("missing")).isNull();
+        assertThat(wrapped.getHeader("x-meta")).isEqualTo("&quot;quoted&quot;");
+
+        Map<String, String[]> parameters = wrapped.getParameterMap();
+        assertThat(parameters.get("name")).containsExactly("&#?;b&#?;x&#?;/b&#?;", "x-alert(1)");
+        assertThat(wrapped.getParameterMap()).isSameAs(parameters);
+
+        // 이후 원본이 바뀌어도 요청 안에서는 처음 정리한 값을 사용합니다.
+        request.setParameter("name", "changed");
+        assertThat(wrapped.getParameter("name")).isEqualTo("&#?;b&#?;x&#?;/b&#?;");
+    }
+}
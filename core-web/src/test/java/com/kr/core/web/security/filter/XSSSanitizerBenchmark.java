@@ -0,0 +1,48 @@
+package com.kr.core.web.security.filter;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * 기존 stripXSS 와 XSSSanitizer 처리 시간 비교
+ * 실행: gradle :core-web:benchmark --tests '*XSSSanitizerBenchmark'
+ */
+@Tag("benchmark")
+class XSSSanitizerBenchmark {
+
+    private static final int ITERATIONS = 200_000;
+
+    private static final List<String> HEADERS = List.of(
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36",
+            "application/json, text/plain, */*",
+            "ko-KR,ko;q=0.9,en-US;q=0.8",
+            "keep-alive",
+            "session-6f1c2d8e-1234");
+
+    private static final List<String> MALICIOUS = List.of(
+            "<script>alert(document.cookie)</script>",
+            "<img src='x' onerror=\"eval(atob('YQ=='))\">");
+
+    @Test
+    void compareSanitizers() {
+        for (int round = 0; round < 3; round++) {
+            run("header/legacy", HEADERS, LegacyXSSStripper::stripXSS);
+            run("header/single-pass", HEADERS, XSSSanitizer::sanitize);
+            run("malicious/legacy", MALICIOUS, LegacyXSSStripper::stripXSS);
+            run("malicious/single-pass", MALICIOUS, XSSSanitizer::sanitize);
+        }
+    }
+
+    private static void run(String name, List<String> values, UnaryOperator<String> sanitizer) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += sanitizer.apply(values.get(i % values.size())).length();
+        }
+        double nanosPerValue = (double) (System.nanoTime() - start) / ITERATIONS;
+        System.out.printf("%-22s %8.1f ns/value (%d)%n", name, nanosPerValue, sink);
+    }
+}
@@ -0,0 +1,80 @@
+package com.kr.core.web.security.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class XSSSanitizerTest {
+
+    private static final List<String> CORPUS = List.of(
+            "",
+            "hello world",
+            "session-1234_abc",
+            "data:audio/webm;codecs=opus;base64,GkXfo59ChoEBQveBAULygQRC84EIQoKEd2VibUKHgQRChYECGFOAZwH",
+            "<script>alert('x')</script>",
+            "<SCRIPT SRC=http://evil/x.js></SCRIPT>",
+            "<img src='x' onerror=\"alert(1)\">",
+            "<a onclick=\"steal()\" href=\"#\">click</a>",
+            "<body onload=init()>",
+            "javascript:alert(document.cookie)",
+            "JaVaScRiPt:void(0)",
+            "vbscript:msgbox",
+            "eval(atob('YWxlcnQoMSk='))",
+            "width: expression(alert(1))",
+            "src\r\n=\r\n'http://x'",
+            "frameset frame iframe",
+            "onscrollayer framenerror",
+            "jajavascript:vascript:",
+            "onmouseover=x onmouseout=y onmousedown=z onmouse",
+            "document.write(object.applet + layer + bgsound)",
+            "onblur onchange ondblclick enerror onfocus onscroll onsubmit onunload",
+            "evaL(1) ExPrEsSiOn(2) ONLOAD=3 OnClick = 4",
+            "\"quoted\" <tag> 'single'",
+            "한글 값 <b>굵게</b> \"인용\"",
+            "srC='a' src='b' src = 'c'",
+            "eval(  no close",
+            "onload without equals"
+    );
+
+    private static final String[] FRAGMENTS = {
+            "<", ">", "\"", "'", "=", "(", ")", ":", ";", "&", "#", "?", "\r", "\n", " ", "x", "a", "t",
+            "script", "src", "SRC", "eval", "EvAl", "expression", "javascript", "JavaScript", "vbscript",
+            "onload", "OnLoad", "onclick", "onmouse", "over", "out", "down", "onMouseOver",
+            "document", "Document", "applet", "object", "frame", "set", "layer", "bgsound", "alert", "ALERT",
+            "onblur", "onchange", "ondblclick", "enerror", "en", "error", "onfocus", "onscroll", "onsubmit", "onunload",
+            "quot", "한", "ſ", "K", "İ", "S", "rc"
+    };
+
+    @Test
+    void matchesLegacyOnCorpus() {
+        for (String value : CORPUS) {
+            assertThat(XSSSanitizer.sanitize(value)).as(value).isEqualTo(LegacyXSSStripper.stripXSS(value));
+        }
+        assertThat(XSSSanitizer.sanitize(null)).isNull();
+    }
+
+    @Test
+    void matchesLegacyOnRandomKeywordMixtures() {
+        Random random = new Random(20240315L);
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 200_000; i++) {
+            value.setLength(0);
+            int parts = 1 + random.nextInt(12);
+            for (int j = 0; j < parts; j++) {
+                value.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            String input = value.toString();
+            assertThat(XSSSanitizer.sanitize(input)).as(input).isEqualTo(LegacyXSSStripper.stripXSS(input));
+        }
+    }
+
+    @Test
+    void returnsSameInstanceWhenNothingToReplace() {
+        String value = "data:audio/webm;codecs=opus;base64,GkXfo59ChoEBQveBAULygQRC84EIQoKEd2VibUKHgQRChYECGFOAZwH";
+
+        assertThat(XSSSanitizer.sanitize(value)).isSameAs(value);
+    }
+}
@@ -2,8 +2,14 @@ package com.kr.kafka.component;
 
 import com.kr.kafka.config.Event;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class EventPublisher {
@@ -19,4 +25,39 @@ public class EventPublisher {
         String topic = event.getTopic();
         kafkaProducer.sendMessage(topic, key, event);
     }
-}
\ No newline at end of file
+
+    /**
+     * 여러 이벤트를 한 번에 발행합니다.
+     * 모든 이벤트를 프로듀서 버퍼에 넣은 뒤 반환하므로 linger.ms / batch.size 설정에 따라 배치로 묶여 전송됩니다.
+     * 같은 키의 이벤트는 전달한 순서대로 같은 파티션에 기록됩니다.
+     *
+     * @param events 발행할 이벤트
+     * @param keyMapper 이벤트별 메시지 키 (null 을 반환하면 키 없이 발행)
+     * @return 모든 이벤트 전송이 끝나면 완료되고, 하나라도 실패하면 예외로 완료되는 Future
+     */
+    public <T extends Event> CompletableFuture<Void> publishAll(Collection<? extends T> events, Function<? super T, String> keyMapper) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[events.size()];
+        int i = 0;
+        for (T event : events) {
+            futures[i++] = kafkaProducer.send(event.getTopic(), keyMapper.apply(event), event);
+        }
+
+        int count = futures.length;
+        return CompletableFuture.allOf(futures).whenComplete((result, ex) -> {
+            if (ex == null) {
+                log.debug("[KAFKA] Published {} events", count);
+            } else {
+                log.error("[KAFKA] [ERR] Bulk publish of {} events failed: {}", count, ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 여러 이벤트를 키 없이 한 번에 발행합니다.
+     *
+     * @see #publishAll(Collection, Function)
+     */
+    public CompletableFuture<Void> publishAll(Collection<? extends Event> events) {
+        return publishAll(events, event -> null);
+    }
+}
@@ -1,22 +1,51 @@
 package com.kr.kafka.component;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Kafka 메시지 전송
+ * 전송마다 다음 메트릭을 기록합니다. (MeterRegistry 빈이 없으면 전역 레지스트리 사용)
+ * - kafka.producer.send: 전송 요청부터 브로커 확인까지의 시간 (topic, outcome 태그)
+ * - kafka.producer.in.flight: 확인을 기다리는 전송 수
+ * - kafka.producer.failures: 실패한 전송 수 (topic 태그)
+ * 토픽별 미터는 처음 전송할 때 한 번만 등록하고 이후에는 캐시된 미터를 사용합니다.
+ */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class KafkaProducer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, TopicMeters> topicMeters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public KafkaProducer(KafkaTemplate<String, Object> kafkaTemplate, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(kafkaTemplate, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    public KafkaProducer(KafkaTemplate<String, Object> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("kafka.producer.in.flight", inFlight);
+    }
 
     public <T> void sendMessage(String topic, T message) {
-        CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(topic, message);
+        CompletableFuture<SendResult<String, Object>> future = instrument(topic, kafkaTemplate.send(topic, message));
 
         future.whenComplete((result, ex) -> {
             if (ex == null) {
@@ -29,8 +58,21 @@ public class KafkaProducer {
         });
     }
 
+    /**
+     * 메시지를 전송하고 전송 결과 Future 를 반환합니다.
+     * 건별 로그를 남기지 않으므로 대량 전송에 사용합니다.
+     *
+     * @param topic 토픽
+     * @param key 메시지 키 (null 이면 파티셔너가 분배)
+     * @param message 메시지
+     * @return 전송 결과
+     */
+    public <T> CompletableFuture<SendResult<String, Object>> send(String topic, String key, T message) {
+        return instrument(topic, kafkaTemplate.send(topic, key, message));
+    }
+
     public <T> void sendMessage(String topic, String key, T message) {
-        CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(topic, key, message);
+        CompletableFuture<SendResult<String, Object>> future = instrument(topic, kafkaTemplate.send(topic, key, message));
 
         future.whenComplete((result, ex) -> {
             if (ex == null) {
@@ -42,4 +84,29 @@ public class KafkaProducer {
             }
         });
     }
+
+    private CompletableFuture<SendResult<String, Object>> instrument(String topic, CompletableFuture<SendResult<String, Object>> future) {
+        TopicMeters meters = topicMeters.computeIfAbsent(topic, this::registerMeters);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        inFlight.incrementAndGet();
+        return future.whenComplete((result, ex) -> {
+            inFlight.decrementAndGet();
+            if (ex == null) {
+                sample.stop(meters.success());
+            } else {
+                sample.stop(meters.failure());
+                meters.failures().increment();
+            }
+        });
+    }
+
+    private TopicMeters registerMeters(String topic) {
+        return new TopicMeters(
+                Timer.builder("kafka.producer.send").tag("topic", topic).tag("outcome", "success").register(meterRegistry),
+                Timer.builder("kafka.producer.send").tag("topic", topic).tag("outcome", "failure").register(meterRegistry),
+                Counter.builder("kafka.producer.failures").tag("topic", topic).register(meterRegistry));
+    }
+
+    private record TopicMeters(Timer success, Timer failure, Counter failures) {
+    }
 }
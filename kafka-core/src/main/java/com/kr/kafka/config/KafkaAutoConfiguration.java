@@ -10,7 +10,7 @@ import org.springframework.context.annotation.Import;
  * 자동으로 Kafka 관련 빈들이 등록됩니다.
  */
 @Configuration
-@ComponentScan(basePackages = "com.kr.kafka.component")
+@ComponentScan(basePackages = {"com.kr.kafka.component", "com.kr.kafka.serializer"})
 @Import({KafkaProducerConfig.class, KafkaConsumerConfig.class})
 public class KafkaAutoConfiguration {
     
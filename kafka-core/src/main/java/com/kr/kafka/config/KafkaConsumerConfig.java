@@ -1,5 +1,7 @@
 package com.kr.kafka.config;
 
+import com.kr.kafka.serializer.EventCodecRegistry;
+import com.kr.kafka.serializer.EventSerialization;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,10 +10,13 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 @Configuration
 public class KafkaConsumerConfig {
@@ -22,21 +27,79 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id:default-group}")
     private String groupId;
 
+    // 배치 리스너 설정 (batchKafkaListenerContainerFactory)
+    @Value("${kafka.consumer.batch.concurrency:3}")
+    private int batchConcurrency;
+
+    @Value("${kafka.consumer.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
+    @Value("${kafka.consumer.batch.fetch-min-bytes:1}")
+    private int batchFetchMinBytes;
+
+    @Value("${kafka.consumer.batch.fetch-max-wait:500ms}")
+    private Duration batchFetchMaxWait;
+
+    @Value("${kafka.consumer.batch.max-partition-fetch-bytes:1048576}")
+    private int batchMaxPartitionFetchBytes;
+
+    @Value("${kafka.consumer.batch.max-poll-interval:5m}")
+    private Duration batchMaxPollInterval;
+
     @Bean
-    public ConsumerFactory<String, Object> consumerFactory() {
+    public ConsumerFactory<String, Object> consumerFactory(EventCodecRegistry eventCodecRegistry) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "com.kr.*");
-        return new DefaultKafkaConsumerFactory<>(props);
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, EventSerialization.TRUSTED_PACKAGES);
+        if (eventCodecRegistry.isEmpty()) {
+            return new DefaultKafkaConsumerFactory<>(props);
+        }
+
+        // 코덱이 있으면 프로듀서 설정(binary-topics)과 상관없이 메시지마다 바이너리/JSON 을 판별합니다.
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
+                EventSerialization.valueDeserializer(eventCodecRegistry));
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory) {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+        factory.setConsumerFactory(consumerFactory);
         return factory;
     }
-}
\ No newline at end of file
+
+    /**
+     * 배치 리스너 컨테이너 팩토리
+     * poll 한 번에 받은 레코드를 List 로 리스너에 전달하며, 리스너가 Acknowledgment.acknowledge() 를 호출해야 오프셋을 commit 합니다.
+     * 동시 처리 수(컨슈머 스레드 수)와 max.poll.records, max.poll.interval, fetch 크기는 kafka.consumer.batch.* 속성으로 설정합니다.
+     *
+     * 사용: {@code @KafkaListener(topics = "...", containerFactory = "batchKafkaListenerContainerFactory")}
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(batchConcurrency);
+
+        ContainerProperties containerProperties = factory.getContainerProperties();
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        containerProperties.setKafkaConsumerProperties(batchConsumerProperties());
+        return factory;
+    }
+
+    private Properties batchConsumerProperties() {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(batchMaxPollRecords));
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, String.valueOf(batchFetchMinBytes));
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, String.valueOf(batchFetchMaxWait.toMillis()));
+        props.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, String.valueOf(batchMaxPartitionFetchBytes));
+        props.put(ConsumerConfig.MAX_POLL_INTERVAL_MS_CONFIG, String.valueOf(batchMaxPollInterval.toMillis()));
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        return props;
+    }
+}
@@ -1,5 +1,8 @@
 package com.kr.kafka.config;
 
+import com.kr.kafka.serializer.EventCodecRegistry;
+import com.kr.kafka.serializer.EventSerialization;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,25 +14,56 @@ import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+@Slf4j
 @Configuration
 public class KafkaProducerConfig {
 
     @Value("${spring.kafka.bootstrap-servers:localhost:19092,localhost:19093}")
     private String bootstrapServers;
 
+    // 튜닝 프로파일 (default / latency / balanced / throughput)
+    @Value("${kafka.producer.profile:default}")
+    private KafkaProducerProfile profile;
+
+    // 바이너리(EventCodec)로 직렬화할 토픽 패턴, 나머지는 JSON
+    @Value("${kafka.serialization.binary-topics:}")
+    private List<String> binaryTopics;
+
     @Bean
-    public ProducerFactory<String, Object> producerFactory() {
+    public ProducerFactory<String, Object> producerFactory(EventCodecRegistry eventCodecRegistry) {
+        log.info("[KAFKA] Producer profile: {} {}", profile, profile.getProperties());
+        Map<String, Object> configProps = producerProperties(bootstrapServers, profile);
+        if (EventSerialization.patterns(binaryTopics).isEmpty()) {
+            return new DefaultKafkaProducerFactory<>(configProps);
+        }
+
+        log.info("[KAFKA] Binary serialization topics: {}", binaryTopics);
+        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(),
+                EventSerialization.valueSerializer(binaryTopics, eventCodecRegistry));
+    }
+
+    /**
+     * 프로듀서 설정을 만듭니다.
+     * 공통 설정(브로커, 직렬화) 위에 프로파일 설정을 덮어씁니다.
+     *
+     * @param bootstrapServers 브로커 주소
+     * @param profile 튜닝 프로파일
+     * @return 프로듀서 설정
+     */
+    public static Map<String, Object> producerProperties(String bootstrapServers, KafkaProducerProfile profile) {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        configProps.putAll(profile.getProperties());
+        return configProps;
     }
 
     @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, Object> kafkaTemplate(ProducerFactory<String, Object> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
     }
 }
\ No newline at end of file
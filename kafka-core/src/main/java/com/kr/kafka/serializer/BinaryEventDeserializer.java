@@ -0,0 +1,54 @@
+package com.kr.kafka.serializer;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * {@link BinaryEventSerializer}로 기록한 메시지를 이벤트로 복원하는 역직렬화기
+ * 타입 ID 로 코덱을 찾고, 메시지의 스키마 버전을 코덱에 넘겨 이전 버전 메시지도 읽을 수 있게 합니다.
+ * 바이너리 형식이 아닌 메시지(전환 이전의 JSON 등)는 fallback 역직렬화기가 있으면 그쪽으로 넘깁니다.
+ */
+public class BinaryEventDeserializer implements Deserializer<Object> {
+
+    private final EventCodecRegistry registry;
+    private final Deserializer<Object> fallback;
+
+    public BinaryEventDeserializer(EventCodecRegistry registry) {
+        this(registry, null);
+    }
+
+    public BinaryEventDeserializer(EventCodecRegistry registry, Deserializer<Object> fallback) {
+        this.registry = registry;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+
+        if (data.length == 0 || (data[0] & 0xFF) != BinaryEventSerializer.MAGIC) {
+            if (fallback != null) {
+                return headers != null ? fallback.deserialize(topic, headers, data) : fallback.deserialize(topic, data);
+            }
+            throw new SerializationException("Not a binary event on topic " + topic);
+        }
+
+        BinaryEventReader reader = new BinaryEventReader(data);
+        try {
+            reader.readByte();
+            EventCodec<?> codec = registry.forTypeId((int) reader.readVarLong());
+            int version = (int) reader.readVarLong();
+            return codec.read(reader, version);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Cannot decode binary event on topic " + topic, e);
+        }
+    }
+}
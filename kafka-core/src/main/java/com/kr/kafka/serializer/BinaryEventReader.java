@@ -0,0 +1,82 @@
+package com.kr.kafka.serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 바이너리 이벤트 읽기 도구
+ * {@link BinaryEventWriter}가 기록한 형식을 같은 순서로 읽습니다.
+ */
+public class BinaryEventReader {
+
+    private final byte[] data;
+    private int position;
+
+    public BinaryEventReader(byte[] data) {
+        this.data = data;
+    }
+
+    public int readByte() {
+        if (position >= data.length) {
+            throw new IllegalArgumentException("Unexpected end of binary event at " + position);
+        }
+        return data[position++];
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at " + position);
+    }
+
+    public long readLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public double readDouble() {
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (readByte() & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public String readString() {
+        long length = readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        int size = (int) (length - 1);
+        if (size < 0 || position + size > data.length) {
+            throw new IllegalArgumentException("String length " + size + " exceeds binary event at " + position);
+        }
+        String value = new String(data, position, size, StandardCharsets.UTF_8);
+        position += size;
+        return value;
+    }
+
+    public LocalDateTime readTimestamp() {
+        if (!readBoolean()) {
+            return null;
+        }
+        long seconds = readLong();
+        int nanos = (int) readVarLong();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    public boolean hasRemaining() {
+        return position < data.length;
+    }
+}
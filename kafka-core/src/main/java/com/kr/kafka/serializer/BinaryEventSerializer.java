@@ -0,0 +1,41 @@
+package com.kr.kafka.serializer;
+
+import com.kr.kafka.config.Event;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * {@link EventCodec} 기반 Kafka 값 직렬화기
+ * 메시지 형식: [magic 1B][타입 ID varint][스키마 버전 varint][코덱 본문]
+ * JSON 과 달리 필드 이름과 타입 헤더를 싣지 않고, 리플렉션 없이 코덱이 필드를 직접 기록합니다.
+ */
+public class BinaryEventSerializer implements Serializer<Object> {
+
+    static final int MAGIC = 0xEB;
+
+    private final EventCodecRegistry registry;
+    private final ThreadLocal<BinaryEventWriter> writers = ThreadLocal.withInitial(BinaryEventWriter::new);
+
+    public BinaryEventSerializer(EventCodecRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (!(data instanceof Event event)) {
+            throw new SerializationException("Binary serialization requires an Event, got " + data.getClass().getName());
+        }
+
+        EventCodec<Event> codec = registry.forType(event.getClass());
+        BinaryEventWriter writer = writers.get();
+        writer.reset();
+        writer.writeByte(MAGIC)
+                .writeVarLong(codec.getTypeId())
+                .writeVarLong(codec.getVersion());
+        codec.write(event, writer);
+        return writer.toByteArray();
+    }
+}
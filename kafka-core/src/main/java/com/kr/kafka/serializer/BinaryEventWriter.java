@@ -0,0 +1,103 @@
+package com.kr.kafka.serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * 바이너리 이벤트 쓰기 도구
+ * 정수는 가변 길이(varint, 음수는 zigzag)로, 문자열은 길이 + UTF-8 로 기록합니다.
+ * null 은 문자열/시각 모두 길이(또는 표시) 0 으로 구분합니다.
+ */
+public class BinaryEventWriter {
+
+    private byte[] buffer;
+    private int position;
+
+    public BinaryEventWriter() {
+        this(256);
+    }
+
+    public BinaryEventWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public BinaryEventWriter writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+        return this;
+    }
+
+    public BinaryEventWriter writeBoolean(boolean value) {
+        return writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * 0 이상의 정수를 가변 길이로 기록합니다.
+     */
+    public BinaryEventWriter writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * 음수를 포함한 정수를 zigzag 가변 길이로 기록합니다.
+     */
+    public BinaryEventWriter writeLong(long value) {
+        return writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public BinaryEventWriter writeDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (bits >>> shift);
+        }
+        return this;
+    }
+
+    public BinaryEventWriter writeString(String value) {
+        if (value == null) {
+            return writeVarLong(0);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        return this;
+    }
+
+    public BinaryEventWriter writeTimestamp(LocalDateTime value) {
+        if (value == null) {
+            return writeBoolean(false);
+        }
+        writeBoolean(true);
+        writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        return writeVarLong(value.getNano());
+    }
+
+    public int size() {
+        return position;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    public void reset() {
+        position = 0;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
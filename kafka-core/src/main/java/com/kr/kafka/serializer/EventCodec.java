@@ -0,0 +1,36 @@
+package com.kr.kafka.serializer;
+
+import com.kr.kafka.config.Event;
+
+/**
+ * 이벤트 바이너리 코덱 SPI
+ * 이벤트 타입별로 구현해 스프링 빈으로 등록하면, kafka.serialization.binary-topics 에 지정한 토픽에서
+ * JSON 대신 {@link BinaryEventSerializer}가 이 코덱으로 직렬화합니다.
+ * 컨슈머는 코덱만 등록되어 있으면 바이너리 메시지를 읽을 수 있습니다. (전환 순서는 {@link EventSerialization} 참고)
+ *
+ * 필드 구성이 바뀌면 {@link #getVersion()}을 올리고, {@link #read}에서 이전 버전도 읽을 수 있게 유지합니다.
+ *
+ * @param <T> 이벤트 타입
+ */
+public interface EventCodec<T extends Event> {
+
+    /**
+     * 메시지 앞에 기록되는 타입 식별자 (코덱끼리 겹치면 안 됩니다)
+     */
+    int getTypeId();
+
+    /**
+     * 현재 스키마 버전 (쓰기에 사용)
+     */
+    int getVersion();
+
+    Class<T> getEventType();
+
+    void write(T event, BinaryEventWriter out);
+
+    /**
+     * @param in 읽기 도구
+     * @param version 메시지를 쓴 코덱의 스키마 버전
+     */
+    T read(BinaryEventReader in, int version);
+}
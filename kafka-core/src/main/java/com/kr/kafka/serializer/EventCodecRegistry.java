@@ -0,0 +1,63 @@
+package com.kr.kafka.serializer;
+
+import com.kr.kafka.config.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 등록된 {@link EventCodec} 모음
+ * 직렬화 시에는 이벤트 클래스로, 역직렬화 시에는 메시지의 타입 식별자로 코덱을 찾습니다.
+ */
+@Slf4j
+@Component
+public class EventCodecRegistry {
+
+    private final Map<Class<?>, EventCodec<?>> byType = new HashMap<>();
+    private final Map<Integer, EventCodec<?>> byTypeId = new HashMap<>();
+
+    @Autowired
+    public EventCodecRegistry(ObjectProvider<EventCodec<?>> codecs) {
+        this(codecs.orderedStream().toList());
+    }
+
+    public EventCodecRegistry(List<? extends EventCodec<?>> codecs) {
+        for (EventCodec<?> codec : codecs) {
+            EventCodec<?> previous = byTypeId.putIfAbsent(codec.getTypeId(), codec);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate event codec type id " + codec.getTypeId()
+                        + ": " + previous.getClass().getName() + ", " + codec.getClass().getName());
+            }
+            byType.put(codec.getEventType(), codec);
+        }
+        if (!codecs.isEmpty()) {
+            log.info("[KAFKA] Event codecs: {}", byType.keySet().stream().map(Class::getSimpleName).toList());
+        }
+    }
+
+    public boolean isEmpty() {
+        return byTypeId.isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Event> EventCodec<T> forType(Class<?> type) {
+        EventCodec<?> codec = byType.get(type);
+        if (codec == null) {
+            throw new IllegalArgumentException("No event codec registered for " + type.getName());
+        }
+        return (EventCodec<T>) codec;
+    }
+
+    public EventCodec<?> forTypeId(int typeId) {
+        EventCodec<?> codec = byTypeId.get(typeId);
+        if (codec == null) {
+            throw new IllegalArgumentException("No event codec registered for type id " + typeId);
+        }
+        return codec;
+    }
+}
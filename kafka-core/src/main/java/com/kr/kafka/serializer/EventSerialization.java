@@ -0,0 +1,57 @@
+package com.kr.kafka.serializer;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.DelegatingByTopicSerializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 값 직렬화 방식 선택
+ * 프로듀서는 kafka.serialization.binary-topics 에 지정한 토픽(정규식)만 {@link BinaryEventSerializer}로,
+ * 나머지 토픽은 기존과 같이 타입 헤더를 쓰는 JSON 으로 직렬화합니다.
+ * 컨슈머는 토픽 설정과 상관없이 메시지마다 형식(매직 바이트)을 보고 바이너리/JSON 을 골라 역직렬화합니다.
+ *
+ * 바이너리 전환 순서 (롤링 배포 중 이전 버전 컨슈머가 바이너리 메시지를 받지 않도록)
+ * 1. binary-topics 를 비운 채로 코덱을 등록한 버전을 해당 토픽의 모든 컨슈머에 배포합니다.
+ * 2. 모든 컨슈머 배포가 끝난 뒤 프로듀서에 binary-topics 를 설정합니다.
+ * 되돌릴 때는 반대로 프로듀서의 binary-topics 를 먼저 비우고, 남은 바이너리 메시지가 모두 소비된 뒤 컨슈머를 되돌립니다.
+ */
+public final class EventSerialization {
+
+    public static final String TRUSTED_PACKAGES = "com.kr.*";
+
+    private EventSerialization() {
+    }
+
+    public static Serializer<Object> valueSerializer(List<String> binaryTopics, EventCodecRegistry registry) {
+        JsonSerializer<Object> json = new JsonSerializer<>();
+        Map<Pattern, Serializer<?>> delegates = new LinkedHashMap<>();
+        BinaryEventSerializer binary = new BinaryEventSerializer(registry);
+        patterns(binaryTopics).forEach(pattern -> delegates.put(pattern, binary));
+        return new DelegatingByTopicSerializer(delegates, json);
+    }
+
+    public static Deserializer<Object> valueDeserializer(EventCodecRegistry registry) {
+        JsonDeserializer<Object> json = new JsonDeserializer<>();
+        json.addTrustedPackages(TRUSTED_PACKAGES);
+        // 바이너리가 아닌 메시지(JSON 토픽, 전환 이전에 쌓인 메시지)는 JSON 으로 읽습니다.
+        return new BinaryEventDeserializer(registry, json);
+    }
+
+    /**
+     * 설정값에서 빈 항목을 제외한 토픽 패턴 목록
+     */
+    public static List<Pattern> patterns(List<String> binaryTopics) {
+        return binaryTopics.stream()
+                .map(String::trim)
+                .filter(topic -> !topic.isEmpty())
+                .map(Pattern::compile)
+                .toList();
+    }
+}
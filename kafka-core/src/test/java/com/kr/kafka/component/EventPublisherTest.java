@@ -0,0 +1,73 @@
+package com.kr.kafka.component;
+
+import com.kr.kafka.config.KafkaProducerConfig;
+import com.kr.kafka.config.KafkaProducerProfile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EmbeddedKafka(partitions = 3, topics = EventPublisherTest.TOPIC)
+class EventPublisherTest {
+
+    static final String TOPIC = "test.publish-all";
+
+    @Test
+    void publishAllDeliversEveryEventInOrderPerKey(EmbeddedKafkaBroker broker) throws Exception {
+        DefaultKafkaProducerFactory<String, Object> producerFactory = new DefaultKafkaProducerFactory<>(
+                KafkaProducerConfig.producerProperties(broker.getBrokersAsString(), KafkaProducerProfile.BALANCED));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        EventPublisher publisher = new EventPublisher(new KafkaProducer(new KafkaTemplate<>(producerFactory), meterRegistry));
+
+        List<TestEvent> events = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            events.add(new TestEvent(TOPIC, "key-" + (i % 10), i, "payload-" + i, LocalDateTime.now()));
+        }
+        publisher.publishAll(events, TestEvent::getKey).get(30, TimeUnit.SECONDS);
+        producerFactory.destroy();
+
+        assertThat(meterRegistry.get("kafka.producer.send").tag("topic", TOPIC).tag("outcome", "success").timer().count())
+                .isEqualTo(events.size());
+        assertThat(meterRegistry.get("kafka.producer.in.flight").gauge().value()).isZero();
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("publish-all", "false", broker);
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+                new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+
+            Map<String, List<Long>> sequences = new HashMap<>();
+            int received = 0;
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (received < events.size() && System.currentTimeMillis() < deadline) {
+                ConsumerRecords<String, String> records = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(5));
+                for (ConsumerRecord<String, String> record : records) {
+                    long sequence = Long.parseLong(record.value().replaceAll(".*\"sequence\":(\\d+).*", "$1"));
+                    sequences.computeIfAbsent(record.key(), k -> new ArrayList<>()).add(sequence);
+                    received++;
+                }
+            }
+
+            assertThat(received).isEqualTo(events.size());
+            assertThat(sequences).hasSize(10);
+            sequences.values().forEach(list -> assertThat(list).isSorted());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.kr.kafka.component;
+
+import com.kr.kafka.config.KafkaProducerConfig;
+import com.kr.kafka.config.KafkaProducerProfile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 프로듀서 프로파일 벤치마크
+ * 내장 브로커에 같은 이벤트 묶음을 프로파일별로 publishAll 하여 처리량, 배치 크기, 압축률을 비교합니다.
+ * 일반 테스트에서는 제외되며 {@code gradle :kafka-core:benchmark}로 실행합니다.
+ */
+@Tag("benchmark")
+@EmbeddedKafka(partitions = 3, topics = KafkaProducerProfileBenchmark.TOPIC)
+class KafkaProducerProfileBenchmark {
+
+    static final String TOPIC = "bench.producer-profile";
+
+    private static final int EVENTS = 50_000;
+    private static final int ROUNDS = 3;
+
+    @Test
+    void compareProfiles(EmbeddedKafkaBroker broker) throws Exception {
+        List<TestEvent> events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(new TestEvent(TOPIC, "session-" + (i % 500), i,
+                    "recordings/2024/01/01/ab/meta-" + (i % 500) + "_20240101_120000000.webm", LocalDateTime.now()));
+        }
+
+        for (KafkaProducerProfile profile : KafkaProducerProfile.values()) {
+            DefaultKafkaProducerFactory<String, Object> producerFactory = new DefaultKafkaProducerFactory<>(
+                    KafkaProducerConfig.producerProperties(broker.getBrokersAsString(), profile));
+            KafkaTemplate<String, Object> template = new KafkaTemplate<>(producerFactory);
+            EventPublisher publisher = new EventPublisher(new KafkaProducer(template, new SimpleMeterRegistry()));
+            try {
+                // 첫 라운드는 연결/메타데이터 준비용
+                long best = Long.MAX_VALUE;
+                for (int round = 0; round < ROUNDS; round++) {
+                    long start = System.nanoTime();
+                    publisher.publishAll(events, TestEvent::getKey).get(2, TimeUnit.MINUTES);
+                    long elapsed = System.nanoTime() - start;
+                    if (round > 0) {
+                        best = Math.min(best, elapsed);
+                    }
+                }
+
+                Map<MetricName, ? extends Metric> metrics = template.metrics();
+                System.out.printf("[BENCH] %-10s %9.0f events/s  batch-size-avg=%8.0f B  compression-rate-avg=%.2f  records-per-request-avg=%.1f%n",
+                        profile, EVENTS / (best / 1e9),
+                        metric(metrics, "batch-size-avg"), metric(metrics, "compression-rate-avg"),
+                        metric(metrics, "records-per-request-avg"));
+            } finally {
+                producerFactory.destroy();
+            }
+        }
+    }
+
+    private static double metric(Map<MetricName, ? extends Metric> metrics, String name) {
+        return metrics.entrySet().stream()
+                .filter(e -> e.getKey().group().equals("producer-metrics") && e.getKey().name().equals(name))
+                .mapToDouble(e -> ((Number) e.getValue().metricValue()).doubleValue())
+                .findFirst()
+                .orElse(Double.NaN);
+    }
+}
@@ -0,0 +1,44 @@
+package com.kr.kafka.component;
+
+import com.kr.kafka.config.Event;
+
+import java.time.LocalDateTime;
+
+class TestEvent implements Event {
+
+    private final String topic;
+    private final String key;
+    private final long sequence;
+    private final String payload;
+    private final LocalDateTime timestamp;
+
+    TestEvent(String topic, String key, long sequence, String payload, LocalDateTime timestamp) {
+        this.topic = topic;
+        this.key = key;
+        this.sequence = sequence;
+        this.payload = payload;
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    @Override
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+}
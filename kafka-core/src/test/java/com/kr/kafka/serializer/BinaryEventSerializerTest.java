@@ -0,0 +1,133 @@
+package com.kr.kafka.serializer;
+
+import com.kr.kafka.config.Event;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryEventSerializerTest {
+
+    record SampleEvent(String name, long count, LocalDateTime at) implements Event {
+
+        @Override
+        public String getTopic() {
+            return "sample";
+        }
+
+        @Override
+        public LocalDateTime getTimestamp() {
+            return at;
+        }
+    }
+
+    static class SampleCodec implements EventCodec<SampleEvent> {
+
+        @Override
+        public int getTypeId() {
+            return 7;
+        }
+
+        @Override
+        public int getVersion() {
+            return 2;
+        }
+
+        @Override
+        public Class<SampleEvent> getEventType() {
+            return SampleEvent.class;
+        }
+
+        @Override
+        public void write(SampleEvent event, BinaryEventWriter out) {
+            out.writeString(event.name()).writeLong(event.count()).writeTimestamp(event.at());
+        }
+
+        @Override
+        public SampleEvent read(BinaryEventReader in, int version) {
+            String name = in.readString();
+            // v1 에는 count 가 없었습니다.
+            long count = version >= 2 ? in.readLong() : 0;
+            return new SampleEvent(name, count, in.readTimestamp());
+        }
+    }
+
+    private final EventCodecRegistry registry = new EventCodecRegistry(List.of(new SampleCodec()));
+
+    @Test
+    void roundTripsEventsIncludingNullsAndExtremes() {
+        BinaryEventSerializer serializer = new BinaryEventSerializer(registry);
+        BinaryEventDeserializer deserializer = new BinaryEventDeserializer(registry);
+
+        for (SampleEvent event : List.of(
+                new SampleEvent("세션-1", 42, LocalDateTime.of(2024, 3, 15, 9, 30, 0, 123_456_789)),
+                new SampleEvent(null, Long.MIN_VALUE, null),
+                new SampleEvent("", Long.MAX_VALUE, LocalDateTime.of(1969, 12, 31, 23, 59, 59)),
+                new SampleEvent("x".repeat(1000), -1, LocalDateTime.MIN))) {
+            byte[] bytes = serializer.serialize("sample", event);
+            assertThat(deserializer.deserialize("sample", bytes)).isEqualTo(event);
+        }
+    }
+
+    @Test
+    void readsOlderSchemaVersions() {
+        BinaryEventWriter v1 = new BinaryEventWriter();
+        v1.writeByte(BinaryEventSerializer.MAGIC).writeVarLong(7).writeVarLong(1)
+                .writeString("old").writeTimestamp(null);
+
+        Object event = new BinaryEventDeserializer(registry).deserialize("sample", v1.toByteArray());
+
+        assertThat(event).isEqualTo(new SampleEvent("old", 0, null));
+    }
+
+    @Test
+    void rejectsUnknownTypesAndForeignPayloads() {
+        BinaryEventWriter unknown = new BinaryEventWriter();
+        unknown.writeByte(BinaryEventSerializer.MAGIC).writeVarLong(99).writeVarLong(1);
+        BinaryEventDeserializer deserializer = new BinaryEventDeserializer(registry);
+
+        assertThatThrownBy(() -> deserializer.deserialize("sample", unknown.toByteArray()))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> deserializer.deserialize("sample", "{}".getBytes()))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> new BinaryEventSerializer(registry).serialize("sample", "not an event"))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void selectsSerializationPerTopicAndReadsLegacyJsonOnBinaryTopics() {
+        List<String> binaryTopics = List.of("sample", "bin\\..*");
+        Serializer<Object> serializer = EventSerialization.valueSerializer(binaryTopics, registry);
+        Deserializer<Object> deserializer = EventSerialization.valueDeserializer(registry);
+        SampleEvent event = new SampleEvent("a", 1, null);
+
+        byte[] binary = serializer.serialize("bin.events", new RecordHeaders(), event);
+        assertThat(binary[0] & 0xFF).isEqualTo(BinaryEventSerializer.MAGIC);
+        assertThat(deserializer.deserialize("bin.events", new RecordHeaders(), binary)).isEqualTo(event);
+
+        // JSON 토픽: 타입 헤더와 함께 JSON 으로 기록
+        RecordHeaders headers = new RecordHeaders();
+        byte[] json = serializer.serialize("other", headers, event);
+        assertThat(new String(json)).startsWith("{");
+
+        // 바이너리로 전환하기 전에 JSON 으로 쌓인 메시지
+        Object legacy = deserializer.deserialize("sample", headers, json);
+        assertThat(legacy).isEqualTo(event);
+
+        // 컨슈머는 토픽 설정 없이 메시지 형식으로 판별 (프로듀서만 먼저 바이너리로 전환된 토픽)
+        assertThat(deserializer.deserialize("other", new RecordHeaders(), binary)).isEqualTo(event);
+    }
+
+    @Test
+    void rejectsDuplicateTypeIds() {
+        assertThatThrownBy(() -> new EventCodecRegistry(List.of(new SampleCodec(), new SampleCodec())))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}